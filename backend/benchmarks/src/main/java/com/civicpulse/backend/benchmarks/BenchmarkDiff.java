@@ -0,0 +1,92 @@
+package com.civicpulse.backend.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Compares two JMH JSON result files benchmark by benchmark:
+//   java -cp benchmarks.jar com.civicpulse.backend.benchmarks.BenchmarkDiff <old.json> <new.json> [max-regression-%]
+// A change is only flagged when it is larger than the two runs' error margins combined. With a
+// max-regression-% the exit code is 1 if any benchmark got slower by more than that, for CI.
+public class BenchmarkDiff {
+
+    private record Score(String mode, double score, double error, String unit) {}
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 2) {
+            System.err.println("Usage: BenchmarkDiff <old.json> <new.json> [max-regression-%]");
+            System.exit(2);
+        }
+        Map<String, Score> before = read(new File(args[0]));
+        Map<String, Score> after = read(new File(args[1]));
+        double maxRegression = args.length > 2 ? Double.parseDouble(args[2]) : Double.NaN;
+
+        int width = 40;
+        for (String name : after.keySet()) width = Math.max(width, name.length());
+        String row = "%-" + width + "s %14s %14s %-10s %9s  %s%n";
+        System.out.printf(row, "Benchmark", "Old", "New", "Unit", "Change", "");
+
+        boolean failed = false;
+        for (Map.Entry<String, Score> entry : after.entrySet()) {
+            Score now = entry.getValue();
+            Score then = before.get(entry.getKey());
+            if (then == null || !then.unit().equals(now.unit())) {
+                System.out.printf(row, entry.getKey(), "-", format(now.score()), now.unit(), "new", "");
+                continue;
+            }
+            // Throughput: higher is better; every other mode measures time, lower is better
+            double change = (now.score() - then.score()) / then.score() * 100;
+            double slowdown = "thrpt".equals(now.mode()) ? -change : change;
+            boolean significant = Math.abs(now.score() - then.score()) > then.error() + now.error();
+            String verdict = !significant ? "" : slowdown > 0 ? "SLOWER" : "faster";
+            if (significant && slowdown > maxRegression) {
+                verdict += " (over " + maxRegression + "%)";
+                failed = true;
+            }
+            System.out.printf(row, entry.getKey(), format(then.score()), format(now.score()), now.unit(),
+                    String.format("%+.1f%%", change), verdict);
+        }
+        for (String name : before.keySet()) {
+            if (!after.containsKey(name)) System.out.printf(row, name, format(before.get(name).score()), "-", "", "removed", "");
+        }
+        if (failed) System.exit(1);
+    }
+
+    // Keyed by benchmark name plus its @Param values, e.g. JsonSerializationBenchmark.complaintViews:size=200
+    private static Map<String, Score> read(File file) throws Exception {
+        Map<String, Score> scores = new LinkedHashMap<>();
+        for (JsonNode result : new ObjectMapper().readTree(file)) {
+            String benchmark = result.path("benchmark").asText();
+            StringBuilder name = new StringBuilder(benchmark.substring(benchmark.lastIndexOf('.', benchmark.lastIndexOf('.') - 1) + 1));
+            Iterator<Map.Entry<String, JsonNode>> params = result.path("params").fields();
+            while (params.hasNext()) {
+                Map.Entry<String, JsonNode> param = params.next();
+                name.append(name.indexOf(":") < 0 ? ':' : ',').append(param.getKey()).append('=').append(param.getValue().asText());
+            }
+            addScore(scores, name.toString(), result.path("mode").asText(), result.path("primaryMetric"));
+            // Per-method results of @Group benchmarks
+            Iterator<Map.Entry<String, JsonNode>> secondary = result.path("secondaryMetrics").fields();
+            while (secondary.hasNext()) {
+                Map.Entry<String, JsonNode> metric = secondary.next();
+                if (!metric.getKey().startsWith("·")) {
+                    addScore(scores, name + "/" + metric.getKey(), result.path("mode").asText(), metric.getValue());
+                }
+            }
+        }
+        return scores;
+    }
+
+    private static void addScore(Map<String, Score> scores, String name, String mode, JsonNode metric) {
+        double error = metric.path("scoreError").asDouble(0);
+        scores.put(name, new Score(mode, metric.path("score").asDouble(), Double.isNaN(error) ? 0 : error,
+                metric.path("scoreUnit").asText()));
+    }
+
+    private static String format(double score) {
+        return score >= 100 ? String.format("%,.0f", score) : String.format("%.3f", score);
+    }
+}
@@ -0,0 +1,75 @@
+package com.civicpulse.backend.benchmarks;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+
+// Entry point of benchmarks.jar. Takes the usual JMH options (a regex to pick benchmarks, -f, -wi, -prof ...);
+// unless -rf / -rff are given, results are written as JSON to benchmarks/results/<commit>.json so runs on
+// two commits can be compared with BenchmarkDiff.
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions cli = new CommandLineOptions(args);
+        if (cli.shouldHelp()) {
+            cli.showHelp();
+            return;
+        }
+        if (cli.shouldList()) {
+            new Runner(cli).list();
+            return;
+        }
+
+        ChainedOptionsBuilder options = new OptionsBuilder().parent(cli);
+        if (!cli.getResultFormat().hasValue()) {
+            options.resultFormat(ResultFormatType.JSON);
+        }
+        if (!cli.getResult().hasValue()) {
+            Path results = resultsDirectory();
+            Files.createDirectories(results);
+            options.result(results.resolve(runName() + ".json").toString());
+        }
+        new Runner(options.build()).run();
+    }
+
+    // benchmarks/results, whether running from target/benchmarks.jar or target/classes
+    public static Path resultsDirectory() throws Exception {
+        Path location = Path.of(BenchmarkRunner.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+        return location.getParent().getParent().resolve("results");
+    }
+
+    // Short commit id, marked when there are uncommitted changes; a timestamp outside a git checkout
+    public static String runName() {
+        try {
+            String commit = git("rev-parse", "--short", "HEAD");
+            if (commit != null) {
+                String changes = git("status", "--porcelain", "--untracked-files=no");
+                return changes == null || changes.isEmpty() ? commit : commit + "-dirty";
+            }
+        } catch (IOException e) {
+            // No git on the PATH
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+    }
+
+    private static String git(String... args) throws IOException, InterruptedException {
+        String[] command = new String[args.length + 1];
+        command[0] = "git";
+        System.arraycopy(args, 0, command, 1, args.length);
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        String output = new String(process.getInputStream().readAllBytes()).trim();
+        if (!process.waitFor(10, TimeUnit.SECONDS) || process.exitValue() != 0) return null;
+        return output;
+    }
+}
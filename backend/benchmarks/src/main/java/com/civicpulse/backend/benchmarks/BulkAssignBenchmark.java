@@ -0,0 +1,150 @@
+package com.civicpulse.backend.benchmarks;
+
+import com.civicpulse.backend.BackendApplication;
+import com.civicpulse.backend.benchmarks.load.LoadTestConfig;
+import com.civicpulse.backend.model.Complaint;
+import com.civicpulse.backend.model.ComplaintHistory;
+import com.civicpulse.backend.model.Notification;
+import com.civicpulse.backend.model.User;
+import com.civicpulse.backend.repository.ComplaintHistoryRepository;
+import com.civicpulse.backend.repository.ComplaintRepository;
+import com.civicpulse.backend.repository.NotificationRepository;
+import com.civicpulse.backend.repository.UserRepository;
+import com.civicpulse.backend.services.BulkAssignService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// Assigning ~2,000 tickets to one officer: BulkAssignService (chunked set-based UPDATE, batched history and
+// notification inserts) against the per-ticket loop it replaced (BulkAssignServiceTest checks both write the
+// same rows). Runs the whole application on in-memory H2 without a web server; every invocation starts from
+// the same unassigned tickets with no history or notifications.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BulkAssignBenchmark {
+
+    @Param({"2000"})
+    public int tickets;
+
+    private Path uploads;
+    private ConfigurableApplicationContext app;
+    private BulkAssignService bulkAssignService;
+    private ComplaintRepository complaintRepository;
+    private ComplaintHistoryRepository historyRepository;
+    private NotificationRepository notificationRepository;
+    private JdbcTemplate jdbcTemplate;
+    private User officer;
+    private List<Integer> ids;
+
+    @Setup
+    public void setUp() throws IOException {
+        uploads = Files.createTempDirectory("civicpulse-bench-uploads");
+        app = new SpringApplicationBuilder(BackendApplication.class, LoadTestConfig.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=jdbc:h2:mem:bulkassign;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--spring.jpa.show-sql=false",
+                        "--app.jwt.secret=benchmark-secret",
+                        "--app.uploads.dir=" + uploads,
+                        "--logging.level.com.civicpulse=WARN");
+        bulkAssignService = app.getBean(BulkAssignService.class);
+        complaintRepository = app.getBean(ComplaintRepository.class);
+        historyRepository = app.getBean(ComplaintHistoryRepository.class);
+        notificationRepository = app.getBean(NotificationRepository.class);
+        jdbcTemplate = app.getBean(JdbcTemplate.class);
+        UserRepository userRepository = app.getBean(UserRepository.class);
+
+        User citizen = userRepository.save(user("Citizen", "CITIZEN"));
+        officer = userRepository.save(user("Officer", "OFFICER"));
+        List<Complaint> complaints = new ArrayList<>();
+        for (int i = 0; i < tickets; i++) {
+            Complaint c = new Complaint();
+            c.setTitle("Storm damage " + i);
+            c.setUser(citizen);
+            complaints.add(c);
+        }
+        ids = complaintRepository.saveAll(complaints).stream().map(Complaint::getId).toList();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        app.close();
+        FileSystemUtils.deleteRecursively(uploads);
+    }
+
+    @Setup(Level.Invocation)
+    public void unassign() {
+        jdbcTemplate.update("DELETE FROM notifications");
+        jdbcTemplate.update("DELETE FROM complaint_history");
+        jdbcTemplate.update("UPDATE complaints SET status = 'PENDING', assigned_to = NULL, assigned_at = NULL");
+    }
+
+    @Benchmark
+    public int bulkAssign() {
+        return bulkAssignService.assign(ids, officer.getId()).updated();
+    }
+
+    // The pre-BulkAssignService implementation: autocommit save per history row and per notification
+    @Benchmark
+    public int legacyLoop() {
+        List<Complaint> complaints = complaintRepository.findAllById(ids);
+        for (Complaint c : complaints) {
+            c.setAssignedTo(officer.getId());
+            c.setStatus("IN_PROGRESS");
+            c.setAssignedAt(new Date());
+
+            ComplaintHistory history = new ComplaintHistory();
+            history.setComplaint(c);
+            history.setActionType("ASSIGNED");
+            history.setDetails("Assigned to Officer: " + officer.getName());
+            historyRepository.save(history);
+
+            Notification n = new Notification();
+            n.setUser(officer);
+            n.setMessage("New Task Assigned: " + c.getTitle());
+            n.setType("INFO");
+            n.setRelatedComplaintId(c.getId());
+            notificationRepository.save(n);
+        }
+        return complaintRepository.saveAll(complaints).size();
+    }
+
+    private static User user(String name, String role) {
+        User user = new User();
+        user.setName(name);
+        user.setEmail(UUID.randomUUID() + "@bench.com");
+        user.setPassword("hash");
+        user.setRole(role);
+        return user;
+    }
+}
@@ -0,0 +1,86 @@
+package com.civicpulse.backend.benchmarks;
+
+import com.civicpulse.backend.dto.ComplaintLocation;
+import com.civicpulse.backend.event.ComplaintChangedEvent;
+import com.civicpulse.backend.model.Complaint;
+import com.civicpulse.backend.services.DuplicateDetector;
+import com.civicpulse.backend.services.GeoIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// The duplicate check run on every complaint submission, against open complaints spread over a city
+// (same layout as DuplicateDetectorTest). Submissions land anywhere, so most find a few same-category
+// candidates nearby and have to compare signatures with them.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DuplicateDetectorBenchmark {
+
+    private static final int SUBMISSIONS = 1024;
+    private static final double CENTER_LAT = 17.385;
+    private static final double CENTER_LON = 78.4867;
+    private static final String[] ISSUES = {
+            "Large pothole on the main road", "Streetlight not working at night", "Garbage not collected for a week",
+            "Water pipeline leaking on the street", "Open drain overflowing near the school", "Fallen tree blocking lane" };
+
+    @Param({"100000"})
+    public int openComplaints;
+
+    private DuplicateDetector detector;
+    private final double[][] submissions = new double[SUBMISSIONS][];
+    private int next;
+
+    @Setup
+    public void setUp() {
+        GeoIndex geoIndex = new GeoIndex();
+        detector = new DuplicateDetector();
+        ReflectionTestUtils.setField(detector, "geoIndex", geoIndex);
+        ReflectionTestUtils.setField(detector, "enabled", true);
+        ReflectionTestUtils.setField(detector, "radiusMeters", 75.0);
+        ReflectionTestUtils.setField(detector, "threshold", 0.5);
+
+        Random random = new Random(42);
+        for (int i = 1; i <= openComplaints; i++) {
+            double lat = CENTER_LAT + (random.nextDouble() - 0.5) * 0.36;
+            double lon = CENTER_LON + (random.nextDouble() - 0.5) * 0.36;
+            int category = 1 + random.nextInt(ISSUES.length);
+            Complaint c = new Complaint();
+            c.setId(i);
+            c.setCategoryId(category);
+            c.setTitle(ISSUES[category - 1] + " " + i);
+            c.setDescription("Reported by a resident, ticket " + i);
+            geoIndex.put(new ComplaintLocation(i, lat, lon, category));
+            detector.onComplaintChanged(new ComplaintChangedEvent(c, "CREATED"));
+        }
+        for (int i = 0; i < SUBMISSIONS; i++) {
+            submissions[i] = new double[] {
+                    CENTER_LAT + (random.nextDouble() - 0.5) * 0.36,
+                    CENTER_LON + (random.nextDouble() - 0.5) * 0.36,
+                    1 + random.nextInt(ISSUES.length) };
+        }
+    }
+
+    @Benchmark
+    public Optional<DuplicateDetector.Match> findDuplicate() {
+        double[] s = submissions[next++ & (SUBMISSIONS - 1)];
+        int category = (int) s[2];
+        return detector.findDuplicate(category, s[0], s[1], ISSUES[category - 1], "Please fix this as soon as possible");
+    }
+}
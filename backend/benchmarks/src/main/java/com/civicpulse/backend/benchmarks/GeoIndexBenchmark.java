@@ -0,0 +1,86 @@
+package com.civicpulse.backend.benchmarks;
+
+import com.civicpulse.backend.dto.ComplaintLocation;
+import com.civicpulse.backend.services.GeoIndex;
+import com.civicpulse.backend.services.GeoUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// GeoIndex radius query (the nearby/within endpoints) vs a full Haversine scan, which is what a table scan
+// does per row, over open complaints spread across a ~40 x 40 km city.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GeoIndexBenchmark {
+
+    private static final int QUERIES = 256;
+    private static final double CENTER_LAT = 17.385;
+    private static final double CENTER_LON = 78.4867;
+    private static final double SPREAD_DEGREES = 0.36;
+
+    @Param({"100000", "1000000"})
+    public int points;
+
+    @Param({"500"})
+    public double radiusMeters;
+
+    private GeoIndex index;
+    private double[] lats;
+    private double[] lons;
+    private final double[][] queries = new double[QUERIES][];
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        lats = new double[points];
+        lons = new double[points];
+        index = new GeoIndex();
+        for (int i = 0; i < points; i++) {
+            lats[i] = CENTER_LAT + (random.nextDouble() - 0.5) * SPREAD_DEGREES;
+            lons[i] = CENTER_LON + (random.nextDouble() - 0.5) * SPREAD_DEGREES;
+            index.put(new ComplaintLocation(i, lats[i], lons[i], 1 + i % 8));
+        }
+        for (int q = 0; q < QUERIES; q++) {
+            queries[q] = new double[] {
+                    CENTER_LAT + (random.nextDouble() - 0.5) * SPREAD_DEGREES,
+                    CENTER_LON + (random.nextDouble() - 0.5) * SPREAD_DEGREES };
+        }
+    }
+
+    private double[] nextQuery() {
+        return queries[next++ & (QUERIES - 1)];
+    }
+
+    @Benchmark
+    public List<GeoIndex.Hit> index() {
+        double[] query = nextQuery();
+        return index.withinRadius(query[0], query[1], radiusMeters, Integer.MAX_VALUE);
+    }
+
+    @Benchmark
+    public int fullScan() {
+        double[] query = nextQuery();
+        int count = 0;
+        for (int i = 0; i < points; i++) {
+            if (GeoUtils.distanceMeters(query[0], query[1], lats[i], lons[i]) <= radiusMeters) count++;
+        }
+        return count;
+    }
+}
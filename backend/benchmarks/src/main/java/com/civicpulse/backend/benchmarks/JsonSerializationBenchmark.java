@@ -0,0 +1,142 @@
+package com.civicpulse.backend.benchmarks;
+
+import com.civicpulse.backend.dto.ComplaintView;
+import com.civicpulse.backend.dto.HistoryView;
+import com.civicpulse.backend.model.Complaint;
+import com.civicpulse.backend.model.ComplaintHistory;
+import com.civicpulse.backend.model.User;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Response bodies of the complaint list and history endpoints: entities with their nested User (as the
+// controllers used to return) against the ComplaintView / HistoryView DTOs they return now.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+    private static final String[] DEPARTMENTS = {"Sanitary", "Electricity", "Roads & Transport", "Water Supply"};
+    private static final String[] STATUSES = {"PENDING", "ASSIGNED", "IN_PROGRESS", "RESOLVED", "REOPENED"};
+
+    @Param({"20", "200"})
+    private int size;
+
+    private ObjectMapper mapper;
+    private List<Complaint> complaints;
+    private List<ComplaintHistory> history;
+    private List<ComplaintView> complaintViews;
+    private List<HistoryView> historyViews;
+
+    @Setup
+    public void setUp() {
+        // Same builder Spring Boot configures the MVC message converter from
+        mapper = Jackson2ObjectMapperBuilder.json().build();
+
+        Random random = new Random(42);
+        List<User> officers = new ArrayList<>();
+        for (int i = 0; i < DEPARTMENTS.length; i++) {
+            officers.add(user(1000L + i, "Officer " + i, "OFFICER", DEPARTMENTS[i], null));
+        }
+
+        complaints = new ArrayList<>(size);
+        history = new ArrayList<>(size * 3);
+        for (int i = 1; i <= size; i++) {
+            User citizen = user((long) i, "Citizen " + i, "CITIZEN", null, String.valueOf(1 + random.nextInt(150)));
+            User officer = officers.get(random.nextInt(officers.size()));
+
+            Complaint complaint = new Complaint();
+            complaint.setId(i);
+            complaint.setUser(citizen);
+            complaint.setCategoryId(1 + random.nextInt(DEPARTMENTS.length));
+            complaint.setAssignedTo(officer.getId());
+            complaint.setTitle("Streetlight not working near bus stop " + i);
+            complaint.setDescription("The streetlight at the junction has been out for three days, the road is dark at night.");
+            complaint.setImageUrl("/uploads/complaint-" + i + ".jpg");
+            complaint.setLocation("Ward " + citizen.getWardNumber() + ", Main Road");
+            complaint.setLatitude(17.385 + random.nextDouble() / 10);
+            complaint.setLongitude(78.4867 + random.nextDouble() / 10);
+            complaint.setStatus(STATUSES[random.nextInt(STATUSES.length)]);
+            complaint.setCreatedAt(new Date());
+            complaint.setAssignedAt(new Date());
+            complaint.setUpdatedAt(new Date());
+            complaint.setVersion(2L);
+            complaints.add(complaint);
+
+            history.add(history(i * 3 - 2, complaint, citizen, "CREATED", "Complaint filed"));
+            history.add(history(i * 3 - 1, complaint, officer, "ASSIGNED", "Assigned to " + officer.getName()));
+            history.add(history(i * 3, complaint, officer, "IN_PROGRESS", "Work started, materials: 2 bags cement"));
+        }
+
+        complaintViews = complaints.stream().map(ComplaintView::from).toList();
+        historyViews = history.stream().map(h -> HistoryView.from(h, h.getComplaint().getId())).toList();
+    }
+
+    @Benchmark
+    public byte[] complaintEntities() throws Exception {
+        return mapper.writeValueAsBytes(complaints);
+    }
+
+    @Benchmark
+    public byte[] complaintViews() throws Exception {
+        return mapper.writeValueAsBytes(complaintViews);
+    }
+
+    // Includes mapping to the DTOs, which the controllers pay per request
+    @Benchmark
+    public byte[] complaintViewsMapped() throws Exception {
+        return mapper.writeValueAsBytes(complaints.stream().map(ComplaintView::from).toList());
+    }
+
+    @Benchmark
+    public byte[] historyEntities() throws Exception {
+        return mapper.writeValueAsBytes(history);
+    }
+
+    @Benchmark
+    public byte[] historyViews() throws Exception {
+        return mapper.writeValueAsBytes(historyViews);
+    }
+
+    private static User user(Long id, String name, String role, String department, String ward) {
+        User user = new User();
+        user.setId(id);
+        user.setName(name);
+        user.setEmail(name.toLowerCase().replace(' ', '.') + "@civicpulse.com");
+        user.setPassword("$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z4u7Wb2q9yXKfQmZHx1rFz8K");
+        user.setRole(role);
+        user.setDepartment(department);
+        user.setWardNumber(ward);
+        return user;
+    }
+
+    private static ComplaintHistory history(int id, Complaint complaint, User actionBy, String actionType, String details) {
+        ComplaintHistory h = new ComplaintHistory();
+        h.setId(id);
+        h.setComplaint(complaint);
+        h.setActionBy(actionBy);
+        h.setActionType(actionType);
+        h.setDetails(details);
+        h.setTimestamp(new Date());
+        return h;
+    }
+}
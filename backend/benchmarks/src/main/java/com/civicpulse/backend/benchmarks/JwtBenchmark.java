@@ -0,0 +1,84 @@
+package com.civicpulse.backend.benchmarks;
+
+import com.civicpulse.backend.config.JwtAuthenticationFilter;
+import com.civicpulse.backend.services.CustomUserDetailsService;
+import com.civicpulse.backend.services.PrincipalCache;
+import com.civicpulse.backend.services.StreamTicketService;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Clock;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+// JwtAuthenticationFilter on an authenticated request: parse and verify the bearer token, then resolve the
+// principal (warm PrincipalCache, so no users-table lookup) and set the SecurityContext.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtBenchmark {
+
+    private static final String SECRET = "benchmark-secret-benchmark-secret-benchmark-secret";
+    private static final String EMAIL = "citizen@civicpulse.com";
+
+    private final FilterChain chain = (request, response) -> { };
+    private JwtAuthenticationFilter filter;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    @Setup
+    public void setUp() {
+        PrincipalCache principalCache = new PrincipalCache();
+        ReflectionTestUtils.setField(principalCache, "ttlSeconds", 3600L);
+        ReflectionTestUtils.setField(principalCache, "maxEntries", 10_000);
+        principalCache.get(EMAIL, email -> User.withUsername(email).password("hash").authorities("CITIZEN").build());
+
+        StreamTicketService streamTickets = new StreamTicketService();
+        ReflectionTestUtils.setField(streamTickets, "clock", Clock.systemUTC());
+        ReflectionTestUtils.setField(streamTickets, "ttlSeconds", 30L);
+
+        filter = new JwtAuthenticationFilter();
+        ReflectionTestUtils.setField(filter, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(filter, "userDetailsService", new CustomUserDetailsService()); // Not reached
+        ReflectionTestUtils.setField(filter, "principalCache", principalCache);
+        ReflectionTestUtils.setField(filter, "streamTickets", streamTickets);
+
+        // Issued as AuthController.signin does
+        String token = Jwts.builder()
+                .setSubject(EMAIL)
+                .setIssuedAt(new Date())
+                .setExpiration(new Date(System.currentTimeMillis() + 86400000))
+                .signWith(SignatureAlgorithm.HS256, SECRET)
+                .compact();
+        request = new MockHttpServletRequest("GET", "/api/complaints/all");
+        request.addHeader("Authorization", "Bearer " + token);
+        response = new MockHttpServletResponse();
+    }
+
+    @Benchmark
+    public Authentication authenticate() throws Exception {
+        SecurityContextHolder.clearContext(); // Every request starts with an empty context
+        filter.doFilter(request, response, chain);
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+}
@@ -0,0 +1,83 @@
+package com.civicpulse.backend.benchmarks;
+
+import com.civicpulse.backend.services.MailDispatcher;
+import jakarta.mail.internet.MimeMessage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// MailDispatcher from submit() until the sender threads hand each batch to JavaMail: queueing, batching and
+// building the MIME messages, in mails per second. The SMTP round trip is left out (the mail sender drops the
+// messages, as in the load test); MailDispatcherTest checks connection reuse and retries against a local server.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MailDispatcherBenchmark {
+
+    private static final int BURST = 500;
+
+    @Param({"1", "2", "4"})
+    public int senders;
+
+    private final AtomicLong sent = new AtomicLong();
+    private MailDispatcher dispatcher;
+    private long submitted;
+
+    @Setup
+    public void setUp() {
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl() {
+            @Override
+            protected void doSend(MimeMessage[] mimeMessages, Object[] originalMessages) {
+                sent.addAndGet(mimeMessages.length);
+            }
+        };
+        dispatcher = new MailDispatcher();
+        ReflectionTestUtils.setField(dispatcher, "mailSender", mailSender);
+        ReflectionTestUtils.setField(dispatcher, "queueCapacity", 10_000);
+        ReflectionTestUtils.setField(dispatcher, "senders", senders);
+        ReflectionTestUtils.setField(dispatcher, "maxBatch", 50);
+        ReflectionTestUtils.setField(dispatcher, "enqueueTimeoutMs", 1000L);
+        ReflectionTestUtils.setField(dispatcher, "maxAttempts", 3);
+        ReflectionTestUtils.setField(dispatcher, "retryBaseMs", 2000L);
+        ReflectionTestUtils.setField(dispatcher, "retryMaxMs", 300_000L);
+        ReflectionTestUtils.setField(dispatcher, "redirectTo", "");
+        ReflectionTestUtils.setField(dispatcher, "from", "civicpulse@example.com");
+        ReflectionTestUtils.invokeMethod(dispatcher, "start");
+    }
+
+    @TearDown
+    public void tearDown() {
+        ReflectionTestUtils.invokeMethod(dispatcher, "stop");
+    }
+
+    // A burst such as a bulk assignment mailing every affected citizen, until its last mail is handed over
+    @Benchmark
+    @OperationsPerInvocation(BURST)
+    public void burst() {
+        for (int i = 0; i < BURST; i++) {
+            dispatcher.submit("citizen" + i + "@example.com", "Complaint update #" + i, "<p>Update " + i + "</p>");
+        }
+        submitted += BURST;
+        while (sent.get() < submitted) {
+            Thread.onSpinWait();
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.civicpulse.backend.benchmarks;
+
+import com.civicpulse.backend.services.MailTemplateEngine;
+import com.civicpulse.backend.services.MailTemplateEngine.RenderedMail;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// Rendering one email from a precompiled template, picked at random among the registered ones.
+// The cost should not depend on how many templates are registered.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MailTemplateBenchmark {
+
+    private static final Map<String, String> VALUES = Map.of("id", "4711", "name", "Citizen",
+            "title", "Streetlight out", "status", "IN_PROGRESS", "ward", "12");
+
+    @Param({"1", "10", "100", "1000"})
+    public int templates;
+
+    private MailTemplateEngine engine;
+    private String[] names;
+    private final SplittableRandom random = new SplittableRandom(42);
+
+    @Setup
+    public void setUp() {
+        engine = new MailTemplateEngine();
+        names = new String[templates];
+        for (int i = 0; i < templates; i++) {
+            names[i] = "bench-" + i;
+            engine.register(names[i], "Subject: Complaint #{{id}} update\n"
+                    + "<p>Dear {{name}},</p>".repeat(10)
+                    + "<p>Your complaint <b>{{title}}</b> is now {{status}}.</p><p>Ward {{ward}}</p>".repeat(10));
+        }
+    }
+
+    @Benchmark
+    public RenderedMail render() {
+        return engine.render(names[random.nextInt(templates)], VALUES);
+    }
+}
@@ -0,0 +1,96 @@
+package com.civicpulse.backend.benchmarks;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import com.civicpulse.backend.services.OtpService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.LoggerFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Clock;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// OtpService under contention: every method locks the one store, so this shows how signup OTP traffic
+// scales with threads. The service is wired by hand, as in OtpServiceTest.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OtpServiceBenchmark {
+
+    private static final int EMAILS = 50_000;
+
+    private final String[] emails = new String[EMAILS];
+    private OtpService otpService;
+
+    // Each thread walks the address pool from its own random start
+    @State(Scope.Thread)
+    public static class Cursor {
+        private final SplittableRandom random = new SplittableRandom();
+        private int next = random.nextInt(EMAILS);
+
+        int next() {
+            next = next + 1 == EMAILS ? 0 : next + 1;
+            return next;
+        }
+
+        String ip() {
+            return "10.0." + random.nextInt(256) + "." + random.nextInt(256);
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        for (int i = 0; i < EMAILS; i++) emails[i] = "citizen" + i + "@example.com";
+
+        otpService = new OtpService();
+        ReflectionTestUtils.setField(otpService, "clock", Clock.systemUTC());
+        ReflectionTestUtils.setField(otpService, "ttlSeconds", 300L);
+        ReflectionTestUtils.setField(otpService, "verifiedTtlSeconds", 900L);
+        ReflectionTestUtils.setField(otpService, "maxEntries", 100_000);
+        ReflectionTestUtils.setField(otpService, "maxAttempts", 5);
+        ReflectionTestUtils.setField(otpService, "resendCooldownSeconds", 30L);
+        ReflectionTestUtils.setField(otpService, "emailLimitPerHour", 5);
+        ReflectionTestUtils.setField(otpService, "ipLimitPerHour", 30);
+        ReflectionTestUtils.invokeMethod(otpService, "init");
+
+        // The development mailer logs every code; keep that out of the measurement
+        ((Logger) LoggerFactory.getLogger(OtpService.class)).setLevel(Level.WARN);
+    }
+
+    @Benchmark
+    @Group("signup")
+    @GroupThreads(2)
+    public void generate(Cursor cursor) {
+        otpService.generateAndSendOtp(emails[cursor.next()]);
+    }
+
+    // Mostly wrong guesses, like the traffic the attempt limit exists for
+    @Benchmark
+    @Group("signup")
+    @GroupThreads(6)
+    public boolean verify(Cursor cursor) {
+        return otpService.verifyOtp(emails[cursor.next()], "123456");
+    }
+
+    @Benchmark
+    @Threads(8)
+    public OtpService.SendDecision checkSend(Cursor cursor) {
+        return otpService.checkSend(emails[cursor.next()], cursor.ip());
+    }
+}
@@ -0,0 +1,68 @@
+package com.civicpulse.backend.benchmarks;
+
+import com.civicpulse.backend.event.ComplaintsAssignedEvent;
+import com.civicpulse.backend.services.SlaWatcher;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// The SLA watcher with a day's worth of open tickets (assigned evenly over the last 24h, as in SlaWatcherTest).
+// idleTick is the once-a-second check when nothing is due; reassign is one ticket getting a new deadline, which
+// leaves its old heap entry behind until the next compaction. The clock is fixed, so nothing ever fires.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SlaWatcherBenchmark {
+
+    @Param({"100000"})
+    public int openTickets;
+
+    private SlaWatcher watcher;
+    private Date now;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Clock clock = Clock.fixed(Instant.parse("2025-03-03T08:00:00Z"), ZoneOffset.UTC);
+        now = Date.from(clock.instant());
+        watcher = new SlaWatcher();
+        ReflectionTestUtils.setField(watcher, "clock", clock);
+        ReflectionTestUtils.setField(watcher, "maxPerTick", 500);
+
+        long spacing = SlaWatcher.SLA_MILLIS / openTickets;
+        for (int i = 0; i < openTickets; i++) {
+            Date assignedAt = new Date(clock.millis() - i * spacing);
+            watcher.onComplaintsAssigned(new ComplaintsAssignedEvent(List.of(i + 1), 42L, assignedAt));
+        }
+    }
+
+    @Benchmark
+    public void idleTick() {
+        watcher.tick();
+    }
+
+    @Benchmark
+    public void reassign() {
+        next = next == openTickets ? 1 : next + 1;
+        watcher.onComplaintsAssigned(new ComplaintsAssignedEvent(List.of(next), 43L, now));
+    }
+}
@@ -0,0 +1,139 @@
+package com.civicpulse.backend.benchmarks.load;
+
+import com.civicpulse.backend.config.SqlCountFilter;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+// One simulated user's HTTP session: signs in like the frontend, then sends its token with every call.
+// Every call is recorded in LoadReport under its operation name, with the server's X-SQL-Count.
+// Calls return the parsed JSON body, or null for a non-2xx status, a plain-text body or no response.
+public class LoadClient {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient http;
+    private final URI base;
+    private final LoadReport report;
+    private String token;
+    private long userId;
+
+    public LoadClient(HttpClient http, URI base, LoadReport report) {
+        this.http = http;
+        this.base = base;
+        this.report = report;
+    }
+
+    // --- PUBLIC API ---
+
+    public long userId() {
+        return userId;
+    }
+
+    public JsonNode signin(String email, String password) throws InterruptedException {
+        JsonNode user = send("signin", request("/api/auth/signin")
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(json(Map.of("email", email, "password", password)))));
+        if (user != null) {
+            token = user.path("token").asText();
+            userId = user.path("id").asLong();
+        }
+        return user;
+    }
+
+    public JsonNode get(String operation, String path) throws InterruptedException {
+        return send(operation, request(path).GET());
+    }
+
+    public JsonNode put(String operation, String path, Object body) throws InterruptedException {
+        return send(operation, request(path)
+                .header("Content-Type", "application/json")
+                .PUT(HttpRequest.BodyPublishers.ofByteArray(json(body))));
+    }
+
+    // Form fields go in the query string, as the frontend sends them (@RequestParam)
+    public JsonNode put(String operation, String path, Map<String, ?> params) throws InterruptedException {
+        return send(operation, request(path + query(params)).PUT(HttpRequest.BodyPublishers.noBody()));
+    }
+
+    public JsonNode multipart(String operation, String method, String path, Map<String, ?> fields,
+                              String fileField, byte[] jpeg) throws InterruptedException {
+        String boundary = "----civicpulse" + UUID.randomUUID();
+        List<byte[]> parts = new ArrayList<>();
+        for (Map.Entry<String, ?> field : fields.entrySet()) {
+            parts.add(("--" + boundary + "\r\nContent-Disposition: form-data; name=\"" + field.getKey() + "\"\r\n\r\n"
+                    + field.getValue() + "\r\n").getBytes(StandardCharsets.UTF_8));
+        }
+        if (jpeg != null) {
+            parts.add(("--" + boundary + "\r\nContent-Disposition: form-data; name=\"" + fileField
+                    + "\"; filename=\"photo.jpg\"\r\nContent-Type: image/jpeg\r\n\r\n").getBytes(StandardCharsets.UTF_8));
+            parts.add(jpeg);
+            parts.add("\r\n".getBytes(StandardCharsets.UTF_8));
+        }
+        parts.add(("--" + boundary + "--\r\n").getBytes(StandardCharsets.UTF_8));
+        return send(operation, request(path)
+                .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+                .method(method, HttpRequest.BodyPublishers.ofByteArrays(parts)));
+    }
+
+    public static String query(Map<String, ?> params) {
+        StringBuilder query = new StringBuilder();
+        for (Map.Entry<String, ?> param : params.entrySet()) {
+            query.append(query.isEmpty() ? '?' : '&').append(param.getKey()).append('=')
+                    .append(URLEncoder.encode(String.valueOf(param.getValue()), StandardCharsets.UTF_8));
+        }
+        return query.toString();
+    }
+
+    // --- INTERNALS ---
+
+    private HttpRequest.Builder request(String path) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(base.resolve(path)).timeout(TIMEOUT);
+        if (token != null) builder.header("Authorization", "Bearer " + token);
+        return builder;
+    }
+
+    private JsonNode send(String operation, HttpRequest.Builder builder) throws InterruptedException {
+        HttpRequest request = builder.build();
+        long start = System.nanoTime();
+        HttpResponse<byte[]> response;
+        try {
+            response = http.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        } catch (IOException e) {
+            report.record(operation, start, System.nanoTime(), -1, -1);
+            return null;
+        }
+        report.record(operation, start, System.nanoTime(), response.statusCode(),
+                response.headers().firstValueAsLong(SqlCountFilter.HEADER).orElse(-1));
+        if (response.statusCode() / 100 != 2) return null;
+
+        byte[] body = response.body();
+        if (body.length == 0 || (body[0] != '{' && body[0] != '[')) return null;
+        try {
+            return JSON.readTree(body);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static byte[] json(Object body) {
+        try {
+            return JSON.writeValueAsBytes(body);
+        } catch (IOException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package com.civicpulse.backend.benchmarks.load;
+
+import com.civicpulse.backend.config.SqlStatementCounter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// Results of a load test run: latency histograms (microseconds), error counts and SQL statements per operation
+// (from the X-SQL-Count header, see SqlCountFilter), plus the outbox relay lag sampled by LoadTest. Only requests
+// that start inside the measurement window are recorded, so warm-up traffic (JIT, caches, connection pool) does
+// not skew the percentiles.
+public class LoadReport {
+
+    private static final class Operation {
+        final ConcurrentHistogram latency = new ConcurrentHistogram(3); // Auto-resizing
+        final LongAdder conflicts = new LongAdder();
+        final LongAdder errors = new LongAdder();
+        final LongAdder statements = new LongAdder();
+        final LongAdder counted = new LongAdder(); // Responses that carried a statement count
+
+        double statementsPerRequest() {
+            long responses = counted.sum();
+            return responses == 0 ? 0 : (double) statements.sum() / responses;
+        }
+    }
+
+    private final ConcurrentHashMap<String, Operation> operations = new ConcurrentHashMap<>();
+    private final ConcurrentHistogram outboxLag = new ConcurrentHistogram(3); // Milliseconds
+    private volatile boolean measuring;
+    private volatile long windowStart;
+    private long windowEnd;
+    private long statementsAtStart;
+    private long statementsAtEnd;
+
+    // --- PUBLIC API ---
+
+    public void start() {
+        operations.clear();
+        statementsAtStart = SqlStatementCounter.total();
+        windowStart = System.nanoTime();
+        measuring = true;
+    }
+
+    public void stop() {
+        measuring = false;
+        windowEnd = System.nanoTime();
+        statementsAtEnd = SqlStatementCounter.total();
+    }
+
+    // status -1: no response (connection failure, timeout). 409 is an expected outcome under contention
+    // (two officers or admins acting on the same complaint) and is counted apart from errors.
+    // statements -1: the response had no X-SQL-Count header.
+    public void record(String operation, long startNanos, long endNanos, int status, long statements) {
+        if (!measuring || startNanos < windowStart) return;
+        Operation stats = operations.computeIfAbsent(operation, k -> new Operation());
+        stats.latency.recordValue(Math.max(1, (endNanos - startNanos) / 1000));
+        if (status == 409) stats.conflicts.increment();
+        else if (status < 200 || status >= 300) stats.errors.increment();
+        if (statements >= 0) {
+            stats.statements.add(statements);
+            stats.counted.increment();
+        }
+    }
+
+    // How far the outbox relay is behind (ComplaintOutbox.getLagMillis), sampled at a fixed rate
+    public void recordOutboxLag(long millis) {
+        if (measuring) outboxLag.recordValue(Math.max(0, millis));
+    }
+
+    public void print(PrintStream out) {
+        double seconds = seconds();
+        String row = "%-18s %9s %9s %7s %7s %9s %9s %9s %9s %9s %8s%n";
+        out.printf(row, "Operation", "Requests", "Req/s", "Errors", "409s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "SQL/req");
+
+        Histogram all = new Histogram(3);
+        long errors = 0;
+        long conflicts = 0;
+        long statements = 0;
+        long counted = 0;
+        for (Map.Entry<String, Operation> entry : sorted().entrySet()) {
+            Operation stats = entry.getValue();
+            Histogram latency = stats.latency.copy();
+            all.add(latency);
+            errors += stats.errors.sum();
+            conflicts += stats.conflicts.sum();
+            statements += stats.statements.sum();
+            counted += stats.counted.sum();
+            out.printf(row, entry.getKey(), latency.getTotalCount(), rate(latency.getTotalCount(), seconds),
+                    stats.errors.sum(), stats.conflicts.sum(), ms(latency, 50), ms(latency, 90), ms(latency, 99),
+                    ms(latency, 99.9), ms(latency.getMaxValue()), String.format("%.1f", stats.statementsPerRequest()));
+        }
+        out.printf(row, "TOTAL", all.getTotalCount(), rate(all.getTotalCount(), seconds), errors, conflicts,
+                ms(all, 50), ms(all, 90), ms(all, 99), ms(all, 99.9), ms(all.getMaxValue()),
+                String.format("%.1f", counted == 0 ? 0 : (double) statements / counted));
+        long background = Math.max(0, statementsAtEnd - statementsAtStart - statements);
+        out.printf("Background SQL (outbox relay, dispatch, scheduled jobs): %,d statements, %.1f/s%n",
+                background, background / seconds);
+        Histogram lag = outboxLag.copy();
+        if (lag.getTotalCount() > 0) {
+            out.printf("Outbox relay lag: p50 %d ms, p99 %d ms, max %d ms%n",
+                    lag.getValueAtPercentile(50), lag.getValueAtPercentile(99), lag.getMaxValue());
+        }
+    }
+
+    // Same layout as JMH's JSON results, so two runs can be compared with BenchmarkDiff:
+    // throughput per operation (higher is better), latency percentiles and SQL per request (lower is better)
+    public void write(Path file, Map<String, String> settings) throws IOException {
+        double seconds = seconds();
+        List<Map<String, Object>> results = new ArrayList<>();
+        for (Map.Entry<String, Operation> entry : sorted().entrySet()) {
+            Operation stats = entry.getValue();
+            Histogram latency = stats.latency.copy();
+            String name = "LoadTest." + entry.getKey();
+            results.add(result(name, "throughput", settings, "thrpt", latency.getTotalCount() / seconds, "req/s"));
+            results.add(result(name, "p50", settings, "sample", latency.getValueAtPercentile(50) / 1000.0, "ms"));
+            results.add(result(name, "p99", settings, "sample", latency.getValueAtPercentile(99) / 1000.0, "ms"));
+            results.add(result(name, "sql", settings, "avgt", stats.statementsPerRequest(), "statements/req"));
+            results.add(result(name, "errors", settings, "avgt", stats.errors.sum(), "requests"));
+        }
+        Histogram lag = outboxLag.copy();
+        if (lag.getTotalCount() > 0) {
+            results.add(result("LoadTest.outboxLag", "p50", settings, "sample", lag.getValueAtPercentile(50), "ms"));
+            results.add(result("LoadTest.outboxLag", "p99", settings, "sample", lag.getValueAtPercentile(99), "ms"));
+        }
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), results);
+    }
+
+    // --- INTERNALS ---
+
+    private Map<String, Operation> sorted() {
+        return new TreeMap<>(operations);
+    }
+
+    private double seconds() {
+        long end = measuring ? System.nanoTime() : windowEnd;
+        return Math.max(1e-9, (end - windowStart) / 1e9);
+    }
+
+    private static Map<String, Object> result(String benchmark, String metric, Map<String, String> settings,
+                                              String mode, double score, String unit) {
+        Map<String, Object> params = new LinkedHashMap<>(settings);
+        params.put("metric", metric);
+        Map<String, Object> primaryMetric = new LinkedHashMap<>();
+        primaryMetric.put("score", score);
+        primaryMetric.put("scoreError", 0);
+        primaryMetric.put("scoreUnit", unit);
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("benchmark", benchmark);
+        result.put("mode", mode);
+        result.put("params", params);
+        result.put("primaryMetric", primaryMetric);
+        return result;
+    }
+
+    private static String rate(long count, double seconds) {
+        return String.format("%.1f", count / seconds);
+    }
+
+    private static String ms(Histogram latency, double percentile) {
+        return ms(latency.getValueAtPercentile(percentile));
+    }
+
+    private static String ms(long micros) {
+        return String.format("%.2f", micros / 1000.0);
+    }
+}
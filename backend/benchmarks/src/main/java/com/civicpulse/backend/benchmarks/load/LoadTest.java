@@ -0,0 +1,142 @@
+package com.civicpulse.backend.benchmarks.load;
+
+import com.civicpulse.backend.BackendApplication;
+import com.civicpulse.backend.benchmarks.BenchmarkRunner;
+import com.civicpulse.backend.services.ComplaintOutbox;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.util.FileSystemUtils;
+
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// End-to-end load test: boots the whole backend on a random port against in-memory H2 (MySQL mode),
+// seeds it through the "seed" profile (BulkDataSeeder), drives the Workload over HTTP and prints
+// throughput, latency percentiles and SQL statements per request for every operation (the X-SQL-Count
+// header, enabled here through app.metrics.sql-count-header), and how far the outbox relay fell behind.
+//
+//   java -cp benchmarks/target/benchmarks.jar com.civicpulse.backend.benchmarks.load.LoadTest citizens=500 think-ms=200
+//
+// Settings are name=value pairs (see Settings.DEFAULTS); names containing a dot are passed to Spring,
+// e.g. spring.datasource.hikari.maximum-pool-size=20. Results are also written to
+// benchmarks/results/load-<commit>.json, which BenchmarkDiff compares like JMH results.
+// H2 is a stand-in: absolute numbers differ from MySQL, but changes in SQL per request and relative
+// throughput between two commits carry over.
+public class LoadTest {
+
+    private static final long LAG_SAMPLE_MS = 100;
+
+    public record Settings(int citizens, int officers, int admins, int warmupSeconds, int durationSeconds, int thinkMs,
+                           int wards, int citizensPerWard, int officersPerDepartment, int complaints, String password,
+                           Map<String, String> springProperties) {
+
+        static final Map<String, String> DEFAULTS = new LinkedHashMap<>();
+        static {
+            DEFAULTS.put("citizens", "200");
+            DEFAULTS.put("officers", "20");
+            DEFAULTS.put("admins", "2");
+            DEFAULTS.put("warmup", "20");      // Seconds
+            DEFAULTS.put("duration", "60");    // Seconds
+            DEFAULTS.put("think-ms", "100");   // Mean pause between a user's actions
+            DEFAULTS.put("wards", "30");       // Seeded data (app.seed.*)
+            DEFAULTS.put("citizens-per-ward", "50");
+            DEFAULTS.put("officers-per-department", "10");
+            DEFAULTS.put("complaints", "50000");
+        }
+
+        static Settings parse(String... args) {
+            Map<String, String> values = new HashMap<>(DEFAULTS);
+            Map<String, String> springProperties = new LinkedHashMap<>();
+            for (String arg : args) {
+                int eq = arg.indexOf('=');
+                if (eq < 0) throw new IllegalArgumentException("Expected name=value, got " + arg);
+                String name = arg.substring(0, eq);
+                if (name.contains(".")) springProperties.put(name, arg.substring(eq + 1));
+                else if (DEFAULTS.containsKey(name)) values.put(name, arg.substring(eq + 1));
+                else throw new IllegalArgumentException("Unknown setting " + name + ", expected one of " + DEFAULTS.keySet());
+            }
+            Settings settings = new Settings(
+                    Integer.parseInt(values.get("citizens")), Integer.parseInt(values.get("officers")),
+                    Integer.parseInt(values.get("admins")), Integer.parseInt(values.get("warmup")),
+                    Integer.parseInt(values.get("duration")), Integer.parseInt(values.get("think-ms")),
+                    Integer.parseInt(values.get("wards")), Integer.parseInt(values.get("citizens-per-ward")),
+                    Integer.parseInt(values.get("officers-per-department")), Integer.parseInt(values.get("complaints")),
+                    springProperties.getOrDefault("app.seed.password", "password123"), springProperties);
+            if (settings.citizens() > settings.wards() * settings.citizensPerWard()
+                    || settings.officers() > Workload.DEPARTMENTS * settings.officersPerDepartment()) {
+                throw new IllegalArgumentException("More simulated users than seeded ones: raise wards, citizens-per-ward or officers-per-department");
+            }
+            return settings;
+        }
+
+        // Identify a run in the results file; runs are only compared when these match
+        Map<String, String> label() {
+            Map<String, String> label = new LinkedHashMap<>();
+            label.put("users", citizens + "/" + officers + "/" + admins);
+            label.put("thinkMs", String.valueOf(thinkMs));
+            return label;
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Settings settings = Settings.parse(args);
+        Path uploads = Files.createTempDirectory("civicpulse-load-uploads");
+
+        Map<String, Object> properties = new LinkedHashMap<>();
+        properties.put("spring.datasource.url", "jdbc:h2:mem:loadtest;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+        properties.put("spring.datasource.username", "sa");
+        properties.put("spring.datasource.password", "");
+        properties.put("spring.jpa.hibernate.ddl-auto", "create-drop");
+        properties.put("spring.jpa.show-sql", "false");
+        properties.put("server.port", "0");
+        properties.put("management.server.port", "0");
+        properties.put("app.jwt.secret", "load-test-secret");
+        properties.put("app.uploads.dir", uploads.toString());
+        properties.put("app.metrics.sql-count-header", "true"); // SQL per request, see LoadReport
+        properties.put("app.seed.wards", settings.wards());
+        properties.put("app.seed.citizens-per-ward", settings.citizensPerWard());
+        properties.put("app.seed.officers-per-department", settings.officersPerDepartment());
+        properties.put("app.seed.complaints", settings.complaints());
+        properties.putAll(settings.springProperties());
+
+        // As command-line arguments, so they win over an application.properties inside the backend jar
+        String[] arguments = properties.entrySet().stream().map(e -> "--" + e.getKey() + "=" + e.getValue())
+                .toArray(String[]::new);
+        ConfigurableApplicationContext app = new SpringApplicationBuilder(BackendApplication.class, LoadTestConfig.class)
+                .profiles("seed")
+                .run(arguments);
+        try {
+            int port = ((WebServerApplicationContext) app).getWebServer().getPort();
+            Workload workload = new Workload(settings, URI.create("http://localhost:" + port));
+            ComplaintOutbox outbox = app.getBean(ComplaintOutbox.class);
+            ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor();
+            sampler.scheduleAtFixedRate(() -> workload.report().recordOutboxLag(outbox.getLagMillis()),
+                    LAG_SAMPLE_MS, LAG_SAMPLE_MS, TimeUnit.MILLISECONDS);
+            LoadReport report;
+            try {
+                report = workload.run();
+            } finally {
+                sampler.shutdownNow();
+            }
+
+            System.out.println();
+            report.print(System.out);
+            Path results = BenchmarkRunner.resultsDirectory();
+            Files.createDirectories(results);
+            Path file = results.resolve("load-" + BenchmarkRunner.runName() + ".json");
+            report.write(file, settings.label());
+            System.out.println("Results written to " + file);
+        } finally {
+            app.close();
+            FileSystemUtils.deleteRecursively(uploads);
+        }
+    }
+}
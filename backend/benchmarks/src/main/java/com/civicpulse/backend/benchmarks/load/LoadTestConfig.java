@@ -0,0 +1,22 @@
+package com.civicpulse.backend.benchmarks.load;
+
+import jakarta.mail.internet.MimeMessage;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+// Added to the application by LoadTest: a mail sender that drops everything
+// (MailDispatcher still builds and batches every message; only the SMTP round trip is skipped).
+@Configuration(proxyBeanMethods = false)
+public class LoadTestConfig {
+
+    @Bean
+    public JavaMailSender javaMailSender() {
+        return new JavaMailSenderImpl() {
+            @Override
+            protected void doSend(MimeMessage[] mimeMessages, Object[] originalMessages) {
+            }
+        };
+    }
+}
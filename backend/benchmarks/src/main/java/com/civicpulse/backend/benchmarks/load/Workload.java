@@ -0,0 +1,386 @@
+package com.civicpulse.backend.benchmarks.load;
+
+import com.civicpulse.backend.config.BulkDataSeeder;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// The scripted civic workload. Every simulated user is a virtual thread running a closed loop: sign in,
+// then pick a weighted action, wait a random think time, repeat.
+//   Citizens: poll notifications, list their complaints, file complaints with a photo, rate resolved ones
+//   Officers: poll notifications, list their open tasks, resolve them on site with a proof photo
+//   Admins:   page through pending complaints and bulk-assign them to officers of the matching department
+// Users are the ones BulkDataSeeder creates (citizen-<ward>-<n>, officer-<department>-<n>) plus the default admin.
+public class Workload {
+
+    private static final Logger log = LoggerFactory.getLogger(Workload.class);
+
+    private static final String ADMIN_EMAIL = "admin@civicpulse.com"; // Created by DataSeeder
+    private static final String ADMIN_PASSWORD = "admin123";
+    static final int DEPARTMENTS = 4; // As seeded by BulkDataSeeder
+    private static final double CENTER_LAT = 17.385;
+    private static final double CENTER_LNG = 78.4867;
+    private static final double SPREAD_DEGREES = 0.36;
+    private static final int PHOTOS = 16;
+
+    private static final String[] ISSUES = {"Pothole", "Streetlight not working", "Garbage not collected", "Water leakage",
+            "Open drain", "Broken footpath", "No water supply", "Sewage overflow", "Fallen tree", "Power cut"};
+    private static final String[] LANDMARKS = {"bus stop", "school", "market", "temple", "hospital", "park", "junction"};
+
+    private final LoadTest.Settings settings;
+    private final URI base;
+    private final LoadReport report = new LoadReport();
+    private final List<byte[]> photos;
+    private final Map<Integer, List<Long>> officersByCategory = new LinkedHashMap<>();
+    private final List<Integer> categoryIds = new ArrayList<>();
+    private volatile boolean running = true;
+
+    public Workload(LoadTest.Settings settings, URI base) {
+        this.settings = settings;
+        this.base = base;
+        this.photos = photos(PHOTOS, 42);
+    }
+
+    // --- PUBLIC API ---
+
+    public LoadReport report() {
+        return report;
+    }
+
+    public LoadReport run() throws InterruptedException {
+        try (HttpClient http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+             ExecutorService users = Executors.newVirtualThreadPerTaskExecutor()) {
+            loadReferenceData(http);
+
+            List<Session> sessions = new ArrayList<>();
+            for (int i = 0; i < settings.citizens(); i++) {
+                sessions.add(new CitizenSession(http, "citizen-" + (i % settings.wards()) + "-" + (i / settings.wards())
+                        + BulkDataSeeder.EMAIL_DOMAIN, i));
+            }
+            for (int i = 0; i < settings.officers(); i++) {
+                sessions.add(new OfficerSession(http, "officer-" + (i % DEPARTMENTS) + "-" + (i / DEPARTMENTS)
+                        + BulkDataSeeder.EMAIL_DOMAIN, settings.citizens() + i));
+            }
+            for (int i = 0; i < settings.admins(); i++) {
+                sessions.add(new AdminSession(http, settings.citizens() + settings.officers() + i));
+            }
+            log.info("Starting {} citizens, {} officers and {} admins; warming up for {} s",
+                    settings.citizens(), settings.officers(), settings.admins(), settings.warmupSeconds());
+            sessions.forEach(session -> users.submit(session::run));
+
+            Thread.sleep(settings.warmupSeconds() * 1000L);
+            report.start();
+            log.info("Measuring for {} s", settings.durationSeconds());
+            Thread.sleep(settings.durationSeconds() * 1000L);
+            report.stop();
+
+            running = false; // Users finish their current request; closing the executor waits for them
+            return report;
+        }
+    }
+
+    // --- SESSIONS ---
+
+    private abstract class Session {
+
+        final LoadClient client;
+        final SplittableRandom random;
+        final String email;
+        final String password;
+
+        Session(HttpClient http, String email, String password, long seed) {
+            this.client = new LoadClient(http, base, report);
+            this.random = new SplittableRandom(seed);
+            this.email = email;
+            this.password = password;
+        }
+
+        void run() {
+            try {
+                // Spread the first logins (BCrypt) over the first half of the warm-up
+                Thread.sleep(random.nextLong(settings.warmupSeconds() * 500L + 1));
+                while (running && client.signin(email, password) == null) Thread.sleep(1000);
+                while (running) {
+                    step();
+                    think();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException e) {
+                log.warn("Session {} stopped", email, e);
+            }
+        }
+
+        abstract void step() throws InterruptedException;
+
+        void pollNotifications(boolean list) throws InterruptedException {
+            if (list) client.get("notifications", "/api/notifications/" + client.userId() + "?limit=20");
+            else client.get("unreadCount", "/api/notifications/unread-count/" + client.userId());
+        }
+
+        // Exponentially distributed around the mean, like independent users
+        private void think() throws InterruptedException {
+            if (settings.thinkMs() > 0) Thread.sleep((long) (-Math.log(1 - random.nextDouble()) * settings.thinkMs()));
+        }
+
+        // Index of the weight that was rolled
+        int pick(int... weights) {
+            int total = 0;
+            for (int weight : weights) total += weight;
+            int roll = random.nextInt(total);
+            for (int i = 0; i < weights.length; i++) {
+                roll -= weights[i];
+                if (roll < 0) return i;
+            }
+            return weights.length - 1;
+        }
+    }
+
+    private class CitizenSession extends Session {
+
+        private final List<Integer> resolved = new ArrayList<>();
+
+        CitizenSession(HttpClient http, String email, long seed) {
+            super(http, email, settings.password(), seed);
+        }
+
+        @Override
+        void step() throws InterruptedException {
+            switch (pick(35, 15, 20, 15, 10, 5)) {
+                case 0 -> pollNotifications(false);
+                case 1 -> pollNotifications(true);
+                case 2 -> myComplaints();
+                case 3 -> createComplaint();
+                case 4 -> feedback();
+                default -> client.signin(email, password);
+            }
+        }
+
+        private void myComplaints() throws InterruptedException {
+            JsonNode complaints = client.get("myComplaints", "/api/complaints/my-complaints/" + client.userId());
+            if (complaints == null) return;
+            resolved.clear();
+            for (JsonNode complaint : complaints) {
+                if ("RESOLVED".equals(complaint.path("status").asText())) resolved.add(complaint.path("id").asInt());
+            }
+        }
+
+        private void createComplaint() throws InterruptedException {
+            String issue = ISSUES[random.nextInt(ISSUES.length)];
+            String landmark = LANDMARKS[random.nextInt(LANDMARKS.length)];
+            Map<String, Object> fields = new LinkedHashMap<>();
+            fields.put("title", issue + " near " + landmark);
+            fields.put("description", issue + " near the " + landmark + " since " + (1 + random.nextInt(10))
+                    + " days, reported by " + email);
+            fields.put("categoryId", categoryIds.get(random.nextInt(categoryIds.size())));
+            fields.put("userId", client.userId());
+            fields.put("location", "Near " + landmark);
+            fields.put("latitude", CENTER_LAT + (random.nextDouble() - 0.5) * SPREAD_DEGREES);
+            fields.put("longitude", CENTER_LNG + (random.nextDouble() - 0.5) * SPREAD_DEGREES);
+            client.multipart("createComplaint", "POST", "/api/complaints/add", fields, "image",
+                    random.nextInt(5) == 0 ? null : photo(random));
+        }
+
+        private void feedback() throws InterruptedException {
+            if (resolved.isEmpty()) {
+                myComplaints();
+                return;
+            }
+            int id = resolved.remove(random.nextInt(resolved.size()));
+            client.put("feedback", "/api/complaints/feedback/" + id,
+                    Map.of("rating", 1 + random.nextInt(5), "feedback", "Fixed, thanks"));
+        }
+    }
+
+    private class OfficerSession extends Session {
+
+        private record Task(int id, Double lat, Double lng) {}
+
+        private final List<Task> tasks = new ArrayList<>();
+
+        OfficerSession(HttpClient http, String email, long seed) {
+            super(http, email, settings.password(), seed);
+        }
+
+        @Override
+        void step() throws InterruptedException {
+            switch (pick(30, 10, 30, 25, 5)) {
+                case 0 -> pollNotifications(false);
+                case 1 -> pollNotifications(true);
+                case 2 -> assignedQueue();
+                case 3 -> resolve();
+                default -> client.signin(email, password);
+            }
+        }
+
+        private void assignedQueue() throws InterruptedException {
+            JsonNode page = client.get("assignedQueue", "/api/complaints/paged" + LoadClient.query(Map.of(
+                    "assignedTo", client.userId(), "status", "IN_PROGRESS", "size", 20)));
+            if (page == null) return;
+            tasks.clear();
+            for (JsonNode item : page.path("items")) {
+                tasks.add(new Task(item.path("id").asInt(),
+                        item.path("latitude").isNumber() ? item.path("latitude").asDouble() : null,
+                        item.path("longitude").isNumber() ? item.path("longitude").asDouble() : null));
+            }
+        }
+
+        // On site: reports the complaint's own coordinates, so the 200 m geo-fence passes
+        private void resolve() throws InterruptedException {
+            if (tasks.isEmpty()) {
+                assignedQueue();
+                return;
+            }
+            Task task = tasks.remove(tasks.size() - 1);
+            Map<String, Object> fields = new LinkedHashMap<>();
+            fields.put("materials", (1 + random.nextInt(5)) + " bags cement");
+            fields.put("lat", task.lat() != null ? task.lat() : CENTER_LAT);
+            fields.put("lng", task.lng() != null ? task.lng() : CENTER_LNG);
+            client.multipart("resolveComplaint", "PUT", "/api/complaints/resolve/" + task.id(), fields, "proof", photo(random));
+        }
+    }
+
+    private class AdminSession extends Session {
+
+        private record Pending(int id, int categoryId) {}
+
+        private final List<Pending> pending = new ArrayList<>();
+        private final String sort;
+
+        AdminSession(HttpClient http, long seed) {
+            super(http, ADMIN_EMAIL, ADMIN_PASSWORD, seed);
+            this.sort = seed % 2 == 0 ? "oldest" : "newest"; // Two admins work the queue from both ends
+        }
+
+        @Override
+        void step() throws InterruptedException {
+            switch (pick(40, 40, 15, 5)) {
+                case 0 -> pendingQueue();
+                case 1 -> assignBulk();
+                case 2 -> pollNotifications(false);
+                default -> client.signin(email, password);
+            }
+        }
+
+        private void pendingQueue() throws InterruptedException {
+            JsonNode page = client.get("pendingQueue", "/api/complaints/paged" + LoadClient.query(Map.of(
+                    "status", "PENDING", "sort", sort, "size", 50)));
+            if (page == null) return;
+            pending.clear();
+            for (JsonNode item : page.path("items")) {
+                pending.add(new Pending(item.path("id").asInt(), item.path("categoryId").asInt()));
+            }
+        }
+
+        // Up to 10 pending complaints of one category to an officer of the matching department
+        private void assignBulk() throws InterruptedException {
+            if (pending.isEmpty()) {
+                pendingQueue();
+                return;
+            }
+            int categoryId = pending.get(0).categoryId();
+            List<Integer> ids = new ArrayList<>();
+            for (int i = 0; i < pending.size() && ids.size() < 10; ) {
+                if (pending.get(i).categoryId() == categoryId) ids.add(pending.remove(i).id());
+                else i++;
+            }
+            List<Long> officers = officersByCategory.getOrDefault(categoryId, officersByCategory.values().iterator().next());
+            client.put("assignBulk", "/api/complaints/assign-bulk",
+                    Map.of("complaintIds", ids, "officerId", officers.get(random.nextInt(officers.size()))));
+        }
+    }
+
+    // --- INTERNALS ---
+
+    // Categories and officers, fetched once before the run. BulkDataSeeder maps categories to
+    // departments in id order and seeds officers department by department, so both orders line up.
+    private void loadReferenceData(HttpClient http) throws InterruptedException {
+        LoadClient admin = new LoadClient(http, base, report);
+        if (admin.signin(ADMIN_EMAIL, ADMIN_PASSWORD) == null) throw new IllegalStateException("Admin sign-in failed");
+        JsonNode categories = admin.get("setup", "/api/complaints/categories");
+        JsonNode officers = admin.get("setup", "/api/users/officers");
+        if (categories == null || officers == null) throw new IllegalStateException("Could not load categories and officers");
+
+        Map<String, List<Long>> byDepartment = new TreeMap<>();
+        for (JsonNode officer : officers) {
+            byDepartment.computeIfAbsent(officer.path("department").asText(), k -> new ArrayList<>()).add(officer.path("id").asLong());
+        }
+        List<List<Long>> departments = new ArrayList<>(byDepartment.values());
+        departments.sort(Comparator.comparing(ids -> ids.stream().min(Long::compare).orElse(Long.MAX_VALUE)));
+
+        List<Integer> ids = new ArrayList<>();
+        categories.forEach(category -> ids.add(category.path("id").asInt()));
+        ids.sort(null);
+        for (int i = 0; i < ids.size(); i++) {
+            categoryIds.add(ids.get(i));
+            if (i < departments.size()) officersByCategory.put(ids.get(i), departments.get(i));
+        }
+        if (categoryIds.isEmpty() || officersByCategory.isEmpty()) throw new IllegalStateException("No categories or officers seeded");
+    }
+
+    // A base photo with a unique JPEG comment segment after the start marker, so every upload is a new file
+    // (UploadStorageService deduplicates by content hash) without encoding an image per request
+    private byte[] photo(SplittableRandom random) {
+        byte[] photo = photos.get(random.nextInt(photos.size()));
+        byte[] comment = UUID.randomUUID().toString().getBytes(StandardCharsets.US_ASCII);
+        byte[] unique = new byte[photo.length + 4 + comment.length];
+        unique[0] = (byte) 0xFF;
+        unique[1] = (byte) 0xD8; // SOI
+        unique[2] = (byte) 0xFF;
+        unique[3] = (byte) 0xFE; // COM, length includes its own two bytes
+        unique[4] = (byte) ((comment.length + 2) >> 8);
+        unique[5] = (byte) (comment.length + 2);
+        System.arraycopy(comment, 0, unique, 6, comment.length);
+        System.arraycopy(photo, 2, unique, 6 + comment.length, photo.length - 2);
+        return unique;
+    }
+
+    // Phone-camera-like JPEGs (busy content, ~50-100 KB), so thumbnailing does real work
+    private static List<byte[]> photos(int count, long seed) {
+        Random random = new Random(seed);
+        List<byte[]> photos = new ArrayList<>(count);
+        for (int p = 0; p < count; p++) {
+            BufferedImage image = new BufferedImage(1024, 768, BufferedImage.TYPE_INT_RGB);
+            Graphics2D g = image.createGraphics();
+            for (int i = 0; i < 400; i++) {
+                g.setColor(new Color(random.nextInt(0xFFFFFF)));
+                g.fillOval(random.nextInt(1024) - 50, random.nextInt(768) - 50, 20 + random.nextInt(120), 20 + random.nextInt(120));
+            }
+            g.dispose();
+            ByteArrayOutputStream jpeg = new ByteArrayOutputStream();
+            try {
+                ImageIO.write(image, "jpg", jpeg);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            photos.add(jpeg.toByteArray());
+        }
+        return photos;
+    }
+}
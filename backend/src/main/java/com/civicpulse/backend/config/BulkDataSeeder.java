@@ -0,0 +1,499 @@
+package com.civicpulse.backend.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+// Production-scale fixture for local benchmarking. Only active with the "seed" profile:
+//   mvn -Ph2 spring-boot:run -Dspring-boot.run.profiles=h2,seed   (file-based H2 in MySQL mode)
+//   mvn spring-boot:run -Dspring-boot.run.profiles=seed           (the configured civicpulse_db)
+// Volumes are app.seed.* (see application-seed.properties). Runs once: skipped if seeded users exist.
+//
+// Wards sit on a jittered grid around the city centre, denser towards the middle; each has a few hotspots
+// where complaints pile up (so DuplicateDetector and the geo views see realistic clusters). Complaints get
+// a status mix by age, the matching officer (by category department), history rows and notifications,
+// all consistent with what ComplaintController would have written.
+//
+// Rows go in through plain JDBC batches, not JPA: ids are assigned here (contiguous ranges after the current
+// max), so complaints, history and notifications are built together and written in chunks of
+// app.seed.chunk-size complaints, each chunk one transaction on its own thread.
+// Runs before ApplicationReadyEvent, so the in-memory views (geo, search, SLA, metrics) load the seeded data.
+@Component
+@Profile("seed")
+public class BulkDataSeeder implements CommandLineRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(BulkDataSeeder.class);
+
+    public static final String EMAIL_DOMAIN = "@seed.civicpulse.local";
+
+    private static final long HOUR = TimeUnit.HOURS.toMillis(1);
+    private static final long DAY = TimeUnit.DAYS.toMillis(1);
+
+    private static final String INSERT_USER_SQL =
+            "INSERT INTO users (id, name, email, password, role, department, ward_number, enabled, tickets_resolved, tickets_reopened) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, TRUE, 0, 0)";
+    private static final String INSERT_COMPLAINT_SQL =
+            "INSERT INTO complaints (id, user_id, category_id, assigned_to, title, description, location, latitude, longitude, "
+            + "status, priority, admin_comment, resolved_latitude, resolved_longitude, citizen_rating, duplicate_of_id, "
+            + "created_at, assigned_at, sla_breached_at, version, updated_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_HISTORY_SQL =
+            "INSERT INTO complaint_history (complaint_id, action_by_user_id, action_type, details, timestamp) VALUES (?, ?, ?, ?, ?)";
+    private static final String INSERT_NOTIFICATION_SQL =
+            "INSERT INTO notifications (user_id, message, type, related_complaint_id, is_read, created_at) VALUES (?, ?, ?, ?, ?, ?)";
+
+    // Same names officers pick at signup
+    private static final String[] DEPARTMENTS = {"Sanitary", "Electricity", "Roads & Transport", "Water Supply"};
+    private static final String[] DEFAULT_CATEGORIES = {"Garbage & Sanitation", "Streetlights & Electricity", "Roads & Potholes", "Water Supply"};
+    private static final String[][] TITLES = {
+            {"Garbage not collected", "Overflowing dustbin", "Open drain blocked", "Dead animal on road", "Garbage burning"},
+            {"Streetlight not working", "Loose hanging wire", "Transformer sparking", "Power cut since morning", "Streetlight on during day"},
+            {"Pothole on main road", "Broken footpath", "Traffic signal not working", "Road caved in", "Speed breaker damaged"},
+            {"Water pipe leakage", "No water supply", "Contaminated water", "Low water pressure", "Sewage mixing with water"}};
+    private static final String[] DETAILS = {
+            "This has been the case for over a week.", "Children and elderly people are at risk.",
+            "Already reported once, nothing happened.", "It gets worse every time it rains.",
+            "Shops nearby are affected.", "Happens mostly at night.", "Very dangerous for two wheelers."};
+    private static final String[] LANDMARKS = {"bus stop", "government school", "market", "temple", "hospital", "park",
+            "railway station", "community hall", "police station", "post office", "metro station", "water tank"};
+    private static final String[] STREETS = {"Main Road", "Station Road", "Gandhi Nagar", "Nehru Street", "Market Lane",
+            "Lake View Colony", "Park Avenue", "Temple Street", "Old City Road", "Ring Road", "1st Cross", "2nd Cross"};
+    private static final String[] PRIORITIES = {"LOW", "MEDIUM", "MEDIUM", "HIGH"};
+    private static final String[] REJECT_REASONS = {"Not within municipal limits.", "Private property, not a civic issue.",
+            "Insufficient details, please file again with a photo."};
+
+    record Ward(String number, double lat, double lng, double sigma, double[][] hotspots) { }
+
+    record SeedComplaint(int id, long userId, int categoryId, Long officerId, String title, String description,
+                         String location, double lat, double lng, String status, String priority, String adminComment,
+                         Double resolvedLat, Double resolvedLng, Integer rating, Integer duplicateOfId,
+                         Timestamp createdAt, Timestamp assignedAt, Timestamp slaBreachedAt, long version, Timestamp updatedAt) { }
+
+    record SeedHistory(int complaintId, Long userId, String action, String details, Timestamp at) { }
+
+    record SeedNotification(long userId, String message, String type, int complaintId, boolean read, Timestamp at) { }
+
+    // Fixed for one run: who and where complaints can come from
+    private record Population(Ward[] wards, double[] wardWeights, long firstCitizenId, long firstOfficerId,
+                              int[] categoryIds, List<Long> adminIds) { }
+
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private PlatformTransactionManager transactionManager;
+    @Autowired private PasswordEncoder passwordEncoder;
+    @Autowired private Clock clock;
+
+    @Value("${app.seed.wards:150}")
+    private int wards;
+
+    @Value("${app.seed.citizens-per-ward:200}")
+    private int citizensPerWard;
+
+    @Value("${app.seed.officers-per-department:25}")
+    private int officersPerDepartment;
+
+    @Value("${app.seed.complaints:1000000}")
+    private int complaints;
+
+    @Value("${app.seed.days:365}")
+    private int days;
+
+    @Value("${app.seed.threads:8}")
+    private int threads;
+
+    @Value("${app.seed.chunk-size:10000}")
+    private int chunkSize;
+
+    @Value("${app.seed.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${app.seed.random-seed:42}")
+    private long randomSeed;
+
+    @Value("${app.seed.password:password123}")
+    private String password;
+
+    @Value("${app.seed.center-lat:17.385}")
+    private double centerLat;
+
+    @Value("${app.seed.center-lng:78.4867}")
+    private double centerLng;
+
+    // Side of the city square in degrees (~40 km)
+    @Value("${app.seed.spread-degrees:0.36}")
+    private double spreadDegrees;
+
+    @Override
+    public void run(String... args) throws Exception {
+        Integer existing = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users WHERE email LIKE ?", Integer.class, "%" + EMAIL_DOMAIN);
+        if (existing != null && existing > 0) {
+            log.info("Seed data already present ({} seeded users), skipping", existing);
+            return;
+        }
+        seed();
+    }
+
+    public void seed() throws Exception {
+        long start = System.currentTimeMillis();
+        SplittableRandom random = new SplittableRandom(randomSeed);
+        Population population = seedUsers(random);
+        log.info("Seeded {} citizens and {} officers in {} ms", wards * citizensPerWard,
+                DEPARTMENTS.length * officersPerDepartment, System.currentTimeMillis() - start);
+
+        int firstComplaintId = nextId("complaints");
+        int chunks = (complaints + chunkSize - 1) / chunkSize;
+        AtomicIntegerArray resolvedByOfficer = new AtomicIntegerArray(DEPARTMENTS.length * officersPerDepartment);
+        AtomicIntegerArray reopenedByOfficer = new AtomicIntegerArray(DEPARTMENTS.length * officersPerDepartment);
+        AtomicInteger done = new AtomicInteger();
+        long[] rows = new long[3];
+
+        ExecutorService pool = Executors.newFixedThreadPool(Math.max(1, threads));
+        try {
+            List<Future<long[]>> futures = new ArrayList<>(chunks);
+            for (int c = 0; c < chunks; c++) {
+                int from = c * chunkSize;
+                int count = Math.min(chunkSize, complaints - from);
+                SplittableRandom chunkRandom = new SplittableRandom(randomSeed * 31 + c);
+                futures.add(pool.submit(() -> {
+                    long[] written = seedChunk(population, firstComplaintId + from, count, chunkRandom,
+                            resolvedByOfficer, reopenedByOfficer);
+                    int finished = done.incrementAndGet();
+                    if (finished % 10 == 0 || finished == chunks) {
+                        log.info("Seeded {}/{} complaint chunks ({} ms)", finished, chunks, System.currentTimeMillis() - start);
+                    }
+                    return written;
+                }));
+            }
+            for (Future<long[]> future : futures) {
+                long[] written = future.get();
+                for (int i = 0; i < rows.length; i++) rows[i] += written[i];
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        updateOfficerCounters(population.firstOfficerId(), resolvedByOfficer, reopenedByOfficer);
+        restartIdentity("users");
+        restartIdentity("complaints");
+
+        long elapsed = System.currentTimeMillis() - start;
+        log.info("Seeded {} complaints, {} history rows and {} notifications in {} ms ({} rows/s)",
+                rows[0], rows[1], rows[2], elapsed, (rows[0] + rows[1] + rows[2]) * 1000 / Math.max(1, elapsed));
+    }
+
+    // --- USERS ---
+
+    private Population seedUsers(SplittableRandom random) {
+        int[] categoryIds = ensureCategories();
+        Ward[] layout = layoutWards(random);
+        double[] weights = new double[layout.length];
+        double total = 0;
+        for (int i = 0; i < layout.length; i++) {
+            double distance = Math.hypot(layout[i].lat() - centerLat, layout[i].lng() - centerLng) / spreadDegrees;
+            total += (0.5 + random.nextDouble()) / (0.2 + distance); // Denser towards the centre
+            weights[i] = total;
+        }
+
+        // BCrypt is deliberately slow: every seeded user shares one hash
+        String hash = passwordEncoder.encode(password);
+        long firstCitizenId = nextId("users");
+        long firstOfficerId = firstCitizenId + (long) layout.length * citizensPerWard;
+        List<Object[]> users = new ArrayList<>();
+        for (int w = 0; w < layout.length; w++) {
+            for (int i = 0; i < citizensPerWard; i++) {
+                long id = firstCitizenId + (long) w * citizensPerWard + i;
+                users.add(new Object[] {id, "Citizen " + w + "-" + i, "citizen-" + w + "-" + i + EMAIL_DOMAIN, hash,
+                        "CITIZEN", null, layout[w].number()});
+            }
+        }
+        for (int d = 0; d < DEPARTMENTS.length; d++) {
+            for (int i = 0; i < officersPerDepartment; i++) {
+                long id = firstOfficerId + (long) d * officersPerDepartment + i;
+                users.add(new Object[] {id, officerName(d, i), "officer-" + d + "-" + i + EMAIL_DOMAIN, hash,
+                        "OFFICER", DEPARTMENTS[d], null});
+            }
+        }
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                jdbcTemplate.batchUpdate(INSERT_USER_SQL, users, batchSize, (ps, u) -> {
+                    ps.setLong(1, (Long) u[0]);
+                    ps.setString(2, (String) u[1]);
+                    ps.setString(3, (String) u[2]);
+                    ps.setString(4, (String) u[3]);
+                    ps.setString(5, (String) u[4]);
+                    ps.setString(6, (String) u[5]);
+                    ps.setString(7, (String) u[6]);
+                }));
+
+        List<Long> adminIds = jdbcTemplate.queryForList("SELECT id FROM users WHERE role = 'ADMIN'", Long.class);
+        return new Population(layout, weights, firstCitizenId, firstOfficerId, categoryIds, adminIds);
+    }
+
+    // Existing categories are kept (mapped to departments in id order); an empty table gets the defaults
+    private int[] ensureCategories() {
+        List<Integer> ids = jdbcTemplate.queryForList("SELECT id FROM complaint_categories ORDER BY id", Integer.class);
+        if (ids.isEmpty()) {
+            for (String name : DEFAULT_CATEGORIES) {
+                jdbcTemplate.update("INSERT INTO complaint_categories (name) VALUES (?)", name);
+            }
+            ids = jdbcTemplate.queryForList("SELECT id FROM complaint_categories ORDER BY id", Integer.class);
+        }
+        return ids.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private Ward[] layoutWards(SplittableRandom random) {
+        int side = (int) Math.ceil(Math.sqrt(wards));
+        double cell = spreadDegrees / side;
+        Ward[] layout = new Ward[wards];
+        for (int w = 0; w < wards; w++) {
+            double lat = centerLat - spreadDegrees / 2 + (w / side + 0.2 + 0.6 * random.nextDouble()) * cell;
+            double lng = centerLng - spreadDegrees / 2 + (w % side + 0.2 + 0.6 * random.nextDouble()) * cell;
+            double[][] hotspots = new double[3 + random.nextInt(4)][];
+            for (int h = 0; h < hotspots.length; h++) {
+                hotspots[h] = new double[] {lat + random.nextGaussian() * cell / 4, lng + random.nextGaussian() * cell / 4};
+            }
+            layout[w] = new Ward(String.valueOf(w + 1), lat, lng, cell / 3, hotspots);
+        }
+        return layout;
+    }
+
+    private static String officerName(int department, int i) {
+        return "Officer " + DEPARTMENTS[department] + " " + (i + 1);
+    }
+
+    // --- COMPLAINTS ---
+
+    // One transaction: the chunk's complaints, their history and notifications. Returns the three row counts.
+    private long[] seedChunk(Population population, int firstId, int count, SplittableRandom random,
+                             AtomicIntegerArray resolvedByOfficer, AtomicIntegerArray reopenedByOfficer) {
+        long now = clock.millis();
+        List<SeedComplaint> batch = new ArrayList<>(count);
+        List<SeedHistory> history = new ArrayList<>(count * 3);
+        List<SeedNotification> notifications = new ArrayList<>(count * (2 + population.adminIds().size()));
+
+        for (int i = 0; i < count; i++) {
+            int id = firstId + i;
+            int ward = pickWard(population.wardWeights(), random);
+            Ward w = population.wards()[ward];
+            long citizen = population.firstCitizenId() + (long) ward * citizensPerWard + random.nextInt(citizensPerWard);
+            int category = random.nextInt(population.categoryIds().length);
+            int department = category % DEPARTMENTS.length;
+            String title = TITLES[department][random.nextInt(TITLES[department].length)];
+            String street = STREETS[random.nextInt(STREETS.length)];
+            String landmark = LANDMARKS[random.nextInt(LANDMARKS.length)];
+            String description = title + " near the " + landmark + " on " + street + ". " + DETAILS[random.nextInt(DETAILS.length)];
+            String location = street + ", Ward " + w.number();
+
+            double lat;
+            double lng;
+            if (random.nextInt(100) < 15) { // Repeated reports around a hotspot (within ~20 m)
+                double[] spot = w.hotspots()[random.nextInt(w.hotspots().length)];
+                lat = spot[0] + random.nextGaussian() * 0.0001;
+                lng = spot[1] + random.nextGaussian() * 0.0001;
+            } else {
+                lat = w.lat() + random.nextGaussian() * w.sigma();
+                lng = w.lng() + random.nextGaussian() * w.sigma();
+            }
+
+            // Skewed towards recent complaints
+            double age = random.nextDouble();
+            long createdAt = now - (long) (age * age * days * DAY) - random.nextLong(HOUR);
+            String status = pickStatus(random, now - createdAt);
+            String priority = status.equals("REOPENED") ? "HIGH" : PRIORITIES[random.nextInt(PRIORITIES.length)];
+            int officerIndex = department * officersPerDepartment + random.nextInt(officersPerDepartment);
+            Long officer = null;
+            Long assignedAt = null;
+            Long slaBreachedAt = null;
+            long updatedAt = createdAt;
+            String adminComment = null;
+            Double resolvedLat = null;
+            Double resolvedLng = null;
+            Integer rating = null;
+            Integer duplicateOf = null;
+            long version = 0;
+
+            Timestamp created = new Timestamp(createdAt);
+            if (status.equals("DUPLICATE") && i == 0) status = "PENDING"; // Needs an earlier complaint in the chunk
+            if (status.equals("DUPLICATE")) {
+                duplicateOf = id - 1 - random.nextInt(Math.min(i, 100));
+                history.add(new SeedHistory(id, citizen, "DUPLICATE", "Linked to existing complaint #" + duplicateOf + ".", created));
+                notifications.add(new SeedNotification(citizen, "This issue is already reported as complaint #" + duplicateOf
+                        + ". Your report has been linked to it.", "INFO", id, true, created));
+            } else {
+                history.add(new SeedHistory(id, citizen, "CREATED", "Complaint filed.", created));
+                for (Long admin : population.adminIds()) {
+                    notifications.add(new SeedNotification(admin, "New Complaint Filed: " + title, "INFO", id,
+                            isRead(random, now, createdAt), created));
+                }
+            }
+
+            if (status.equals("ASSIGNED") || status.equals("IN_PROGRESS") || status.equals("RESOLVED") || status.equals("REOPENED")) {
+                officer = population.firstOfficerId() + officerIndex;
+                assignedAt = Math.min(now, createdAt + HOUR + random.nextLong(2 * DAY));
+                updatedAt = assignedAt;
+                version++;
+                Timestamp assigned = new Timestamp(assignedAt);
+                history.add(new SeedHistory(id, null, "ASSIGNED", "Assigned to Officer: "
+                        + officerName(department, officerIndex % officersPerDepartment), assigned));
+                notifications.add(new SeedNotification(officer, "New Task Assigned: " + title, "INFO", id,
+                        isRead(random, now, assignedAt), assigned));
+                // Already past the 24hr SLA: stamped as breached, so SlaWatcher does not escalate them all at startup
+                if (status.equals("IN_PROGRESS") && now - assignedAt > DAY) slaBreachedAt = assignedAt + DAY;
+            }
+            if (status.equals("RESOLVED") || status.equals("REOPENED")) {
+                long resolvedAt = Math.min(now, assignedAt + 2 * HOUR + random.nextLong(3 * DAY));
+                updatedAt = resolvedAt;
+                version++;
+                resolvedLat = lat + random.nextGaussian() * 0.0002;
+                resolvedLng = lng + random.nextGaussian() * 0.0002;
+                if (random.nextBoolean()) rating = 1 + random.nextInt(5);
+                Timestamp resolved = new Timestamp(resolvedAt);
+                history.add(new SeedHistory(id, officer, "RESOLVED", "Resolved at site.", resolved));
+                notifications.add(new SeedNotification(citizen, "Complaint Resolved: " + title + ". Please rate us.", "SUCCESS", id,
+                        isRead(random, now, resolvedAt), resolved));
+                resolvedByOfficer.incrementAndGet(officerIndex);
+            }
+            if (status.equals("REOPENED")) {
+                updatedAt = Math.min(now, updatedAt + random.nextLong(2 * DAY));
+                version++;
+                history.add(new SeedHistory(id, null, "REOPENED", "Ticket reopened. Waiting for Admin approval.", new Timestamp(updatedAt)));
+                reopenedByOfficer.incrementAndGet(officerIndex);
+            }
+            if (status.equals("REJECTED")) {
+                adminComment = REJECT_REASONS[random.nextInt(REJECT_REASONS.length)];
+                updatedAt = Math.min(now, createdAt + HOUR + random.nextLong(DAY));
+                version++;
+                Timestamp rejected = new Timestamp(updatedAt);
+                history.add(new SeedHistory(id, null, "REJECTED", "Reason: " + adminComment, rejected));
+                notifications.add(new SeedNotification(citizen, "Complaint Rejected: " + title, "ALERT", id,
+                        isRead(random, now, updatedAt), rejected));
+            }
+
+            batch.add(new SeedComplaint(id, citizen, population.categoryIds()[category], officer, title, description, location,
+                    lat, lng, status, priority, adminComment, resolvedLat, resolvedLng, rating, duplicateOf, created,
+                    assignedAt == null ? null : new Timestamp(assignedAt),
+                    slaBreachedAt == null ? null : new Timestamp(slaBreachedAt), version, new Timestamp(updatedAt)));
+        }
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            jdbcTemplate.batchUpdate(INSERT_COMPLAINT_SQL, batch, batchSize, BulkDataSeeder::setComplaint);
+            jdbcTemplate.batchUpdate(INSERT_HISTORY_SQL, history, batchSize, (ps, h) -> {
+                ps.setInt(1, h.complaintId());
+                ps.setObject(2, h.userId(), Types.BIGINT);
+                ps.setString(3, h.action());
+                ps.setString(4, h.details());
+                ps.setTimestamp(5, h.at());
+            });
+            jdbcTemplate.batchUpdate(INSERT_NOTIFICATION_SQL, notifications, batchSize, (ps, n) -> {
+                ps.setLong(1, n.userId());
+                ps.setString(2, n.message());
+                ps.setString(3, n.type());
+                ps.setInt(4, n.complaintId());
+                ps.setBoolean(5, n.read());
+                ps.setTimestamp(6, n.at());
+            });
+        });
+        return new long[] {batch.size(), history.size(), notifications.size()};
+    }
+
+    private static void setComplaint(PreparedStatement ps, SeedComplaint c) throws SQLException {
+        ps.setInt(1, c.id());
+        ps.setLong(2, c.userId());
+        ps.setInt(3, c.categoryId());
+        ps.setObject(4, c.officerId(), Types.BIGINT);
+        ps.setString(5, c.title());
+        ps.setString(6, c.description());
+        ps.setString(7, c.location());
+        ps.setDouble(8, c.lat());
+        ps.setDouble(9, c.lng());
+        ps.setString(10, c.status());
+        ps.setString(11, c.priority());
+        ps.setString(12, c.adminComment());
+        ps.setObject(13, c.resolvedLat(), Types.DOUBLE);
+        ps.setObject(14, c.resolvedLng(), Types.DOUBLE);
+        ps.setObject(15, c.rating(), Types.INTEGER);
+        ps.setObject(16, c.duplicateOfId(), Types.INTEGER);
+        ps.setTimestamp(17, c.createdAt());
+        ps.setTimestamp(18, c.assignedAt());
+        ps.setTimestamp(19, c.slaBreachedAt());
+        ps.setLong(20, c.version());
+        ps.setTimestamp(21, c.updatedAt());
+    }
+
+    private static int pickWard(double[] cumulativeWeights, SplittableRandom random) {
+        double r = random.nextDouble() * cumulativeWeights[cumulativeWeights.length - 1];
+        int lo = 0;
+        int hi = cumulativeWeights.length - 1;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (cumulativeWeights[mid] < r) lo = mid + 1; else hi = mid;
+        }
+        return lo;
+    }
+
+    // Roughly what a year of the live system looks like; anything filed in the last two days is still open
+    private static String pickStatus(SplittableRandom random, long age) {
+        int roll = random.nextInt(100);
+        if (age < 2 * DAY) return roll < 60 ? "PENDING" : roll < 70 ? "ASSIGNED" : "IN_PROGRESS";
+        if (roll < 10) return "PENDING";
+        if (roll < 13) return "ASSIGNED";
+        if (roll < 28) return "IN_PROGRESS";
+        if (roll < 34) return "REJECTED";
+        if (roll < 38) return "DUPLICATE";
+        if (roll < 40) return "REOPENED";
+        return "RESOLVED";
+    }
+
+    // Older notifications have mostly been read
+    private static boolean isRead(SplittableRandom random, long now, long at) {
+        return random.nextInt(100) < (now - at > 7 * DAY ? 90 : 30);
+    }
+
+    // --- AFTER THE BULK LOAD ---
+
+    private void updateOfficerCounters(long firstOfficerId, AtomicIntegerArray resolved, AtomicIntegerArray reopened) {
+        List<Integer> officers = new ArrayList<>(resolved.length());
+        for (int i = 0; i < resolved.length(); i++) officers.add(i);
+        jdbcTemplate.batchUpdate("UPDATE users SET tickets_resolved = ?, tickets_reopened = ? WHERE id = ?", officers, batchSize,
+                (ps, i) -> {
+                    ps.setInt(1, resolved.get(i));
+                    ps.setInt(2, reopened.get(i));
+                    ps.setLong(3, firstOfficerId + i);
+                });
+    }
+
+    private int nextId(String table) {
+        Integer max = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + table, Integer.class);
+        return (max == null ? 0 : max) + 1;
+    }
+
+    // MySQL moves AUTO_INCREMENT past explicitly inserted ids by itself; H2 identity columns do not
+    private void restartIdentity(String table) {
+        String product = jdbcTemplate.execute((ConnectionCallback<String>) con -> con.getMetaData().getDatabaseProductName());
+        if ("H2".equals(product)) {
+            jdbcTemplate.execute("ALTER TABLE " + table + " ALTER COLUMN id RESTART WITH " + nextId(table));
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.civicpulse.backend.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+
+// Time source for time-based logic (metrics windows, SLA deadlines), so tests can drive time explicitly.
+@Configuration
+public class ClockConfig {
+
+    @Bean
+    public Clock clock() {
+        return Clock.systemDefaultZone();
+    }
+}
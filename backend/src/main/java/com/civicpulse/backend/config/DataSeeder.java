@@ -2,6 +2,8 @@ package com.civicpulse.backend.config;
 
 import com.civicpulse.backend.model.User;
 import com.civicpulse.backend.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -10,6 +12,8 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 @Configuration
 public class DataSeeder {
 
+    private static final Logger log = LoggerFactory.getLogger(DataSeeder.class);
+
     //When the app starts, run this code to seed data.CommandLineRunner is an interface
     @Bean
     public CommandLineRunner initData(UserRepository userRepository, PasswordEncoder passwordEncoder) {
@@ -23,7 +27,7 @@ public class DataSeeder {
                 admin.setRole("ADMIN");
                 admin.setEnabled(true); // Admin is always enabled
                 userRepository.save(admin);
-                System.out.println("✅ Default Admin Created: admin@civicpulse.com / admin123");
+                log.info("Default admin created: admin@civicpulse.com / admin123");
             }
         };
     }
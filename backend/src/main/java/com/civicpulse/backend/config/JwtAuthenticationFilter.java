@@ -2,11 +2,16 @@ package com.civicpulse.backend.config;
 
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -16,6 +21,8 @@ import org.springframework.security.web.authentication.WebAuthenticationDetailsS
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 import com.civicpulse.backend.services.CustomUserDetailsService;
+import com.civicpulse.backend.services.PrincipalCache;
+import com.civicpulse.backend.services.StreamTicketService;
 
 import java.io.IOException;
 // import java.util.ArrayList;
@@ -23,6 +30,10 @@ import java.io.IOException;
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    private static final Logger log = LoggerFactory.getLogger(JwtAuthenticationFilter.class);
+
+    private static final String STREAM_PATH = "/api/notifications/stream";
+
     @Value("${app.jwt.secret}")
     private String jwtSecret;
 
@@ -31,6 +42,24 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     @Autowired
     private CustomUserDetailsService userDetailsService; // <--- Inject the Service
 
+    @Autowired
+    private PrincipalCache principalCache; // Avoids a users-table lookup on every authenticated request
+
+    @Autowired
+    private StreamTicketService streamTickets;
+
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry;
+
+    private Counter invalidTokens;
+
+    @PostConstruct
+    void initMetrics() {
+        if (meterRegistry != null) {
+            invalidTokens = Counter.builder("auth.jwt.invalid").register(meterRegistry);
+        }
+    }
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
@@ -38,6 +67,17 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         // 1. Get the Authorization Header
         String authHeader = request.getHeader("Authorization");
 
+        // Browsers' EventSource cannot set headers: the notification stream is opened with a single-use
+        // ?ticket= (see StreamTicketService), never with the JWT itself
+        if (authHeader == null && STREAM_PATH.equals(request.getServletPath()) && request.getParameter("ticket") != null) {
+            String email = streamTickets.redeem(request.getParameter("ticket"));
+            if (email != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+                authenticate(email, request);
+            }
+            filterChain.doFilter(request, response);
+            return;
+        }
+
         // 2. Check if it starts with "Bearer "
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
             String token = authHeader.substring(7); // Remove "Bearer " prefix
@@ -52,28 +92,33 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                 String email = claims.getSubject();
 
                 if (email != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                   // 4. LOAD USER DETAILS (Includes Roles!)
-                    // This goes to the DB and fetches the user + authorities
-                    UserDetails userDetails = userDetailsService.loadUserByUsername(email);
-
-                    // 5. CREATE AUTH TOKEN WITH ROLES
-                    // notice we pass 'userDetails.getAuthorities()' instead of 'new ArrayList<>()'
-                    UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                            userDetails, 
-                            null, 
-                            userDetails.getAuthorities() // <--- CRITICAL FIX: This attaches "ADMIN" role
-                    );
-                    
-                    authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                    SecurityContextHolder.getContext().setAuthentication(authToken);
+                    authenticate(email, request);
                 }
             } catch (Exception e) {
-                // Token is invalid or expired
-                System.out.println("Invalid JWT Token: " + e.getMessage());
+                // Token is invalid or expired: the request goes on unauthenticated
+                log.debug("Invalid JWT token: {}", e.getMessage());
+                if (invalidTokens != null) invalidTokens.increment();
             }
         }
 
         // 5. Continue the request
         filterChain.doFilter(request, response);
     }
+
+    private void authenticate(String email, HttpServletRequest request) {
+        // 4. LOAD USER DETAILS (Includes Roles!)
+        // Served from PrincipalCache; only goes to the DB on a miss or after the entry expires
+        UserDetails userDetails = principalCache.get(email, userDetailsService::loadUserByUsername);
+
+        // 5. CREATE AUTH TOKEN WITH ROLES
+        // notice we pass 'userDetails.getAuthorities()' instead of 'new ArrayList<>()'
+        UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                userDetails,
+                null,
+                userDetails.getAuthorities() // <--- CRITICAL FIX: This attaches "ADMIN" role
+        );
+
+        authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+        SecurityContextHolder.getContext().setAuthentication(authToken);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,38 @@
+package com.civicpulse.backend.config;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.PropertySource;
+
+import javax.sql.DataSource;
+
+// Metrics setup, exposed as Prometheus text on /actuator/prometheus. Actuator defaults live in
+// observability.properties (application.properties is local-only; as a @PropertySource it ranks below it,
+// so every value can still be overridden there). Also wraps the DataSource for SqlCountFilter.
+@Configuration
+@PropertySource("classpath:observability.properties")
+public class ObservabilityConfig {
+
+    // Hibernate statistics (queries, entity loads and fetches, cache hits) become hibernate.* meters.
+    // Per-session statistics logging stays off: it would log a block for every request.
+    @Bean
+    public HibernatePropertiesCustomizer hibernateStatisticsCustomizer() {
+        return properties -> {
+            properties.putIfAbsent("hibernate.generate_statistics", true);
+            properties.putIfAbsent("hibernate.session.events.log", false);
+        };
+    }
+
+    // Static: a BeanPostProcessor has to exist before the DataSource is created
+    @Bean
+    public static BeanPostProcessor sqlStatementCountingPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return bean instanceof DataSource dataSource ? SqlStatementCounter.wrap(dataSource) : bean;
+            }
+        };
+    }
+}
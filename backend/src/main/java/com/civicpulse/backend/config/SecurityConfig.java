@@ -1,5 +1,8 @@
 package com.civicpulse.backend.config;
 
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
@@ -23,6 +26,10 @@ public class SecurityConfig {
     @Autowired
     private JwtAuthenticationFilter jwtAuthenticationFilter; // 1. Inject the Filter
 
+    // Internal actuator port (observability.properties); -1 when actuator shares the API port
+    @Value("${management.server.port:-1}")
+    private int managementPort;
+
     //To verify whether the request have permission/not
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
@@ -30,8 +37,15 @@ public class SecurityConfig {
             .csrf(csrf -> csrf.disable()) // Disable CSRF for simple API use
             .cors(cors -> cors.configurationSource(corsConfigurationSource())) // Connect to Frontend(Third Block downside)
             .authorizeHttpRequests(auth -> auth
+                // Async re-dispatches (SSE stream completion) were already authorized on the original request
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                 .requestMatchers("/api/auth/**").permitAll() // Allow Login and Signup
                 .requestMatchers("/uploads/**").permitAll()  // <--- NEW: Allow access to images!
+                .requestMatchers("/actuator/health").permitAll()
+                // Scraped by Prometheus without a token, but only on the internal management port
+                .requestMatchers(request -> onManagementPort(request)
+                        && "/actuator/prometheus".equals(request.getRequestURI())).permitAll()
+                .requestMatchers("/actuator/**").hasAuthority("ADMIN")
                 .requestMatchers("/api/admin/**").hasAuthority("ADMIN") // Only ADMIN role can access
                 .requestMatchers("/api/users/**").hasAnyAuthority("ADMIN", "OFFICER")
                 .anyRequest().authenticated() // Lock everything else(eg.DashBoard)
@@ -42,6 +56,10 @@ public class SecurityConfig {
         return http.build();
     }
 
+    private boolean onManagementPort(HttpServletRequest request) {
+        return managementPort > 0 && request.getLocalPort() == managementPort;
+    }
+
     // This handles password encryption (hashing)
     @Bean
     public PasswordEncoder passwordEncoder() {
@@ -65,6 +83,7 @@ public class SecurityConfig {
 
         config.setAllowedMethods(List.of("GET", "POST", "PUT", "DELETE", "OPTIONS"));
         config.setAllowedHeaders(List.of("*"));
+        config.setExposedHeaders(List.of(SqlCountFilter.HEADER)); // Readable by the frontend in dev mode
         config.setAllowCredentials(true);
         
 
@@ -0,0 +1,87 @@
+package com.civicpulse.backend.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+
+// SQL statements per request, to catch N+1 regressions: recorded in "http.server.sql.statements"
+// (tagged with method and uri pattern, like http.server.requests). Statements run outside requests
+// (outbox relay, scheduled jobs) only show in the "jdbc.statements" total.
+// With app.metrics.sql-count-header=true (the h2 dev profile) the count is also sent back as an X-SQL-Count
+// header. The body is buffered for that, since lazy loading can still run while it is written;
+// notification streams and media downloads are left unbuffered and get no header.
+@Component
+public class SqlCountFilter extends OncePerRequestFilter implements Ordered {
+
+    public static final String HEADER = "X-SQL-Count";
+
+    @Value("${app.metrics.sql-count-header:false}")
+    private boolean header;
+
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry;
+
+    @PostConstruct
+    void initMetrics() {
+        if (meterRegistry != null) {
+            FunctionCounter.builder("jdbc.statements", SqlStatementCounter.class, ignored -> SqlStatementCounter.total()).register(meterRegistry);
+        }
+    }
+
+    // First in the chain, so the JWT filter's user lookup counts towards the request
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        ContentCachingResponseWrapper buffered = header && !streaming(request) ? new ContentCachingResponseWrapper(response) : null;
+        SqlStatementCounter.start();
+        long statements;
+        try {
+            chain.doFilter(request, buffered != null ? buffered : response);
+        } finally {
+            statements = SqlStatementCounter.stop();
+            record(request, statements);
+        }
+        if (buffered != null) {
+            buffered.setHeader(HEADER, String.valueOf(statements));
+            buffered.copyBodyToResponse();
+        }
+    }
+
+    // --- INTERNALS ---
+
+    private void record(HttpServletRequest request, long statements) {
+        if (meterRegistry == null) return;
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        DistributionSummary.builder("http.server.sql.statements")
+                .tag("method", request.getMethod())
+                .tag("uri", pattern != null ? pattern.toString() : "UNKNOWN")
+                .register(meterRegistry)
+                .record(statements);
+    }
+
+    private static boolean streaming(HttpServletRequest request) {
+        String accept = request.getHeader("Accept");
+        return request.getServletPath().startsWith("/uploads/")
+                || request.getServletPath().endsWith("/stream")
+                || (accept != null && accept.contains("text/event-stream"));
+    }
+}
@@ -0,0 +1,74 @@
+package com.civicpulse.backend.config;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.util.concurrent.atomic.LongAdder;
+
+// Counts the SQL statements the app prepares, in total and per request thread.
+// ObservabilityConfig wraps the DataSource with it, so JPA and JdbcTemplate are both seen;
+// SqlCountFilter brackets each request with start()/stop().
+public final class SqlStatementCounter {
+
+    private static final LongAdder TOTAL = new LongAdder();
+    private static final ThreadLocal<long[]> CURRENT = new ThreadLocal<>();
+
+    private SqlStatementCounter() {
+    }
+
+    // --- PUBLIC API ---
+
+    // Statements prepared since startup, on any thread
+    public static long total() {
+        return TOTAL.sum();
+    }
+
+    public static void start() {
+        CURRENT.set(new long[1]);
+    }
+
+    // Statements prepared on this thread since start()
+    public static long stop() {
+        long[] count = CURRENT.get();
+        CURRENT.remove();
+        return count == null ? 0 : count[0];
+    }
+
+    // unwrap()/isWrapperFor() reach the pool, so Boot's Hikari metrics and health check still find it
+    public static DataSource wrap(DataSource dataSource) {
+        return wrap(dataSource, DataSource.class);
+    }
+
+    // --- INTERNALS ---
+
+    private static <T> T wrap(T target, Class<T> type) {
+        Object proxy = Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, (self, method, args) -> {
+            switch (method.getName()) {
+                case "equals": return self == args[0];
+                case "hashCode": return System.identityHashCode(self);
+                case "prepareStatement", "prepareCall", "createStatement": counted();
+            }
+            Object result = invoke(target, method, args);
+            return result instanceof Connection connection && type == DataSource.class
+                    ? wrap(connection, Connection.class)
+                    : result;
+        });
+        return type.cast(proxy);
+    }
+
+    private static void counted() {
+        TOTAL.increment();
+        long[] count = CURRENT.get();
+        if (count != null) count[0]++;
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
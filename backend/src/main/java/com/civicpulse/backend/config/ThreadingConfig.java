@@ -0,0 +1,14 @@
+package com.civicpulse.backend.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.PropertySource;
+
+// Thread defaults, in threading.properties (a @PropertySource, so application.properties still wins).
+// Request handling runs on virtual threads: requests that block on MySQL, SMTP or a slow client park a cheap
+// virtual thread instead of holding one of Tomcat's 200 platform workers. Set spring.threads.virtual.enabled=false
+// to go back to the platform thread pool. Either way the @Scheduled jobs no longer share one
+// thread, so the nightly notification archive cannot hold up the outbox relay or the SLA tick.
+@Configuration
+@PropertySource("classpath:threading.properties")
+public class ThreadingConfig {
+}
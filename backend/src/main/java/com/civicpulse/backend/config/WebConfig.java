@@ -1,18 +1,28 @@
 //Added in Module-2 for Image handling(uploads) -- 18/12
 package com.civicpulse.backend.config;
 
+import com.civicpulse.backend.services.UploadStorageService;
+import jakarta.servlet.MultipartConfigElement;
+import org.springframework.boot.web.servlet.MultipartConfigFactory;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
-import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.util.unit.DataSize;
 
+// "/uploads/**" used to be a static resource mapping here; it is now served by MediaController
+// (image variants via ?size=thumb|medium).
 @Configuration
-public class WebConfig implements WebMvcConfigurer {
+public class WebConfig {
 
-    @Override
-    public void addResourceHandlers(ResourceHandlerRegistry registry) {
-        // This maps "http://localhost:8080/uploads/image.jpg" 
-        // to the physical folder "uploads/" in your project root
-        registry.addResourceHandler("/uploads/**")
-                .addResourceLocations("file:uploads/");
+    // Multipart limits follow app.uploads.max-bytes, so Tomcat rejects oversized uploads while parsing,
+    // before the controller (or anything else) buffers them. Parts are always spooled to disk, never to heap.
+    // Declaring this bean turns off Boot's multipart auto-configuration: spring.servlet.multipart.* settings
+    // are ignored, so change the limit through app.uploads.max-bytes.
+    @Bean
+    public MultipartConfigElement multipartConfigElement(UploadStorageService uploadStorage) {
+        MultipartConfigFactory factory = new MultipartConfigFactory();
+        factory.setMaxFileSize(DataSize.ofBytes(uploadStorage.getMaxBytes()));
+        factory.setMaxRequestSize(DataSize.ofBytes(uploadStorage.getMaxBytes() * 2));
+        factory.setFileSizeThreshold(DataSize.ofBytes(0));
+        return factory.createMultipartConfig();
     }
-}
\ No newline at end of file
+}
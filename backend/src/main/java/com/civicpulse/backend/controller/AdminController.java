@@ -1,13 +1,18 @@
 //PHASE-2
 package com.civicpulse.backend.controller;
 
+import com.civicpulse.backend.model.DeadLetterMail;
 import com.civicpulse.backend.model.User;
+import com.civicpulse.backend.repository.DeadLetterMailRepository;
 import com.civicpulse.backend.repository.UserRepository;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import com.civicpulse.backend.services.MailDispatcher;
 import com.civicpulse.backend.services.MailService;
+import com.civicpulse.backend.services.PrincipalCache;
 
 import java.util.List;
 import java.util.Map;
@@ -23,6 +28,15 @@ public class AdminController {
     @Autowired
     private MailService mailService;  // inject here - added new
 
+    @Autowired
+    private PrincipalCache principalCache;
+
+    @Autowired
+    private MailDispatcher mailDispatcher;
+
+    @Autowired
+    private DeadLetterMailRepository deadLetterRepository;
+
 
     // 1. Get All Pending Officers
     @GetMapping("/pending-officers")
@@ -45,6 +59,7 @@ public class AdminController {
 
             user.setEnabled(true); // Enable login
             userRepository.save(user);
+            principalCache.invalidate(user.getEmail()); // Drop the cached (disabled) principal
 
             //Sending Email to Officer After Admin Approval -  //Added newly 10/12/25
             // For dev testing
@@ -52,15 +67,23 @@ public class AdminController {
 
             // // For production (replace with your actual domain)
             // String loginUrl = "https://civicpulse.com/login?email=" + user.getEmail();
-            String htmlBody = "<p>Dear Officer,</p>"
-                + "<p>Your account has been successfully approved.</p>"
-                + "<p><a href='" + loginUrl + "' "
-                + "style='display:inline-block;padding:10px 20px;"
-                + "background-color:#4CAF50;color:white;text-decoration:none;"
-                + "border-radius:5px;'>Login Now</a></p>";
-            mailService.sendHtmlEmail(user.getEmail(), "ACCOUNT APPROVED", htmlBody);
+            // Body and subject: templates/mail/officer-approved.html
+            mailService.sendTemplate(user.getEmail(), "officer-approved", Map.of("loginUrl", loginUrl));
  
             return ResponseEntity.ok(Map.of("message", "Officer approved successfully!"));
         }).orElse(ResponseEntity.notFound().build());
     }
-}
\ No newline at end of file
+
+    // 3. Mails that could not be delivered (newest first)
+    @GetMapping("/mail/dead-letters")
+    public List<DeadLetterMail> getDeadLetters(@RequestParam(defaultValue = "100") int limit) {
+        return deadLetterRepository.findAllByOrderByFailedAtDesc(PageRequest.of(0, Math.max(1, Math.min(limit, 500))));
+    }
+
+    // 4. Queue dead letters for another delivery attempt
+    @PostMapping("/mail/dead-letters/retry")
+    public ResponseEntity<?> retryDeadLetters(@RequestParam(defaultValue = "100") int limit) {
+        int queued = mailDispatcher.retryDeadLetters(Math.max(1, Math.min(limit, 500)));
+        return ResponseEntity.ok(Map.of("queued", queued));
+    }
+}
@@ -4,13 +4,16 @@ import com.civicpulse.backend.model.User;
 import com.civicpulse.backend.repository.UserRepository;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
+import com.civicpulse.backend.services.NotificationDispatcher;
 import com.civicpulse.backend.services.OtpService;
+import com.civicpulse.backend.services.PrincipalCache;
 
 import java.util.Date;
 import java.util.HashMap;
@@ -31,12 +34,18 @@ public class AuthController {
     @Autowired
     private OtpService otpService; // <--- 1. INJECT OTP SERVICE
 
+    @Autowired
+    private PrincipalCache principalCache;
+
+    @Autowired
+    private NotificationDispatcher notificationDispatcher;
+
     @Value("${app.jwt.secret}") //Reads jwt token value from application.properties
     private String jwtSecret;
 
     // --- NEW ENDPOINT: SEND OTP ---(PHASE 3)
     @PostMapping("/send-otp")
-    public ResponseEntity<?> sendOtp(@RequestBody Map<String, String> request) {
+    public ResponseEntity<?> sendOtp(@RequestBody Map<String, String> request, HttpServletRequest httpRequest) {
         String email = request.get("email");
         String type = request.get("type"); // <--- NEW: Read type from Frontend
 
@@ -44,6 +53,15 @@ public class AuthController {
             return ResponseEntity.badRequest().body(Map.of("message", "Email and Type are required"));
         }
 
+        // Rate limit before touching the database (remote address: honours server.forward-headers-strategy)
+        OtpService.SendDecision decision = otpService.checkSend(email, httpRequest.getRemoteAddr());
+        if (decision != OtpService.SendDecision.ALLOWED) {
+            String message = decision == OtpService.SendDecision.COOLDOWN
+                    ? "An OTP was just sent. Please wait before requesting another one."
+                    : "Too many OTP requests. Please try again later.";
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).body(Map.of("message", message));
+        }
+
         boolean emailExists = userRepository.findByEmail(email).isPresent();
 
         // <--- NEW: LOGIC BRANCHING --->
@@ -118,6 +136,9 @@ public class AuthController {
 
         // 3. Save to Database
         userRepository.save(user);
+        if ("ADMIN".equals(role)) {
+            notificationDispatcher.invalidateAdminCache(); // New admin must start receiving alerts
+        }
 
         // 5. CLEANUP: Remove verification status so it can't be reused(Phase 3)
         otpService.clearVerification(email);
@@ -183,6 +204,7 @@ public class AuthController {
         // 3. Update Password (Remember to Hash it!)
         user.setPassword(passwordEncoder.encode(request.getNewPassword()));
         userRepository.save(user);
+        principalCache.invalidate(user.getEmail()); // Old password hash must not stay cached
 
         // 4. Clear verification status so they can't use it again immediately
         otpService.clearVerification(request.getEmail());
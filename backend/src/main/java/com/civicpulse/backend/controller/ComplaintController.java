@@ -3,30 +3,59 @@
 
 package com.civicpulse.backend.controller;
 
+import com.civicpulse.backend.dto.ComplaintSummary;
+import com.civicpulse.backend.dto.ComplaintView;
+import com.civicpulse.backend.dto.CursorPage;
+import com.civicpulse.backend.dto.HistoryView;
+import com.civicpulse.backend.dto.NearbyComplaint;
+import com.civicpulse.backend.dto.SearchHit;
+import com.civicpulse.backend.event.ComplaintChangedEvent;
 import com.civicpulse.backend.model.Complaint;
 import com.civicpulse.backend.model.ComplaintCategory;
-import com.civicpulse.backend.model.ComplaintHistory; 
+import com.civicpulse.backend.model.ComplaintStatus;
 import com.civicpulse.backend.model.User;
-import com.civicpulse.backend.model.Notification; // IMPORTED
 import com.civicpulse.backend.repository.ComplaintCategoryRepository;
 import com.civicpulse.backend.repository.ComplaintHistoryRepository;
 import com.civicpulse.backend.repository.ComplaintRepository;
-import com.civicpulse.backend.repository.NotificationRepository; // IMPORTED
 import com.civicpulse.backend.repository.UserRepository;
+import com.civicpulse.backend.services.BulkAssignService;
+import com.civicpulse.backend.services.ComplaintOutbox;
+import com.civicpulse.backend.services.ComplaintSearchIndex;
+import com.civicpulse.backend.services.ComplaintStateMachine;
+import com.civicpulse.backend.services.ComplaintStateMachine.Changes;
+import com.civicpulse.backend.services.ComplaintStateMachine.Transition;
+import com.civicpulse.backend.services.ComplaintStateMachine.TransitionConflictException;
+import com.civicpulse.backend.services.DuplicateDetector;
+import com.civicpulse.backend.services.GeoIndex;
+import com.civicpulse.backend.services.GeoUtils;
+import com.civicpulse.backend.services.ImageVariantService;
+import com.civicpulse.backend.services.UploadStorageService;
+import com.civicpulse.backend.services.UploadStorageService.Stored;
+import com.civicpulse.backend.services.UploadStorageService.UploadTooLargeException;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
-import java.util.UUID;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("/api/complaints")
@@ -36,65 +65,143 @@ public class ComplaintController {
     @Autowired private ComplaintCategoryRepository categoryRepository;
     @Autowired private UserRepository userRepository;
     @Autowired private ComplaintHistoryRepository historyRepository; 
-    @Autowired private NotificationRepository notificationRepository; // INJECTED
-
-    private final String UPLOAD_DIR = "uploads/";
-
-    // --- HELPER: Save to History ---
-    private void logHistory(Complaint complaint, User user, String action, String details) {
-        ComplaintHistory history = new ComplaintHistory();
-        history.setComplaint(complaint);
-        history.setActionBy(user); // Can be null for system/bulk actions
-        history.setActionType(action);
-        history.setDetails(details);
-        historyRepository.save(history);
+    @Autowired private ComplaintOutbox outbox;
+    @Autowired private BulkAssignService bulkAssignService;
+    @Autowired private ComplaintStateMachine stateMachine;
+    @Autowired private UploadStorageService uploadStorage;
+    @Autowired private ImageVariantService imageVariants;
+    @Autowired private GeoIndex geoIndex;
+    @Autowired private DuplicateDetector duplicateDetector;
+    @Autowired private ComplaintSearchIndex searchIndex;
+    @Autowired private ApplicationEventPublisher eventPublisher;
+    @Autowired private PlatformTransactionManager transactionManager;
+
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 200;
+    private static final double MAX_NEARBY_RADIUS_METERS = 20_000;
+
+    // --- HELPER: Run a complaint change + its outbox row as one transaction ---
+    // History, notifications (type: "SUCCESS", "ALERT", "INFO") and emails are not written here:
+    // they go into one ComplaintOutbox message, relayed in batches after commit.
+    private <T> T inTransaction(Supplier<T> work) {
+        return new TransactionTemplate(transactionManager).execute(status -> work.get());
     }
 
-    // --- HELPER: Create Notification ---
-    private void createNotification(User recipient, String message, String type, Integer complaintId) {
-        if (recipient == null) return;
-        Notification n = new Notification();
-        n.setUser(recipient);
-        n.setMessage(message);
-        n.setType(type); // "SUCCESS", "ALERT", "INFO"
-        n.setRelatedComplaintId(complaintId);
-        notificationRepository.save(n);
+    private static Long idOf(User user) {
+        return user == null ? null : user.getId();
     }
 
     // --- HELPER: Geo-Calculation ---
     private double calculateDistance(double lat1, double lon1, double lat2, double lon2) {
-        final int R = 6371; 
-        double latDistance = Math.toRadians(lat2 - lat1);
-        double lonDistance = Math.toRadians(lon2 - lon1);
-        double a = Math.sin(latDistance / 2) * Math.sin(latDistance / 2)
-                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
-                * Math.sin(lonDistance / 2) * Math.sin(lonDistance / 2);
-        double c = 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
-        return R * c * 1000;
+        return GeoUtils.distanceMeters(lat1, lon1, lat2, lon2);
+    }
+
+    // --- HELPER: Tell in-memory views (geo index, ...) that a complaint changed ---
+    private void publishChange(Complaint complaint, String action) {
+        eventPublisher.publishEvent(new ComplaintChangedEvent(complaint, action));
     }
 
     @GetMapping("/categories")
     public List<ComplaintCategory> getCategories() { return categoryRepository.findAll(); }
 
     @GetMapping("/my-complaints/{userId}")
-    public List<Complaint> getUserComplaints(@PathVariable Long userId) { return complaintRepository.findByUserId(userId); }
+    public List<ComplaintView> getUserComplaints(@PathVariable Long userId) {
+        return complaintRepository.findWithUserByUserId(userId).stream().map(ComplaintView::from).toList();
+    }
     
     @PreAuthorize("hasAnyAuthority('ADMIN', 'OFFICER')") 
     @GetMapping("/all")
-    public List<Complaint> getAllComplaints() { return complaintRepository.findAll(); }
+    public List<ComplaintView> getAllComplaints() {
+        return complaintRepository.findAllWithUser().stream().map(ComplaintView::from).toList();
+    }
 
-    // --- FETCH HISTORY ---
-    @GetMapping("/{id}/history")
-    public List<ComplaintHistory> getHistory(@PathVariable Integer id) {
-        return historyRepository.findByComplaintIdOrderByTimestampDesc(id);
+    // --- PAGED LISTING (Keyset / Cursor) ---
+    // Example: /api/complaints/paged?status=PENDING&size=50&cursor=1234
+    @PreAuthorize("hasAnyAuthority('ADMIN', 'OFFICER')")
+    @GetMapping("/paged")
+    public CursorPage<ComplaintSummary> getComplaintPage(
+            @RequestParam(required = false) String status, @RequestParam(required = false) String priority,
+            @RequestParam(required = false) Integer categoryId, @RequestParam(required = false) Long assignedTo,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Date createdFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Date createdTo,
+            @RequestParam(required = false) Integer cursor,
+            @RequestParam(defaultValue = "newest") String sort,
+            @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int size
+    ) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        boolean ascending = "oldest".equalsIgnoreCase(sort);
+        Sort order = ascending ? Sort.by("id").ascending() : Sort.by("id").descending();
+
+        // Ask for one extra row to know whether another page exists without running a COUNT
+        List<ComplaintSummary> rows = complaintRepository.findSummaryPage(status, priority, categoryId, assignedTo,
+                createdFrom, createdTo, cursor, ascending, PageRequest.of(0, pageSize + 1, order));
+
+        boolean hasMore = rows.size() > pageSize;
+        List<ComplaintSummary> items = hasMore ? rows.subList(0, pageSize) : rows;
+        String nextCursor = hasMore ? String.valueOf(items.get(items.size() - 1).id()) : null;
+        return new CursorPage<>(items, nextCursor, hasMore);
+    }
+
+    // --- GEO: Open complaints within a radius (metres) of a point, nearest first ---
+    @PreAuthorize("hasAnyAuthority('ADMIN', 'OFFICER')")
+    @GetMapping("/nearby")
+    public List<NearbyComplaint> getNearby(@RequestParam double lat, @RequestParam double lng,
+                                           @RequestParam(defaultValue = "500") double radius,
+                                           @RequestParam(defaultValue = "50") int limit) {
+        double radiusMeters = Math.max(1, Math.min(radius, MAX_NEARBY_RADIUS_METERS));
+        List<GeoIndex.Hit> hits = geoIndex.withinRadius(lat, lng, radiusMeters, Math.max(1, Math.min(limit, MAX_PAGE_SIZE)));
+        if (hits.isEmpty()) return List.of();
+
+        Map<Integer, ComplaintSummary> summaries = new HashMap<>();
+        for (ComplaintSummary s : complaintRepository.findSummariesByIdIn(hits.stream().map(h -> h.location().id()).toList())) {
+            summaries.put(s.id(), s);
+        }
+        return hits.stream()
+                .filter(h -> summaries.containsKey(h.location().id()))
+                .map(h -> new NearbyComplaint(summaries.get(h.location().id()), Math.round(h.distanceMeters())))
+                .toList();
     }
 
-    // --- NEW HELPER: Notify all Admins ---
-    private void notifyAdmins(String message, String type, Integer complaintId) {
-        List<User> admins = userRepository.findByRole("ADMIN");
-        for (User admin : admins) {
-            createNotification(admin, message, type, complaintId);
+    // --- GEO: Open complaints inside a bounding box (map viewport) ---
+    @PreAuthorize("hasAnyAuthority('ADMIN', 'OFFICER')")
+    @GetMapping("/within")
+    public List<ComplaintSummary> getWithinBox(@RequestParam double minLat, @RequestParam double minLng,
+                                               @RequestParam double maxLat, @RequestParam double maxLng,
+                                               @RequestParam(defaultValue = "" + MAX_PAGE_SIZE) int limit) {
+        List<Integer> ids = geoIndex.withinBox(minLat, minLng, maxLat, maxLng, Math.max(1, Math.min(limit, MAX_PAGE_SIZE)))
+                .stream().map(l -> l.id()).toList();
+        return ids.isEmpty() ? List.of() : complaintRepository.findSummariesByIdIn(ids);
+    }
+
+    // --- SEARCH: Full text over title, description, location and admin comment, best match first ---
+    // Example: /api/complaints/search?q=broken street lig (the last word also matches as a prefix)
+    @PreAuthorize("hasAnyAuthority('ADMIN', 'OFFICER')")
+    @GetMapping("/search")
+    public List<SearchHit> search(@RequestParam String q, @RequestParam(defaultValue = "20") int limit) {
+        List<ComplaintSearchIndex.Hit> hits = searchIndex.search(q, Math.max(1, Math.min(limit, MAX_PAGE_SIZE)));
+        if (hits.isEmpty()) return List.of();
+
+        Map<Integer, ComplaintSummary> summaries = new HashMap<>();
+        for (ComplaintSummary s : complaintRepository.findSummariesByIdIn(hits.stream().map(ComplaintSearchIndex.Hit::complaintId).toList())) {
+            summaries.put(s.id(), s);
         }
+        return hits.stream()
+                .filter(h -> summaries.containsKey(h.complaintId()))
+                .map(h -> new SearchHit(summaries.get(h.complaintId()), h.score()))
+                .toList();
+    }
+
+    // --- SEARCH: Typeahead word completions ---
+    @PreAuthorize("hasAnyAuthority('ADMIN', 'OFFICER')")
+    @GetMapping("/search/suggest")
+    public List<String> suggest(@RequestParam String prefix, @RequestParam(defaultValue = "10") int limit) {
+        return searchIndex.suggest(prefix, Math.max(1, Math.min(limit, 50)));
+    }
+
+    // --- FETCH HISTORY ---
+    @GetMapping("/{id}/history")
+    public List<HistoryView> getHistory(@PathVariable Integer id) {
+        return historyRepository.findTimeline(id).stream().map(h -> HistoryView.from(h, id)).toList();
     }
 
     // --- CREATE ---
@@ -112,60 +219,72 @@ public class ComplaintController {
             complaint.setUser(userObj);
             complaint.setLocation(location); complaint.setLatitude(latitude); complaint.setLongitude(longitude);
 
-            if (file != null && !file.isEmpty()) {
-                String fileName = UUID.randomUUID() + "_" + file.getOriginalFilename();
-                Path path = Paths.get(UPLOAD_DIR + fileName);
-                Files.createDirectories(path.getParent());
-                Files.write(path, file.getBytes());
-                complaint.setImageUrl(fileName);
+            // Same issue already open nearby: link to it instead of filing (and fanning out) again
+            Optional<DuplicateDetector.Match> duplicate =
+                    duplicateDetector.findDuplicate(categoryId, latitude, longitude, title, description);
+            if (duplicate.isPresent()) {
+                return linkDuplicate(complaint, userObj, duplicate.get().complaintId());
             }
-            complaintRepository.save(complaint);
-            
-            notifyAdmins("New Complaint Filed: " + title, "INFO", complaint.getId());
 
-            logHistory(complaint, userObj, "CREATED", "Complaint filed.");
+            if (file != null && !file.isEmpty()) {
+                complaint.setImageUrl(uploadStorage.store(file, "")); // Streamed to disk, deduplicated by content hash
+                imageVariants.submit(complaint.getImageUrl()); // Thumbnails are generated in the background
+            }
+            inTransaction(() -> {
+                complaintRepository.save(complaint);
+                outbox.write(new ComplaintOutbox.Message(complaint.getId(), "CREATED")
+                        .notifyAdmins("New Complaint Filed: " + title, "INFO") // Expanded to every admin by the relay
+                        .history(userObj, "CREATED", "Complaint filed."));
+                return complaint;
+            });
+            publishChange(complaint, "CREATED");
             return ResponseEntity.ok("Complaint submitted successfully!");
+        } catch (UploadTooLargeException e) { return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).body("Error: " + e.getMessage());
         } catch (IOException e) { return ResponseEntity.internalServerError().body("Error: " + e.getMessage()); }
     }
 
+    // --- HELPER: Record a duplicate report against the open original ---
+    // The report is kept (closed, status DUPLICATE) so the citizen still sees it in "My Complaints".
+    // No image is stored and admins are not notified again; the original's timeline notes the extra report.
+    private ResponseEntity<?> linkDuplicate(Complaint complaint, User reporter, Integer originalId) {
+        complaint.setStatus("DUPLICATE");
+        complaint.setDuplicateOfId(originalId);
+        inTransaction(() -> {
+            complaintRepository.save(complaint);
+            outbox.write(new ComplaintOutbox.Message(complaint.getId(), "DUPLICATE")
+                    .history(reporter, "DUPLICATE", "Linked to existing complaint #" + originalId + ".")
+                    .history(originalId, reporter.getId(), "DUPLICATE_REPORT",
+                            "Also reported by " + reporter.getName() + " (complaint #" + complaint.getId() + ").")
+                    .notify(reporter.getId(), "This issue is already reported as complaint #" + originalId
+                            + ". Your report has been linked to it.", "INFO", originalId));
+            return complaint;
+        });
+        publishChange(complaint, "DUPLICATE");
+        return ResponseEntity.ok("This issue has already been reported (complaint #" + originalId
+                + "). Your report has been linked to it.");
+    }
+
     // --- ADMIN: ASSIGN (Unlocks Ticket & Resets Logic) ---
+    // Sets IN_PROGRESS (unlocks REOPENED tickets), logs history and notifies the officer,
+    // in chunked set-based batches (see BulkAssignService). Returns per-chunk progress.
     @PutMapping("/assign-bulk")
     public ResponseEntity<?> assignBulk(@RequestBody BulkAssignRequest request) {
-        List<Complaint> complaints = complaintRepository.findAllById(request.getComplaintIds());
-        User officer = userRepository.findById(request.getOfficerId()).orElse(null);
-        
-        for (Complaint c : complaints) {
-            c.setAssignedTo(request.getOfficerId());
-            c.setStatus("IN_PROGRESS"); // Unlocks ticket if it was REOPENED
-            c.setAssignedAt(new Date());
-            
-
-            logHistory(c, null, "ASSIGNED", "Assigned to Officer: " + (officer != null ? officer.getName() : request.getOfficerId()));
-            
-            // NOTIFY OFFICER
-            if (officer != null) {
-                createNotification(officer, "New Task Assigned: " + c.getTitle(), "INFO", c.getId());
-            }
-            
-        }
-        complaintRepository.saveAll(complaints);
-        return ResponseEntity.ok("Assigned successfully");
+        return ResponseEntity.ok(bulkAssignService.assign(request.getComplaintIds(), request.getOfficerId()));
     }
 
     // --- ADMIN: REJECT ---
     @PutMapping("/reject/{id}")
     public ResponseEntity<?> rejectComplaint(@PathVariable Integer id, @RequestParam String comment) {
-        return complaintRepository.findById(id).map(c -> {
-            c.setStatus("REJECTED");
-            c.setAdmin_comment(comment);
-            c.setAssignedTo(null);
-            complaintRepository.save(c);
-            
-            logHistory(c, null, "REJECTED", "Reason: " + comment);
-            
-            // NOTIFY CITIZEN
-            createNotification(c.getUser(), "Complaint Rejected: " + c.getTitle(), "ALERT", c.getId());
-            
+        return stateMachine.transition(id, Transition.REJECT,
+                Changes.none().set("admin_comment", comment).set("assignedTo", null),
+                c -> outbox.write(new ComplaintOutbox.Message(c.getId(), "REJECTED")
+                        .history(null, "REJECTED", "Reason: " + comment)
+                        // NOTIFY CITIZEN
+                        .notify(idOf(c.getUser()), "Complaint Rejected: " + c.getTitle(), "ALERT")
+                        .mail(idOf(c.getUser()), "complaint-rejected",
+                                Map.of("id", String.valueOf(c.getId()), "title", Objects.toString(c.getTitle(), ""), "reason", comment)))
+        ).map(c -> {
+            publishChange(c, "REJECTED");
             return ResponseEntity.ok("Complaint Rejected");
         }).orElse(ResponseEntity.notFound().build());
     }
@@ -173,11 +292,13 @@ public class ComplaintController {
     // --- ADMIN: COMMENT ONLY ---
     @PutMapping("/comment/{id}")
     public ResponseEntity<?> updateAdminComment(@PathVariable Integer id, @RequestParam String comment) {
-        return complaintRepository.findById(id).map(c -> {
+        return inTransaction(() -> complaintRepository.findById(id).map(c -> {
             c.setAdmin_comment(comment);
             complaintRepository.save(c);
-            
-            logHistory(c, null, "NOTE_ADDED", "Admin Note: " + comment);
+            outbox.write(new ComplaintOutbox.Message(id, "NOTE_ADDED").history(null, "NOTE_ADDED", "Admin Note: " + comment));
+            return c;
+        })).map(c -> {
+            publishChange(c, "NOTE_ADDED");
             return ResponseEntity.ok("Comment updated");
         }).orElse(ResponseEntity.notFound().build());
     }
@@ -185,33 +306,24 @@ public class ComplaintController {
     // --- REOPEN (Locks Ticket & Updates Metrics) ---
     @PutMapping("/reopen/{id}")
     public ResponseEntity<?> reopenComplaint(@PathVariable Integer id) {
-        return complaintRepository.findById(id).map(c -> {
-            
-            // 1. UPDATE METRICS (Penalize current officer)
-            if (c.getAssignedTo() != null) {
-                User officer = userRepository.findById(c.getAssignedTo()).orElse(null);
-                if (officer != null) {
-                    officer.setTicketsReopened((officer.getTicketsReopened() == null ? 0 : officer.getTicketsReopened()) + 1);
-                    userRepository.save(officer);
-                    
-                    // NOTIFY OFFICER
-                    createNotification(officer, "Task Reopened: " + c.getTitle() + ". Waiting for Admin.", "ALERT", c.getId());
-                }
-            }
+        // 1. LOCK TICKET (only a RESOLVED ticket can be reopened; a second reopen gets 409)
+        // Do NOT unassign (officer still sees it)
+        return stateMachine.transition(id, Transition.REOPEN, Changes.none().set("priority", "HIGH"), c -> {
+            ComplaintOutbox.Message message = new ComplaintOutbox.Message(id, "REOPENED");
 
-            // 2. LOCK TICKET
-            c.setStatus("REOPENED"); 
-            c.setPriority("HIGH");
-            // Do NOT unassign (officer still sees it)
-            
-            complaintRepository.save(c);
-            
-            // 3. LOG HISTORY
-            logHistory(c, null, "REOPENED", "Ticket reopened. Waiting for Admin approval.");
+            // 2. UPDATE METRICS (Penalize current officer)
+            // Atomic UPDATE (see UserRepository): no officer SELECT, no lost increments
+            if (c.getAssignedTo() != null && userRepository.incrementTicketsReopened(c.getAssignedTo()) == 1) {
+                // NOTIFY OFFICER
+                message.notify(c.getAssignedTo(), "Task Reopened: " + c.getTitle() + ". Waiting for Admin.", "ALERT");
+            }
 
-            // --- ADD THIS ---
-            notifyAdmins("⚠️ Ticket #" + id + " Reopened. Needs Re-assignment.", "ALERT", id);
-            
+            // 3. LOG HISTORY + tell the admins
+            outbox.write(message
+                    .history(null, "REOPENED", "Ticket reopened. Waiting for Admin approval.")
+                    .notifyAdmins("⚠️ Ticket #" + id + " Reopened. Needs Re-assignment.", "ALERT"));
+        }).map(c -> {
+            publishChange(c, "REOPENED");
             return ResponseEntity.ok("Complaint Reopened");
         }).orElse(ResponseEntity.notFound().build());
     }
@@ -219,13 +331,14 @@ public class ComplaintController {
     // --- ADMIN: UPDATE PRIORITY ---
     @PutMapping("/priority/{id}")
     public ResponseEntity<?> updatePriority(@PathVariable Integer id, @RequestParam String priority) {
-        return complaintRepository.findById(id).map(c -> {
+        return inTransaction(() -> complaintRepository.findById(id).map(c -> {
             c.setPriority(priority);
             complaintRepository.save(c);
-            
-            // Optional: Log this action to history
-            logHistory(c, null, "PRIORITY_CHANGE", "Priority changed to " + priority);
-            
+            outbox.write(new ComplaintOutbox.Message(id, "PRIORITY_CHANGE")
+                    .history(null, "PRIORITY_CHANGE", "Priority changed to " + priority));
+            return c;
+        })).map(c -> {
+            publishChange(c, "PRIORITY_CHANGE");
             return ResponseEntity.ok("Priority updated");
         }).orElse(ResponseEntity.notFound().build());
     }
@@ -240,8 +353,12 @@ public class ComplaintController {
             @RequestParam("lng") Double currentLng
     ) {
         return complaintRepository.findById(id).map(c -> {
-            // 1. LOCK CHECK
-            if ("REOPENED".equals(c.getStatus())) throw new RuntimeException("Action Blocked: Admin must re-assign this ticket.");
+            // 1. LOCK CHECK (fast path; the transition below re-checks atomically)
+            if (!Transition.RESOLVE.allowedFrom(ComplaintStatus.of(c.getStatus()))) {
+                throw new TransitionConflictException("REOPENED".equals(c.getStatus())
+                        ? "Action Blocked: Admin must re-assign this ticket."
+                        : "Complaint #" + id + " is " + c.getStatus() + " and cannot be resolved.");
+            }
 
             // 2. GEO CHECK
             if (c.getLatitude() != null && c.getLongitude() != null) {
@@ -249,50 +366,74 @@ public class ComplaintController {
                 if (distance > 200) throw new RuntimeException("Location Mismatch (" + (int)distance + "m away).");
             }
 
-            // 3. UPDATE METRICS (Reward Officer)
-            if(c.getAssignedTo() != null) {
-                User officer = userRepository.findById(c.getAssignedTo()).orElse(null);
-                if(officer != null) {
-                    officer.setTicketsResolved((officer.getTicketsResolved() == null ? 0 : officer.getTicketsResolved()) + 1);
-                    userRepository.save(officer);
-                    
-                    logHistory(c, officer, "RESOLVED", "Materials: " + materials);
-                }
-            }
-
-            // 4. UPDATE COMPLAINT
-            c.setStatus("RESOLVED");
-            c.setMaterialsUsed(materials);
-            c.setResolvedLatitude(currentLat);
-            c.setResolvedLongitude(currentLng);
-            
+            // 3. UPDATE COMPLAINT (proof is stored first so its URL goes into the same UPDATE)
+            Changes changes = Changes.none()
+                    .set("materialsUsed", materials)
+                    .set("resolvedLatitude", currentLat)
+                    .set("resolvedLongitude", currentLng);
+            Stored proof = null;
             if (file != null && !file.isEmpty()) {
                 try {
-                    String fileName = "RESOLVED_" + UUID.randomUUID() + "_" + file.getOriginalFilename();
-                    Path path = Paths.get("uploads/" + fileName);
-                    Files.createDirectories(path.getParent());
-                    Files.write(path, file.getBytes());
-                    c.setResolution_proof_url(fileName);
+                    proof = uploadStorage.stage(file, "RESOLVED_");
+                    changes.set("resolution_proof_url", proof.fileName());
+                } catch (UploadTooLargeException e) { throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE, e.getMessage());
                 } catch (IOException e) { throw new RuntimeException("Error saving proof"); }
             }
-            complaintRepository.save(c);
-            
-            // NOTIFY CITIZEN
-            createNotification(c.getUser(), "Complaint Resolved: " + c.getTitle() + ". Please rate us.", "SUCCESS", c.getId());
+            Optional<Complaint> resolved;
+            try {
+                resolved = resolve(id, changes, materials);
+            } catch (RuntimeException e) {
+                if (proof != null) uploadStorage.discard(proof); // Lost the transition (409): nothing points to it
+                throw e;
+            }
+            if (resolved.isEmpty()) {
+                if (proof != null) uploadStorage.discard(proof);
+                throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Complaint #" + id + " no longer exists.");
+            }
+            if (proof != null) imageVariants.submit(proof.fileName());
+            publishChange(resolved.get(), "RESOLVED");
 
             return ResponseEntity.ok("Resolved Successfully");
         }).orElse(ResponseEntity.notFound().build());
     }
+
+    // The RESOLVE transition with its counter, history and citizen notification, written in the same transaction
+    private Optional<Complaint> resolve(Integer id, Changes changes, String materials) {
+        return stateMachine.transition(id, Transition.RESOLVE, changes, r -> {
+            ComplaintOutbox.Message message = new ComplaintOutbox.Message(id, "RESOLVED");
+
+            // 4. UPDATE METRICS (Reward Officer) - only once the transition won, so a double submit counts once
+            if (r.getAssignedTo() != null && userRepository.incrementTicketsResolved(r.getAssignedTo()) == 1) {
+                message.history(id, r.getAssignedTo(), "RESOLVED", "Materials: " + materials);
+            }
+
+            // NOTIFY CITIZEN
+            outbox.write(message
+                    .notify(idOf(r.getUser()), "Complaint Resolved: " + r.getTitle() + ". Please rate us.", "SUCCESS")
+                    .mail(idOf(r.getUser()), "complaint-resolved", Map.of("id", String.valueOf(id), "title", Objects.toString(r.getTitle(), ""))));
+        });
+    }
     
+    // --- CONFLICTS: illegal transition, or a concurrent change won (optimistic lock) ---
+    @ExceptionHandler({TransitionConflictException.class, ObjectOptimisticLockingFailureException.class})
+    public ResponseEntity<?> conflict(RuntimeException e) {
+        String message = e instanceof TransitionConflictException ? e.getMessage()
+                : "This complaint was changed by someone else. Reload and try again.";
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(message);
+    }
+
     // --- CITIZEN: FEEDBACK ---
     @PutMapping("/feedback/{id}")
     public ResponseEntity<?> submitFeedback(@PathVariable Integer id, @RequestParam Integer rating, @RequestParam String feedback) {
-        return complaintRepository.findById(id).map(c -> {
+        return inTransaction(() -> complaintRepository.findById(id).map(c -> {
             c.setCitizen_rating(rating);
             c.setCitizen_feedback(feedback);
             complaintRepository.save(c);
-            
-            logHistory(c, c.getUser(), "RATED", "Rating: " + rating + " Stars. Feedback: " + feedback);
+            outbox.write(new ComplaintOutbox.Message(id, "RATED")
+                    .history(c.getUser(), "RATED", "Rating: " + rating + " Stars. Feedback: " + feedback));
+            return c;
+        })).map(c -> {
+            publishChange(c, "RATED");
             return ResponseEntity.ok("Feedback recorded");
         }).orElse(ResponseEntity.notFound().build());
     }
@@ -0,0 +1,145 @@
+package com.civicpulse.backend.controller;
+
+import com.civicpulse.backend.services.ImageVariantService;
+import com.civicpulse.backend.services.ImageVariantService.Size;
+import com.civicpulse.backend.services.UploadStorageService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+// Serves uploaded complaint images and resolution proofs.
+// /uploads/{file}              -> original
+// /uploads/{file}?size=thumb   -> 240px JPEG (dashboard cards / tables)
+// /uploads/{file}?size=medium  -> 960px JPEG
+// If a variant has not been generated yet, the original is served and generation is queued.
+// That stand-in is sent with no-cache, so the variant URL is revalidated and switches to the variant
+// (cached forever) once it exists.
+//
+// Stored files never change (their names are content hashes), so responses are cacheable forever:
+// strong ETag from the content hash, 304 on If-None-Match, single byte ranges (206), and the body is
+// handed to Tomcat's sendfile (zero-copy) when the connector supports it.
+@RestController
+@RequestMapping("/uploads")
+public class MediaController {
+
+    private static final String CACHE_FOREVER = "public, max-age=31536000, immutable";
+    private static final String REVALIDATE = "no-cache";
+
+    // Tomcat request attributes for sendfile
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    @Autowired private UploadStorageService uploadStorage;
+    @Autowired private ImageVariantService imageVariants;
+
+    @GetMapping("/{fileName:.+}")
+    public void getMedia(@PathVariable String fileName,
+                         @RequestParam(value = "size", required = false) String size,
+                         HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Path original;
+        try {
+            original = uploadStorage.resolve(fileName);
+        } catch (IllegalArgumentException e) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        if (!Files.isRegularFile(original)) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        Path path = original;
+        String etag = "\"" + uploadStorage.contentHash(fileName);
+        boolean fallback = false; // Variant asked for but not generated yet: the original stands in
+        Size variant = Size.parse(size);
+        if (variant != null) {
+            Path variantPath = imageVariants.find(fileName, variant);
+            if (variantPath != null) {
+                path = variantPath;
+                etag += "-" + variant.name().toLowerCase();
+            } else {
+                fallback = true;
+            }
+        }
+        etag += "\"";
+
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, fallback ? REVALIDATE : CACHE_FOREVER);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        // Answers If-None-Match with a 304
+        if (new ServletWebRequest(request, response).checkNotModified(etag)) return;
+
+        long length = Files.size(path);
+        long start = 0;
+        long end = length; // exclusive
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (rangeHeader != null && (ifRange == null || ifRange.equals(etag))) {
+            List<HttpRange> ranges;
+            try {
+                ranges = HttpRange.parseRanges(rangeHeader);
+            } catch (IllegalArgumentException e) {
+                ranges = List.of(); // Malformed Range headers are ignored
+            }
+            // Multi-range requests fall through to a full 200, which RFC 9110 allows
+            if (ranges.size() == 1) {
+                try {
+                    HttpRange range = ranges.get(0);
+                    start = range.getRangeStart(length);
+                    end = range.getRangeEnd(length) + 1;
+                } catch (IllegalArgumentException e) {
+                    start = length; // Unsatisfiable, handled below
+                }
+                if (start >= length || start >= end) {
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                    response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                    return;
+                }
+                response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + (end - 1) + "/" + length);
+            }
+        }
+
+        MediaType type = MediaTypeFactory.getMediaType(path.getFileName().toString())
+                .orElse(MediaType.APPLICATION_OCTET_STREAM);
+        response.setContentType(type.toString());
+        response.setContentLengthLong(end - start);
+        if ("HEAD".equals(request.getMethod())) return;
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            // Tomcat writes the file straight from the page cache to the socket after this method returns
+            request.setAttribute(SENDFILE_FILENAME, path.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end);
+            return;
+        }
+        try (FileChannel in = FileChannel.open(path, StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            while (position < end) {
+                position += in.transferTo(position, end - position, out);
+            }
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.civicpulse.backend.controller;
+
+import com.civicpulse.backend.dto.MetricsView;
+import com.civicpulse.backend.model.MetricsSnapshot;
+import com.civicpulse.backend.repository.MetricsSnapshotRepository;
+import com.civicpulse.backend.services.ComplaintMetricsEngine;
+import com.civicpulse.backend.services.ComplaintMetricsEngine.Dimension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Officer / category / ward performance for the admin dashboard, served from ComplaintMetricsEngine (memory).
+// dimension: officer | category | ward. hours: window length, 1..168 (default one week).
+//   /api/admin/metrics/officer              -> every officer
+//   /api/admin/metrics/officer/12?hours=24  -> one officer, last 24h
+//   /api/admin/metrics/ward/5/history       -> snapshots of one ward (trend chart)
+@RestController
+@RequestMapping("/api/admin/metrics")
+@PreAuthorize("hasAuthority('ADMIN')")
+public class MetricsController {
+
+    @Autowired
+    private ComplaintMetricsEngine metricsEngine;
+
+    @Autowired
+    private MetricsSnapshotRepository snapshotRepository;
+
+    @GetMapping("/{dimension}")
+    public List<MetricsView> list(@PathVariable String dimension, @RequestParam(defaultValue = "168") int hours) {
+        return metricsEngine.list(Dimension.parse(dimension), hours);
+    }
+
+    @GetMapping("/{dimension}/{key}")
+    public MetricsView get(@PathVariable String dimension, @PathVariable String key,
+                           @RequestParam(defaultValue = "168") int hours) {
+        return metricsEngine.view(Dimension.parse(dimension), key, hours);
+    }
+
+    @GetMapping("/{dimension}/{key}/history")
+    public List<MetricsSnapshot> history(@PathVariable String dimension, @PathVariable String key,
+                                         @RequestParam(defaultValue = "30") int days) {
+        Date since = new Date(System.currentTimeMillis() - TimeUnit.DAYS.toMillis(Math.max(1, Math.min(days, 365))));
+        return snapshotRepository.findByDimensionAndDimensionKeyAndTakenAtAfterOrderByTakenAtAsc(
+                Dimension.parse(dimension).name(), key, since);
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<?> badDimension(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+    }
+}
@@ -1,50 +1,105 @@
 package com.civicpulse.backend.controller;
 
+import com.civicpulse.backend.dto.CursorPage;
 import com.civicpulse.backend.model.Notification;
 import com.civicpulse.backend.repository.NotificationRepository;
+import com.civicpulse.backend.repository.UserRepository;
+import com.civicpulse.backend.services.NotificationPushService;
+import com.civicpulse.backend.services.StreamTicketService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/notifications")
 public class NotificationController {
 
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 200;
+
     @Autowired
     private NotificationRepository notificationRepository;
 
-    // Get my notifications
+    @Autowired
+    private NotificationPushService pushService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private StreamTicketService streamTickets;
+
+    // Single-use ticket for opening the stream, fetched with the usual Authorization header right before
+    // connecting: /stream?ticket=... (see StreamTicketService)
+    @PostMapping("/stream-ticket")
+    public Map<String, String> streamTicket(@AuthenticationPrincipal UserDetails principal) {
+        return Map.of("ticket", streamTickets.issue(principal.getUsername()));
+    }
+
+    // Live stream for the logged-in user (replaces polling). EventSource cannot send headers,
+    // so this endpoint is authenticated by a stream ticket instead (see JwtAuthenticationFilter).
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> stream(@AuthenticationPrincipal UserDetails principal) {
+        return userRepository.findByEmail(principal.getUsername())
+                .map(user -> ResponseEntity.ok(pushService.subscribe(user.getId())))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    // Get my notifications (the most recent ones; older ones via /{userId}/page)
     @GetMapping("/{userId}")
-    public List<Notification> getUserNotifications(@PathVariable Long userId) {
-        return notificationRepository.findByUserIdOrderByCreatedAtDesc(userId);
+    public List<Notification> getUserNotifications(@PathVariable Long userId,
+                                                   @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int limit) {
+        return notificationRepository.findInboxPage(userId, false, null,
+                PageRequest.of(0, Math.max(1, Math.min(limit, MAX_PAGE_SIZE))));
+    }
+
+    // Cursor-paged inbox, newest first. Example: /api/notifications/5/page?size=20&cursor=981&unreadOnly=true
+    @GetMapping("/{userId}/page")
+    public CursorPage<Notification> getInboxPage(@PathVariable Long userId,
+                                                 @RequestParam(required = false) Integer cursor,
+                                                 @RequestParam(defaultValue = "false") boolean unreadOnly,
+                                                 @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        // One extra row tells whether another page exists, without a COUNT
+        List<Notification> rows = notificationRepository.findInboxPage(userId, unreadOnly, cursor,
+                PageRequest.of(0, pageSize + 1));
+        boolean hasMore = rows.size() > pageSize;
+        List<Notification> items = hasMore ? rows.subList(0, pageSize) : rows;
+        String nextCursor = hasMore ? String.valueOf(items.get(items.size() - 1).getId()) : null;
+        return new CursorPage<>(items, nextCursor, hasMore);
     }
 
-    // Get unread count (for the badge)
+    // Get unread count (for the badge) - served from memory, see NotificationPushService
     @GetMapping("/unread-count/{userId}")
     public long getUnreadCount(@PathVariable Long userId) {
-        return notificationRepository.countByUserIdAndIsReadFalse(userId);
+        return pushService.getUnreadCount(userId);
     }
 
     // Mark as read
     @PutMapping("/read/{id}")
     public ResponseEntity<?> markAsRead(@PathVariable Integer id) {
         return notificationRepository.findById(id).map(n -> {
-            n.setRead(true);
-            notificationRepository.save(n);
+            // Conditional UPDATE: only the request that actually flips it lowers the badge count
+            if (notificationRepository.markRead(id) == 1) {
+                pushService.markedRead(n.getUser().getId()); // Proxy id, no user SELECT
+            }
             return ResponseEntity.ok("Read");
         }).orElse(ResponseEntity.notFound().build());
     }
     
-    // Mark ALL as read
+    // Mark ALL as read - a single UPDATE over the unread rows only
     @PutMapping("/read-all/{userId}")
     public ResponseEntity<?> markAllAsRead(@PathVariable Long userId) {
-        List<Notification> list = notificationRepository.findByUserIdOrderByCreatedAtDesc(userId);
-        for(Notification n : list) {
-            n.setRead(true);
-        }
-        notificationRepository.saveAll(list);
+        notificationRepository.markAllRead(userId);
+        pushService.markedAllRead(userId);
         return ResponseEntity.ok("All Read");
     }
 }
\ No newline at end of file
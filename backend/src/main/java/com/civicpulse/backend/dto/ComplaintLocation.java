@@ -0,0 +1,4 @@
+package com.civicpulse.backend.dto;
+
+// Position of an open complaint, as held by the in-memory GeoIndex.
+public record ComplaintLocation(Integer id, Double latitude, Double longitude, Integer categoryId) { }
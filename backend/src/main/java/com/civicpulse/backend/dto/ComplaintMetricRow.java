@@ -0,0 +1,7 @@
+package com.civicpulse.backend.dto;
+
+import java.util.Date;
+
+// What the metrics engine needs to know about a complaint (ward comes from the submitting citizen).
+public record ComplaintMetricRow(Integer id, Integer categoryId, String ward, Long assignedTo, String status,
+                                 Date createdAt, Date assignedAt, Date updatedAt, Date slaBreachedAt) { }
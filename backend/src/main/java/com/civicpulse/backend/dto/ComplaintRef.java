@@ -0,0 +1,4 @@
+package com.civicpulse.backend.dto;
+
+// Minimal complaint reference (id + title) for bulk paths that only need to build messages.
+public record ComplaintRef(Integer id, String title) { }
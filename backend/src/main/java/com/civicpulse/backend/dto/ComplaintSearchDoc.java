@@ -0,0 +1,4 @@
+package com.civicpulse.backend.dto;
+
+// The text fields of a complaint indexed by ComplaintSearchIndex.
+public record ComplaintSearchDoc(Integer id, String title, String description, String location, String adminComment) { }
@@ -0,0 +1,4 @@
+package com.civicpulse.backend.dto;
+
+// Status and optimistic-lock version of a complaint: all ComplaintStateMachine reads before a transition.
+public record ComplaintState(String status, Long version) { }
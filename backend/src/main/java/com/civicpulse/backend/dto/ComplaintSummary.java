@@ -0,0 +1,22 @@
+package com.civicpulse.backend.dto;
+
+import java.util.Date;
+
+// Lightweight row for complaint listings. Built directly by a JPQL constructor expression,
+// so listing pages never materialise the Complaint entity or its User.
+public record ComplaintSummary(
+        Integer id,
+        String title,
+        String status,
+        String priority,
+        Integer categoryId,
+        Long assignedTo,
+        String location,
+        Double latitude,
+        Double longitude,
+        String imageUrl,
+        Date createdAt,
+        Date assignedAt,
+        Long userId,
+        String userName
+) { }
@@ -0,0 +1,4 @@
+package com.civicpulse.backend.dto;
+
+// Title and description of a complaint, used to build its duplicate-detection signature.
+public record ComplaintText(Integer id, String title, String description) { }
@@ -0,0 +1,44 @@
+package com.civicpulse.backend.dto;
+
+import com.civicpulse.backend.model.Complaint;
+
+import java.util.Date;
+
+// JSON shape of a complaint for the dashboards. Keeps the entity's property names
+// (including admin_comment, resolution_proof_url, ...) so the frontend is unaffected,
+// but the submitter is reduced to a UserSummary.
+// Build it only from complaints loaded with their user fetched (see ComplaintRepository).
+public record ComplaintView(
+        Integer id,
+        UserSummary user,
+        Integer categoryId,
+        Long assignedTo,
+        String title,
+        String description,
+        String imageUrl,
+        String location,
+        Double latitude,
+        Double longitude,
+        String status,
+        String priority,
+        String admin_comment,
+        String materialsUsed,
+        String resolution_proof_url,
+        Double resolvedLatitude,
+        Double resolvedLongitude,
+        String citizen_feedback,
+        Integer citizen_rating,
+        Integer duplicateOfId,
+        Date createdAt,
+        Date assignedAt,
+        Date updatedAt
+) {
+
+    public static ComplaintView from(Complaint c) {
+        return new ComplaintView(c.getId(), UserSummary.from(c.getUser()), c.getCategoryId(), c.getAssignedTo(),
+                c.getTitle(), c.getDescription(), c.getImageUrl(), c.getLocation(), c.getLatitude(), c.getLongitude(),
+                c.getStatus(), c.getPriority(), c.getAdmin_comment(), c.getMaterialsUsed(), c.getResolution_proof_url(),
+                c.getResolvedLatitude(), c.getResolvedLongitude(), c.getCitizen_feedback(), c.getCitizen_rating(),
+                c.getDuplicateOfId(), c.getCreatedAt(), c.getAssignedAt(), c.getUpdatedAt());
+    }
+}
@@ -0,0 +1,7 @@
+package com.civicpulse.backend.dto;
+
+import java.util.List;
+
+// One page of a keyset-paginated listing.
+// Pass nextCursor back as the "cursor" parameter to fetch the following page; it is null on the last page.
+public record CursorPage<T>(List<T> items, String nextCursor, boolean hasMore) { }
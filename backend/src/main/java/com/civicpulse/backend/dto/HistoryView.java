@@ -0,0 +1,16 @@
+package com.civicpulse.backend.dto;
+
+import com.civicpulse.backend.model.ComplaintHistory;
+
+import java.util.Date;
+
+// One timeline entry. Carries only the complaint id instead of serialising the whole Complaint (and its User) per row.
+public record HistoryView(Integer id, Integer complaintId, String actionType, String details, Date timestamp,
+                          UserSummary actionBy) {
+
+    // complaintId is passed in by the caller (it already knows it) so the lazy complaint proxy is never touched
+    public static HistoryView from(ComplaintHistory h, Integer complaintId) {
+        return new HistoryView(h.getId(), complaintId, h.getActionType(), h.getDetails(), h.getTimestamp(),
+                UserSummary.from(h.getActionBy()));
+    }
+}
@@ -0,0 +1,21 @@
+package com.civicpulse.backend.dto;
+
+// Aggregates of one officer / category / ward over the requested window.
+// open is the current number of open complaints (not windowed). Resolution times are in minutes;
+// percentiles are approximate (histogram bucket upper bounds, within ~20%). slaBreaches counts complaints
+// whose 24h deadline passed in the window while still in progress (see SlaWatcher).
+public record MetricsView(
+        String dimension,
+        String key,
+        int windowHours,
+        long open,
+        long created,
+        long assigned,
+        long resolved,
+        long reopened,
+        long rejected,
+        long slaBreaches,
+        Double meanResolutionMinutes,
+        Double p50ResolutionMinutes,
+        Double p90ResolutionMinutes
+) { }
@@ -0,0 +1,4 @@
+package com.civicpulse.backend.dto;
+
+// A complaint returned by the nearby search, with its distance (metres, rounded) from the query point.
+public record NearbyComplaint(ComplaintSummary complaint, long distanceMeters) { }
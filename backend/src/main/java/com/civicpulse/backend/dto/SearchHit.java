@@ -0,0 +1,4 @@
+package com.civicpulse.backend.dto;
+
+// A complaint returned by full-text search, with its BM25 relevance score (higher is better).
+public record SearchHit(ComplaintSummary complaint, double score) { }
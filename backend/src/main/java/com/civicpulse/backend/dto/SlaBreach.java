@@ -0,0 +1,4 @@
+package com.civicpulse.backend.dto;
+
+// A complaint the SlaWatcher just escalated (priority is the raised one), for history and notifications.
+public record SlaBreach(Integer id, String title, Long assignedTo, String priority) { }
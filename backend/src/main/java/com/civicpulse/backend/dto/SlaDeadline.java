@@ -0,0 +1,6 @@
+package com.civicpulse.backend.dto;
+
+import java.util.Date;
+
+// An IN_PROGRESS complaint the SlaWatcher has to watch: its deadline is assignedAt + 24h.
+public record SlaDeadline(Integer id, Date assignedAt) { }
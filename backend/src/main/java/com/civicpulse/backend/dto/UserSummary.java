@@ -0,0 +1,13 @@
+package com.civicpulse.backend.dto;
+
+import com.civicpulse.backend.model.User;
+
+// The public part of a User, as embedded in complaint and history responses (never the password hash).
+public record UserSummary(Long id, String name, String email, String role, String wardNumber, String department) {
+
+    public static UserSummary from(User user) {
+        if (user == null) return null;
+        return new UserSummary(user.getId(), user.getName(), user.getEmail(), user.getRole(),
+                user.getWardNumber(), user.getDepartment());
+    }
+}
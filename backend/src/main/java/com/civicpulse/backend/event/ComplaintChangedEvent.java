@@ -0,0 +1,9 @@
+package com.civicpulse.backend.event;
+
+import com.civicpulse.backend.model.Complaint;
+
+// Published by ComplaintController after a complaint is saved, so in-memory views
+// (geo index, ...) can update themselves without the controller knowing about each one.
+// action uses the same names as ComplaintHistory.actionType: CREATED, REJECTED, REOPENED, RESOLVED, ...
+// Listeners run synchronously on the request thread and must be cheap.
+public record ComplaintChangedEvent(Complaint complaint, String action) { }
@@ -0,0 +1,8 @@
+package com.civicpulse.backend.event;
+
+import java.util.Date;
+import java.util.List;
+
+// Published by BulkAssignService after each chunk commits. Only ids are carried:
+// the chunk is updated with a set-based UPDATE, so no Complaint entities are loaded.
+public record ComplaintsAssignedEvent(List<Integer> complaintIds, Long officerId, Date assignedAt) { }
@@ -0,0 +1,9 @@
+package com.civicpulse.backend.event;
+
+import com.civicpulse.backend.services.NotificationDispatcher.PendingNotification;
+
+import java.util.List;
+
+// Published by NotificationDispatcher after a batch of notification rows is inserted.
+// Listeners that push to clients should use @TransactionalEventListener so they only see committed rows.
+public record NotificationsWrittenEvent(List<PendingNotification> notifications) { }
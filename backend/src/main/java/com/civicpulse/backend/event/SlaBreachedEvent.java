@@ -0,0 +1,7 @@
+package com.civicpulse.backend.event;
+
+import java.util.Date;
+import java.util.List;
+
+// Published by SlaWatcher after a batch of complaints passed their deadline and was escalated.
+public record SlaBreachedEvent(List<Integer> complaintIds, Date breachedAt) { }
@@ -4,19 +4,33 @@ package com.civicpulse.backend.model;
 
 import jakarta.persistence.*;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
 import java.util.Date;
 import org.hibernate.annotations.UpdateTimestamp;
 
 @Data
 @Entity
-@Table(name = "complaints")
+@Table(name = "complaints", indexes = {
+        // Filters used by the paged admin listing. InnoDB appends the primary key to every
+        // secondary index, so "WHERE status = ? ORDER BY id" is served by idx_complaints_status alone.
+        @Index(name = "idx_complaints_status", columnList = "status"),
+        @Index(name = "idx_complaints_assigned_to", columnList = "assigned_to"),
+        @Index(name = "idx_complaints_category", columnList = "category_id"),
+        @Index(name = "idx_complaints_created_at", columnList = "created_at"),
+        // SLA watcher startup: open IN_PROGRESS tickets by deadline
+        @Index(name = "idx_complaints_status_assigned_at", columnList = "status, assigned_at")
+})
 public class Complaint {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Integer id;
 
-    @ManyToOne
+    // LAZY: listings fetch the user explicitly (join fetch / entity graph) instead of one SELECT per row
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private User user;
 
     @Column(name = "category_id")
@@ -38,7 +52,7 @@ public class Complaint {
     private Double latitude;
     private Double longitude;
     
-    // Status can now include: "PENDING", "ASSIGNED", "RESOLVED", "REJECTED", "REOPENED"
+    // One of ComplaintStatus; changed through ComplaintStateMachine (conditional UPDATE), not setStatus + save
     private String status = "PENDING"; 
     private String priority = "MEDIUM"; 
     
@@ -61,15 +75,32 @@ public class Complaint {
     private String citizen_feedback;
     private Integer citizen_rating;
 
+    // --- NEW FIELD: Duplicate Detection ---
+    // Set (with status DUPLICATE) when the report matched an open complaint at submission
+    @Column(name = "duplicate_of_id")
+    private Integer duplicateOfId;
+
     @Column(name = "created_at", insertable = false, updatable = false)
     @Temporal(TemporalType.TIMESTAMP)
     private Date createdAt;
 
     // --- NEW FIELD: SLA Tracking ---
     // This tracks WHEN the officer was assigned, to calculate the 24hr deadline
+    @Column(name = "assigned_at")
     @Temporal(TemporalType.TIMESTAMP)
     private Date assignedAt; 
 
+    // Set by SlaWatcher when the 24hr deadline passed unresolved; cleared on re-assignment
+    @Column(name = "sla_breached_at")
+    @Temporal(TemporalType.TIMESTAMP)
+    private Date slaBreachedAt;
+
+    // Optimistic lock: every write (entity save or ComplaintStateMachine's conditional UPDATE) bumps it,
+    // so two concurrent changes cannot silently overwrite each other. Existing rows start at 0.
+    @Version
+    @Column(name = "version", columnDefinition = "bigint default 0")
+    private Long version;
+
     @UpdateTimestamp
     @Column(name = "updated_at")
     @Temporal(TemporalType.TIMESTAMP)
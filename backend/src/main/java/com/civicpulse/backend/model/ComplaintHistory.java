@@ -2,6 +2,8 @@ package com.civicpulse.backend.model;
 
 import jakarta.persistence.*;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
 import java.util.Date;
 import org.hibernate.annotations.CreationTimestamp;
 
@@ -13,13 +15,17 @@ public class ComplaintHistory {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Integer id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "complaint_id")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private Complaint complaint;
 
     // Who performed the action? (Admin, Officer, or Citizen)
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "action_by_user_id")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private User actionBy;
 
     private String actionType; // E.g., "ASSIGNED", "RESOLVED", "REOPENED", "COMMENTED"
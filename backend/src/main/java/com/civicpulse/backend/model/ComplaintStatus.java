@@ -0,0 +1,21 @@
+package com.civicpulse.backend.model;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+// Every status a complaint can be in. Complaint.status stays a String column holding name(), so existing
+// rows and the frontend are unchanged; which moves between them are legal is defined in ComplaintStateMachine.
+public enum ComplaintStatus {
+    PENDING, ASSIGNED, IN_PROGRESS, RESOLVED, REJECTED, REOPENED, DUPLICATE;
+
+    // Still needs work (shown on maps, checked for duplicates, counted as open)
+    public static final Set<ComplaintStatus> OPEN = Collections.unmodifiableSet(EnumSet.of(PENDING, ASSIGNED, IN_PROGRESS, REOPENED));
+
+    public static final Set<String> OPEN_NAMES = OPEN.stream().map(Enum::name).collect(Collectors.toUnmodifiableSet());
+
+    public static ComplaintStatus of(String value) {
+        return value == null ? PENDING : valueOf(value);
+    }
+}
@@ -0,0 +1,35 @@
+package com.civicpulse.backend.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.util.Date;
+
+// An email MailDispatcher gave up on (retries exhausted, rejected as invalid, queue full or shutting down).
+// Kept so an admin can see what was not delivered and queue it again.
+@Data
+@Entity
+@Table(name = "mail_dead_letters", indexes = {
+        @Index(name = "idx_mail_dead_letters_failed_at", columnList = "failed_at")
+})
+public class DeadLetterMail {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private String recipient;
+
+    private String subject;
+
+    @Column(name = "html_body", columnDefinition = "TEXT")
+    private String htmlBody;
+
+    private Integer attempts;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    @Column(name = "failed_at")
+    @Temporal(TemporalType.TIMESTAMP)
+    private Date failedAt;
+}
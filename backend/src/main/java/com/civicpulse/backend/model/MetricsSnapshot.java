@@ -0,0 +1,57 @@
+package com.civicpulse.backend.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.util.Date;
+
+// Periodic copy of one in-memory metrics aggregate (ComplaintMetricsEngine), kept for trend charts.
+@Data
+@Entity
+@Table(name = "metrics_snapshots", indexes = {
+        @Index(name = "idx_metrics_snapshots_key_taken", columnList = "dimension, dimension_key, taken_at")
+})
+public class MetricsSnapshot {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private String dimension; // OFFICER, CATEGORY, WARD
+
+    @Column(name = "dimension_key")
+    private String dimensionKey;
+
+    @Column(name = "taken_at")
+    @Temporal(TemporalType.TIMESTAMP)
+    private Date takenAt;
+
+    @Column(name = "window_hours")
+    private Integer windowHours;
+
+    @Column(name = "open_count")
+    private Long openCount;
+
+    @Column(name = "created_count")
+    private Long createdCount;
+
+    @Column(name = "assigned_count")
+    private Long assignedCount;
+
+    @Column(name = "resolved_count")
+    private Long resolvedCount;
+
+    @Column(name = "reopened_count")
+    private Long reopenedCount;
+
+    @Column(name = "rejected_count")
+    private Long rejectedCount;
+
+    @Column(name = "sla_breaches")
+    private Long slaBreaches;
+
+    @Column(name = "mean_resolution_minutes")
+    private Double meanResolutionMinutes;
+
+    @Column(name = "p90_resolution_minutes")
+    private Double p90ResolutionMinutes;
+}
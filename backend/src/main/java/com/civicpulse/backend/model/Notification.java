@@ -2,6 +2,8 @@ package com.civicpulse.backend.model;
 
 import jakarta.persistence.*;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
 import org.hibernate.annotations.CreationTimestamp;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
@@ -11,16 +13,22 @@ import java.util.Date;
 
 @Data
 @Entity
-@Table(name = "notifications")
+@Table(name = "notifications", indexes = {
+        // Unread badge / unread-only inbox / mark-all-read all filter on (user_id, is_read);
+        // id last so the unread-only inbox page is read in its keyset order (id desc) without a sort
+        @Index(name = "idx_notifications_user_read_id", columnList = "user_id, is_read, id")
+})
 public class Notification {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Integer id;
 
     // Who is this notification for?
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
     @JsonIgnore  // <-- Add this line
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private User user;
 
     private String message;
@@ -28,13 +36,16 @@ public class Notification {
     // Type helps frontend decide color (e.g., SUCCESS=Green, ALERT=Red)
     private String type; // "SUCCESS", "ALERT", "INFO"
     
+    @Column(name = "related_complaint_id")
     private Integer relatedComplaintId; // Optional: To link directly to a task
 
     // --- FIX IS HERE ---
     @JsonProperty("isRead") // Forces JSON key to stay "isRead"
+    @Column(name = "is_read")
     private boolean isRead = false;
 
     @CreationTimestamp
+    @Column(name = "created_at")
     @Temporal(TemporalType.TIMESTAMP)
     private Date createdAt;
 }
\ No newline at end of file
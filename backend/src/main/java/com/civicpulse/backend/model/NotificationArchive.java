@@ -0,0 +1,36 @@
+package com.civicpulse.backend.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.util.Date;
+
+// Read notifications older than the retention period, moved out of the hot "notifications" table
+// by NotificationArchiver. Keeps the original id; the user is stored as a plain id (no join needed).
+@Data
+@Entity
+@Table(name = "notifications_archive", indexes = {
+        @Index(name = "idx_notifications_archive_user_created", columnList = "user_id, created_at")
+})
+public class NotificationArchive {
+    @Id
+    private Integer id;
+
+    @Column(name = "user_id")
+    private Long userId;
+
+    private String message;
+
+    private String type;
+
+    @Column(name = "related_complaint_id")
+    private Integer relatedComplaintId;
+
+    @Column(name = "created_at")
+    @Temporal(TemporalType.TIMESTAMP)
+    private Date createdAt;
+
+    @Column(name = "archived_at")
+    @Temporal(TemporalType.TIMESTAMP)
+    private Date archivedAt;
+}
@@ -0,0 +1,42 @@
+package com.civicpulse.backend.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.util.Date;
+
+// One complaint change waiting to be relayed (history rows, notifications, emails), written in the same
+// transaction as the change itself and deleted by ComplaintOutbox once relayed. Payload is JSON.
+// A row the relay keeps failing on is retried alone; after app.outbox.max-attempts it gets failed_at set and
+// stays here as a dead letter (with the last error) until someone fixes or deletes it.
+@Data
+@Entity
+@Table(name = "complaint_outbox")
+public class OutboxEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "complaint_id")
+    private Integer complaintId;
+
+    private String action;
+
+    @Column(columnDefinition = "TEXT")
+    private String payload;
+
+    @Column(name = "created_at")
+    @Temporal(TemporalType.TIMESTAMP)
+    private Date createdAt;
+
+    // Failed relay attempts of this row on its own
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(name = "failed_at")
+    @Temporal(TemporalType.TIMESTAMP)
+    private Date failedAt;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+}
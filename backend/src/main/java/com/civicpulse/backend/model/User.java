@@ -29,9 +29,11 @@ public class User {
     private boolean enabled = true;
 
     // --- ADD THESE NEW FIELDS FOR ACCURACY TRACKING ---
-    @Column(name = "tickets_resolved")
+    // Only changed by the atomic increments in UserRepository; updatable = false keeps a save() of a stale
+    // User (profile edit, approval) from writing an old value back over them
+    @Column(name = "tickets_resolved", updatable = false)
     private Integer ticketsResolved = 0;
 
-    @Column(name = "tickets_reopened")
+    @Column(name = "tickets_reopened", updatable = false)
     private Integer ticketsReopened = 0;
 }
\ No newline at end of file
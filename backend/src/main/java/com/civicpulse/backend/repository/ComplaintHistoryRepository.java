@@ -2,8 +2,14 @@ package com.civicpulse.backend.repository;
 
 import com.civicpulse.backend.model.ComplaintHistory;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import java.util.List;
 
 public interface ComplaintHistoryRepository extends JpaRepository<ComplaintHistory, Integer> {
     List<ComplaintHistory> findByComplaintIdOrderByTimestampDesc(Integer complaintId);
-}
\ No newline at end of file
+
+    // Timeline for one complaint with the acting user fetched in the same SELECT
+    @Query("select h from ComplaintHistory h left join fetch h.actionBy where h.complaint.id = :complaintId order by h.timestamp desc")
+    List<ComplaintHistory> findTimeline(@Param("complaintId") Integer complaintId);
+}
@@ -4,16 +4,206 @@
 // This handles all database operations for Complaints.
 package com.civicpulse.backend.repository;
 
+import com.civicpulse.backend.dto.ComplaintLocation;
+import com.civicpulse.backend.dto.ComplaintMetricRow;
+import com.civicpulse.backend.dto.ComplaintSearchDoc;
+import com.civicpulse.backend.dto.ComplaintState;
+import com.civicpulse.backend.dto.ComplaintSummary;
+import com.civicpulse.backend.dto.ComplaintText;
+import com.civicpulse.backend.dto.SlaBreach;
+import com.civicpulse.backend.dto.SlaDeadline;
 import com.civicpulse.backend.model.Complaint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.Date;
 import java.util.List;
+import java.util.Optional;
 
 public interface ComplaintRepository extends JpaRepository<Complaint, Integer> {
     
     // Find all complaints submitted by a specific user (for Citizen Dashboard)
     List<Complaint> findByUserId(Long userId);
 
+    // Same as above, but the user comes back in the same SELECT (Complaint.user is LAZY)
+    @EntityGraph(attributePaths = "user")
+    @Query("select c from Complaint c where c.user.id = :userId")
+    List<Complaint> findWithUserByUserId(@Param("userId") Long userId);
+
+    // Every complaint with its user in one SELECT (Admin/Officer dashboard)
+    @EntityGraph(attributePaths = "user")
+    @Query("select c from Complaint c")
+    List<Complaint> findAllWithUser();
+
     // Find all complaints assigned to a specific officer (for Officer Dashboard)
     // We use a custom query because assignedTo can be null
     List<Complaint> findByAssignedTo(Long officerId);
-}
\ No newline at end of file
+
+    @Query("select new com.civicpulse.backend.dto.ComplaintState(c.status, c.version) from Complaint c where c.id = :id")
+    Optional<ComplaintState> findStateById(@Param("id") Integer id);
+
+    // Set-based assignment used by BulkAssignService: one UPDATE for a whole chunk of ids (locked and filtered
+    // there), still limited to the statuses ASSIGN may leave (see ComplaintStateMachine). Bulk JPQL skips
+    // @UpdateTimestamp and @Version, so updatedAt and version are set explicitly. A new assignment starts a new SLA.
+    @Modifying
+    @Query("""
+            update Complaint c
+               set c.assignedTo = :officerId, c.status = 'IN_PROGRESS', c.assignedAt = :now, c.updatedAt = :now,
+                   c.slaBreachedAt = null, c.version = coalesce(c.version, 0) + 1
+             where c.id in :ids and c.status in :fromStatuses
+            """)
+    int assignAll(@Param("ids") Collection<Integer> ids, @Param("fromStatuses") Collection<String> fromStatuses,
+                  @Param("officerId") Long officerId, @Param("now") Date now);
+
+    @Query("""
+            select new com.civicpulse.backend.dto.ComplaintSummary(
+                c.id, c.title, c.status, c.priority, c.categoryId, c.assignedTo, c.location,
+                c.latitude, c.longitude, c.imageUrl, c.createdAt, c.assignedAt, u.id, u.name)
+            from Complaint c left join c.user u
+            where c.id in :ids
+            """)
+    List<ComplaintSummary> findSummariesByIdIn(@Param("ids") Collection<Integer> ids);
+
+    // Deadlines used to (re)build the SlaWatcher (served by idx_complaints_status_assigned_at)
+    @Query("""
+            select new com.civicpulse.backend.dto.SlaDeadline(c.id, c.assignedAt)
+            from Complaint c
+            where c.status = 'IN_PROGRESS' and c.assignedAt is not null and c.slaBreachedAt is null
+            """)
+    List<SlaDeadline> findSlaDeadlines();
+
+    // The same, limited to the given complaints (those that changed while the SlaWatcher was rebuilding)
+    @Query("""
+            select new com.civicpulse.backend.dto.SlaDeadline(c.id, c.assignedAt)
+            from Complaint c
+            where c.id in :ids and c.status = 'IN_PROGRESS' and c.assignedAt is not null and c.slaBreachedAt is null
+            """)
+    List<SlaDeadline> findSlaDeadlinesByIdIn(@Param("ids") Collection<Integer> ids);
+
+    // Marks the SLA breach and raises the priority one level, for tickets still IN_PROGRESS whose
+    // deadline really passed and that were not escalated yet. Returns the number of rows escalated.
+    @Modifying
+    @Query("""
+            update Complaint c
+               set c.slaBreachedAt = :now, c.updatedAt = :now, c.version = coalesce(c.version, 0) + 1,
+                   c.priority = case c.priority when 'LOW' then 'MEDIUM' else 'HIGH' end
+             where c.id in :ids and c.status = 'IN_PROGRESS' and c.slaBreachedAt is null
+               and c.assignedAt <= :assignedBefore
+            """)
+    int markSlaBreached(@Param("ids") Collection<Integer> ids, @Param("assignedBefore") Date assignedBefore,
+                        @Param("now") Date now);
+
+    @Query("""
+            select new com.civicpulse.backend.dto.SlaBreach(c.id, c.title, c.assignedTo, c.priority)
+            from Complaint c
+            where c.id in :ids and c.slaBreachedAt = :breachedAt
+            """)
+    List<SlaBreach> findSlaBreaches(@Param("ids") Collection<Integer> ids, @Param("breachedAt") Date breachedAt);
+
+    // Positions used to (re)build the in-memory GeoIndex
+    @Query("""
+            select new com.civicpulse.backend.dto.ComplaintLocation(c.id, c.latitude, c.longitude, c.categoryId)
+            from Complaint c
+            where c.status in :statuses and c.latitude is not null and c.longitude is not null
+            """)
+    List<ComplaintLocation> findLocationsByStatusIn(@Param("statuses") Collection<String> statuses);
+
+    @Query("""
+            select new com.civicpulse.backend.dto.ComplaintLocation(c.id, c.latitude, c.longitude, c.categoryId)
+            from Complaint c
+            where c.id in :ids and c.latitude is not null and c.longitude is not null
+            """)
+    List<ComplaintLocation> findLocationsByIdIn(@Param("ids") Collection<Integer> ids);
+
+    @Query("""
+            select new com.civicpulse.backend.dto.ComplaintLocation(c.id, c.latitude, c.longitude, c.categoryId)
+            from Complaint c
+            where c.id in :ids and c.status in :statuses and c.latitude is not null and c.longitude is not null
+            """)
+    List<ComplaintLocation> findLocationsByIdInAndStatusIn(@Param("ids") Collection<Integer> ids,
+                                                           @Param("statuses") Collection<String> statuses);
+
+    // Rows used to (re)build the metrics engine: open complaints, complaints resolved since a point in time,
+    // and specific complaints it has not seen yet. The ward is the submitting citizen's.
+    @Query("""
+            select new com.civicpulse.backend.dto.ComplaintMetricRow(
+                c.id, c.categoryId, u.wardNumber, c.assignedTo, c.status, c.createdAt, c.assignedAt, c.updatedAt,
+                c.slaBreachedAt)
+            from Complaint c left join c.user u
+            where c.status in :statuses
+            """)
+    List<ComplaintMetricRow> findMetricRowsByStatusIn(@Param("statuses") Collection<String> statuses);
+
+    @Query("""
+            select new com.civicpulse.backend.dto.ComplaintMetricRow(
+                c.id, c.categoryId, u.wardNumber, c.assignedTo, c.status, c.createdAt, c.assignedAt, c.updatedAt,
+                c.slaBreachedAt)
+            from Complaint c left join c.user u
+            where c.status = 'RESOLVED' and c.updatedAt >= :since
+            """)
+    List<ComplaintMetricRow> findMetricRowsResolvedSince(@Param("since") Date since);
+
+    @Query("""
+            select new com.civicpulse.backend.dto.ComplaintMetricRow(
+                c.id, c.categoryId, u.wardNumber, c.assignedTo, c.status, c.createdAt, c.assignedAt, c.updatedAt,
+                c.slaBreachedAt)
+            from Complaint c left join c.user u
+            where c.id in :ids
+            """)
+    List<ComplaintMetricRow> findMetricRowsByIdIn(@Param("ids") Collection<Integer> ids);
+
+    // Texts used to (re)build the duplicate detector's signatures
+    @Query("select new com.civicpulse.backend.dto.ComplaintText(c.id, c.title, c.description) from Complaint c where c.status in :statuses")
+    List<ComplaintText> findTextsByStatusIn(@Param("statuses") Collection<String> statuses);
+
+    @Query("select new com.civicpulse.backend.dto.ComplaintText(c.id, c.title, c.description) from Complaint c where c.id in :ids")
+    List<ComplaintText> findTextsByIdIn(@Param("ids") Collection<Integer> ids);
+
+    @Query("select new com.civicpulse.backend.dto.ComplaintText(c.id, c.title, c.description) from Complaint c where c.id in :ids and c.status in :statuses")
+    List<ComplaintText> findTextsByIdInAndStatusIn(@Param("ids") Collection<Integer> ids,
+                                                   @Param("statuses") Collection<String> statuses);
+
+    // Full-text index build: keyset batches in id order (page size from the Pageable), so the scan never
+    // holds more than one batch of TEXT columns in memory
+    @Query("""
+            select new com.civicpulse.backend.dto.ComplaintSearchDoc(c.id, c.title, c.description, c.location, c.admin_comment)
+            from Complaint c where c.id > :afterId order by c.id
+            """)
+    List<ComplaintSearchDoc> findSearchDocsAfter(@Param("afterId") Integer afterId, Pageable pageable);
+
+    @Query("select new com.civicpulse.backend.dto.ComplaintSearchDoc(c.id, c.title, c.description, c.location, c.admin_comment) from Complaint c where c.id in :ids")
+    List<ComplaintSearchDoc> findSearchDocsByIdIn(@Param("ids") Collection<Integer> ids);
+
+    // Keyset page for the admin listing. Every filter is optional (null = ignore).
+    // "afterId" is the last id of the previous page; the Pageable carries the page size and the id sort
+    // direction, so the database seeks straight to the cursor instead of skipping OFFSET rows.
+    @Query("""
+            select new com.civicpulse.backend.dto.ComplaintSummary(
+                c.id, c.title, c.status, c.priority, c.categoryId, c.assignedTo, c.location,
+                c.latitude, c.longitude, c.imageUrl, c.createdAt, c.assignedAt, u.id, u.name)
+            from Complaint c left join c.user u
+            where (:status is null or c.status = :status)
+              and (:priority is null or c.priority = :priority)
+              and (:categoryId is null or c.categoryId = :categoryId)
+              and (:assignedTo is null or c.assignedTo = :assignedTo)
+              and (:createdFrom is null or c.createdAt >= :createdFrom)
+              and (:createdTo is null or c.createdAt < :createdTo)
+              and (:afterId is null
+                   or (:ascending = true and c.id > :afterId)
+                   or (:ascending = false and c.id < :afterId))
+            """)
+    List<ComplaintSummary> findSummaryPage(@Param("status") String status,
+                                           @Param("priority") String priority,
+                                           @Param("categoryId") Integer categoryId,
+                                           @Param("assignedTo") Long assignedTo,
+                                           @Param("createdFrom") Date createdFrom,
+                                           @Param("createdTo") Date createdTo,
+                                           @Param("afterId") Integer afterId,
+                                           @Param("ascending") boolean ascending,
+                                           Pageable pageable);
+}
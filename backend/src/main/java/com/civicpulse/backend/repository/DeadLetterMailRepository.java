@@ -0,0 +1,12 @@
+package com.civicpulse.backend.repository;
+
+import com.civicpulse.backend.model.DeadLetterMail;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface DeadLetterMailRepository extends JpaRepository<DeadLetterMail, Long> {
+    // Newest first, for the admin view
+    List<DeadLetterMail> findAllByOrderByFailedAtDesc(Pageable pageable);
+}
@@ -0,0 +1,12 @@
+package com.civicpulse.backend.repository;
+
+import com.civicpulse.backend.model.MetricsSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Date;
+import java.util.List;
+
+public interface MetricsSnapshotRepository extends JpaRepository<MetricsSnapshot, Long> {
+    // Trend of one officer / category / ward since a point in time, oldest first
+    List<MetricsSnapshot> findByDimensionAndDimensionKeyAndTakenAtAfterOrderByTakenAtAsc(String dimension, String dimensionKey, Date after);
+}
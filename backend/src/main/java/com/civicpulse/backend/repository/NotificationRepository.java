@@ -1,7 +1,13 @@
 package com.civicpulse.backend.repository;
 
 import com.civicpulse.backend.model.Notification;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
 import java.util.List;
 
 public interface NotificationRepository extends JpaRepository<Notification, Integer> {
@@ -10,4 +16,29 @@ public interface NotificationRepository extends JpaRepository<Notification, Inte
     
     // Optional: Count unread
     long countByUserIdAndIsReadFalse(Long userId);
-}
\ No newline at end of file
+
+    // Keyset page of a user's inbox, newest first (pass the last id seen as beforeId).
+    // Served in id order by idx_notifications_user_read_id (unreadOnly) or by the user_id foreign key index
+    // (InnoDB secondary indexes end with the primary key, so that one is effectively (user_id, id)).
+    @Query("""
+            select n from Notification n
+            where n.user.id = :userId
+              and (:unreadOnly = false or n.isRead = false)
+              and (:beforeId is null or n.id < :beforeId)
+            order by n.id desc
+            """)
+    List<Notification> findInboxPage(@Param("userId") Long userId, @Param("unreadOnly") boolean unreadOnly,
+                                     @Param("beforeId") Integer beforeId, Pageable pageable);
+
+    // One UPDATE for "mark all read", touching only the rows that are still unread
+    @Transactional
+    @Modifying
+    @Query("update Notification n set n.isRead = true where n.user.id = :userId and n.isRead = false")
+    int markAllRead(@Param("userId") Long userId);
+
+    // Returns 1 if the notification was unread (so the badge count must drop), 0 otherwise
+    @Transactional
+    @Modifying
+    @Query("update Notification n set n.isRead = true where n.id = :id and n.isRead = false")
+    int markRead(@Param("id") Integer id);
+}
@@ -2,6 +2,11 @@ package com.civicpulse.backend.repository;
 
 import com.civicpulse.backend.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
 import java.util.Optional;
 import java.util.List;
 
@@ -16,6 +21,17 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     //For module-2 - 19/12
     List<User> findByRole(String role);
-}
 
+    // Officer accuracy counters are bumped in the database (col = col + 1) instead of read-modify-write,
+    // so two tickets of one officer resolved at the same time both count, and only the counter column is
+    // written. Return 0 when the user does not exist.
+    @Transactional
+    @Modifying
+    @Query("update User u set u.ticketsResolved = coalesce(u.ticketsResolved, 0) + 1 where u.id = :id")
+    int incrementTicketsResolved(@Param("id") Long id);
 
+    @Transactional
+    @Modifying
+    @Query("update User u set u.ticketsReopened = coalesce(u.ticketsReopened, 0) + 1 where u.id = :id")
+    int incrementTicketsReopened(@Param("id") Long id);
+}
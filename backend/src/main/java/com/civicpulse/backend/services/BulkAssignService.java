@@ -0,0 +1,130 @@
+package com.civicpulse.backend.services;
+
+import com.civicpulse.backend.dto.ComplaintRef;
+import com.civicpulse.backend.event.ComplaintsAssignedEvent;
+import com.civicpulse.backend.model.User;
+import com.civicpulse.backend.repository.ComplaintRepository;
+import com.civicpulse.backend.repository.UserRepository;
+import com.civicpulse.backend.services.NotificationDispatcher.PendingNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+// Bulk (re)assignment of complaints to an officer.
+// Ids are processed in chunks; each chunk is one transaction containing
+//   1 SELECT ... FOR UPDATE of the assignable ids and titles, 1 set-based UPDATE of exactly those ids,
+//   1 JDBC batch of history rows and 1 JDBC batch of officer notifications.
+// So 2,000 tickets cost a handful of statements per chunk instead of ~3 autocommits per ticket,
+// and a failure only rolls back the chunk it happened in.
+// Tickets in a status that cannot be assigned (RESOLVED, DUPLICATE) are skipped and not counted as updated.
+@Service
+public class BulkAssignService {
+
+    private static final Logger log = LoggerFactory.getLogger(BulkAssignService.class);
+
+    private static final String INSERT_HISTORY_SQL =
+            "INSERT INTO complaint_history (complaint_id, action_by_user_id, action_type, details, timestamp) "
+            + "VALUES (?, NULL, 'ASSIGNED', ?, ?)";
+
+    private static final String LOCK_ASSIGNABLE_SQL =
+            "SELECT id, title FROM complaints WHERE id IN (%s) AND status IN (%s) ORDER BY id FOR UPDATE";
+
+    private static final List<String> ASSIGNABLE = ComplaintStateMachine.Transition.ASSIGN.fromNames();
+
+    public record ChunkProgress(int chunk, int totalChunks, int requested, int updated, long elapsedMillis) { }
+
+    public record BulkAssignResult(int requested, int updated, List<ChunkProgress> chunks) { }
+
+    @Autowired private ComplaintRepository complaintRepository;
+    @Autowired private UserRepository userRepository;
+    @Autowired private NotificationDispatcher notificationDispatcher;
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private PlatformTransactionManager transactionManager;
+    @Autowired private ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.bulk-assign.chunk-size:500}")
+    private int chunkSize;
+
+    public BulkAssignResult assign(List<Integer> complaintIds, Long officerId) {
+        return assign(complaintIds, officerId, progress -> { });
+    }
+
+    // progressListener is called after each chunk commits
+    public BulkAssignResult assign(List<Integer> complaintIds, Long officerId, Consumer<ChunkProgress> progressListener) {
+        List<Integer> ids = complaintIds == null ? List.of()
+                : complaintIds.stream().filter(Objects::nonNull).distinct().toList();
+        User officer = officerId == null ? null : userRepository.findById(officerId).orElse(null);
+        String details = "Assigned to Officer: " + (officer != null ? officer.getName() : officerId);
+
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        int totalChunks = (ids.size() + chunkSize - 1) / chunkSize;
+        List<ChunkProgress> chunks = new ArrayList<>(totalChunks);
+        int updated = 0;
+
+        for (int i = 0; i < totalChunks; i++) {
+            List<Integer> chunk = ids.subList(i * chunkSize, Math.min(ids.size(), (i + 1) * chunkSize));
+            int chunkNo = i + 1;
+            long start = System.currentTimeMillis();
+
+            List<Integer> assigned = new ArrayList<>(chunk.size());
+            ChunkProgress progress = tx.execute(status -> {
+                Date now = new Date();
+                Timestamp ts = new Timestamp(now.getTime());
+                // Only the tickets that are in an assignable status get updated, history and a notification.
+                // They are picked (and locked) by id up front, so a concurrent bulk assign to the same officer
+                // cannot make this chunk report its rows.
+                List<ComplaintRef> refs = lockAssignable(chunk);
+                refs.forEach(ref -> assigned.add(ref.id()));
+                int rows = refs.isEmpty() ? 0 : complaintRepository.assignAll(assigned, ASSIGNABLE, officerId, now);
+
+                jdbcTemplate.batchUpdate(INSERT_HISTORY_SQL, refs, refs.size(), (ps, ref) -> {
+                    ps.setInt(1, ref.id());
+                    ps.setString(2, details);
+                    ps.setTimestamp(3, ts);
+                });
+
+                if (officer != null) {
+                    notificationDispatcher.writeNow(refs.stream()
+                            .map(ref -> new PendingNotification(officer.getId(), "New Task Assigned: " + ref.title(),
+                                    "INFO", ref.id(), ts))
+                            .toList());
+                }
+                return new ChunkProgress(chunkNo, totalChunks, chunk.size(), rows, System.currentTimeMillis() - start);
+            });
+
+            if (!assigned.isEmpty()) eventPublisher.publishEvent(new ComplaintsAssignedEvent(assigned, officerId, new Date()));
+            updated += progress.updated();
+            chunks.add(progress);
+            log.info("Bulk assign to officer {}: chunk {}/{} updated {} of {} complaints in {} ms",
+                    officerId, chunkNo, totalChunks, progress.updated(), progress.requested(), progress.elapsedMillis());
+            progressListener.accept(progress);
+        }
+        return new BulkAssignResult(ids.size(), updated, chunks);
+    }
+
+    private List<ComplaintRef> lockAssignable(List<Integer> ids) {
+        String sql = String.format(LOCK_ASSIGNABLE_SQL, placeholders(ids.size()), placeholders(ASSIGNABLE.size()));
+        List<Object> args = new ArrayList<>(ids.size() + ASSIGNABLE.size());
+        args.addAll(ids);
+        args.addAll(ASSIGNABLE);
+        return jdbcTemplate.query(sql, (rs, row) -> new ComplaintRef(rs.getInt(1), rs.getString(2)), args.toArray());
+    }
+
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+}
@@ -0,0 +1,355 @@
+package com.civicpulse.backend.services;
+
+import com.civicpulse.backend.dto.ComplaintMetricRow;
+import com.civicpulse.backend.dto.MetricsView;
+import com.civicpulse.backend.event.ComplaintChangedEvent;
+import com.civicpulse.backend.event.ComplaintsAssignedEvent;
+import com.civicpulse.backend.event.SlaBreachedEvent;
+import com.civicpulse.backend.model.Complaint;
+import com.civicpulse.backend.repository.ComplaintRepository;
+import org.hibernate.Hibernate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+// Officer / category / ward performance, maintained incrementally from complaint state transitions
+// (ComplaintChangedEvent, ComplaintsAssignedEvent, SlaBreachedEvent) instead of scanning "complaints" per dashboard request.
+// Each key has a RollingAggregate (7-day window of hourly buckets): created, assigned, resolved, reopened,
+// rejected, SLA breaches and resolution-time mean / p50 / p90. Reading one key costs the same whatever the
+// number of complaints. The open complaints themselves are tracked too, so a transition knows the ticket's
+// category, ward and officer without going back to the database.
+//
+// After a restart the window is rebuilt from the open complaints and those resolved in the last 7 days
+// (resolution time taken from updatedAt). Reopen/reject counts from before the restart are not recovered.
+// Every app.metrics.snapshot-ms the 24h view of every key is written to metrics_snapshots for trend charts.
+@Service
+public class ComplaintMetricsEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(ComplaintMetricsEngine.class);
+
+    private static final String INSERT_SNAPSHOT_SQL =
+            "INSERT INTO metrics_snapshots (dimension, dimension_key, taken_at, window_hours, open_count, created_count, "
+            + "assigned_count, resolved_count, reopened_count, rejected_count, sla_breaches, mean_resolution_minutes, "
+            + "p90_resolution_minutes) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    public enum Dimension {
+        OFFICER, CATEGORY, WARD;
+
+        public static Dimension parse(String value) {
+            return switch (value.toLowerCase(Locale.ROOT)) {
+                case "officer", "officers" -> OFFICER;
+                case "category", "categories" -> CATEGORY;
+                case "ward", "wards" -> WARD;
+                default -> throw new IllegalArgumentException("Unknown metrics dimension: " + value);
+            };
+        }
+    }
+
+    // An open complaint as the engine sees it
+    record Ticket(Integer id, Integer categoryId, String ward, Long officerId, long createdAt, Long assignedAt) {
+
+        static Ticket of(ComplaintMetricRow row) {
+            return new Ticket(row.id(), row.categoryId(), row.ward(), row.assignedTo(),
+                    row.createdAt() == null ? 0 : row.createdAt().getTime(),
+                    row.assignedAt() == null ? null : row.assignedAt().getTime());
+        }
+    }
+
+    @Autowired private ComplaintRepository complaintRepository;
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private Clock clock;
+
+    // Open tickets and the aggregates built from them; rebuild() fills a fresh one and swaps it in whole
+    private record State(Map<Integer, Ticket> open, Map<Dimension, Map<String, RollingAggregate>> aggregates) {
+
+        State() {
+            this(new ConcurrentHashMap<>(), new EnumMap<>(Dimension.class));
+            for (Dimension d : Dimension.values()) aggregates.put(d, new ConcurrentHashMap<>());
+        }
+    }
+
+    private volatile State state = new State();
+    // Complaints changed while a rebuild was reading; reconciled once the new state is in place
+    private volatile Set<Integer> changedDuringRebuild;
+
+    // --- REBUILD ---
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        long now = clock.millis();
+        long windowStart = now - TimeUnit.HOURS.toMillis(RollingAggregate.WINDOW_HOURS);
+        changedDuringRebuild = ConcurrentHashMap.newKeySet();
+        State fresh = new State();
+        Set<Integer> read = new HashSet<>();
+        Set<Integer> resolved = new HashSet<>(); // Resolutions the fresh state already counts
+        Set<Integer> breached = new HashSet<>(); // Breaches the fresh state already counts
+
+        List<ComplaintMetricRow> openRows = complaintRepository.findMetricRowsByStatusIn(GeoIndex.OPEN_STATUSES);
+        for (ComplaintMetricRow row : openRows) {
+            Ticket t = Ticket.of(row);
+            read.add(t.id());
+            fresh.open().put(t.id(), t);
+            forEach(fresh, t, t.officerId(), agg -> agg.openDelta(1));
+            if (t.createdAt() >= windowStart) forEach(fresh, t, null, agg -> agg.created(t.createdAt()));
+            if (t.assignedAt() != null && t.assignedAt() >= windowStart) {
+                forEach(fresh, t, t.officerId(), agg -> agg.assigned(t.assignedAt()));
+            }
+            if (recordBreach(fresh, t, row, windowStart)) breached.add(t.id());
+        }
+        List<ComplaintMetricRow> resolvedRows = complaintRepository.findMetricRowsResolvedSince(new Date(windowStart));
+        for (ComplaintMetricRow row : resolvedRows) {
+            Ticket t = Ticket.of(row);
+            read.add(t.id());
+            resolved.add(t.id());
+            if (t.createdAt() >= windowStart) forEach(fresh, t, null, agg -> agg.created(t.createdAt()));
+            recordResolution(fresh, t, t.officerId(), row.updatedAt() == null ? now : row.updatedAt().getTime());
+            if (recordBreach(fresh, t, row, windowStart)) breached.add(t.id());
+        }
+
+        state = fresh;
+        Set<Integer> changed = changedDuringRebuild;
+        changedDuringRebuild = null;
+        if (!changed.isEmpty()) {
+            for (ComplaintMetricRow row : complaintRepository.findMetricRowsByIdIn(changed)) {
+                Integer id = row.id();
+                reconcile(fresh, row, read.contains(id), resolved.contains(id), breached.contains(id), windowStart);
+            }
+        }
+        log.info("Metrics engine rebuilt from {} open and {} recently resolved complaints in {} ms",
+                openRows.size(), resolvedRows.size(), System.currentTimeMillis() - start);
+    }
+
+    // Catches the rebuilt state up with a complaint that changed around the rebuild's reads: its events went to the
+    // old state. Open membership and officer follow the row; a creation, resolution, rejection, reopen or breach
+    // the reads missed is counted now.
+    private void reconcile(State s, ComplaintMetricRow row, boolean read, boolean resolutionCounted,
+                           boolean breachCounted, long windowStart) {
+        long now = clock.millis();
+        Ticket current = Ticket.of(row);
+        Ticket before = s.open().get(row.id());
+        boolean open = GeoIndex.OPEN_STATUSES.contains(row.status());
+        if (before != null && !open) {
+            s.open().remove(row.id());
+            forEach(s, before, before.officerId(), agg -> agg.openDelta(-1));
+            if ("RESOLVED".equals(row.status()) && !resolutionCounted) {
+                recordResolution(s, before, row.assignedTo(), row.updatedAt() == null ? now : row.updatedAt().getTime());
+            } else if ("REJECTED".equals(row.status())) {
+                forEach(s, before, row.assignedTo(), agg -> agg.rejected(now));
+            }
+        } else if (before == null && open) {
+            s.open().put(current.id(), current);
+            forEach(s, current, current.officerId(), agg -> agg.openDelta(1));
+            if (!read && current.createdAt() >= windowStart) {
+                forEach(s, current, null, agg -> agg.created(current.createdAt())); // Created during the rebuild
+            }
+            if (read && "REOPENED".equals(row.status())) forEach(s, current, current.officerId(), agg -> agg.reopened(now));
+            if (current.assignedAt() != null && current.assignedAt() >= windowStart) {
+                forEach(s, current, current.officerId(), agg -> agg.assigned(current.assignedAt()));
+            }
+        } else if (before != null && !Objects.equals(before.officerId(), current.officerId())) {
+            s.open().put(current.id(), current);
+            if (before.officerId() != null) aggregate(s, Dimension.OFFICER, key(before.officerId())).openDelta(-1);
+            if (current.officerId() != null) aggregate(s, Dimension.OFFICER, key(current.officerId())).openDelta(1);
+            if (current.assignedAt() != null) {
+                forEach(s, current, current.officerId(), agg -> agg.assigned(current.assignedAt()));
+            }
+        }
+        if (!breachCounted) recordBreach(s, current, row, windowStart);
+    }
+
+    // --- TRANSITIONS ---
+
+    @EventListener
+    public void onComplaintChanged(ComplaintChangedEvent event) {
+        Complaint c = event.complaint();
+        if (c.getId() == null) return;
+        // Recorded first: if a rebuild is running, it reconciles the complaint after swapping its state in
+        Set<Integer> changed = changedDuringRebuild;
+        if (changed != null) changed.add(c.getId());
+        State s = state;
+        long now = clock.millis();
+        switch (event.action()) {
+            case "CREATED" -> {
+                if (!GeoIndex.OPEN_STATUSES.contains(c.getStatus())) return;
+                long createdAt = c.getCreatedAt() == null ? now : c.getCreatedAt().getTime();
+                Ticket t = new Ticket(c.getId(), c.getCategoryId(), wardOf(c), c.getAssignedTo(), createdAt, null);
+                if (s.open().putIfAbsent(t.id(), t) == null) {
+                    forEach(s, t, t.officerId(), agg -> agg.openDelta(1));
+                    forEach(s, t, null, agg -> agg.created(now));
+                }
+            }
+            case "RESOLVED" -> {
+                Ticket t = s.open().remove(c.getId());
+                if (t != null) forEach(s, t, t.officerId(), agg -> agg.openDelta(-1));
+                else t = load(c.getId());
+                if (t != null) recordResolution(s, t, c.getAssignedTo(), now);
+            }
+            case "REJECTED" -> {
+                Ticket t = s.open().remove(c.getId());
+                if (t != null) forEach(s, t, t.officerId(), agg -> agg.openDelta(-1));
+                else t = load(c.getId());
+                if (t != null) forEach(s, t, c.getAssignedTo(), agg -> agg.rejected(now));
+            }
+            case "REOPENED" -> {
+                Ticket t = s.open().get(c.getId());
+                if (t == null) {
+                    Ticket loaded = load(c.getId());
+                    if (loaded == null) return;
+                    t = s.open().putIfAbsent(loaded.id(), loaded);
+                    if (t == null) {
+                        t = loaded;
+                        forEach(s, loaded, loaded.officerId(), agg -> agg.openDelta(1));
+                    }
+                }
+                forEach(s, t, c.getAssignedTo(), agg -> agg.reopened(now));
+            }
+            default -> { } // Notes, priority changes, feedback: no effect on these metrics
+        }
+    }
+
+    @EventListener
+    public void onComplaintsAssigned(ComplaintsAssignedEvent event) {
+        Set<Integer> changed = changedDuringRebuild;
+        if (changed != null) changed.addAll(event.complaintIds());
+        State s = state;
+        long at = event.assignedAt() == null ? clock.millis() : event.assignedAt().getTime();
+        List<Integer> missing = event.complaintIds().stream().filter(id -> !s.open().containsKey(id)).toList();
+        if (!missing.isEmpty()) {
+            // Rejected / resolved tickets that were re-assigned are open again
+            // Added unassigned here; the loop below moves them to the new officer
+            for (ComplaintMetricRow row : complaintRepository.findMetricRowsByIdIn(missing)) {
+                Ticket t = new Ticket(row.id(), row.categoryId(), row.ward(), null,
+                        row.createdAt() == null ? at : row.createdAt().getTime(), null);
+                if (s.open().putIfAbsent(t.id(), t) == null) forEach(s, t, null, agg -> agg.openDelta(1));
+            }
+        }
+        for (Integer id : event.complaintIds()) {
+            s.open().computeIfPresent(id, (k, before) -> {
+                Ticket after = new Ticket(id, before.categoryId(), before.ward(), event.officerId(), before.createdAt(), at);
+                if (before.officerId() != null) aggregate(s, Dimension.OFFICER, key(before.officerId())).openDelta(-1);
+                if (after.officerId() != null) aggregate(s, Dimension.OFFICER, key(after.officerId())).openDelta(1);
+                forEach(s, after, after.officerId(), agg -> agg.assigned(at));
+                return after;
+            });
+        }
+    }
+
+    @EventListener
+    public void onSlaBreached(SlaBreachedEvent event) {
+        Set<Integer> changed = changedDuringRebuild;
+        if (changed != null) changed.addAll(event.complaintIds());
+        State s = state;
+        long at = event.breachedAt().getTime();
+        for (Integer id : event.complaintIds()) {
+            Ticket t = s.open().get(id);
+            if (t == null) t = load(id);
+            if (t != null) forEach(s, t, t.officerId(), agg -> agg.slaBreached(at));
+        }
+    }
+
+    // --- QUERIES ---
+
+    public MetricsView view(Dimension dimension, String key, int windowHours) {
+        RollingAggregate agg = state.aggregates().get(dimension).get(key);
+        if (agg == null) agg = new RollingAggregate(); // Never seen: all zeros
+        return agg.view(dimension.name(), key, clock.millis(), windowHours);
+    }
+
+    public List<MetricsView> list(Dimension dimension, int windowHours) {
+        long now = clock.millis();
+        List<MetricsView> views = new ArrayList<>();
+        state.aggregates().get(dimension).forEach((key, agg) -> views.add(agg.view(dimension.name(), key, now, windowHours)));
+        views.sort(Comparator.comparing(MetricsView::key));
+        return views;
+    }
+
+    // --- SNAPSHOTS ---
+
+    @Scheduled(fixedDelayString = "${app.metrics.snapshot-ms:300000}", initialDelayString = "${app.metrics.snapshot-ms:300000}")
+    public void snapshot() {
+        Timestamp takenAt = new Timestamp(clock.millis());
+        List<MetricsView> views = new ArrayList<>();
+        for (Dimension d : Dimension.values()) views.addAll(list(d, 24));
+        if (views.isEmpty()) return;
+        jdbcTemplate.batchUpdate(INSERT_SNAPSHOT_SQL, views, views.size(), (ps, v) -> {
+            ps.setString(1, v.dimension());
+            ps.setString(2, v.key());
+            ps.setTimestamp(3, takenAt);
+            ps.setInt(4, v.windowHours());
+            ps.setLong(5, v.open());
+            ps.setLong(6, v.created());
+            ps.setLong(7, v.assigned());
+            ps.setLong(8, v.resolved());
+            ps.setLong(9, v.reopened());
+            ps.setLong(10, v.rejected());
+            ps.setLong(11, v.slaBreaches());
+            ps.setObject(12, v.meanResolutionMinutes());
+            ps.setObject(13, v.p90ResolutionMinutes());
+        });
+    }
+
+    // --- INTERNALS ---
+
+    private void recordResolution(State s, Ticket t, Long officerId, long resolvedAt) {
+        long resolutionMillis = resolvedAt - t.createdAt();
+        forEach(s, t, officerId != null ? officerId : t.officerId(), agg -> agg.resolved(resolvedAt, resolutionMillis));
+    }
+
+    // True if the row's breach falls inside the window (and was counted)
+    private boolean recordBreach(State s, Ticket t, ComplaintMetricRow row, long windowStart) {
+        if (row.slaBreachedAt() == null || row.slaBreachedAt().getTime() < windowStart) return false;
+        long at = row.slaBreachedAt().getTime();
+        forEach(s, t, t.officerId(), agg -> agg.slaBreached(at));
+        return true;
+    }
+
+    // Applies the update to the ticket's category and ward aggregates, and the officer's if there is one
+    private void forEach(State s, Ticket t, Long officerId, Consumer<RollingAggregate> update) {
+        if (officerId != null) update.accept(aggregate(s, Dimension.OFFICER, key(officerId)));
+        if (t.categoryId() != null) update.accept(aggregate(s, Dimension.CATEGORY, key(t.categoryId())));
+        if (t.ward() != null && !t.ward().isBlank()) update.accept(aggregate(s, Dimension.WARD, t.ward()));
+    }
+
+    private RollingAggregate aggregate(State s, Dimension dimension, String key) {
+        return s.aggregates().get(dimension).computeIfAbsent(key, k -> new RollingAggregate());
+    }
+
+    private static String key(Object id) {
+        return String.valueOf(id);
+    }
+
+    private Ticket load(Integer id) {
+        List<ComplaintMetricRow> rows = complaintRepository.findMetricRowsByIdIn(List.of(id));
+        return rows.isEmpty() ? null : Ticket.of(rows.get(0));
+    }
+
+    // The submitting citizen's ward; only hits the database if the user proxy is not loaded yet
+    private String wardOf(Complaint c) {
+        if (c.getUser() == null) return null;
+        if (Hibernate.isInitialized(c.getUser())) return c.getUser().getWardNumber();
+        Ticket t = load(c.getId());
+        return t == null ? null : t.ward();
+    }
+}
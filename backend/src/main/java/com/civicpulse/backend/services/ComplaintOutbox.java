@@ -0,0 +1,308 @@
+package com.civicpulse.backend.services;
+
+import com.civicpulse.backend.model.User;
+import com.civicpulse.backend.repository.UserRepository;
+import com.civicpulse.backend.services.NotificationDispatcher.PendingNotification;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Transactional outbox for complaint side effects.
+// A complaint change writes its entity update plus ONE complaint_outbox row describing the history entries,
+// notifications and emails it causes, in the same transaction: either all of it happens or none of it,
+// and the request pays a single extra INSERT instead of a round trip per history row / notification.
+// The relay drains the outbox in id order, a batch per transaction: one JDBC batch of history rows, one of
+// notifications (NotificationDispatcher.writeNow, which also pushes them to browsers), then deletes the batch.
+// Emails are handed to MailService after that commit, so a relay crash can repeat an email but never lose
+// history. Runs as a single relay per process (the @Scheduled thread).
+// If a batch fails, its rows are relayed one at a time, so one bad row (unreadable payload, a history insert
+// that keeps failing) cannot hold up the rows behind it. Each failure on its own counts an attempt; after
+// app.outbox.max-attempts the row is parked as a dead letter (failed_at, last_error) and no longer selected.
+@Service
+public class ComplaintOutbox {
+
+    private static final Logger log = LoggerFactory.getLogger(ComplaintOutbox.class);
+
+    private static final String INSERT_SQL =
+            "INSERT INTO complaint_outbox (complaint_id, action, payload, created_at, attempts) VALUES (?, ?, ?, ?, 0)";
+    private static final String SELECT_BATCH_SQL = "SELECT id, complaint_id, action, payload, created_at, attempts "
+            + "FROM complaint_outbox WHERE failed_at IS NULL ORDER BY id LIMIT ?";
+    private static final String DELETE_SQL = "DELETE FROM complaint_outbox WHERE id IN (:ids)";
+    private static final String FAILED_ATTEMPT_SQL =
+            "UPDATE complaint_outbox SET attempts = ?, failed_at = ?, last_error = ? WHERE id = ?";
+    private static final String INSERT_HISTORY_SQL =
+            "INSERT INTO complaint_history (complaint_id, action_by_user_id, action_type, details, timestamp) "
+            + "VALUES (?, ?, ?, ?, ?)";
+
+    public record HistoryEntry(Integer complaintId, Long actorId, String action, String details) { }
+
+    // userId null = every admin
+    public record NotificationEntry(Long userId, String message, String type, Integer complaintId) { }
+
+    // Rendered by MailService when relayed (see MailTemplateEngine)
+    public record MailEntry(Long userId, String template, Map<String, String> values) { }
+
+    record Payload(List<HistoryEntry> history, List<NotificationEntry> notifications, List<MailEntry> mails) { }
+
+    // What one complaint change causes. Built by the controller, written with write().
+    public static class Message {
+        private final Integer complaintId;
+        private final String action;
+        private final List<HistoryEntry> history = new ArrayList<>();
+        private final List<NotificationEntry> notifications = new ArrayList<>();
+        private final List<MailEntry> mails = new ArrayList<>();
+
+        public Message(Integer complaintId, String action) {
+            this.complaintId = complaintId;
+            this.action = action;
+        }
+
+        public Message history(User actor, String action, String details) {
+            return history(complaintId, actor == null ? null : actor.getId(), action, details);
+        }
+
+        public Message history(Integer complaintId, Long actorId, String action, String details) {
+            history.add(new HistoryEntry(complaintId, actorId, action, details));
+            return this;
+        }
+
+        public Message notify(Long userId, String message, String type) {
+            return notify(userId, message, type, complaintId);
+        }
+
+        public Message notify(Long userId, String message, String type, Integer complaintId) {
+            if (userId != null) notifications.add(new NotificationEntry(userId, message, type, complaintId));
+            return this;
+        }
+
+        public Message notifyAdmins(String message, String type) {
+            notifications.add(new NotificationEntry(null, message, type, complaintId));
+            return this;
+        }
+
+        public Message mail(Long userId, String template, Map<String, String> values) {
+            if (userId != null) mails.add(new MailEntry(userId, template, values));
+            return this;
+        }
+    }
+
+    // payload is null when the JSON cannot be read; relaying such a row fails (and dead-letters it)
+    private record Row(long id, Integer complaintId, String json, Payload payload, Timestamp createdAt, int attempts) { }
+
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private NamedParameterJdbcTemplate namedJdbcTemplate;
+    @Autowired private PlatformTransactionManager transactionManager;
+    @Autowired private NotificationDispatcher notificationDispatcher;
+    @Autowired private UserRepository userRepository;
+    @Autowired private MailService mailService;
+    @Autowired private ObjectMapper objectMapper;
+    @Autowired(required = false) private MeterRegistry meterRegistry;
+
+    @Value("${app.outbox.batch-size:500}")
+    private int batchSize;
+
+    @Value("${app.outbox.max-attempts:5}")
+    private int maxAttempts;
+
+    // Age of the oldest event in the last batch: how far behind the relay is
+    private final AtomicLong lagMillis = new AtomicLong();
+
+    private Counter relayed;
+    private Counter deadLettered;
+    private Timer drainTimer;
+    private DistributionSummary fanout;
+
+    @PostConstruct
+    void init() {
+        if (meterRegistry != null) {
+            relayed = Counter.builder("complaint.outbox.relayed").register(meterRegistry);
+            deadLettered = Counter.builder("complaint.outbox.dead.lettered").register(meterRegistry);
+            drainTimer = Timer.builder("complaint.outbox.drain").publishPercentiles(0.5, 0.99).register(meterRegistry);
+            // Notifications written per complaint event (admin alerts expand to every admin)
+            fanout = DistributionSummary.builder("notifications.fanout").publishPercentiles(0.5, 0.99).register(meterRegistry);
+            Gauge.builder("complaint.outbox.lag.ms", lagMillis, AtomicLong::get).register(meterRegistry);
+        }
+    }
+
+    // --- WRITE (inside the complaint change's transaction) ---
+
+    public void write(Message message) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Outbox writes must join the transaction that changes the complaint");
+        }
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(new Payload(message.history, message.notifications, message.mails));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize outbox payload", e);
+        }
+        jdbcTemplate.update(INSERT_SQL, message.complaintId, message.action, payload,
+                new Timestamp(System.currentTimeMillis()));
+    }
+
+    // --- RELAY ---
+
+    @Scheduled(fixedDelayString = "${app.outbox.poll-ms:200}")
+    public void relay() {
+        try {
+            while (drainBatch() == batchSize) {
+                // Full batch: more is probably waiting
+            }
+        } catch (RuntimeException e) {
+            log.error("Outbox relay failed, will retry on the next poll", e);
+        }
+    }
+
+    // Relays one batch and returns the number of rows it took on, relayed or not (0 = outbox empty)
+    public int drainBatch() {
+        long start = System.nanoTime();
+        List<Row> rows = jdbcTemplate.query(SELECT_BATCH_SQL, (rs, i) -> row(rs.getLong("id"),
+                (Integer) rs.getObject("complaint_id"), rs.getString("payload"), rs.getTimestamp("created_at"),
+                rs.getInt("attempts")), batchSize);
+        if (rows.isEmpty()) {
+            lagMillis.set(0);
+            return 0;
+        }
+        lagMillis.set(Math.max(0, System.currentTimeMillis() - rows.get(0).createdAt().getTime()));
+
+        int count;
+        try {
+            count = relay(rows);
+        } catch (RuntimeException e) {
+            log.warn("Outbox batch of {} rows failed, relaying them one at a time", rows.size(), e);
+            count = 0;
+            for (Row row : rows) {
+                try {
+                    count += relay(List.of(row));
+                } catch (RuntimeException rowFailure) {
+                    failedAttempt(row, rowFailure);
+                }
+            }
+        }
+
+        if (count > 0) {
+            if (relayed != null) relayed.increment(count);
+            if (drainTimer != null) drainTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+        return rows.size();
+    }
+
+    public long getLagMillis() {
+        return lagMillis.get();
+    }
+
+    // --- INTERNALS ---
+
+    // Writes the rows' history and notifications and deletes them in one transaction, then sends their emails
+    private int relay(List<Row> rows) {
+        List<MailEntry> mails = new ArrayList<>();
+        List<Integer> fanouts = new ArrayList<>();
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            List<Object[]> history = new ArrayList<>();
+            List<PendingNotification> notifications = new ArrayList<>();
+            List<Long> admins = null;
+            for (Row row : rows) {
+                if (row.payload() == null) throw new IllegalStateException("Unreadable outbox payload: " + row.json());
+                int before = notifications.size();
+                for (HistoryEntry h : row.payload().history()) {
+                    history.add(new Object[]{h.complaintId(), h.actorId(), h.action(), h.details(), row.createdAt()});
+                }
+                for (NotificationEntry n : row.payload().notifications()) {
+                    if (n.userId() != null) {
+                        notifications.add(new PendingNotification(n.userId(), n.message(), n.type(), n.complaintId(), row.createdAt()));
+                        continue;
+                    }
+                    if (admins == null) admins = notificationDispatcher.getAdminIds();
+                    for (Long adminId : admins) {
+                        notifications.add(new PendingNotification(adminId, n.message(), n.type(), n.complaintId(), row.createdAt()));
+                    }
+                }
+                mails.addAll(row.payload().mails());
+                fanouts.add(notifications.size() - before);
+            }
+            jdbcTemplate.batchUpdate(INSERT_HISTORY_SQL, history, history.size(), (ps, h) -> {
+                ps.setInt(1, (Integer) h[0]);
+                if (h[1] != null) ps.setLong(2, (Long) h[1]); else ps.setNull(2, Types.BIGINT);
+                ps.setString(3, (String) h[2]);
+                ps.setString(4, (String) h[3]);
+                ps.setTimestamp(5, (Timestamp) h[4]);
+            });
+            notificationDispatcher.writeNow(notifications);
+            namedJdbcTemplate.update(DELETE_SQL, new MapSqlParameterSource("ids", rows.stream().map(Row::id).toList()));
+        });
+
+        if (fanout != null) fanouts.forEach(fanout::record);
+        if (!mails.isEmpty()) sendMails(mails);
+        return rows.size();
+    }
+
+    // Counts a failed attempt of a row relayed on its own; the last allowed one parks it as a dead letter
+    private void failedAttempt(Row row, RuntimeException e) {
+        int attempts = row.attempts() + 1;
+        boolean dead = attempts >= maxAttempts;
+        String error = e.toString();
+        if (error.length() > 500) error = error.substring(0, 500);
+        jdbcTemplate.update(FAILED_ATTEMPT_SQL, attempts, dead ? new Timestamp(System.currentTimeMillis()) : null, error, row.id());
+        if (dead) {
+            log.error("Outbox row {} (complaint {}) failed {} times, parked as a dead letter", row.id(), row.complaintId(), attempts, e);
+            if (deadLettered != null) deadLettered.increment();
+        } else {
+            log.warn("Outbox row {} (complaint {}) failed, attempt {} of {}", row.id(), row.complaintId(), attempts, maxAttempts, e);
+        }
+    }
+
+    private Row row(long id, Integer complaintId, String json, Timestamp createdAt, int attempts) {
+        Payload payload;
+        try {
+            payload = objectMapper.readValue(json, Payload.class);
+        } catch (JsonProcessingException | IllegalArgumentException e) {
+            payload = null;
+        }
+        return new Row(id, complaintId, json, payload, createdAt, attempts);
+    }
+
+    private void sendMails(List<MailEntry> mails) {
+        Set<Long> userIds = new HashSet<>();
+        mails.forEach(m -> userIds.add(m.userId()));
+        Map<Long, String> emails = new HashMap<>();
+        userRepository.findAllById(userIds).forEach(u -> emails.put(u.getId(), u.getEmail()));
+        for (MailEntry m : mails) {
+            String to = emails.get(m.userId());
+            if (to == null) continue;
+            try {
+                mailService.sendTemplate(to, m.template(), m.values());
+            } catch (RuntimeException e) {
+                // The history is committed already; one bad mail must not stop the others
+                log.error("Outbox mail '{}' to user {} failed", m.template(), m.userId(), e);
+            }
+        }
+    }
+}
@@ -0,0 +1,559 @@
+package com.civicpulse.backend.services;
+
+import com.civicpulse.backend.dto.ComplaintSearchDoc;
+import com.civicpulse.backend.event.ComplaintChangedEvent;
+import com.civicpulse.backend.model.Complaint;
+import com.civicpulse.backend.repository.ComplaintRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// In-memory inverted index over complaint title, description, location and admin comment, ranked with BM25.
+// Text is lower-cased and split on anything that is not a letter or digit; a few stop words are dropped.
+// Title terms count twice (a match in the title says more than one in the description).
+// The last query word is also a prefix ("street lig" finds "light", "lighting", ...) for typeahead.
+//
+// Each indexed version of a complaint gets an internal doc number; postings are append-only (doc, tf) arrays,
+// so they stay sorted and adding a complaint never rewrites existing lists. A changed complaint is re-added
+// under a new doc number and its old one is marked dead; dead postings are skipped while scoring and purged
+// once they make up a quarter of the index. Queries are scored with MaxScore top-k pruning (see Index.search).
+// ~5 bytes per posting: 1M complaints with ~20 distinct terms each is ~100 MB.
+// Built after startup by a keyset scan (one batch in memory at a time) and kept current through
+// ComplaintChangedEvent. Statuses are not indexed: results are re-read as ComplaintSummary rows.
+@Service
+public class ComplaintSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(ComplaintSearchIndex.class);
+
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+    private static final int TITLE_BOOST = 2;
+    private static final int MIN_PREFIX_LENGTH = 3;
+    private static final int MAX_PREFIX_EXPANSIONS = 16;
+    private static final int MAX_PREFIX_SCAN = 2_000;
+    private static final Set<String> STOP_WORDS = Set.of("a", "an", "and", "are", "as", "at", "be", "by", "for",
+            "from", "has", "in", "is", "it", "its", "near", "of", "on", "or", "the", "to", "was", "with");
+    // Actions that change indexed text (new complaint, admin comment); status-only changes need nothing
+    private static final Set<String> TEXT_ACTIONS = Set.of("CREATED", "DUPLICATE", "NOTE_ADDED", "REJECTED");
+
+    public record Hit(int complaintId, double score) { }
+
+    @Autowired private ComplaintRepository complaintRepository;
+    @Autowired(required = false) private MeterRegistry meterRegistry;
+
+    @Value("${app.search.build-batch:5000}")
+    private int buildBatch = 5000;
+
+    private volatile Index index = new Index();
+    // Complaints changed while a rebuild was scanning; re-read once the new index is in place
+    private volatile Set<Integer> changedDuringRebuild;
+    private Timer searchTimer;
+
+    @PostConstruct
+    void init() {
+        if (meterRegistry != null) {
+            searchTimer = Timer.builder("complaints.search").publishPercentiles(0.5, 0.99).register(meterRegistry);
+            Gauge.builder("complaints.search.index.docs", this, s -> s.index.liveDocs()).register(meterRegistry);
+            Gauge.builder("complaints.search.index.terms", this, s -> s.index.termCount()).register(meterRegistry);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        changedDuringRebuild = ConcurrentHashMap.newKeySet();
+        Index fresh = new Index();
+        int afterId = 0;
+        List<ComplaintSearchDoc> batch;
+        do {
+            batch = complaintRepository.findSearchDocsAfter(afterId, PageRequest.of(0, buildBatch));
+            for (ComplaintSearchDoc doc : batch) fresh.put(doc);
+            if (!batch.isEmpty()) afterId = batch.get(batch.size() - 1).id();
+        } while (batch.size() == buildBatch);
+
+        index = fresh;
+        Set<Integer> changed = changedDuringRebuild;
+        changedDuringRebuild = null;
+        if (!changed.isEmpty()) complaintRepository.findSearchDocsByIdIn(changed).forEach(fresh::put);
+        log.info("Search index built with {} complaints, {} terms in {} ms",
+                fresh.liveDocs(), fresh.termCount(), System.currentTimeMillis() - start);
+    }
+
+    @EventListener
+    public void onComplaintChanged(ComplaintChangedEvent event) {
+        Complaint c = event.complaint();
+        if (c.getId() == null || !TEXT_ACTIONS.contains(event.action())) return;
+        // Recorded first: if a rebuild is running, it re-reads the complaint after swapping its index in
+        Set<Integer> changed = changedDuringRebuild;
+        if (changed != null) changed.add(c.getId());
+        put(new ComplaintSearchDoc(c.getId(), c.getTitle(), c.getDescription(), c.getLocation(), c.getAdmin_comment()));
+    }
+
+    // --- PUBLIC API ---
+
+    // Adds or replaces the complaint's text
+    public void put(ComplaintSearchDoc doc) {
+        index.put(doc);
+    }
+
+    public void remove(int complaintId) {
+        index.remove(complaintId);
+    }
+
+    // Best matches first. The last word (3+ characters) also matches as a prefix unless the query ends with a space.
+    public List<Hit> search(String query, int limit) {
+        long start = System.nanoTime();
+        List<String> words = tokenize(query);
+        List<Hit> hits = List.of();
+        if (!words.isEmpty() && limit > 0) {
+            boolean prefix = !Character.isWhitespace(query.charAt(query.length() - 1));
+            String last = prefix && words.get(words.size() - 1).length() >= MIN_PREFIX_LENGTH
+                    ? words.remove(words.size() - 1) : null;
+            hits = index.search(words, last, limit);
+        }
+        if (searchTimer != null) searchTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return hits;
+    }
+
+    // Indexed words starting with the prefix, most frequent first (typeahead)
+    public List<String> suggest(String prefix, int limit) {
+        List<String> words = tokenize(prefix);
+        if (words.isEmpty() || limit <= 0) return List.of();
+        return index.suggest(words.get(words.size() - 1), limit);
+    }
+
+    public int size() {
+        return index.liveDocs();
+    }
+
+    // --- TOKENIZER ---
+
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) return tokens;
+        StringBuilder sb = new StringBuilder(16);
+        for (int i = 0; i <= text.length(); i++) {
+            char ch = i < text.length() ? text.charAt(i) : ' ';
+            if (Character.isLetterOrDigit(ch)) {
+                sb.append(Character.toLowerCase(ch));
+            } else if (!sb.isEmpty()) {
+                String token = sb.toString();
+                if (!STOP_WORDS.contains(token)) tokens.add(token);
+                sb.setLength(0);
+            }
+        }
+        return tokens;
+    }
+
+    // --- INDEX ---
+
+    // Append-only (doc, tf) list of one term. tf is capped at 255.
+    private static final class Postings {
+        int[] docs = new int[2];
+        byte[] tfs = new byte[2];
+        int size;
+        // For the term's score upper bound: highest tf and shortest doc in the list (not updated by purge,
+        // so the bound only gets looser)
+        int maxTf;
+        int minLength = Integer.MAX_VALUE;
+
+        void add(int doc, int tf, int length) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                tfs = Arrays.copyOf(tfs, size * 2);
+            }
+            docs[size] = doc;
+            tfs[size] = (byte) Math.min(tf, 255);
+            maxTf = Math.max(maxTf, Math.min(tf, 255));
+            minLength = Math.min(minLength, length);
+            size++;
+        }
+
+        // First position at or after `from` whose doc is >= target (size if none): gallop, then binary search
+        int advance(int from, int target) {
+            int step = 1;
+            int hi = from;
+            while (hi < size && docs[hi] < target) {
+                from = hi + 1;
+                hi += step;
+                step <<= 1;
+            }
+            hi = Math.min(hi, size);
+            while (from < hi) {
+                int mid = (from + hi) >>> 1;
+                if (docs[mid] < target) from = mid + 1; else hi = mid;
+            }
+            return from;
+        }
+
+        // Drops dead docs in place; returns the new size
+        int purge(BitSet live) {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                if (live.get(docs[i])) {
+                    docs[kept] = docs[i];
+                    tfs[kept] = tfs[i];
+                    kept++;
+                }
+            }
+            size = kept;
+            if (kept < docs.length / 4) {
+                docs = Arrays.copyOf(docs, Math.max(2, kept));
+                tfs = Arrays.copyOf(tfs, Math.max(2, kept));
+            }
+            return kept;
+        }
+    }
+
+    private static final class Index {
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        private final Map<String, Postings> postings = new HashMap<>();
+        private final TreeSet<String> terms = new TreeSet<>(); // Sorted, for prefix lookups
+        private final BitSet live = new BitSet();
+        private int[] complaintIdOfDoc = new int[1024];
+        private int[] lengthOfDoc = new int[1024];
+        private int[] docOfComplaint = new int[1024]; // Complaint ids are dense; -1 = not indexed
+        private int nextDoc;
+        private int liveDocs;
+        private int deadDocs; // Removed since the last purge; their postings are still in the lists
+        private long totalLength;
+
+        Index() {
+            Arrays.fill(docOfComplaint, -1);
+        }
+
+        int liveDocs() {
+            return liveDocs;
+        }
+
+        int termCount() {
+            lock.readLock().lock();
+            try {
+                return terms.size();
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        void put(ComplaintSearchDoc c) {
+            // Term frequencies are counted outside the lock
+            Map<String, Integer> tf = new HashMap<>();
+            for (String t : tokenize(c.title())) tf.merge(t, TITLE_BOOST, Integer::sum);
+            for (String t : tokenize(c.description())) tf.merge(t, 1, Integer::sum);
+            for (String t : tokenize(c.location())) tf.merge(t, 1, Integer::sum);
+            for (String t : tokenize(c.adminComment())) tf.merge(t, 1, Integer::sum);
+            int length = 0;
+            for (int n : tf.values()) length += n;
+
+            lock.writeLock().lock();
+            try {
+                removeLocked(c.id());
+                int doc = nextDoc++;
+                if (doc == complaintIdOfDoc.length) {
+                    complaintIdOfDoc = Arrays.copyOf(complaintIdOfDoc, doc * 2);
+                    lengthOfDoc = Arrays.copyOf(lengthOfDoc, doc * 2);
+                }
+                complaintIdOfDoc[doc] = c.id();
+                lengthOfDoc[doc] = length;
+                if (c.id() >= docOfComplaint.length) {
+                    int old = docOfComplaint.length;
+                    docOfComplaint = Arrays.copyOf(docOfComplaint, Math.max(old * 2, c.id() + 1));
+                    Arrays.fill(docOfComplaint, old, docOfComplaint.length, -1);
+                }
+                docOfComplaint[c.id()] = doc;
+                live.set(doc);
+                liveDocs++;
+                totalLength += length;
+
+                for (Map.Entry<String, Integer> e : tf.entrySet()) {
+                    Postings p = postings.get(e.getKey());
+                    if (p == null) {
+                        p = new Postings();
+                        postings.put(e.getKey(), p);
+                        terms.add(e.getKey());
+                    }
+                    p.add(doc, e.getValue(), length);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        void remove(int complaintId) {
+            lock.writeLock().lock();
+            try {
+                removeLocked(complaintId);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        private void removeLocked(int complaintId) {
+            if (complaintId < 0 || complaintId >= docOfComplaint.length || docOfComplaint[complaintId] < 0) return;
+            int doc = docOfComplaint[complaintId];
+            docOfComplaint[complaintId] = -1;
+            live.clear(doc);
+            liveDocs--;
+            totalLength -= lengthOfDoc[doc];
+
+            deadDocs++;
+            if (deadDocs > 10_000 && deadDocs > liveDocs / 4) purgeLocked();
+        }
+
+        // Drops dead postings and terms left without any. Doc numbers are not reassigned.
+        private void purgeLocked() {
+            var it = postings.entrySet().iterator();
+            while (it.hasNext()) {
+                Map.Entry<String, Postings> e = it.next();
+                if (e.getValue().purge(live) == 0) {
+                    it.remove();
+                    terms.remove(e.getKey());
+                }
+            }
+            deadDocs = 0;
+        }
+
+        // MaxScore, document at a time: query terms are sorted by their best possible score. Once the top
+        // `limit` are full, the cheapest terms whose bounds together cannot beat the worst of them become
+        // "non-essential": only docs from the other lists are visited, and the cheap lists are merely probed
+        // (galloping search) for those. Common words have low idf, so their long lists are skipped, not scanned.
+        List<Hit> search(List<String> words, String prefix, int limit) {
+            lock.readLock().lock();
+            try {
+                if (liveDocs == 0) return List.of();
+                Set<String> queryTerms = new LinkedHashSet<>();
+                for (String word : words) {
+                    if (postings.containsKey(word)) queryTerms.add(word);
+                }
+                if (prefix != null) queryTerms.addAll(expand(prefix, MAX_PREFIX_EXPANSIONS));
+                if (queryTerms.isEmpty()) return List.of();
+                return maxScore(queryTerms, limit);
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        private List<Hit> maxScore(Set<String> queryTerms, int limit) {
+            float lengthFactor = B / Math.max(1f, (float) totalLength / liveDocs); // norm = K1 * (1 - B + len * this)
+            int n = queryTerms.size();
+            Postings[] lists = new Postings[n];
+            float[] idf = new float[n];
+            float[] bound = new float[n];
+            Integer[] order = new Integer[n];
+            int i = 0;
+            for (String term : queryTerms) {
+                Postings p = postings.get(term);
+                order[i] = i;
+                lists[i] = p;
+                idf[i] = idf(p);
+                // Highest score the term can add to any doc: its max tf in its shortest doc
+                bound[i] = bm25(idf[i], p.maxTf, K1 * (1 - B + p.minLength * lengthFactor));
+                i++;
+            }
+            Arrays.sort(order, (x, y) -> Float.compare(bound[x], bound[y])); // Cheapest first
+
+            Postings[] sorted = new Postings[n];
+            float[] sortedIdf = new float[n];
+            float[] boundSum = new float[n]; // Sum of the bounds of terms 0..i
+            for (i = 0; i < n; i++) {
+                sorted[i] = lists[order[i]];
+                sortedIdf[i] = idf[order[i]];
+                boundSum[i] = bound[order[i]] + (i > 0 ? boundSum[i - 1] : 0);
+            }
+            lists = sorted;
+            idf = sortedIdf;
+
+            int[] pos = new int[n];
+            TopDocs top = new TopDocs(limit);
+            int firstEssential = 0;
+            while (firstEssential < n - 1) {
+                int doc = Integer.MAX_VALUE;
+                for (i = firstEssential; i < n; i++) {
+                    if (pos[i] < lists[i].size) doc = Math.min(doc, lists[i].docs[pos[i]]);
+                }
+                if (doc == Integer.MAX_VALUE) break;
+
+                boolean alive = live.get(doc);
+                float norm = K1 * (1 - B + lengthOfDoc[doc] * lengthFactor);
+                float score = 0;
+                for (i = firstEssential; i < n; i++) {
+                    Postings p = lists[i];
+                    if (pos[i] < p.size && p.docs[pos[i]] == doc) {
+                        if (alive) score += bm25(idf[i], p.tfs[pos[i]] & 0xFF, norm);
+                        pos[i]++;
+                    }
+                }
+                if (!alive) continue;
+                score = probe(lists, idf, boundSum, pos, firstEssential, doc, norm, score, top.threshold());
+                if (top.offer(doc, score)) {
+                    while (firstEssential < n && boundSum[firstEssential] <= top.threshold()) firstEssential++;
+                }
+            }
+
+            // Usually only the rarest term is left essential. Its docs are scanned in a tight loop that rejects
+            // most of them on tf alone (against the bound for the term's shortest doc), before reading lengths.
+            if (firstEssential == n - 1) {
+                Postings p = lists[n - 1];
+                float others = n > 1 ? boundSum[n - 2] : 0;
+                float[] tfBound = new float[p.maxTf + 1];
+                float shortestNorm = K1 * (1 - B + p.minLength * lengthFactor);
+                for (int tf = 1; tf <= p.maxTf; tf++) tfBound[tf] = bm25(idf[n - 1], tf, shortestNorm) + others;
+                float threshold = top.threshold();
+                for (int j = pos[n - 1]; j < p.size; j++) {
+                    int tf = p.tfs[j] & 0xFF;
+                    if (tfBound[tf] <= threshold) continue;
+                    int doc = p.docs[j];
+                    if (!live.get(doc)) continue;
+                    float norm = K1 * (1 - B + lengthOfDoc[doc] * lengthFactor);
+                    float score = probe(lists, idf, boundSum, pos, n - 1, doc, norm, bm25(idf[n - 1], tf, norm),
+                            threshold);
+                    if (top.offer(doc, score)) {
+                        threshold = top.threshold();
+                        if (boundSum[n - 1] <= threshold) break; // Nothing left can make the top
+                    }
+                }
+            }
+            return top.hits(complaintIdOfDoc);
+        }
+
+        // Adds the scores of the non-essential terms (below firstEssential) that contain the doc, most valuable
+        // first; stops as soon as the rest cannot lift the doc above the threshold
+        private static float probe(Postings[] lists, float[] idf, float[] boundSum, int[] pos, int firstEssential,
+                                   int doc, float norm, float score, float threshold) {
+            for (int i = firstEssential - 1; i >= 0; i--) {
+                if (score + boundSum[i] <= threshold) break;
+                Postings p = lists[i];
+                pos[i] = p.advance(pos[i], doc);
+                if (pos[i] < p.size && p.docs[pos[i]] == doc) score += bm25(idf[i], p.tfs[pos[i]] & 0xFF, norm);
+            }
+            return score;
+        }
+
+        private float idf(Postings p) {
+            float idf = (float) Math.log(1 + (liveDocs - p.size + 0.5) / (p.size + 0.5));
+            return Math.max(idf, 0.01f); // p.size includes not yet purged dead docs, so it can exceed liveDocs
+        }
+
+        private static float bm25(float idf, int tf, float norm) {
+            return idf * tf * (K1 + 1) / (tf + norm);
+        }
+
+        List<String> suggest(String prefix, int limit) {
+            lock.readLock().lock();
+            try {
+                return expand(prefix, limit);
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        // Terms starting with the prefix, most frequent first (looks at MAX_PREFIX_SCAN terms at most)
+        private List<String> expand(String prefix, int limit) {
+            PriorityQueue<String> best = new PriorityQueue<>(
+                    (a, b) -> Integer.compare(postings.get(a).size, postings.get(b).size));
+            int scanned = 0;
+            for (String term : terms.tailSet(prefix)) {
+                if (!term.startsWith(prefix) || ++scanned > MAX_PREFIX_SCAN) break;
+                best.add(term);
+                if (best.size() > limit) best.poll();
+            }
+            List<String> result = new ArrayList<>(best);
+            result.sort((a, b) -> Integer.compare(postings.get(b).size, postings.get(a).size));
+            return result;
+        }
+
+    }
+
+    // Best `limit` (doc, score) pairs so far: a min-heap on score, so the root is the one to beat
+    private static final class TopDocs {
+        private final int[] docs;
+        private final float[] scores;
+        private int size;
+
+        TopDocs(int limit) {
+            docs = new int[limit];
+            scores = new float[limit];
+        }
+
+        float threshold() {
+            return size < docs.length ? 0 : scores[0];
+        }
+
+        // True if the doc made it in and the threshold may have risen
+        boolean offer(int doc, float score) {
+            if (score <= 0) return false;
+            if (size < docs.length) {
+                docs[size] = doc;
+                scores[size] = score;
+                siftUp(size++);
+                return size == docs.length;
+            }
+            if (score <= scores[0]) return false;
+            docs[0] = doc;
+            scores[0] = score;
+            siftDown(0);
+            return true;
+        }
+
+        List<Hit> hits(int[] complaintIdOfDoc) {
+            Hit[] hits = new Hit[size];
+            while (size > 0) {
+                hits[size - 1] = new Hit(complaintIdOfDoc[docs[0]], scores[0]);
+                size--;
+                docs[0] = docs[size];
+                scores[0] = scores[size];
+                siftDown(0);
+            }
+            return List.of(hits);
+        }
+
+        private void siftUp(int i) {
+            while (i > 0) {
+                int parent = (i - 1) / 2;
+                if (scores[parent] <= scores[i]) break;
+                swap(i, parent);
+                i = parent;
+            }
+        }
+
+        private void siftDown(int i) {
+            while (true) {
+                int smallest = i;
+                int left = 2 * i + 1;
+                if (left < size && scores[left] < scores[smallest]) smallest = left;
+                if (left + 1 < size && scores[left + 1] < scores[smallest]) smallest = left + 1;
+                if (smallest == i) return;
+                swap(i, smallest);
+                i = smallest;
+            }
+        }
+
+        private void swap(int a, int b) {
+            int d = docs[a]; docs[a] = docs[b]; docs[b] = d;
+            float f = scores[a]; scores[a] = scores[b]; scores[b] = f;
+        }
+    }
+}
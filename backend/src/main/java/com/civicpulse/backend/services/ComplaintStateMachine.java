@@ -0,0 +1,170 @@
+package com.civicpulse.backend.services;
+
+import com.civicpulse.backend.dto.ComplaintState;
+import com.civicpulse.backend.model.Complaint;
+import com.civicpulse.backend.model.ComplaintStatus;
+import com.civicpulse.backend.repository.ComplaintRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Root;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Date;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+import static com.civicpulse.backend.model.ComplaintStatus.*;
+
+// The one place complaint statuses change (bulk assignment uses the same rules, see BulkAssignService).
+// A transition reads the current status + version, checks the move is legal, then runs
+//   UPDATE complaints SET status = :to, <fields>, version = version + 1 WHERE id = :id AND status = :from AND version = :v
+// No row is locked in between: if another request changed the complaint first the UPDATE matches nothing,
+// and the transition is re-evaluated against the new state (a few attempts with a short random pause).
+// An illegal move - e.g. resolving a ticket that was just reopened - fails with TransitionConflictException
+// instead of silently overwriting the other request's change.
+@Service
+public class ComplaintStateMachine {
+
+    public enum Transition {
+        ASSIGN(IN_PROGRESS, EnumSet.of(PENDING, ASSIGNED, IN_PROGRESS, REOPENED, REJECTED)),
+        REJECT(REJECTED, EnumSet.of(PENDING, ASSIGNED, IN_PROGRESS, REOPENED)),
+        RESOLVE(RESOLVED, EnumSet.of(ASSIGNED, IN_PROGRESS)), // Not REOPENED: admin must re-assign first
+        REOPEN(REOPENED, EnumSet.of(RESOLVED));
+
+        private final ComplaintStatus target;
+        private final Set<ComplaintStatus> from;
+
+        Transition(ComplaintStatus target, Set<ComplaintStatus> from) {
+            this.target = target;
+            this.from = from;
+        }
+
+        public ComplaintStatus target() { return target; }
+
+        public boolean allowedFrom(ComplaintStatus status) { return from.contains(status); }
+
+        public List<String> fromNames() { return from.stream().map(Enum::name).toList(); }
+    }
+
+    // Thrown when the complaint's current status does not allow the transition (HTTP 409)
+    public static class TransitionConflictException extends RuntimeException {
+        public TransitionConflictException(String message) { super(message); }
+    }
+
+    // Extra columns written by the same UPDATE, by entity attribute name (e.g. "admin_comment")
+    public static class Changes {
+        private final Map<String, Object> values = new LinkedHashMap<>();
+
+        public static Changes none() { return new Changes(); }
+
+        public Changes set(String attribute, Object value) {
+            values.put(attribute, value);
+            return this;
+        }
+    }
+
+    @Autowired private ComplaintRepository complaintRepository;
+    @Autowired private PlatformTransactionManager transactionManager;
+    @Autowired(required = false) private MeterRegistry meterRegistry;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${app.complaints.transition-attempts:5}")
+    private int maxAttempts;
+
+    private Counter retries;
+    private Counter conflicts;
+
+    @PostConstruct
+    void init() {
+        if (meterRegistry != null) {
+            retries = Counter.builder("complaints.transitions.retries").register(meterRegistry);
+            conflicts = Counter.builder("complaints.transitions.conflicts").register(meterRegistry);
+        }
+    }
+
+    // Applies the transition and returns the updated complaint; empty if the complaint does not exist.
+    public Optional<Complaint> transition(Integer id, Transition transition, Changes changes) {
+        return transition(id, transition, changes, c -> { });
+    }
+
+    // inTransaction runs after the UPDATE won, in the same transaction (e.g. ComplaintOutbox.write):
+    // if it throws, the transition is rolled back with it and the exception is rethrown, not retried.
+    public Optional<Complaint> transition(Integer id, Transition transition, Changes changes,
+                                          Consumer<Complaint> inTransaction) {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+            Optional<ComplaintState> state = complaintRepository.findStateById(id);
+            if (state.isEmpty()) return Optional.empty();
+
+            ComplaintStatus from = ComplaintStatus.of(state.get().status());
+            if (!transition.allowedFrom(from)) {
+                if (conflicts != null) conflicts.increment();
+                throw new TransitionConflictException("Complaint #" + id + " is " + from + " and cannot be moved to "
+                        + transition.target() + ".");
+            }
+
+            Complaint updated = tx.execute(status -> {
+                if (update(id, from, state.get().version(), transition.target(), changes) == 0) return null;
+                // Re-read (refresh, in case this request already holds a stale copy of the entity)
+                Complaint c = entityManager.find(Complaint.class, id);
+                entityManager.refresh(c);
+                inTransaction.accept(c);
+                return c;
+            });
+            if (updated != null) return Optional.of(updated);
+
+            // Lost the race: someone changed the complaint between our read and our UPDATE
+            if (retries != null) retries.increment();
+            LockSupport.parkNanos(ThreadLocalRandom.current().nextLong(100_000, 2_000_000L * attempt));
+        }
+        if (conflicts != null) conflicts.increment();
+        throw new TransitionConflictException("Complaint #" + id + " is being changed by someone else, try again.");
+    }
+
+    // --- INTERNALS ---
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private int update(Integer id, ComplaintStatus from, Long version, ComplaintStatus to, Changes changes) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<Complaint> update = cb.createCriteriaUpdate(Complaint.class);
+        Root<Complaint> root = update.from(Complaint.class);
+
+        update.set(root.<String>get("status"), to.name());
+        update.set(root.<Date>get("updatedAt"), new Date()); // Bulk updates skip @UpdateTimestamp
+        Path<Long> versionPath = root.get("version");
+        update.set(versionPath, cb.sum(cb.coalesce(versionPath, 0L), 1L)); // ... and @Version
+        changes.values.forEach((attribute, value) -> {
+            Path path = root.get(attribute);
+            if (value == null) setNull(update, cb, path);
+            else update.set(path, value);
+        });
+
+        update.where(cb.equal(root.get("id"), id),
+                cb.equal(root.get("status"), from.name()),
+                version == null ? cb.isNull(versionPath) : cb.equal(versionPath, version));
+        return entityManager.createQuery(update).executeUpdate();
+    }
+
+    private static <Y> void setNull(CriteriaUpdate<Complaint> update, CriteriaBuilder cb, Path<Y> path) {
+        update.set(path, cb.nullLiteral(path.getJavaType()));
+    }
+}
@@ -0,0 +1,208 @@
+package com.civicpulse.backend.services;
+
+import com.civicpulse.backend.dto.ComplaintText;
+import com.civicpulse.backend.event.ComplaintChangedEvent;
+import com.civicpulse.backend.event.ComplaintsAssignedEvent;
+import com.civicpulse.backend.model.Complaint;
+import com.civicpulse.backend.repository.ComplaintRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Spots a new report that repeats an open complaint (the same pothole filed again).
+// Candidates come from the GeoIndex: open complaints of the same category within app.dedup.radius-meters.
+// Each open complaint's title + description is kept as a MinHash signature over character trigrams,
+// so comparing a new report to a candidate is a fixed 64-int comparison, independent of text length.
+// A candidate whose estimated Jaccard similarity reaches app.dedup.similarity is reported as the original.
+// Text too short to form a trigram has no signature and never matches (nor is matched).
+@Service
+public class DuplicateDetector {
+
+    private static final Logger log = LoggerFactory.getLogger(DuplicateDetector.class);
+
+    static final int SIGNATURE_SIZE = 64;
+    private static final int MAX_CANDIDATES = 200;
+    private static final int[] SEEDS = new int[SIGNATURE_SIZE];
+
+    static {
+        // Fixed seeds: signatures must be comparable across restarts and instances
+        int x = 0x9E3779B9;
+        for (int i = 0; i < SIGNATURE_SIZE; i++) {
+            x = mix(x + 0x7F4A7C15 * (i + 1));
+            SEEDS[i] = x;
+        }
+    }
+
+    public record Match(Integer complaintId, double similarity, double distanceMeters) { }
+
+    @Autowired private GeoIndex geoIndex;
+    @Autowired private ComplaintRepository complaintRepository;
+    @Autowired(required = false) private MeterRegistry meterRegistry;
+
+    @Value("${app.dedup.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.dedup.radius-meters:75}")
+    private double radiusMeters;
+
+    @Value("${app.dedup.similarity:0.5}")
+    private double threshold;
+
+    // Signatures of open complaints, by id; rebuild() fills a fresh map and swaps it in
+    private volatile Map<Integer, int[]> signatures = new ConcurrentHashMap<>();
+    // Complaints changed while a rebuild was reading; re-read once the new signatures are in place
+    private volatile Set<Integer> changedDuringRebuild;
+    private Counter duplicates;
+
+    @PostConstruct
+    void init() {
+        if (meterRegistry != null) {
+            duplicates = Counter.builder("complaints.duplicates.detected").register(meterRegistry);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        changedDuringRebuild = ConcurrentHashMap.newKeySet();
+        Map<Integer, int[]> fresh = new ConcurrentHashMap<>();
+        List<ComplaintText> open = complaintRepository.findTextsByStatusIn(GeoIndex.OPEN_STATUSES);
+        for (ComplaintText t : open) {
+            remember(fresh, t);
+        }
+
+        signatures = fresh;
+        Set<Integer> changed = changedDuringRebuild;
+        changedDuringRebuild = null;
+        if (!changed.isEmpty()) {
+            List<ComplaintText> current = complaintRepository.findTextsByIdInAndStatusIn(changed, GeoIndex.OPEN_STATUSES);
+            changed.forEach(fresh::remove);
+            current.forEach(t -> remember(fresh, t));
+        }
+        log.info("Duplicate detector loaded {} signatures in {} ms", open.size(), System.currentTimeMillis() - start);
+    }
+
+    @EventListener
+    public void onComplaintChanged(ComplaintChangedEvent event) {
+        Complaint c = event.complaint();
+        if (c.getId() == null) return;
+        // Recorded first: if a rebuild is running, it re-reads the complaint after swapping its signatures in
+        Set<Integer> changed = changedDuringRebuild;
+        if (changed != null) changed.add(c.getId());
+        Map<Integer, int[]> current = signatures;
+        if (GeoIndex.OPEN_STATUSES.contains(c.getStatus())) {
+            // Text never changes after submission, so an existing signature is kept as is
+            if (!current.containsKey(c.getId())) {
+                remember(current, new ComplaintText(c.getId(), c.getTitle(), c.getDescription()));
+            }
+        } else {
+            current.remove(c.getId());
+        }
+    }
+
+    @EventListener
+    public void onComplaintsAssigned(ComplaintsAssignedEvent event) {
+        Set<Integer> changed = changedDuringRebuild;
+        if (changed != null) changed.addAll(event.complaintIds());
+        Map<Integer, int[]> current = signatures;
+        List<Integer> missing = event.complaintIds().stream().filter(id -> !current.containsKey(id)).toList();
+        if (!missing.isEmpty()) {
+            complaintRepository.findTextsByIdIn(missing).forEach(t -> remember(current, t));
+        }
+    }
+
+    // The most similar open complaint of the same category near the given point, if any is similar enough.
+    // Reports without coordinates or without a trigram of text are never treated as duplicates.
+    public Optional<Match> findDuplicate(Integer categoryId, Double latitude, Double longitude,
+                                         String title, String description) {
+        if (!enabled || latitude == null || longitude == null) return Optional.empty();
+        int[] signature = signature(title, description);
+        if (signature == null) return Optional.empty();
+
+        Match best = null;
+        for (GeoIndex.Hit hit : geoIndex.withinRadius(latitude, longitude, radiusMeters, MAX_CANDIDATES)) {
+            if (categoryId != null && !categoryId.equals(hit.location().categoryId())) continue;
+            int[] other = signatures.get(hit.location().id());
+            if (other == null) continue;
+            double similarity = similarity(signature, other);
+            if (similarity >= threshold && (best == null || similarity > best.similarity())) {
+                best = new Match(hit.location().id(), similarity, hit.distanceMeters());
+            }
+        }
+        if (best != null && duplicates != null) duplicates.increment();
+        return Optional.ofNullable(best);
+    }
+
+    private static void remember(Map<Integer, int[]> into, ComplaintText text) {
+        int[] signature = signature(text.title(), text.description());
+        if (signature != null) into.put(text.id(), signature);
+    }
+
+    // --- HELPER: MinHash over character trigrams of the normalized text ---
+    // null when there is no trigram: an all-MAX_VALUE signature would equal every other one (similarity 1.0)
+    static int[] signature(String title, String description) {
+        String text = normalize((title == null ? "" : title) + " " + (description == null ? "" : description));
+        if (text.length() < 3) return null;
+        int[] sig = new int[SIGNATURE_SIZE];
+        Arrays.fill(sig, Integer.MAX_VALUE);
+        for (int i = 0; i + 3 <= text.length(); i++) {
+            int shingle = (text.charAt(i) * 31 + text.charAt(i + 1)) * 31 + text.charAt(i + 2);
+            for (int k = 0; k < SIGNATURE_SIZE; k++) {
+                int h = mix(shingle ^ SEEDS[k]);
+                if (h < sig[k]) sig[k] = h;
+            }
+        }
+        return sig;
+    }
+
+    // Estimated Jaccard similarity of the two trigram sets
+    static double similarity(int[] a, int[] b) {
+        int same = 0;
+        for (int k = 0; k < SIGNATURE_SIZE; k++) {
+            if (a[k] == b[k]) same++;
+        }
+        return (double) same / SIGNATURE_SIZE;
+    }
+
+    // Lower case, letters and digits only, single spaces, padded so word edges form trigrams
+    private static String normalize(String text) {
+        StringBuilder sb = new StringBuilder(text.length() + 2).append(' ');
+        boolean space = true;
+        for (int i = 0; i < text.length(); i++) {
+            char ch = text.charAt(i);
+            if (Character.isLetterOrDigit(ch)) {
+                sb.append(Character.toLowerCase(ch));
+                space = false;
+            } else if (!space) {
+                sb.append(' ');
+                space = true;
+            }
+        }
+        if (!space) sb.append(' ');
+        return sb.toString();
+    }
+
+    // Murmur3 finalizer
+    private static int mix(int h) {
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        h *= 0xC2B2AE35;
+        h ^= h >>> 16;
+        return h;
+    }
+}
@@ -0,0 +1,195 @@
+package com.civicpulse.backend.services;
+
+import com.civicpulse.backend.dto.ComplaintLocation;
+import com.civicpulse.backend.event.ComplaintChangedEvent;
+import com.civicpulse.backend.event.ComplaintsAssignedEvent;
+import com.civicpulse.backend.model.Complaint;
+import com.civicpulse.backend.model.ComplaintStatus;
+import com.civicpulse.backend.repository.ComplaintRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// In-memory spatial index over the positions of open complaints.
+// The world is cut into a fixed grid of CELL_DEGREES cells (~280 m of latitude); each cell holds the complaints
+// inside it. A radius query only visits the cells overlapping the circle's bounding box and runs Haversine on
+// those candidates, instead of on every row in the table.
+// Built from the database once the application is ready and kept in sync through ComplaintChangedEvent:
+// complaints leave the index when they are resolved or rejected and come back when reopened.
+@Service
+public class GeoIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(GeoIndex.class);
+
+    public static final Set<String> OPEN_STATUSES = ComplaintStatus.OPEN_NAMES;
+
+    static final double CELL_DEGREES = 0.0025;
+    private static final double METERS_PER_DEGREE_LAT = Math.PI * GeoUtils.EARTH_RADIUS_METERS / 180;
+
+    public record Hit(ComplaintLocation location, double distanceMeters) { }
+
+    @Autowired private ComplaintRepository complaintRepository;
+    @Autowired(required = false) private MeterRegistry meterRegistry;
+
+    // cell key -> complaints in that cell. Writers are serialized; readers never lock.
+    private final Map<Long, Map<Integer, ComplaintLocation>> cells = new ConcurrentHashMap<>();
+    private final Map<Integer, ComplaintLocation> byId = new ConcurrentHashMap<>();
+    // Complaints changed while a rebuild was reading; re-read once the loaded positions are in place
+    private volatile Set<Integer> changedDuringRebuild;
+
+    @PostConstruct
+    void init() {
+        if (meterRegistry != null) {
+            Gauge.builder("geo.index.size", byId, Map::size).register(meterRegistry);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        changedDuringRebuild = ConcurrentHashMap.newKeySet();
+        List<ComplaintLocation> open = complaintRepository.findLocationsByStatusIn(OPEN_STATUSES);
+        synchronized (this) {
+            cells.clear();
+            byId.clear();
+            open.forEach(this::put);
+        }
+        Set<Integer> changed = changedDuringRebuild;
+        changedDuringRebuild = null;
+        if (!changed.isEmpty()) {
+            List<ComplaintLocation> current = complaintRepository.findLocationsByIdInAndStatusIn(changed, OPEN_STATUSES);
+            synchronized (this) {
+                changed.forEach(this::remove);
+                current.forEach(this::put);
+            }
+        }
+        log.info("Geo index built with {} open complaints in {} ms", open.size(), System.currentTimeMillis() - start);
+    }
+
+    @EventListener
+    public void onComplaintChanged(ComplaintChangedEvent event) {
+        Complaint c = event.complaint();
+        if (c.getId() == null) return;
+        // Recorded first: if a rebuild is running, it re-reads the complaint after loading its positions
+        Set<Integer> changed = changedDuringRebuild;
+        if (changed != null) changed.add(c.getId());
+        if (OPEN_STATUSES.contains(c.getStatus()) && c.getLatitude() != null && c.getLongitude() != null) {
+            put(new ComplaintLocation(c.getId(), c.getLatitude(), c.getLongitude(), c.getCategoryId()));
+        } else {
+            remove(c.getId());
+        }
+    }
+
+    // Assigned complaints are IN_PROGRESS (open); only ones the index has not seen yet need loading
+    @EventListener
+    public void onComplaintsAssigned(ComplaintsAssignedEvent event) {
+        Set<Integer> changed = changedDuringRebuild;
+        if (changed != null) changed.addAll(event.complaintIds());
+        List<Integer> missing = event.complaintIds().stream().filter(id -> !byId.containsKey(id)).toList();
+        if (!missing.isEmpty()) {
+            complaintRepository.findLocationsByIdIn(missing).forEach(this::put);
+        }
+    }
+
+    public synchronized void put(ComplaintLocation location) {
+        remove(location.id());
+        byId.put(location.id(), location);
+        cells.computeIfAbsent(cellKey(location.latitude(), location.longitude()), k -> new ConcurrentHashMap<>())
+                .put(location.id(), location);
+    }
+
+    public synchronized void remove(Integer id) {
+        ComplaintLocation old = byId.remove(id);
+        if (old == null) return;
+        long key = cellKey(old.latitude(), old.longitude());
+        Map<Integer, ComplaintLocation> cell = cells.get(key);
+        if (cell != null) {
+            cell.remove(id);
+            if (cell.isEmpty()) cells.remove(key);
+        }
+    }
+
+    public int size() {
+        return byId.size();
+    }
+
+    // Open complaints within radiusMeters of the point, nearest first, at most limit of them
+    public List<Hit> withinRadius(double lat, double lon, double radiusMeters, int limit) {
+        double dLat = radiusMeters / METERS_PER_DEGREE_LAT;
+        // Longitude degrees shrink with latitude; clamp near the poles
+        double cosLat = Math.max(Math.cos(Math.toRadians(Math.min(89.0, Math.abs(lat) + dLat))), 1e-6);
+        double dLon = Math.min(180, dLat / cosLat);
+
+        List<Hit> hits = new ArrayList<>();
+        for (ComplaintLocation loc : candidates(lat - dLat, lon - dLon, lat + dLat, lon + dLon)) {
+            double d = GeoUtils.distanceMeters(lat, lon, loc.latitude(), loc.longitude());
+            if (d <= radiusMeters) hits.add(new Hit(loc, d));
+        }
+        hits.sort(Comparator.comparingDouble(Hit::distanceMeters));
+        return hits.size() > limit ? new ArrayList<>(hits.subList(0, limit)) : hits;
+    }
+
+    // Open complaints inside the box (e.g. a map viewport), at most limit of them
+    public List<ComplaintLocation> withinBox(double minLat, double minLon, double maxLat, double maxLon, int limit) {
+        List<ComplaintLocation> result = new ArrayList<>();
+        for (ComplaintLocation loc : candidates(minLat, minLon, maxLat, maxLon)) {
+            if (loc.latitude() >= minLat && loc.latitude() <= maxLat
+                    && loc.longitude() >= minLon && loc.longitude() <= maxLon) {
+                result.add(loc);
+                if (result.size() >= limit) break;
+            }
+        }
+        return result;
+    }
+
+    // --- HELPER: complaints in every cell overlapping the box (a superset of the answer) ---
+    private List<ComplaintLocation> candidates(double minLat, double minLon, double maxLat, double maxLon) {
+        long row0 = row(Math.max(-90, minLat));
+        long row1 = row(Math.min(90, maxLat));
+        long col0 = col(Math.max(-180, minLon));
+        long col1 = col(Math.min(180, maxLon));
+
+        List<ComplaintLocation> out = new ArrayList<>();
+        // A huge box would visit mostly empty cells; walking the occupied ones is cheaper then
+        if ((row1 - row0 + 1) * (col1 - col0 + 1) > cells.size()) {
+            for (Map.Entry<Long, Map<Integer, ComplaintLocation>> e : cells.entrySet()) {
+                long row = e.getKey() >> 32;
+                long col = (int) (long) e.getKey();
+                if (row >= row0 && row <= row1 && col >= col0 && col <= col1) out.addAll(e.getValue().values());
+            }
+            return out;
+        }
+        for (long row = row0; row <= row1; row++) {
+            for (long col = col0; col <= col1; col++) {
+                Map<Integer, ComplaintLocation> cell = cells.get((row << 32) | (col & 0xffffffffL));
+                if (cell != null) out.addAll(cell.values());
+            }
+        }
+        return out;
+    }
+
+    private static long row(double lat) {
+        return (long) Math.floor(lat / CELL_DEGREES);
+    }
+
+    private static long col(double lon) {
+        return (long) Math.floor(lon / CELL_DEGREES);
+    }
+
+    static long cellKey(double lat, double lon) {
+        return (row(lat) << 32) | (col(lon) & 0xffffffffL);
+    }
+}
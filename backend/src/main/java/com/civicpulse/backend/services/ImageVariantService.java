@@ -0,0 +1,229 @@
+package com.civicpulse.backend.services;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Generates downscaled JPEG variants ("thumb", "medium") of uploaded images in the background.
+// Variants live in a sibling directory of the uploads root: <uploads>-variants/<size>/<name>.jpg
+// Work runs on a small bounded pool; if the queue is full the job is dropped (and retried lazily the next time
+// the variant is requested), so an upload burst never blocks or slows down complaint submission.
+// An original that cannot be decoded (WebP, AVIF, corrupt files) gets a marker in <uploads>-variants/failed/
+// and is not tried again: uploads are content-addressed, so the same name never decodes later.
+@Service
+public class ImageVariantService {
+
+    private static final Logger log = LoggerFactory.getLogger(ImageVariantService.class);
+
+    private static final String FAILED_DIR = "failed";
+
+    public enum Size {
+        THUMB(240), MEDIUM(960);
+
+        final int maxEdge;
+
+        Size(int maxEdge) { this.maxEdge = maxEdge; }
+
+        // "thumb" / "medium" from the ?size= parameter; null for anything else (= original)
+        public static Size parse(String value) {
+            if (value == null) return null;
+            return switch (value.toLowerCase(Locale.ROOT)) {
+                case "thumb", "thumbnail" -> THUMB;
+                case "medium" -> MEDIUM;
+                default -> null;
+            };
+        }
+
+        String dirName() { return name().toLowerCase(Locale.ROOT); }
+    }
+
+    @Autowired private UploadStorageService uploadStorage;
+    @Autowired(required = false) private MeterRegistry meterRegistry;
+
+    @Value("${app.uploads.variant-workers:2}")
+    private int workers;
+
+    @Value("${app.uploads.variant-queue:200}")
+    private int queueCapacity;
+
+    private Path variantsRoot;
+    private ThreadPoolExecutor executor;
+    // Files queued or being processed, so repeated requests for a missing variant do not pile up jobs
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+    private Counter generated;
+    private Counter dropped;
+
+    @PostConstruct
+    void init() throws IOException {
+        ImageIO.setUseCache(false); // Decode in memory, not via temp files
+        Path root = uploadStorage.getRoot();
+        variantsRoot = root.resolveSibling(root.getFileName() + "-variants");
+        for (Size size : Size.values()) {
+            Files.createDirectories(variantsRoot.resolve(size.dirName()));
+        }
+        Files.createDirectories(variantsRoot.resolve(FAILED_DIR));
+
+        AtomicInteger threadNo = new AtomicInteger();
+        executor = new ThreadPoolExecutor(workers, workers, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                r -> {
+                    Thread t = new Thread(r, "image-variants-" + threadNo.incrementAndGet());
+                    t.setDaemon(true);
+                    t.setPriority(Thread.MIN_PRIORITY);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        if (meterRegistry != null) {
+            generated = Counter.builder("uploads.variants.generated").register(meterRegistry);
+            dropped = Counter.builder("uploads.variants.dropped").register(meterRegistry);
+            Gauge.builder("uploads.variants.queue.depth", executor, e -> e.getQueue().size()).register(meterRegistry);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    // Queues variant generation for a stored upload. Never blocks.
+    public void submit(String fileName) {
+        if (fileName == null || Files.exists(failedMarker(fileName)) || !inFlight.add(fileName)) return;
+        try {
+            executor.execute(() -> {
+                try {
+                    generate(fileName);
+                } finally {
+                    inFlight.remove(fileName);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // Queue full (or shutting down): the next request for the variant queues it again
+            inFlight.remove(fileName);
+            if (dropped != null) dropped.increment();
+        }
+    }
+
+    // Path of the variant, or null if it does not exist (yet). A miss queues generation for next time.
+    public Path find(String fileName, Size size) {
+        Path variant = variantPath(fileName, size);
+        if (Files.exists(variant)) return variant;
+        submit(fileName);
+        return null;
+    }
+
+    private Path variantPath(String fileName, Size size) {
+        return variantsRoot.resolve(size.dirName()).resolve(fileName + ".jpg");
+    }
+
+    private Path failedMarker(String fileName) {
+        return variantsRoot.resolve(FAILED_DIR).resolve(fileName);
+    }
+
+    private void generate(String fileName) {
+        try {
+            Path original = uploadStorage.resolve(fileName);
+            if (!Files.exists(original)) return;
+
+            BufferedImage source = null;
+            for (Size size : Size.values()) {
+                Path target = variantPath(fileName, size);
+                if (Files.exists(target)) continue; // Deduplicated upload, already done
+                if (source == null) {
+                    source = decode(fileName, original);
+                    if (source == null) return;
+                }
+                writeJpeg(scale(source, size.maxEdge), target);
+                if (generated != null) generated.increment();
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not generate variants for {}: {}", fileName, e.getMessage());
+        }
+    }
+
+    // Null (and a failed marker) if ImageIO has no reader for the file or cannot read it
+    private BufferedImage decode(String fileName, Path original) throws IOException {
+        String reason = "no image reader for this format";
+        try {
+            BufferedImage image = ImageIO.read(original.toFile());
+            if (image != null) return image;
+        } catch (IOException | RuntimeException e) {
+            reason = e.getMessage();
+        }
+        log.warn("Could not decode {}, no variants will be generated for it: {}", fileName, reason);
+        Files.createFile(failedMarker(fileName));
+        return null;
+    }
+
+    private static BufferedImage scale(BufferedImage source, int maxEdge) {
+        int width = source.getWidth();
+        int height = source.getHeight();
+        double ratio = Math.min(1.0, (double) maxEdge / Math.max(width, height));
+        int targetWidth = Math.max(1, (int) Math.round(width * ratio));
+        int targetHeight = Math.max(1, (int) Math.round(height * ratio));
+
+        BufferedImage scaled = new BufferedImage(targetWidth, targetHeight, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = scaled.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.drawImage(source, 0, 0, targetWidth, targetHeight, java.awt.Color.WHITE, null);
+        } finally {
+            g.dispose();
+        }
+        return scaled;
+    }
+
+    // Writes to a temp file first so a half-written variant is never served
+    private static void writeJpeg(BufferedImage image, Path target) throws IOException {
+        Path temp = Files.createTempFile(target.getParent(), "variant-", ".part");
+        try {
+            ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+            try (ImageOutputStream out = ImageIO.createImageOutputStream(temp.toFile())) {
+                writer.setOutput(out);
+                ImageWriteParam param = writer.getDefaultWriteParam();
+                param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                param.setCompressionQuality(0.8f);
+                writer.write(null, new IIOImage(image, null, null), param);
+            } finally {
+                writer.dispose();
+            }
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+}
@@ -0,0 +1,287 @@
+package com.civicpulse.backend.services;
+
+import com.civicpulse.backend.model.DeadLetterMail;
+import com.civicpulse.backend.repository.DeadLetterMailRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Sends email off the request thread.
+// Callers put the mail on a bounded queue and return; a fixed number of sender threads each take whatever
+// has queued up (up to max-batch) and send it over ONE SMTP connection, so a burst of 500 mails costs a few
+// connections/handshakes instead of 500. The number of senders is the number of concurrent SMTP connections.
+// (Platform threads: JavaMail synchronizes on the transport while talking to the server, which would pin a
+// virtual thread anyway.)
+// A failed mail is retried with exponential backoff + jitter; after max-attempts it is stored in
+// mail_dead_letters. When the queue is full the caller waits enqueue-timeout-ms at most, then the mail goes
+// to the dead letters too - it is never silently dropped and never sent on the request thread.
+@Service
+public class MailDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(MailDispatcher.class);
+
+    // attempts = sends tried so far. id only makes every queued mail distinct.
+    public record OutgoingMail(long id, String to, String subject, String htmlBody, int attempts) {
+        OutgoingMail retried() { return new OutgoingMail(id, to, subject, htmlBody, attempts + 1); }
+    }
+
+    @Autowired private JavaMailSender mailSender;
+    @Autowired private DeadLetterMailRepository deadLetterRepository;
+    @Autowired(required = false) private MeterRegistry meterRegistry;
+
+    @Value("${app.mail.queue-capacity:1000}")
+    private int queueCapacity;
+
+    @Value("${app.mail.senders:2}")
+    private int senders;
+
+    @Value("${app.mail.max-batch:50}")
+    private int maxBatch;
+
+    @Value("${app.mail.enqueue-timeout-ms:50}")
+    private long enqueueTimeoutMs;
+
+    @Value("${app.mail.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${app.mail.retry-base-ms:2000}")
+    private long retryBaseMs;
+
+    @Value("${app.mail.retry-max-ms:300000}")
+    private long retryMaxMs;
+
+    // Dev setting kept from the original MailService: everything goes to one inbox, the real recipient is
+    // appended to the subject. Set app.mail.redirect-to= (empty) to mail the actual recipients.
+    @Value("${app.mail.redirect-to:civicpulse.official@gmail.com}")
+    private String redirectTo;
+
+    @Value("${app.mail.from:${spring.mail.username:}}")
+    private String from;
+
+    private final AtomicLong ids = new AtomicLong();
+    // Mails waiting for their backoff to pass, so they can be dead-lettered on shutdown instead of lost
+    private final Set<OutgoingMail> waitingRetry = ConcurrentHashMap.newKeySet();
+
+    private BlockingQueue<OutgoingMail> queue;
+    private ScheduledExecutorService retryScheduler;
+    private final List<Thread> workers = new ArrayList<>();
+    private volatile boolean running = true;
+
+    private Counter sentCounter;
+    private Counter retriedCounter;
+    private Counter deadLetteredCounter;
+    private Timer batchTimer;
+    private DistributionSummary batchSize;
+
+    @PostConstruct
+    void start() {
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        retryScheduler = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("mail-retry").daemon().factory());
+        if (meterRegistry != null) {
+            Gauge.builder("mail.dispatch.queue.depth", queue, BlockingQueue::size).register(meterRegistry);
+            Gauge.builder("mail.dispatch.retry.waiting", waitingRetry, Set::size).register(meterRegistry);
+            sentCounter = Counter.builder("mail.dispatch.sent").register(meterRegistry);
+            retriedCounter = Counter.builder("mail.dispatch.retried").register(meterRegistry);
+            deadLetteredCounter = Counter.builder("mail.dispatch.dead.lettered").register(meterRegistry);
+            batchTimer = Timer.builder("mail.dispatch.batch").publishPercentiles(0.5, 0.99).register(meterRegistry);
+            batchSize = DistributionSummary.builder("mail.dispatch.batch.size").register(meterRegistry);
+        }
+        for (int i = 1; i <= senders; i++) {
+            workers.add(Thread.ofPlatform().name("mail-sender-" + i).daemon().start(this::sendLoop));
+        }
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        retryScheduler.shutdownNow();
+        for (Thread worker : workers) worker.interrupt();
+        for (Thread worker : workers) worker.join(10_000);
+
+        // Whatever is left is kept for a later retry from the admin view
+        List<OutgoingMail> rest = new ArrayList<>(waitingRetry);
+        queue.drainTo(rest);
+        for (OutgoingMail mail : rest) deadLetter(mail, "Not sent before shutdown");
+    }
+
+    // --- PUBLIC API ---
+
+    // Queues the mail. Returns false if the queue stayed full; the mail was then stored as a dead letter.
+    public boolean submit(String to, String subject, String htmlBody) {
+        if (to == null) return false;
+        OutgoingMail mail = new OutgoingMail(ids.incrementAndGet(), to, subject, htmlBody, 0);
+        try {
+            if (queue.offer(mail, enqueueTimeoutMs, TimeUnit.MILLISECONDS)) return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        deadLetter(mail, "Mail queue full");
+        return false;
+    }
+
+    // Moves up to max dead letters (newest first) back onto the queue. Returns how many were queued.
+    public int retryDeadLetters(int max) {
+        int queued = 0;
+        for (DeadLetterMail letter : deadLetterRepository.findAllByOrderByFailedAtDesc(PageRequest.of(0, max))) {
+            OutgoingMail mail = new OutgoingMail(ids.incrementAndGet(), letter.getRecipient(), letter.getSubject(),
+                    letter.getHtmlBody(), 0);
+            if (!queue.offer(mail)) break;
+            deadLetterRepository.delete(letter);
+            queued++;
+        }
+        return queued;
+    }
+
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    public int getWaitingRetryCount() {
+        return waitingRetry.size();
+    }
+
+    // --- INTERNALS ---
+
+    private void sendLoop() {
+        List<OutgoingMail> batch = new ArrayList<>(maxBatch);
+        while (running) {
+            try {
+                // Block for the first mail, then take everything else that piled up meanwhile
+                batch.add(queue.take());
+                queue.drainTo(batch, maxBatch - 1);
+                send(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (RuntimeException e) {
+                log.error("Failed to send {} mails", batch.size(), e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void send(List<OutgoingMail> batch) {
+        List<MimeMessage> messages = new ArrayList<>(batch.size());
+        List<OutgoingMail> sources = new ArrayList<>(batch.size());
+        for (OutgoingMail mail : batch) {
+            try {
+                messages.add(prepare(mail));
+                sources.add(mail);
+            } catch (MessagingException | MailException e) {
+                deadLetter(mail, e.toString()); // Malformed (e.g. bad address): retrying cannot help
+            }
+        }
+        if (messages.isEmpty()) return;
+
+        long start = System.nanoTime();
+        int delivered = messages.size();
+        try {
+            // JavaMailSender sends an array over a single connection
+            mailSender.send(messages.toArray(new MimeMessage[0]));
+        } catch (MailSendException e) {
+            // Per-message failures; a failed connect lists every message
+            Map<Object, Exception> failed = e.getFailedMessages();
+            for (int i = 0; i < messages.size(); i++) {
+                Exception cause = failed.get(messages.get(i));
+                if (cause != null) {
+                    delivered--;
+                    retryOrDeadLetter(sources.get(i), cause);
+                }
+            }
+        } catch (MailException e) {
+            // e.g. authentication: nothing was sent
+            delivered = 0;
+            for (OutgoingMail mail : sources) retryOrDeadLetter(mail, e);
+        }
+
+        if (batchTimer != null) {
+            batchTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            batchSize.record(messages.size());
+            sentCounter.increment(delivered);
+        }
+    }
+
+    private MimeMessage prepare(OutgoingMail mail) throws MessagingException {
+        MimeMessage message = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, true);
+        if (!from.isBlank()) helper.setFrom(from);
+        if (redirectTo.isBlank()) {
+            helper.setTo(mail.to());
+            helper.setSubject(mail.subject());
+        } else {
+            helper.setTo(redirectTo);
+            helper.setSubject(mail.subject() + mail.to());
+        }
+        helper.setText(mail.htmlBody(), true); // true = HTML
+        return message;
+    }
+
+    private void retryOrDeadLetter(OutgoingMail mail, Exception cause) {
+        OutgoingMail next = mail.retried();
+        if (next.attempts() >= maxAttempts || !running) {
+            deadLetter(next, cause.toString());
+            return;
+        }
+        // 2s, 4s, 8s ... capped, +-20% so mails that failed together do not all come back together
+        long backoff = Math.min(retryMaxMs, retryBaseMs << Math.min(next.attempts() - 1, 20));
+        long delay = (long) (backoff * ThreadLocalRandom.current().nextDouble(0.8, 1.2));
+        log.warn("Mail to {} failed (attempt {}/{}), retrying in {} ms: {}", mail.to(), next.attempts(), maxAttempts,
+                delay, cause.toString());
+        if (retriedCounter != null) retriedCounter.increment();
+
+        waitingRetry.add(next);
+        retryScheduler.schedule(() -> {
+            if (!waitingRetry.remove(next)) return; // Already dead-lettered by stop()
+            if (!queue.offer(next)) deadLetter(next, "Mail queue full on retry");
+        }, delay, TimeUnit.MILLISECONDS);
+    }
+
+    private void deadLetter(OutgoingMail mail, String reason) {
+        DeadLetterMail letter = new DeadLetterMail();
+        letter.setRecipient(mail.to());
+        letter.setSubject(mail.subject());
+        letter.setHtmlBody(mail.htmlBody());
+        letter.setAttempts(mail.attempts());
+        letter.setLastError(reason == null || reason.length() <= 1000 ? reason : reason.substring(0, 1000));
+        letter.setFailedAt(new Date());
+        try {
+            deadLetterRepository.save(letter);
+            if (deadLetteredCounter != null) deadLetteredCounter.increment();
+            log.warn("Mail to {} ({}) moved to dead letters after {} attempts: {}", mail.to(), mail.subject(),
+                    mail.attempts(), reason);
+        } catch (RuntimeException e) {
+            log.error("Mail to {} ({}) lost: could not store dead letter", mail.to(), mail.subject(), e);
+        }
+    }
+}
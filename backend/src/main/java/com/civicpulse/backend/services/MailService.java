@@ -2,35 +2,30 @@
 package com.civicpulse.backend.services;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.stereotype.Service;
-import jakarta.mail.internet.MimeMessage;
-import org.springframework.mail.javamail.MimeMessageHelper;
-import org.springframework.scheduling.annotation.Async;
+
+import java.util.Map;
 
 
 @Service
 public class MailService {
 
     @Autowired
-    private JavaMailSender mailSender;
+    private MailDispatcher mailDispatcher;
+
+    @Autowired
+    private MailTemplateEngine templateEngine;
 
     // Generic method to send HTML emails
-    @Async  //To run this method using a thread(As a background process,passing control to next process in execution)
+    // Returns immediately: the mail is queued and sent in the background by MailDispatcher
+    // (batched per SMTP connection, retried, dead-lettered if it cannot be delivered)
     public void sendHtmlEmail(String to, String subject, String htmlBody) {
-        try {
-            //MimeMessage for HTML content , In general we use SimpleMessage(plain text)
-            MimeMessage message = mailSender.createMimeMessage(); 
-            MimeMessageHelper helper = new MimeMessageHelper(message, true);
-
-            // helper.setTo(to);    - To Send Actual mail        
-            helper.setTo("civicpulse.official@gmail.com");
-            helper.setSubject(subject + to);
-            helper.setText(htmlBody, true); // true = HTML
-
-            mailSender.send(message);
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
+        mailDispatcher.submit(to, subject, htmlBody);
+    }
+
+    // Renders templates/mail/<template>.html (subject + body) and queues it like sendHtmlEmail
+    public void sendTemplate(String to, String template, Map<String, ?> values) {
+        MailTemplateEngine.RenderedMail mail = templateEngine.render(template, values);
+        mailDispatcher.submit(to, mail.subject() != null ? mail.subject() : "CivicPulse", mail.html());
     }
-}
\ No newline at end of file
+}
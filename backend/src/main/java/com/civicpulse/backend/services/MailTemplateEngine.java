@@ -0,0 +1,182 @@
+package com.civicpulse.backend.services;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+// Email templates (src/main/resources/templates/mail/<name>.html), parsed once at startup.
+// A template is compiled into literal chunks with placeholders between them, so rendering is a straight
+// append of chunks and values: no regex, no reflection, no re-parsing per mail.
+//   Subject: Complaint #{{id}} resolved     <- optional first line, plain text
+//   <p>Hello {{name}}</p>                    <- {{x}} is HTML-escaped, {{{x}}} is inserted as is
+// A placeholder without a value fails the render (IllegalArgumentException) instead of mailing "{{name}}".
+// Render buffers are pooled rather than thread-local: requests run on virtual threads, which would get
+// a fresh thread-local buffer every time.
+@Service
+public class MailTemplateEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(MailTemplateEngine.class);
+
+    private static final String LOCATION = "classpath*:templates/mail/*.html";
+    private static final String SUBJECT_PREFIX = "Subject:";
+    private static final int MAX_POOLED_CAPACITY = 64 * 1024;
+
+    public record RenderedMail(String subject, String html) { }
+
+    // literals.length == names.length + 1: literal, value, literal, value, ..., literal
+    static final class CompiledTemplate {
+        private final String[] literals;
+        private final String[] names;
+        private final boolean[] escaped;
+        private final int sizeHint;
+
+        private CompiledTemplate(String[] literals, String[] names, boolean[] escaped) {
+            this.literals = literals;
+            this.names = names;
+            this.escaped = escaped;
+            int size = 0;
+            for (String literal : literals) size += literal.length();
+            this.sizeHint = size + names.length * 16;
+        }
+
+        void renderTo(String template, Map<String, ?> values, StringBuilder out) {
+            out.ensureCapacity(out.length() + sizeHint);
+            out.append(literals[0]);
+            for (int i = 0; i < names.length; i++) {
+                Object value = values.get(names[i]);
+                if (value == null) {
+                    throw new IllegalArgumentException("Template '" + template + "' needs a value for '" + names[i] + "'");
+                }
+                if (escaped[i]) appendEscaped(out, value.toString());
+                else out.append(value);
+                out.append(literals[i + 1]);
+            }
+        }
+    }
+
+    private record Template(CompiledTemplate subject, CompiledTemplate body) { }
+
+    private volatile Map<String, Template> templates = Map.of();
+    private final BlockingQueue<StringBuilder> buffers =
+            new ArrayBlockingQueue<>(Math.max(4, Runtime.getRuntime().availableProcessors() * 2));
+
+    @PostConstruct
+    void load() throws IOException {
+        Map<String, Template> loaded = new HashMap<>();
+        for (Resource resource : new PathMatchingResourcePatternResolver().getResources(LOCATION)) {
+            String fileName = resource.getFilename();
+            if (fileName == null) continue;
+            String name = fileName.substring(0, fileName.length() - ".html".length());
+            loaded.put(name, compile(name, resource.getContentAsString(StandardCharsets.UTF_8)));
+        }
+        templates = Map.copyOf(loaded);
+        log.info("Compiled {} mail templates: {}", loaded.size(), loaded.keySet());
+    }
+
+    // --- PUBLIC API ---
+
+    public RenderedMail render(String name, Map<String, ?> values) {
+        Template template = templates.get(name);
+        if (template == null) throw new IllegalArgumentException("Unknown mail template '" + name + "'");
+
+        StringBuilder buffer = buffers.poll();
+        if (buffer == null) buffer = new StringBuilder(1024);
+        try {
+            String subject = null;
+            if (template.subject() != null) {
+                template.subject().renderTo(name, values, buffer);
+                subject = buffer.toString();
+                buffer.setLength(0);
+            }
+            template.body().renderTo(name, values, buffer);
+            return new RenderedMail(subject, buffer.toString());
+        } finally {
+            buffer.setLength(0);
+            // Do not keep a buffer that one huge mail blew up
+            if (buffer.capacity() <= MAX_POOLED_CAPACITY) buffers.offer(buffer);
+        }
+    }
+
+    // Adds or replaces a template from source text (same format as the files)
+    public void register(String name, String source) {
+        Map<String, Template> updated = new HashMap<>(templates);
+        updated.put(name, compile(name, source));
+        templates = Map.copyOf(updated);
+    }
+
+    public Set<String> getTemplateNames() {
+        return templates.keySet();
+    }
+
+    // --- INTERNALS ---
+
+    private static Template compile(String name, String source) {
+        String subject = null;
+        String body = source;
+        if (source.startsWith(SUBJECT_PREFIX)) {
+            int end = source.indexOf('\n');
+            subject = (end < 0 ? source.substring(SUBJECT_PREFIX.length()) : source.substring(SUBJECT_PREFIX.length(), end)).strip();
+            body = end < 0 ? "" : source.substring(end + 1);
+        }
+        // The subject is plain text, not HTML: values go in unescaped
+        return new Template(subject == null ? null : parse(name, subject, false), parse(name, body, true));
+    }
+
+    static CompiledTemplate parse(String name, String text, boolean escapeByDefault) {
+        List<String> literals = new ArrayList<>();
+        List<String> names = new ArrayList<>();
+        List<Boolean> escaped = new ArrayList<>();
+        int pos = 0;
+        while (true) {
+            int open = text.indexOf("{{", pos);
+            if (open < 0) break;
+            boolean raw = text.startsWith("{{{", open);
+            String closeToken = raw ? "}}}" : "}}";
+            int start = open + (raw ? 3 : 2);
+            int close = text.indexOf(closeToken, start);
+            if (close < 0) {
+                throw new IllegalStateException("Template '" + name + "': unclosed placeholder at offset " + open);
+            }
+            String placeholder = text.substring(start, close).strip();
+            if (placeholder.isEmpty()) {
+                throw new IllegalStateException("Template '" + name + "': empty placeholder at offset " + open);
+            }
+            literals.add(text.substring(pos, open));
+            names.add(placeholder);
+            escaped.add(escapeByDefault && !raw);
+            pos = close + closeToken.length();
+        }
+        literals.add(text.substring(pos));
+
+        boolean[] escapedArray = new boolean[escaped.size()];
+        for (int i = 0; i < escapedArray.length; i++) escapedArray[i] = escaped.get(i);
+        return new CompiledTemplate(literals.toArray(String[]::new), names.toArray(String[]::new), escapedArray);
+    }
+
+    private static void appendEscaped(StringBuilder out, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '&' -> out.append("&amp;");
+                case '<' -> out.append("&lt;");
+                case '>' -> out.append("&gt;");
+                case '"' -> out.append("&quot;");
+                case '\'' -> out.append("&#39;");
+                default -> out.append(c);
+            }
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.civicpulse.backend.services;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+// Retention job: moves read notifications older than app.notifications.retention-days from "notifications"
+// to "notifications_archive", so the hot table (and its indexes) only holds what the inbox still shows.
+// Rows move in chunks by id; each chunk is one INSERT ... SELECT plus one DELETE in a single transaction,
+// which keeps locks short and lets a crashed run resume where it stopped. Unread rows are never touched.
+@Service
+public class NotificationArchiver {
+
+    private static final Logger log = LoggerFactory.getLogger(NotificationArchiver.class);
+
+    private static final String SELECT_IDS_SQL =
+            "SELECT id FROM notifications WHERE is_read = true AND created_at < :cutoff ORDER BY id LIMIT :limit";
+    private static final String COPY_SQL =
+            "INSERT INTO notifications_archive (id, user_id, message, type, related_complaint_id, created_at, archived_at) "
+            + "SELECT id, user_id, message, type, related_complaint_id, created_at, :now FROM notifications WHERE id IN (:ids)";
+    private static final String DELETE_SQL = "DELETE FROM notifications WHERE id IN (:ids)";
+
+    @Autowired private NamedParameterJdbcTemplate jdbcTemplate;
+    @Autowired private PlatformTransactionManager transactionManager;
+    @Autowired(required = false) private MeterRegistry meterRegistry;
+
+    @Value("${app.notifications.retention-days:90}")
+    private int retentionDays;
+
+    @Value("${app.notifications.archive-chunk:5000}")
+    private int chunkSize;
+
+    private Counter archived;
+
+    @PostConstruct
+    void init() {
+        if (meterRegistry != null) {
+            archived = Counter.builder("notifications.archived").register(meterRegistry);
+        }
+    }
+
+    // Nightly by default; override with app.notifications.archive-cron
+    @Scheduled(cron = "${app.notifications.archive-cron:0 30 3 * * *}")
+    public void archiveOldNotifications() {
+        archiveReadBefore(Instant.now().minus(Duration.ofDays(retentionDays)));
+    }
+
+    // Returns the number of notifications moved
+    public int archiveReadBefore(Instant cutoff) {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        Timestamp cutoffTs = Timestamp.from(cutoff);
+        long start = System.currentTimeMillis();
+        int total = 0;
+        while (true) {
+            Integer moved = tx.execute(status -> {
+                List<Integer> ids = jdbcTemplate.queryForList(SELECT_IDS_SQL,
+                        new MapSqlParameterSource("cutoff", cutoffTs).addValue("limit", chunkSize), Integer.class);
+                if (ids.isEmpty()) return 0;
+                MapSqlParameterSource params = new MapSqlParameterSource("ids", ids)
+                        .addValue("now", new Timestamp(System.currentTimeMillis()));
+                jdbcTemplate.update(COPY_SQL, params);
+                return jdbcTemplate.update(DELETE_SQL, params);
+            });
+            if (moved == null || moved == 0) break;
+            total += moved;
+            if (archived != null) archived.increment(moved);
+            if (moved < chunkSize) break;
+        }
+        if (total > 0) {
+            log.info("Archived {} read notifications older than {} in {} ms", total, cutoff, System.currentTimeMillis() - start);
+        }
+        return total;
+    }
+}
@@ -0,0 +1,225 @@
+package com.civicpulse.backend.services;
+
+import com.civicpulse.backend.event.NotificationsWrittenEvent;
+import com.civicpulse.backend.model.User;
+import com.civicpulse.backend.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+// Takes notification writes off the request thread.
+// Callers enqueue and return immediately; a single background thread drains whatever has queued up
+// and writes it as one JDBC batch in one transaction. This bypasses Hibernate on purpose:
+// Notification uses an IDENTITY id, which makes Hibernate insert row by row.
+// Every written batch is announced with a NotificationsWrittenEvent (used for the live push to browsers).
+// A batch the database rejects is retried one row at a time, so a bad row only loses itself.
+@Service
+public class NotificationDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(NotificationDispatcher.class);
+
+    private static final String INSERT_SQL =
+            "INSERT INTO notifications (user_id, message, type, related_complaint_id, is_read, created_at) "
+            + "VALUES (?, ?, ?, ?, false, ?)";
+
+    // One queued notification. createdAt is taken at enqueue time, not at flush time.
+    public record PendingNotification(Long userId, String message, String type, Integer complaintId, Timestamp createdAt) { }
+
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private PlatformTransactionManager transactionManager;
+    @Autowired private UserRepository userRepository;
+    @Autowired private ApplicationEventPublisher eventPublisher;
+    @Autowired(required = false) private MeterRegistry meterRegistry;
+
+    @Value("${app.notifications.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${app.notifications.max-batch:500}")
+    private int maxBatch;
+
+    @Value("${app.notifications.admin-cache-seconds:60}")
+    private long adminCacheSeconds;
+
+    private BlockingQueue<PendingNotification> queue;
+    private TransactionTemplate transactionTemplate;
+    private Thread worker;
+    private volatile boolean running = true;
+
+    // Admin recipients change rarely (seeder or an ADMIN signup), so they are not re-read per complaint
+    private volatile List<Long> adminIds;
+    private volatile long adminIdsLoadedAt;
+
+    private Timer flushTimer;
+    private Counter writtenCounter;
+    private DistributionSummary batchSize;
+    private Counter failedCounter;
+
+    @PostConstruct
+    void start() {
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        if (meterRegistry != null) {
+            Gauge.builder("notifications.dispatch.queue.depth", queue, BlockingQueue::size).register(meterRegistry);
+            flushTimer = Timer.builder("notifications.dispatch.flush").publishPercentiles(0.5, 0.99).register(meterRegistry);
+            writtenCounter = Counter.builder("notifications.dispatch.written").register(meterRegistry);
+            batchSize = DistributionSummary.builder("notifications.dispatch.batch.size").register(meterRegistry);
+            failedCounter = Counter.builder("notifications.dispatch.failed").register(meterRegistry);
+        }
+        worker = Thread.ofPlatform().name("notification-dispatcher").daemon().start(this::drainLoop);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        worker.interrupt();
+        worker.join(5000);
+        flushRemaining();
+    }
+
+    // --- PUBLIC API ---
+
+    public void enqueue(User recipient, String message, String type, Integer complaintId) {
+        if (recipient == null) return;
+        enqueue(recipient.getId(), message, type, complaintId);
+    }
+
+    public void enqueue(Long userId, String message, String type, Integer complaintId) {
+        if (userId == null) return;
+        PendingNotification pending = new PendingNotification(userId, message, type, complaintId,
+                new Timestamp(System.currentTimeMillis()));
+        if (!queue.offer(pending)) {
+            // Queue is full: apply backpressure by writing on the caller's thread rather than dropping
+            write(List.of(pending));
+        }
+    }
+
+    public void notifyAdmins(String message, String type, Integer complaintId) {
+        for (Long adminId : getAdminIds()) {
+            enqueue(adminId, message, type, complaintId);
+        }
+    }
+
+    // Writes immediately on the caller's thread, joining the caller's transaction if there is one.
+    // For bulk paths that already run in chunked transactions and want the rows committed with them.
+    public void writeNow(List<PendingNotification> batch) {
+        if (!batch.isEmpty()) write(batch);
+    }
+
+    // Call when an ADMIN account is created or removed
+    public void invalidateAdminCache() {
+        adminIds = null;
+    }
+
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    // Also used by ComplaintOutbox, which writes admin notifications inside its own transaction
+    public List<Long> getAdminIds() {
+        List<Long> ids = adminIds;
+        if (ids == null || System.currentTimeMillis() - adminIdsLoadedAt > adminCacheSeconds * 1000) {
+            ids = userRepository.findByRole("ADMIN").stream().map(User::getId).toList();
+            adminIds = ids;
+            adminIdsLoadedAt = System.currentTimeMillis();
+        }
+        return ids;
+    }
+
+    // --- INTERNALS ---
+
+    private void drainLoop() {
+        List<PendingNotification> batch = new ArrayList<>(maxBatch);
+        while (running) {
+            try {
+                // Block for the first item, then take everything else that piled up meanwhile
+                batch.add(queue.take());
+                queue.drainTo(batch, maxBatch - 1);
+                writeQueued(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (RuntimeException e) {
+                log.error("Failed to write {} notifications", batch.size(), e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flushRemaining() {
+        List<PendingNotification> rest = new ArrayList<>();
+        queue.drainTo(rest);
+        if (!rest.isEmpty()) writeQueued(rest);
+    }
+
+    private void write(List<PendingNotification> batch) {
+        long start = System.nanoTime();
+        insert(batch);
+        announce(batch, start);
+    }
+
+    // Queued notifications have no caller to report a failure to: if the batch fails, each row is tried alone
+    private void writeQueued(List<PendingNotification> batch) {
+        long start = System.nanoTime();
+        List<PendingNotification> written;
+        try {
+            insert(batch);
+            written = batch;
+        } catch (RuntimeException e) {
+            log.warn("Batch of {} notifications failed, writing them one at a time", batch.size(), e);
+            written = new ArrayList<>();
+            for (PendingNotification n : batch) {
+                try {
+                    insert(List.of(n));
+                    written.add(n);
+                } catch (RuntimeException rowFailure) {
+                    log.error("Dropped notification for user {} (complaint {})", n.userId(), n.complaintId(), rowFailure);
+                    if (failedCounter != null) failedCounter.increment();
+                }
+            }
+        }
+        if (!written.isEmpty()) announce(written, start);
+    }
+
+    private void insert(List<PendingNotification> batch) {
+        transactionTemplate.executeWithoutResult(status ->
+                jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), (ps, n) -> {
+                    ps.setLong(1, n.userId());
+                    ps.setString(2, n.message());
+                    ps.setString(3, n.type());
+                    if (n.complaintId() != null) ps.setInt(4, n.complaintId()); else ps.setNull(4, Types.INTEGER);
+                    ps.setTimestamp(5, n.createdAt());
+                }));
+    }
+
+    private void announce(List<PendingNotification> batch, long start) {
+        // Copy: the drain loop reuses its batch list
+        eventPublisher.publishEvent(new NotificationsWrittenEvent(List.copyOf(batch)));
+        if (flushTimer != null) {
+            flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            writtenCounter.increment(batch.size());
+            batchSize.record(batch.size());
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package com.civicpulse.backend.services;
+
+import com.civicpulse.backend.event.NotificationsWrittenEvent;
+import com.civicpulse.backend.repository.NotificationRepository;
+import com.civicpulse.backend.services.NotificationDispatcher.PendingNotification;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+// Live notification channel: one Server-Sent Events stream per open browser tab.
+// Idle streams hold no thread (servlet async); each push runs on its own virtual thread, so a slow client
+// never holds up the dispatcher or other users.
+// The unread badge count is kept in memory per user while they have a stream open. It is read from MySQL once
+// (on the first subscribe), then moved by pushes and mark-as-read calls instead of a COUNT(*) per poll, and
+// dropped with the user's last stream. Badge requests from users without a stream go to MySQL.
+//
+// Events sent on the stream:
+//   "unread"        -> the current unread count (on connect and after every change)
+//   "notification"  -> {message, type, relatedComplaintId, createdAt} for each new notification
+@Service
+public class NotificationPushService {
+
+    private static final Logger log = LoggerFactory.getLogger(NotificationPushService.class);
+
+    @Autowired private NotificationRepository notificationRepository;
+    @Autowired(required = false) private MeterRegistry meterRegistry;
+
+    @Value("${app.notifications.sse-timeout-ms:1800000}")
+    private long timeoutMillis;
+
+    @Value("${app.notifications.sse-heartbeat-seconds:25}")
+    private long heartbeatSeconds;
+
+    private final Map<Long, Set<SseEmitter>> emitters = new ConcurrentHashMap<>();
+    private final Map<Long, AtomicLong> unreadCounts = new ConcurrentHashMap<>();
+    private final AtomicLong openStreams = new AtomicLong();
+
+    private ExecutorService sender;
+    private ScheduledExecutorService heartbeat;
+
+    @PostConstruct
+    void init() {
+        sender = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("sse-push-", 0).factory());
+        heartbeat = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("sse-heartbeat").daemon().factory());
+        // Comment lines keep proxies from closing idle streams and surface dead connections
+        heartbeat.scheduleAtFixedRate(this::sendHeartbeats, heartbeatSeconds, heartbeatSeconds, TimeUnit.SECONDS);
+        if (meterRegistry != null) {
+            Gauge.builder("notifications.sse.connections", openStreams, AtomicLong::get).register(meterRegistry);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        heartbeat.shutdownNow();
+        emitters.values().forEach(set -> set.forEach(SseEmitter::complete));
+        sender.shutdown();
+    }
+
+    // --- PUBLIC API ---
+
+    public SseEmitter subscribe(Long userId) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        // Count first: if the user's last other stream closes meanwhile, the count goes with it and reads fall
+        // back to MySQL. The other order could leave a count behind that no stream will ever remove.
+        long unread = counter(userId).get();
+        emitters.compute(userId, (id, set) -> {
+            if (set == null) set = ConcurrentHashMap.newKeySet();
+            set.add(emitter);
+            return set;
+        });
+        openStreams.incrementAndGet();
+        Runnable remove = () -> unsubscribe(userId, emitter);
+        emitter.onCompletion(remove);
+        emitter.onTimeout(remove);
+        emitter.onError(e -> remove.run());
+
+        sender.execute(() -> send(userId, emitter, SseEmitter.event().name("unread").data(unread)));
+        return emitter;
+    }
+
+    public long getUnreadCount(Long userId) {
+        AtomicLong count = unreadCounts.get(userId);
+        return count != null ? count.get() : notificationRepository.countByUserIdAndIsReadFalse(userId);
+    }
+
+    // One notification was flipped from unread to read
+    public void markedRead(Long userId) {
+        AtomicLong count = unreadCounts.get(userId);
+        if (count != null) count.updateAndGet(c -> Math.max(0, c - 1));
+        pushUnread(userId);
+    }
+
+    // All of the user's notifications are read now
+    public void markedAllRead(Long userId) {
+        AtomicLong count = unreadCounts.get(userId);
+        if (count != null) count.set(0);
+        pushUnread(userId);
+    }
+
+    // Runs after the rows are committed (or straight away when written outside a transaction)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onNotificationsWritten(NotificationsWrittenEvent event) {
+        Map<Long, List<PendingNotification>> byUser = event.notifications().stream()
+                .collect(Collectors.groupingBy(PendingNotification::userId));
+        byUser.forEach((userId, list) -> {
+            AtomicLong count = unreadCounts.get(userId);
+            if (count != null) count.addAndGet(list.size()); // Not tracked: the next read counts them
+            Set<SseEmitter> targets = emitters.get(userId);
+            if (targets == null || targets.isEmpty()) return;
+
+            long unread = getUnreadCount(userId);
+            for (SseEmitter emitter : targets) {
+                sender.execute(() -> {
+                    for (PendingNotification n : list) {
+                        if (!send(userId, emitter, SseEmitter.event().name("notification").data(payload(n)))) return;
+                    }
+                    send(userId, emitter, SseEmitter.event().name("unread").data(unread));
+                });
+            }
+        });
+    }
+
+    public int getConnectionCount() {
+        return (int) openStreams.get();
+    }
+
+    // --- INTERNALS ---
+
+    private AtomicLong counter(Long userId) {
+        return unreadCounts.computeIfAbsent(userId,
+                id -> new AtomicLong(notificationRepository.countByUserIdAndIsReadFalse(id)));
+    }
+
+    private void pushUnread(Long userId) {
+        Set<SseEmitter> targets = emitters.get(userId);
+        if (targets == null || targets.isEmpty()) return;
+        long unread = getUnreadCount(userId);
+        for (SseEmitter emitter : targets) {
+            sender.execute(() -> send(userId, emitter, SseEmitter.event().name("unread").data(unread)));
+        }
+    }
+
+    private void sendHeartbeats() {
+        emitters.forEach((userId, targets) -> {
+            for (SseEmitter emitter : targets) {
+                sender.execute(() -> send(userId, emitter, SseEmitter.event().comment("ping")));
+            }
+        });
+    }
+
+    // Returns false (and drops the stream) if the client has gone away
+    private boolean send(Long userId, SseEmitter emitter, SseEmitter.SseEventBuilder event) {
+        try {
+            emitter.send(event);
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Dropping notification stream of user {}: {}", userId, e.getMessage());
+            unsubscribe(userId, emitter);
+            emitter.completeWithError(e);
+            return false;
+        }
+    }
+
+    // The last stream of a user takes their unread count with it (under the same lock as subscribe)
+    private void unsubscribe(Long userId, SseEmitter emitter) {
+        emitters.computeIfPresent(userId, (id, set) -> {
+            if (set.remove(emitter)) openStreams.decrementAndGet();
+            if (!set.isEmpty()) return set;
+            unreadCounts.remove(id);
+            return null;
+        });
+    }
+
+    private static Map<String, Object> payload(PendingNotification n) {
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("message", n.message());
+        data.put("type", n.type());
+        data.put("relatedComplaintId", n.complaintId());
+        data.put("createdAt", n.createdAt());
+        return data;
+    }
+}
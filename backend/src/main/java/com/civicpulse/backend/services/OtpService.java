@@ -2,50 +2,224 @@
 package com.civicpulse.backend.services;
 
 
-// import org.springframework.beans.factory.annotation.Autowired; - needed for actual mail feature
 // import org.springframework.mail.SimpleMailMessage; - Essential While Sending the actual mail otps since we are using console otps
 // import org.springframework.mail.javamail.JavaMailSender; - Essential for Actual OTPs
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
 import java.util.Map;
-import java.util.Random;
-import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
 
+// Every OTP lives exactly app.otp.ttl-seconds. All codes share one TTL, so insertion order IS expiry order:
+// the LinkedHashMap doubles as the expiry queue, and expired codes are popped off its head (on every call and
+// by a 1 s sweep) - O(1) per code, instead of an hourly clear() that also wiped codes sent a second earlier.
+// The store is capped (app.otp.max-entries): when full, the oldest code is evicted, so a send-otp flood costs
+// bounded memory. A code allows app.otp.max-attempts wrong guesses, then it is burned.
+// Verified emails (between verify-otp and signup / reset) are kept the same way with their own TTL.
+// Sending is limited per email and per client IP (token buckets, see RateLimiter) plus a resend cooldown.
 @Service
 public class OtpService {
 
+    private static final Logger log = LoggerFactory.getLogger(OtpService.class);
+
+    public enum SendDecision { ALLOWED, COOLDOWN, EMAIL_LIMITED, IP_LIMITED }
+
+    private static final class Otp {
+        final byte[] code;
+        final long issuedAt;
+        final long expiresAt;
+        int failures;
+
+        Otp(byte[] code, long issuedAt, long expiresAt) {
+            this.code = code;
+            this.issuedAt = issuedAt;
+            this.expiresAt = expiresAt;
+        }
+    }
+
     // @Autowired -- needed for actual mail feature
     // private JavaMailSender mailSender; - Essential for Actual OTPs
 
-    // Stores: "user@email.com" -> "123456"
-    private final Map<String, String> otpStorage = new ConcurrentHashMap<>();
-    
-    // Stores: "user@email.com" -> true (only if verified)
-    private final Set<String> verifiedEmails = ConcurrentHashMap.newKeySet();
+    @Autowired private Clock clock;
+    @Autowired(required = false) private MeterRegistry meterRegistry;
+
+    @Value("${app.otp.ttl-seconds:300}")
+    private long ttlSeconds;
+
+    @Value("${app.otp.verified-ttl-seconds:900}")
+    private long verifiedTtlSeconds;
+
+    @Value("${app.otp.max-entries:100000}")
+    private int maxEntries;
+
+    @Value("${app.otp.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${app.otp.resend-cooldown-seconds:30}")
+    private long resendCooldownSeconds;
+
+    @Value("${app.otp.email-limit-per-hour:5}")
+    private int emailLimitPerHour;
+
+    @Value("${app.otp.ip-limit-per-hour:30}")
+    private int ipLimitPerHour;
+
+    // One shared generator (thread-safe), not a new Random per code
+    private final SecureRandom random = new SecureRandom();
+
+    // Stores: "user@email.com" -> code, oldest first (guarded by this)
+    private final LinkedHashMap<String, Otp> otpStorage = new LinkedHashMap<>();
+
+    // Stores: "user@email.com" -> verified until (epoch millis), oldest first (guarded by this)
+    private final LinkedHashMap<String, Long> verifiedEmails = new LinkedHashMap<>();
+
+    private RateLimiter emailLimiter;
+    private RateLimiter ipLimiter;
+
+    private Counter expired;
+    private Counter evicted;
+    private Counter burned;
+    private Counter rateLimited;
+
+    @PostConstruct
+    void init() {
+        emailLimiter = new RateLimiter(emailLimitPerHour, 3_600_000, maxEntries, clock);
+        ipLimiter = new RateLimiter(ipLimitPerHour, 3_600_000, maxEntries, clock);
+        if (meterRegistry != null) {
+            Gauge.builder("otp.store.size", this, OtpService::getStoreSize).register(meterRegistry);
+            Gauge.builder("otp.verified.size", this, OtpService::getVerifiedCount).register(meterRegistry);
+            expired = Counter.builder("otp.expired").register(meterRegistry);
+            evicted = Counter.builder("otp.evicted").register(meterRegistry);
+            burned = Counter.builder("otp.burned").register(meterRegistry);
+            rateLimited = Counter.builder("otp.send.rate.limited").register(meterRegistry);
+        }
+    }
+
+    // Call before generateAndSendOtp. Counts against the limits even if the send is then refused for
+    // another reason (unknown email, ...), so probing emails is limited too. clientIp may be null.
+    public SendDecision checkSend(String email, String clientIp) {
+        SendDecision decision = decide(key(email), clientIp);
+        if (decision != SendDecision.ALLOWED && rateLimited != null) rateLimited.increment();
+        return decision;
+    }
 
     public void generateAndSendOtp(String email) {
-        String otp = String.format("%06d", new Random().nextInt(999999));
-        otpStorage.put(email, otp);
-        verifiedEmails.remove(email); // Reset verification if they request a new one
+        String otp = String.format("%06d", random.nextInt(1_000_000));
+        String key = key(email);
+        long now = clock.millis();
+        synchronized (this) {
+            expire(now);
+            otpStorage.remove(key); // Re-insert: a new code goes to the back of the expiry order
+            otpStorage.put(key, new Otp(otp.getBytes(StandardCharsets.US_ASCII), now, now + ttlSeconds * 1000));
+            verifiedEmails.remove(key); // Reset verification if they request a new one
+            evictOverflow(otpStorage);
+        }
         sendEmail(email, otp);
     }
 
     public boolean verifyOtp(String email, String inputOtp) {
-        if (otpStorage.containsKey(email) && otpStorage.get(email).equals(inputOtp)) {
-            otpStorage.remove(email); // Delete used OTP
-            verifiedEmails.add(email); // Mark as verified
-            return true;
+        if (email == null || inputOtp == null) return false;
+        String key = key(email);
+        long now = clock.millis();
+        synchronized (this) {
+            expire(now);
+            Otp otp = otpStorage.get(key);
+            if (otp == null) return false;
+
+            // Constant-time compare: response time does not leak how many leading digits were right
+            if (MessageDigest.isEqual(otp.code, inputOtp.strip().getBytes(StandardCharsets.US_ASCII))) {
+                otpStorage.remove(key); // Delete used OTP
+                verifiedEmails.remove(key);
+                verifiedEmails.put(key, now + verifiedTtlSeconds * 1000); // Mark as verified
+                evictOverflow(verifiedEmails);
+                return true;
+            }
+            if (++otp.failures >= maxAttempts) {
+                otpStorage.remove(key); // Too many guesses: the user has to request a new code
+                if (burned != null) burned.increment();
+            }
+            return false;
         }
-        return false;
     }
 
-    public boolean isEmailVerified(String email) {
-        return verifiedEmails.contains(email);
+    public synchronized boolean isEmailVerified(String email) {
+        if (email == null) return false;
+        expire(clock.millis());
+        return verifiedEmails.containsKey(key(email));
+    }
+
+    public synchronized void clearVerification(String email) {
+        if (email != null) verifiedEmails.remove(key(email));
+    }
+
+    // Codes normally expire on the next call; the sweep frees memory when nobody is calling
+    @Scheduled(fixedDelayString = "${app.otp.sweep-ms:1000}")
+    public synchronized void sweep() {
+        expire(clock.millis());
     }
-    
-    public void clearVerification(String email) {
-        verifiedEmails.remove(email);
+
+    public synchronized int getStoreSize() {
+        return otpStorage.size();
+    }
+
+    public synchronized int getVerifiedCount() {
+        return verifiedEmails.size();
+    }
+
+    // --- INTERNALS ---
+
+    private static String key(String email) {
+        return email == null ? "" : email.strip().toLowerCase(Locale.ROOT);
+    }
+
+    private SendDecision decide(String key, String clientIp) {
+        synchronized (this) {
+            Otp current = otpStorage.get(key);
+            if (current != null && clock.millis() - current.issuedAt < resendCooldownSeconds * 1000) {
+                return SendDecision.COOLDOWN;
+            }
+        }
+        if (clientIp != null && !ipLimiter.tryAcquire(clientIp)) return SendDecision.IP_LIMITED;
+        if (!emailLimiter.tryAcquire(key)) return SendDecision.EMAIL_LIMITED;
+        return SendDecision.ALLOWED;
+    }
+
+    // Pops expired entries off the head of both maps; stops at the first live one
+    private void expire(long now) {
+        int count = 0;
+        for (Iterator<Otp> it = otpStorage.values().iterator(); it.hasNext(); ) {
+            if (it.next().expiresAt > now) break;
+            it.remove();
+            count++;
+        }
+        for (Iterator<Long> it = verifiedEmails.values().iterator(); it.hasNext(); ) {
+            if (it.next() > now) break;
+            it.remove();
+        }
+        if (count > 0 && expired != null) expired.increment(count);
+    }
+
+    private void evictOverflow(LinkedHashMap<String, ?> map) {
+        Iterator<? extends Map.Entry<String, ?>> it = map.entrySet().iterator();
+        while (map.size() > maxEntries && it.hasNext()) {
+            it.next();
+            it.remove();
+            if (evicted != null) evicted.increment();
+        }
     }
 
     //Actual Sending Logic
@@ -59,19 +233,11 @@ public class OtpService {
 
     //For Development Phase
     private void sendEmail(String to, String otp) {
-        // --- DEV MODE: PRINT TO CONSOLE ---
-        System.out.println("========================================");
-        System.out.println(" DEVELOPMENT OTP FOR " + to + ": " + otp);
-        System.out.println("========================================");
+        // --- DEV MODE: WRITE TO THE LOG ---
+        log.info("Development OTP for {}: {}", to, otp);
         // ----------------------------------
 
         // You can comment out the real email sending to save quota:
-        // javaMailSender.send(message); 
-    }
-    // Optional: Clean up memory every hour
-    @Scheduled(fixedRate = 3600000)
-    public void cleanup() {
-        otpStorage.clear();
-        verifiedEmails.clear();
+        // javaMailSender.send(message);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,126 @@
+package com.civicpulse.backend.services;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+// Bounded cache of authenticated principals, keyed by email.
+// JwtAuthenticationFilter reads from here so a valid token does not cost a users-table lookup on every request.
+// Entries expire after a fixed TTL and the least recently used entry is dropped once the cache is full.
+@Service
+public class PrincipalCache {
+
+    @Value("${app.auth.principal-cache.ttl-seconds:300}")
+    private long ttlSeconds;
+
+    @Value("${app.auth.principal-cache.max-entries:10000}")
+    private int maxEntries;
+
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    // Access-ordered, so the eldest entry is always the least recently used one. Guarded by "this".
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+            if (size() > maxEntries) {
+                evictions.increment();
+                return true;
+            }
+            return false;
+        }
+    };
+
+    private record Entry(UserDetails principal, long expiresAt) { }
+
+    // A load that overlaps an invalidation of its key must not cache what it read: it may predate the change.
+    // Every invalidation takes the next generation; loads in flight per key, and the generation at which each
+    // such key was last invalidated, are tracked only while a load is running. All guarded by "this".
+    private long generation;
+    private long clearedAt;
+    private final Map<String, Integer> loading = new HashMap<>();
+    private final Map<String, Long> invalidatedAt = new HashMap<>();
+
+    @PostConstruct
+    void registerMetrics() {
+        if (meterRegistry == null) return;
+        FunctionCounter.builder("auth.principal.cache.hits", hits, LongAdder::doubleValue).register(meterRegistry);
+        FunctionCounter.builder("auth.principal.cache.misses", misses, LongAdder::doubleValue).register(meterRegistry);
+        FunctionCounter.builder("auth.principal.cache.evictions", evictions, LongAdder::doubleValue).register(meterRegistry);
+        Gauge.builder("auth.principal.cache.size", this, PrincipalCache::size).register(meterRegistry);
+    }
+
+    // Returns the cached principal, or runs the loader (outside the lock) and caches its result, unless the
+    // email was invalidated while the loader ran.
+    public UserDetails get(String email, Function<String, UserDetails> loader) {
+        long now = System.currentTimeMillis();
+        long loadedAt;
+        synchronized (this) {
+            Entry entry = entries.get(email);
+            if (entry != null) {
+                if (entry.expiresAt() > now) {
+                    hits.increment();
+                    return entry.principal();
+                }
+                entries.remove(email);
+                evictions.increment();
+            }
+            loadedAt = generation;
+            loading.merge(email, 1, Integer::sum);
+        }
+        misses.increment();
+        UserDetails principal = null;
+        boolean loaded = false;
+        try {
+            principal = loader.apply(email); // May throw UsernameNotFoundException, which is never cached
+            loaded = true;
+        } finally {
+            synchronized (this) {
+                long invalidated = Math.max(clearedAt, invalidatedAt.getOrDefault(email, 0L));
+                if (loaded && invalidated <= loadedAt) {
+                    entries.put(email, new Entry(principal, now + ttlSeconds * 1000));
+                }
+                if (loading.merge(email, -1, Integer::sum) == 0) {
+                    loading.remove(email);
+                    invalidatedAt.remove(email);
+                }
+            }
+        }
+        return principal;
+    }
+
+    // Call whenever a user's password, role or enabled flag changes
+    public synchronized void invalidate(String email) {
+        entries.remove(email);
+        generation++;
+        if (loading.containsKey(email)) invalidatedAt.put(email, generation);
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        clearedAt = ++generation;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public long getHitCount() { return hits.sum(); }
+    public long getMissCount() { return misses.sum(); }
+    public long getEvictionCount() { return evictions.sum(); }
+}
@@ -0,0 +1,55 @@
+package com.civicpulse.backend.services;
+
+import java.time.Clock;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Token bucket per key (an email, a client IP): up to `capacity` requests at once, refilled continuously
+// at `capacity` tokens per window. At most maxKeys buckets are kept (least recently used dropped first);
+// a dropped key simply starts again with a full bucket. Not a bean: each user owns its limiters.
+public class RateLimiter {
+
+    private static final class Bucket {
+        double tokens;
+        long updatedAt;
+    }
+
+    private final int capacity;
+    private final double tokensPerMilli;
+    private final Clock clock;
+    private final LinkedHashMap<String, Bucket> buckets;
+
+    public RateLimiter(int capacity, long windowMillis, int maxKeys, Clock clock) {
+        this.capacity = capacity;
+        this.tokensPerMilli = capacity / (double) windowMillis;
+        this.clock = clock;
+        this.buckets = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Bucket> eldest) {
+                return size() > maxKeys;
+            }
+        };
+    }
+
+    // Takes one token for the key; false if its bucket is empty
+    public synchronized boolean tryAcquire(String key) {
+        long now = clock.millis();
+        Bucket bucket = buckets.get(key);
+        if (bucket == null) {
+            bucket = new Bucket();
+            bucket.tokens = capacity;
+            bucket.updatedAt = now;
+            buckets.put(key, bucket);
+        } else {
+            bucket.tokens = Math.min(capacity, bucket.tokens + (now - bucket.updatedAt) * tokensPerMilli);
+            bucket.updatedAt = now;
+        }
+        if (bucket.tokens < 1) return false;
+        bucket.tokens -= 1;
+        return true;
+    }
+
+    public synchronized int size() {
+        return buckets.size();
+    }
+}
@@ -0,0 +1,136 @@
+package com.civicpulse.backend.services;
+
+import com.civicpulse.backend.dto.MetricsView;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+// Complaint counters and resolution-time histogram for one officer / category / ward, over a sliding window.
+// Time is cut into hourly buckets kept in a ring of WINDOW_HOURS slots; a bucket is reused (reset) once its
+// hour falls out of the window. Resolution times go into a log-scale histogram (4 bins per doubling,
+// 1 minute .. ~45 days), so mean and percentiles for any window are computed from at most
+// WINDOW_HOURS x BINS numbers, however many complaints were recorded.
+// All methods are synchronized: updates are a few array writes, contention is negligible.
+class RollingAggregate {
+
+    static final int WINDOW_HOURS = 7 * 24;
+    static final int BINS = 64;
+    private static final int BINS_PER_DOUBLING = 4;
+
+    private static final class Bucket {
+        long hour = Long.MIN_VALUE;
+        long created;
+        long assigned;
+        long resolved;
+        long reopened;
+        long rejected;
+        long slaBreaches;
+        long resolutionMinutesSum;
+        long[] histogram; // Allocated on first resolution in this hour
+
+        void reset(long newHour) {
+            hour = newHour;
+            created = assigned = resolved = reopened = rejected = slaBreaches = resolutionMinutesSum = 0;
+            if (histogram != null) Arrays.fill(histogram, 0);
+        }
+    }
+
+    private final Bucket[] ring = new Bucket[WINDOW_HOURS];
+    private long open;
+
+    // --- UPDATES (timestamps in epoch millis) ---
+
+    synchronized void created(long at) { bucket(at).created++; }
+
+    synchronized void assigned(long at) { bucket(at).assigned++; }
+
+    synchronized void reopened(long at) { bucket(at).reopened++; }
+
+    synchronized void rejected(long at) { bucket(at).rejected++; }
+
+    synchronized void slaBreached(long at) { bucket(at).slaBreaches++; }
+
+    synchronized void resolved(long at, long resolutionMillis) {
+        Bucket b = bucket(at);
+        long minutes = Math.max(0, TimeUnit.MILLISECONDS.toMinutes(resolutionMillis));
+        b.resolved++;
+        b.resolutionMinutesSum += minutes;
+        if (b.histogram == null) b.histogram = new long[BINS];
+        b.histogram[bin(minutes)]++;
+    }
+
+    synchronized void openDelta(int delta) { open = Math.max(0, open + delta); }
+
+    synchronized long open() { return open; }
+
+    // --- QUERY ---
+
+    synchronized MetricsView view(String dimension, String key, long now, int windowHours) {
+        int hours = Math.max(1, Math.min(windowHours, WINDOW_HOURS));
+        long currentHour = hourOf(now);
+        long created = 0, assigned = 0, resolved = 0, reopened = 0, rejected = 0, breaches = 0, minutesSum = 0;
+        long[] histogram = new long[BINS];
+        for (Bucket b : ring) {
+            if (b == null || b.hour <= currentHour - hours || b.hour > currentHour) continue;
+            created += b.created;
+            assigned += b.assigned;
+            resolved += b.resolved;
+            reopened += b.reopened;
+            rejected += b.rejected;
+            breaches += b.slaBreaches;
+            minutesSum += b.resolutionMinutesSum;
+            if (b.histogram != null) {
+                for (int i = 0; i < BINS; i++) histogram[i] += b.histogram[i];
+            }
+        }
+        Double mean = resolved == 0 ? null : (double) minutesSum / resolved;
+        return new MetricsView(dimension, key, hours, open, created, assigned, resolved, reopened, rejected, breaches,
+                mean, percentile(histogram, resolved, 0.5), percentile(histogram, resolved, 0.9));
+    }
+
+    // --- INTERNALS ---
+
+    private Bucket bucket(long at) {
+        long hour = hourOf(at);
+        int slot = (int) Math.floorMod(hour, (long) WINDOW_HOURS);
+        Bucket b = ring[slot];
+        if (b == null) {
+            b = new Bucket();
+            ring[slot] = b;
+        }
+        if (b.hour != hour) {
+            if (hour < b.hour) {
+                // Event older than what this slot holds now (outside the window): count it nowhere
+                return new Bucket();
+            }
+            b.reset(hour);
+        }
+        return b;
+    }
+
+    private static long hourOf(long millis) {
+        return Math.floorDiv(millis, TimeUnit.HOURS.toMillis(1));
+    }
+
+    // Bin i holds minutes in (2^((i-1)/4), 2^(i/4)]; bin 0 holds everything up to a minute
+    static int bin(long minutes) {
+        if (minutes <= 1) return 0;
+        int b = (int) Math.ceil(Math.log(minutes) / Math.log(2) * BINS_PER_DOUBLING);
+        return Math.min(BINS - 1, b);
+    }
+
+    static double binUpperBound(int bin) {
+        return Math.pow(2, (double) bin / BINS_PER_DOUBLING);
+    }
+
+    private static Double percentile(long[] histogram, long total, double q) {
+        if (total == 0) return null;
+        long rank = (long) Math.ceil(q * total);
+        long seen = 0;
+        for (int i = 0; i < BINS; i++) {
+            seen += histogram[i];
+            if (seen >= rank) return binUpperBound(i);
+        }
+        return binUpperBound(BINS - 1);
+    }
+}
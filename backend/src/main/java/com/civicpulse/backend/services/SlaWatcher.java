@@ -0,0 +1,238 @@
+package com.civicpulse.backend.services;
+
+import com.civicpulse.backend.dto.SlaBreach;
+import com.civicpulse.backend.dto.SlaDeadline;
+import com.civicpulse.backend.event.ComplaintChangedEvent;
+import com.civicpulse.backend.event.ComplaintsAssignedEvent;
+import com.civicpulse.backend.event.SlaBreachedEvent;
+import com.civicpulse.backend.repository.ComplaintRepository;
+import com.civicpulse.backend.services.NotificationDispatcher.PendingNotification;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+// Enforces the 24hr SLA on IN_PROGRESS complaints (deadline = assignedAt + 24h).
+// Deadlines sit in a min-heap ordered by due time, so a tick only looks at the head: when nothing is due it
+// costs one peek whatever the number of open tickets, and each due ticket costs O(log n) to pop.
+// The heap is loaded once at startup from an indexed query and then follows ComplaintsAssignedEvent /
+// ComplaintChangedEvent. Cancelled or moved deadlines are not searched for in the heap: "deadlines" holds
+// the current one per complaint and stale heap entries are skipped when they surface.
+//
+// On a breach the complaint is stamped (sla_breached_at), its priority raised one level, a history row is
+// written and the officer and admins are alerted. The UPDATE only matches tickets still IN_PROGRESS and not
+// yet escalated, so a ticket is escalated once even across restarts; re-assignment starts a new SLA.
+@Service
+public class SlaWatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(SlaWatcher.class);
+
+    private static final String INSERT_HISTORY_SQL =
+            "INSERT INTO complaint_history (complaint_id, action_by_user_id, action_type, details, timestamp) "
+            + "VALUES (?, NULL, 'SLA_BREACHED', ?, ?)";
+
+    public static final long SLA_MILLIS = TimeUnit.HOURS.toMillis(24);
+
+    // MySQL DATETIME keeps whole seconds (and rounds): the stored assigned_at may be up to a second later
+    private static final long STORAGE_SLACK_MILLIS = 1000;
+    private static final long RETRY_DELAY_MILLIS = TimeUnit.MINUTES.toMillis(1);
+
+    record Deadline(long dueAt, Integer complaintId) { }
+
+    @Autowired private ComplaintRepository complaintRepository;
+    @Autowired private NotificationDispatcher notificationDispatcher;
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private PlatformTransactionManager transactionManager;
+    @Autowired private ApplicationEventPublisher eventPublisher;
+    @Autowired private Clock clock;
+    @Autowired(required = false) private MeterRegistry meterRegistry;
+
+    // Upper bound of escalations per tick (a backlog after downtime drains over several ticks)
+    @Value("${app.sla.max-per-tick:500}")
+    private int maxPerTick;
+
+    private final PriorityQueue<Deadline> heap = new PriorityQueue<>(Comparator.comparingLong(Deadline::dueAt));
+    private final Map<Integer, Long> deadlines = new HashMap<>();
+    // Complaints assigned or closed while a rebuild was reading; re-read once the loaded deadlines are in place
+    private volatile Set<Integer> changedDuringRebuild;
+
+    private Counter breaches;
+
+    @PostConstruct
+    void init() {
+        if (meterRegistry != null) {
+            Gauge.builder("sla.watcher.pending", this, SlaWatcher::getPendingCount).register(meterRegistry);
+            breaches = Counter.builder("sla.breaches").register(meterRegistry);
+        }
+    }
+
+    // --- REBUILD ---
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        changedDuringRebuild = ConcurrentHashMap.newKeySet();
+        List<SlaDeadline> rows = complaintRepository.findSlaDeadlines();
+        synchronized (this) {
+            heap.clear();
+            deadlines.clear();
+            for (SlaDeadline row : rows) {
+                schedule(row.id(), row.assignedAt().getTime() + SLA_MILLIS);
+            }
+        }
+        Set<Integer> changed = changedDuringRebuild;
+        changedDuringRebuild = null;
+        if (!changed.isEmpty()) {
+            // Their events may have been wiped by the clear above or overtaken by a stale row: re-read them
+            List<SlaDeadline> current = complaintRepository.findSlaDeadlinesByIdIn(changed);
+            synchronized (this) {
+                changed.forEach(this::cancel);
+                for (SlaDeadline row : current) {
+                    schedule(row.id(), row.assignedAt().getTime() + SLA_MILLIS);
+                }
+            }
+        }
+        log.info("SLA watcher loaded {} deadlines in {} ms", rows.size(), System.currentTimeMillis() - start);
+    }
+
+    // --- DEADLINE UPDATES ---
+
+    @EventListener
+    public void onComplaintsAssigned(ComplaintsAssignedEvent event) {
+        Set<Integer> changed = changedDuringRebuild;
+        if (changed != null) changed.addAll(event.complaintIds());
+        long assignedAt = event.assignedAt() == null ? clock.millis() : event.assignedAt().getTime();
+        synchronized (this) {
+            for (Integer id : event.complaintIds()) {
+                schedule(id, assignedAt + SLA_MILLIS);
+            }
+        }
+    }
+
+    @EventListener
+    public void onComplaintChanged(ComplaintChangedEvent event) {
+        Integer id = event.complaint().getId();
+        if (id == null) return;
+        switch (event.action()) {
+            // No longer IN_PROGRESS: nothing left to enforce
+            case "RESOLVED", "REJECTED", "REOPENED", "DUPLICATE" -> {
+                Set<Integer> changed = changedDuringRebuild;
+                if (changed != null) changed.add(id);
+                cancel(id);
+            }
+            default -> { }
+        }
+    }
+
+    synchronized void schedule(Integer complaintId, long dueAt) {
+        deadlines.put(complaintId, dueAt);
+        heap.add(new Deadline(dueAt, complaintId));
+        // Many re-assignments / resolutions leave dead entries behind; drop them before they dominate the heap
+        if (heap.size() > 2 * deadlines.size() + 1024) compact();
+    }
+
+    synchronized void cancel(Integer complaintId) {
+        deadlines.remove(complaintId);
+    }
+
+    // Removes and returns up to max complaints whose deadline is at or before now, earliest first
+    synchronized List<Integer> pollDue(long now, int max) {
+        List<Integer> due = new ArrayList<>();
+        Deadline head;
+        while (due.size() < max && (head = heap.peek()) != null && head.dueAt() <= now) {
+            heap.poll();
+            Long current = deadlines.get(head.complaintId());
+            if (current != null && current == head.dueAt()) {
+                deadlines.remove(head.complaintId());
+                due.add(head.complaintId());
+            }
+        }
+        return due;
+    }
+
+    public synchronized int getPendingCount() {
+        return deadlines.size();
+    }
+
+    // --- ESCALATION ---
+
+    @Scheduled(fixedDelayString = "${app.sla.tick-ms:1000}")
+    public void tick() {
+        long now = clock.millis();
+        List<Integer> due = pollDue(now, maxPerTick);
+        if (due.isEmpty()) return;
+        try {
+            escalate(due, now);
+        } catch (RuntimeException e) {
+            log.error("Failed to escalate {} complaints past their SLA, retrying in a minute", due.size(), e);
+            synchronized (this) {
+                for (Integer id : due) schedule(id, now + RETRY_DELAY_MILLIS);
+            }
+        }
+    }
+
+    private void escalate(List<Integer> ids, long now) {
+        // Whole seconds, so the re-select by sla_breached_at matches what MySQL stored
+        Date breachedAt = new Date(now - now % 1000);
+        Date assignedBefore = new Date(now - SLA_MILLIS + STORAGE_SLACK_MILLIS);
+        Timestamp ts = new Timestamp(breachedAt.getTime());
+
+        List<SlaBreach> escalated = new TransactionTemplate(transactionManager).execute(status -> {
+            if (complaintRepository.markSlaBreached(ids, assignedBefore, breachedAt) == 0) return List.of();
+            List<SlaBreach> rows = complaintRepository.findSlaBreaches(ids, breachedAt);
+            jdbcTemplate.batchUpdate(INSERT_HISTORY_SQL, rows, rows.size(), (ps, b) -> {
+                ps.setInt(1, b.id());
+                ps.setString(2, "SLA of 24 hours breached. Priority raised to " + b.priority() + ".");
+                ps.setTimestamp(3, ts);
+            });
+            notificationDispatcher.writeNow(rows.stream()
+                    .filter(b -> b.assignedTo() != null)
+                    .map(b -> new PendingNotification(b.assignedTo(),
+                            "⏰ SLA breached: " + b.title() + " is overdue (priority " + b.priority() + ")", "ALERT", b.id(), ts))
+                    .toList());
+            return rows;
+        });
+        if (escalated == null || escalated.isEmpty()) return;
+
+        for (SlaBreach b : escalated) {
+            notificationDispatcher.notifyAdmins("⏰ Ticket #" + b.id() + " breached its 24hr SLA. Escalated to "
+                    + b.priority() + ".", "ALERT", b.id());
+        }
+        List<Integer> escalatedIds = escalated.stream().map(SlaBreach::id).toList();
+        eventPublisher.publishEvent(new SlaBreachedEvent(escalatedIds, breachedAt));
+        if (breaches != null) breaches.increment(escalatedIds.size());
+        log.info("Escalated {} complaints past their SLA", escalatedIds.size());
+    }
+
+    // --- INTERNALS ---
+
+    private void compact() {
+        heap.clear();
+        deadlines.forEach((id, dueAt) -> heap.add(new Deadline(dueAt, id)));
+    }
+}
@@ -0,0 +1,55 @@
+package com.civicpulse.backend.services;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Single-use tickets for opening the notification stream. EventSource cannot send an Authorization header,
+// and a JWT in the query string would be written to access logs, proxy logs and browser history, where it
+// stays valid for a day. A ticket is issued to an already authenticated user (POST), lives
+// app.notifications.stream-ticket-seconds, and is spent by the first request that presents it.
+@Service
+public class StreamTicketService {
+
+    private record Ticket(String email, long expiresAt) { }
+
+    @Autowired private Clock clock;
+
+    @Value("${app.notifications.stream-ticket-seconds:30}")
+    private long ttlSeconds;
+
+    private final SecureRandom random = new SecureRandom();
+    private final Map<String, Ticket> tickets = new ConcurrentHashMap<>();
+
+    public String issue(String email) {
+        byte[] bytes = new byte[32];
+        random.nextBytes(bytes);
+        String ticket = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        tickets.put(ticket, new Ticket(email, clock.millis() + ttlSeconds * 1000));
+        return ticket;
+    }
+
+    // The email the ticket was issued to; null if it is unknown, expired or already used
+    public String redeem(String ticket) {
+        Ticket t = tickets.remove(ticket);
+        return t != null && clock.millis() < t.expiresAt() ? t.email() : null;
+    }
+
+    // Tickets that were never used
+    @Scheduled(fixedDelayString = "${app.notifications.stream-ticket-sweep-ms:60000}")
+    public void sweep() {
+        long now = clock.millis();
+        tickets.values().removeIf(t -> now >= t.expiresAt());
+    }
+
+    public int size() {
+        return tickets.size();
+    }
+}
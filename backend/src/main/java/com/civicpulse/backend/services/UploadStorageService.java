@@ -0,0 +1,212 @@
+package com.civicpulse.backend.services;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+// Stores complaint images and resolution proofs under the uploads directory.
+// The upload is streamed to disk through a fixed-size buffer (never held whole in heap) while its SHA-256
+// is computed on the fly. The file is then named after that hash, so the same photo uploaded twice is kept once.
+// Stored names never change content, which is what lets the media endpoint cache them forever.
+@Service
+public class UploadStorageService {
+
+    private static final Logger log = LoggerFactory.getLogger(UploadStorageService.class);
+
+    // Thrown before anything is buffered when an upload exceeds app.uploads.max-bytes
+    public static class UploadTooLargeException extends IOException {
+        public UploadTooLargeException(long limit) {
+            super("File is too large. Maximum allowed size is " + (limit / (1024 * 1024)) + " MB.");
+        }
+    }
+
+    // A stored upload; created is false when the same content was already on disk (and may be in use elsewhere)
+    public record Stored(String fileName, boolean created) { }
+
+    @Value("${app.uploads.dir:uploads}")
+    private String uploadDir;
+
+    @Value("${app.uploads.max-bytes:10485760}")
+    private long maxBytes;
+
+    @Value("${app.uploads.buffer-bytes:65536}")
+    private int bufferBytes;
+
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry;
+
+    // Hashes of legacy (non content-addressed) files, LRU-bounded. Guarded by itself.
+    private final Map<String, String> legacyHashes = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+            return size() > 10_000;
+        }
+    };
+
+    private Path root;
+    private Path tempDir;
+    private Counter receivedBytes;
+    private Counter storedBytes;
+    private Counter deduplicated;
+
+    @PostConstruct
+    void init() throws IOException {
+        root = Paths.get(uploadDir).toAbsolutePath().normalize();
+        tempDir = root.resolve(".tmp");
+        Files.createDirectories(tempDir);
+        if (meterRegistry != null) {
+            // Received counts every upload, stored only new content: rate() of either gives bytes/sec
+            receivedBytes = Counter.builder("uploads.received.bytes").baseUnit("bytes").register(meterRegistry);
+            storedBytes = Counter.builder("uploads.stored.bytes").baseUnit("bytes").register(meterRegistry);
+            deduplicated = Counter.builder("uploads.deduplicated").register(meterRegistry);
+        }
+    }
+
+    public Path getRoot() {
+        return root;
+    }
+
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    // Resolves a stored file name to its path, refusing anything that would escape the uploads directory
+    public Path resolve(String fileName) {
+        Path path = root.resolve(fileName).normalize();
+        if (!path.getParent().equals(root)) {
+            throw new IllegalArgumentException("Invalid file name: " + fileName);
+        }
+        return path;
+    }
+
+    // SHA-256 (hex) of a stored file's content, used as its strong ETag.
+    // Names produced by store() already carry it; files uploaded before content addressing (UUID names)
+    // are hashed once and remembered, keyed by name + size + mtime.
+    public String contentHash(String fileName) throws IOException {
+        String base = fileName.startsWith("RESOLVED_") ? fileName.substring("RESOLVED_".length()) : fileName;
+        int dot = base.indexOf('.');
+        String stem = dot < 0 ? base : base.substring(0, dot);
+        if (stem.length() == 64 && stem.chars().allMatch(ch -> Character.digit(ch, 16) >= 0)) return stem;
+
+        Path path = resolve(fileName);
+        String key = fileName + ':' + Files.size(path) + ':' + Files.getLastModifiedTime(path).toMillis();
+        synchronized (legacyHashes) {
+            String cached = legacyHashes.get(key);
+            if (cached != null) return cached;
+        }
+        MessageDigest digest = sha256();
+        ByteBuffer buffer = ByteBuffer.allocate(bufferBytes);
+        try (FileChannel in = FileChannel.open(path, StandardOpenOption.READ)) {
+            while (in.read(buffer) != -1) {
+                buffer.flip();
+                digest.update(buffer.array(), 0, buffer.limit());
+                buffer.clear();
+            }
+        }
+        String hash = HexFormat.of().formatHex(digest.digest());
+        synchronized (legacyHashes) {
+            legacyHashes.put(key, hash);
+        }
+        return hash;
+    }
+
+    // Streams the upload to disk and returns the stored file name: prefix + sha256 + extension
+    public String store(MultipartFile file, String prefix) throws IOException {
+        return stage(file, prefix).fileName();
+    }
+
+    // store() for callers that can still fail after the upload is on disk: pass the result to discard() then
+    public Stored stage(MultipartFile file, String prefix) throws IOException {
+        if (file.getSize() > maxBytes) throw new UploadTooLargeException(maxBytes);
+
+        MessageDigest digest = sha256();
+        ByteBuffer buffer = ByteBuffer.allocate(bufferBytes);
+        Path temp = Files.createTempFile(tempDir, "upload-", ".part");
+        try {
+            long total = 0;
+            try (InputStream input = file.getInputStream();
+                 ReadableByteChannel in = Channels.newChannel(input);
+                 FileChannel out = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                while (in.read(buffer) != -1) {
+                    buffer.flip();
+                    total += buffer.remaining();
+                    // The declared size can lie (chunked uploads), so keep enforcing the limit while streaming
+                    if (total > maxBytes) throw new UploadTooLargeException(maxBytes);
+                    digest.update(buffer.array(), 0, buffer.limit());
+                    while (buffer.hasRemaining()) out.write(buffer);
+                    buffer.clear();
+                }
+            }
+            if (receivedBytes != null) receivedBytes.increment(total);
+
+            String fileName = prefix + HexFormat.of().formatHex(digest.digest()) + extensionOf(file.getOriginalFilename());
+            Path target = root.resolve(fileName);
+            if (Files.exists(target)) {
+                if (deduplicated != null) deduplicated.increment();
+                return new Stored(fileName, false); // Same content already stored
+            }
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+            if (storedBytes != null) storedBytes.increment(total);
+            return new Stored(fileName, true);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    // Deletes a staged upload nothing will point to, unless the content was already stored before it
+    public void discard(Stored stored) {
+        if (!stored.created()) return;
+        try {
+            Files.deleteIfExists(resolve(stored.fileName()));
+        } catch (IOException e) {
+            log.warn("Could not delete unused upload {}", stored.fileName(), e);
+        }
+    }
+
+    // Keeps a short alphanumeric extension from the client's file name; everything else about it is discarded
+    private static String extensionOf(String originalName) {
+        if (originalName == null) return "";
+        int dot = originalName.lastIndexOf('.');
+        if (dot < 0 || dot == originalName.length() - 1) return "";
+        String ext = originalName.substring(dot + 1).toLowerCase(Locale.ROOT);
+        if (ext.length() > 8 || !ext.chars().allMatch(Character::isLetterOrDigit)) return "";
+        return "." + ext;
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
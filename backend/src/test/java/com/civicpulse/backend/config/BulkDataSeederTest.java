@@ -0,0 +1,79 @@
+package com.civicpulse.backend.config;
+
+import com.civicpulse.backend.model.Complaint;
+import com.civicpulse.backend.model.User;
+import com.civicpulse.backend.repository.ComplaintRepository;
+import com.civicpulse.backend.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// The "seed" profile loads a small fixture at startup (own in-memory database): volumes as configured,
+// every reference resolvable, and JPA inserts still work afterwards (identity columns moved past the seeded ids).
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:seedtest;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "app.seed.wards=9",
+        "app.seed.citizens-per-ward=10",
+        "app.seed.officers-per-department=3",
+        "app.seed.complaints=5000",
+        "app.seed.chunk-size=700",
+        "app.seed.threads=4"
+})
+@ActiveProfiles("seed")
+class BulkDataSeederTest {
+
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private ComplaintRepository complaintRepository;
+    @Autowired private UserRepository userRepository;
+
+    private int count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Integer.class);
+    }
+
+    @Test
+    void seedsConsistentFixture() {
+        // Seeded users only: the other test adds a citizen of its own
+        String seeded = " AND email LIKE '%" + BulkDataSeeder.EMAIL_DOMAIN + "'";
+        assertEquals(90, count("SELECT COUNT(*) FROM users WHERE role = 'CITIZEN'" + seeded));
+        assertEquals(12, count("SELECT COUNT(*) FROM users WHERE role = 'OFFICER'" + seeded));
+        assertEquals(5000, count("SELECT COUNT(*) FROM complaints c JOIN users u ON u.id = c.user_id WHERE u.email LIKE '%"
+                + BulkDataSeeder.EMAIL_DOMAIN + "'"));
+
+        // Every complaint has a filer and a CREATED or DUPLICATE history row; assigned ones point at officers
+        assertEquals(0, count("SELECT COUNT(*) FROM complaints c LEFT JOIN users u ON u.id = c.user_id WHERE u.id IS NULL"));
+        assertEquals(5000, count("SELECT COUNT(DISTINCT complaint_id) FROM complaint_history WHERE action_type IN ('CREATED', 'DUPLICATE')"));
+        assertEquals(0, count("SELECT COUNT(*) FROM complaints c JOIN users u ON u.id = c.assigned_to WHERE u.role <> 'OFFICER'"));
+        assertEquals(0, count("SELECT COUNT(*) FROM complaints WHERE status = 'DUPLICATE' AND duplicate_of_id IS NULL"));
+        assertTrue(count("SELECT COUNT(*) FROM complaints WHERE status = 'RESOLVED'") > 1000);
+        assertEquals(count("SELECT COUNT(*) FROM complaints WHERE status IN ('RESOLVED', 'REOPENED')"),
+                count("SELECT SUM(tickets_resolved) FROM users WHERE role = 'OFFICER'"));
+        assertTrue(count("SELECT COUNT(*) FROM notifications") > 5000);
+
+        // Open tickets past the 24hr SLA are already stamped, so SlaWatcher only tracks the fresh ones
+        assertEquals(0, count("SELECT COUNT(*) FROM complaints WHERE status = 'IN_PROGRESS' AND sla_breached_at IS NULL "
+                + "AND assigned_at < DATEADD('HOUR', -25, CURRENT_TIMESTAMP)"));
+    }
+
+    @Test
+    void jpaInsertsContinueAfterSeededIds() {
+        User user = new User();
+        user.setName("After Seed");
+        user.setEmail("after-seed@test.com");
+        user.setPassword("x");
+        user.setRole("CITIZEN");
+        userRepository.save(user);
+
+        Complaint complaint = new Complaint();
+        complaint.setTitle("Filed after seeding");
+        complaint.setUser(user);
+        complaintRepository.save(complaint);
+
+        assertTrue(user.getId() > count("SELECT MAX(id) FROM users WHERE email LIKE '%" + BulkDataSeeder.EMAIL_DOMAIN + "'"));
+        assertEquals(5001, complaint.getId());
+    }
+}
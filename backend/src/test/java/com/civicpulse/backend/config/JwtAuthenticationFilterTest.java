@@ -0,0 +1,172 @@
+package com.civicpulse.backend.config;
+
+import com.civicpulse.backend.model.User;
+import com.civicpulse.backend.repository.UserRepository;
+import com.civicpulse.backend.services.CustomUserDetailsService;
+import com.civicpulse.backend.services.PrincipalCache;
+import com.civicpulse.backend.services.StreamTicketService;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Clock;
+import java.util.Date;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class JwtAuthenticationFilterTest {
+
+    private static final String SECRET = "test-secret";
+    private static final String EMAIL = "officer@civicpulse.com";
+
+    private UserRepository userRepository;
+    private PrincipalCache principalCache;
+    private StreamTicketService streamTickets;
+    private JwtAuthenticationFilter filter;
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        User user = new User();
+        user.setEmail(EMAIL);
+        user.setPassword("hash");
+        user.setRole("OFFICER");
+
+        userRepository = mock(UserRepository.class);
+        when(userRepository.findByEmail(EMAIL)).thenReturn(Optional.of(user));
+
+        CustomUserDetailsService userDetailsService = new CustomUserDetailsService();
+        ReflectionTestUtils.setField(userDetailsService, "userRepository", userRepository);
+
+        principalCache = new PrincipalCache();
+        ReflectionTestUtils.setField(principalCache, "ttlSeconds", 300L);
+        ReflectionTestUtils.setField(principalCache, "maxEntries", 2);
+
+        streamTickets = new StreamTicketService();
+        ReflectionTestUtils.setField(streamTickets, "clock", Clock.systemUTC());
+        ReflectionTestUtils.setField(streamTickets, "ttlSeconds", 30L);
+
+        filter = new JwtAuthenticationFilter();
+        ReflectionTestUtils.setField(filter, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(filter, "userDetailsService", userDetailsService);
+        ReflectionTestUtils.setField(filter, "principalCache", principalCache);
+        ReflectionTestUtils.setField(filter, "streamTickets", streamTickets);
+
+        token = Jwts.builder()
+                .setSubject(EMAIL)
+                .setIssuedAt(new Date())
+                .setExpiration(new Date(System.currentTimeMillis() + 60000))
+                .signWith(SignatureAlgorithm.HS256, SECRET)
+                .compact();
+    }
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private void sendRequest() throws Exception {
+        SecurityContextHolder.clearContext(); // Every request starts with an empty context, as in the servlet container
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/complaints/all");
+        request.addHeader("Authorization", "Bearer " + token);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        assertNotNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    @Test
+    void repeatedRequestsWithSameTokenDoNotQueryUsers() throws Exception {
+        sendRequest();
+        verify(userRepository, times(1)).findByEmail(EMAIL);
+
+        for (int i = 0; i < 50; i++) {
+            sendRequest();
+        }
+
+        // Still the single lookup from the first request: zero user queries for the repeats
+        verify(userRepository, times(1)).findByEmail(EMAIL);
+        assertEquals(50, principalCache.getHitCount());
+        assertEquals(1, principalCache.getMissCount());
+    }
+
+    @Test
+    void invalidateForcesReload() throws Exception {
+        sendRequest();
+        principalCache.invalidate(EMAIL);
+        sendRequest();
+
+        verify(userRepository, times(2)).findByEmail(EMAIL);
+    }
+
+    private Object openStream(String param, String value) throws Exception {
+        SecurityContextHolder.clearContext();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/notifications/stream");
+        request.setServletPath("/api/notifications/stream");
+        request.setParameter(param, value);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+
+    // The stream is opened with a single-use ticket; the JWT itself is no longer accepted in the URL
+    @Test
+    void streamTicketAuthenticatesOnce() throws Exception {
+        String ticket = streamTickets.issue(EMAIL);
+
+        assertNotNull(openStream("ticket", ticket));
+        assertNull(openStream("ticket", ticket));
+        assertNull(openStream("ticket", "forged"));
+        assertNull(openStream("token", token));
+        assertEquals(0, streamTickets.size());
+    }
+
+    @Test
+    void invalidateDuringALoadIsNotOverwritten() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch invalidated = new CountDownLatch(1);
+        UserDetails stale = mock(UserDetails.class);
+        Thread request = Thread.ofPlatform().start(() -> principalCache.get(EMAIL, email -> {
+            loading.countDown();
+            try {
+                invalidated.await(); // The role changes after the users row was read
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return stale;
+        }));
+        loading.await();
+        principalCache.invalidate(EMAIL);
+        invalidated.countDown();
+        request.join();
+
+        assertEquals(0, principalCache.size());
+        UserDetails fresh = mock(UserDetails.class);
+        assertSame(fresh, principalCache.get(EMAIL, email -> fresh));
+        assertSame(fresh, principalCache.get(EMAIL, email -> stale)); // Cached again once nothing overlaps
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedWhenFull() {
+        principalCache.get("a@x.com", email -> null);
+        principalCache.get("b@x.com", email -> null);
+        principalCache.get("c@x.com", email -> null);
+
+        assertEquals(2, principalCache.size());
+        assertEquals(1, principalCache.getEvictionCount());
+    }
+}
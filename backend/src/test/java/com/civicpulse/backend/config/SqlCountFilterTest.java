@@ -0,0 +1,85 @@
+package com.civicpulse.backend.config;
+
+import com.civicpulse.backend.model.Complaint;
+import com.civicpulse.backend.model.User;
+import com.civicpulse.backend.repository.ComplaintRepository;
+import com.civicpulse.backend.repository.UserRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Requests go through the whole filter chain: SqlCountFilter counts what SqlStatementCounter sees on the request
+// thread, sends it back as X-SQL-Count and records it under the route's uri pattern.
+@SpringBootTest(properties = "app.metrics.sql-count-header=true")
+@AutoConfigureMockMvc
+@WithMockUser(authorities = "ADMIN")
+class SqlCountFilterTest {
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private MeterRegistry meterRegistry;
+    @Autowired private ComplaintRepository complaintRepository;
+    @Autowired private UserRepository userRepository;
+
+    @AfterEach
+    void cleanUp() {
+        complaintRepository.deleteAllInBatch();
+        userRepository.deleteAll(userRepository.findByRole("CITIZEN"));
+    }
+
+    private void complaint() {
+        User user = new User();
+        user.setName("Citizen");
+        user.setEmail(UUID.randomUUID() + "@test.com");
+        user.setPassword("hash");
+        user.setRole("CITIZEN");
+        Complaint complaint = new Complaint();
+        complaint.setTitle("Pothole");
+        complaint.setUser(userRepository.save(user));
+        complaintRepository.save(complaint);
+    }
+
+    private DistributionSummary allComplaints() {
+        return meterRegistry.find("http.server.sql.statements").tags("method", "GET", "uri", "/api/complaints/all").summary();
+    }
+
+    @Test
+    void headerAndMeterCarryTheStatementsOfTheRequest() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            complaint();
+        }
+        DistributionSummary before = allComplaints();
+        long count = before == null ? 0 : before.count();
+        double total = before == null ? 0 : before.totalAmount();
+
+        // One SELECT (complaints joined with their users), however many rows
+        mockMvc.perform(get("/api/complaints/all"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(3))
+                .andExpect(header().string(SqlCountFilter.HEADER, "1"));
+
+        assertEquals(count + 1, allComplaints().count());
+        assertEquals(total + 1, allComplaints().totalAmount(), 1e-9);
+    }
+
+    @Test
+    @WithMockUser(authorities = "CITIZEN")
+    void requestWithoutSqlCountsZero() throws Exception {
+        mockMvc.perform(get("/api/citizen-dashboard"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(SqlCountFilter.HEADER, "0"));
+    }
+}
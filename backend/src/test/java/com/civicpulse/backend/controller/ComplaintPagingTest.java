@@ -0,0 +1,107 @@
+package com.civicpulse.backend.controller;
+
+import com.civicpulse.backend.dto.ComplaintSummary;
+import com.civicpulse.backend.dto.CursorPage;
+import com.civicpulse.backend.model.Complaint;
+import com.civicpulse.backend.model.User;
+import com.civicpulse.backend.repository.ComplaintRepository;
+import com.civicpulse.backend.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Walking /api/complaints/paged cursor by cursor visits every matching complaint exactly once, in order,
+// in both directions; the cursor is exclusive and the last page says so, including when it is exactly full.
+@SpringBootTest
+@WithMockUser(authorities = "ADMIN")
+class ComplaintPagingTest {
+
+    private static final int COMPLAINTS = 48;
+
+    @Autowired private ComplaintController complaintController;
+    @Autowired private ComplaintRepository complaintRepository;
+    @Autowired private UserRepository userRepository;
+
+    // Ids of the PENDING complaints in category 1, ascending
+    private final List<Integer> matching = new ArrayList<>();
+
+    @BeforeEach
+    void seed() {
+        User user = new User();
+        user.setName("Citizen");
+        user.setEmail(UUID.randomUUID() + "@test.com");
+        user.setPassword("hash");
+        user.setRole("CITIZEN");
+        userRepository.save(user);
+        for (int i = 0; i < COMPLAINTS; i++) {
+            Complaint complaint = new Complaint();
+            complaint.setTitle("Pothole " + i);
+            complaint.setUser(user);
+            // Every other one is resolved, every fourth in another category: a quarter match the filter
+            complaint.setStatus(i % 2 == 0 ? "PENDING" : "RESOLVED");
+            complaint.setCategoryId(i % 4 < 2 ? 1 : 2);
+            Complaint saved = complaintRepository.save(complaint);
+            if (i % 4 == 0) matching.add(saved.getId());
+        }
+    }
+
+    @AfterEach
+    void cleanUp() {
+        complaintRepository.deleteAllInBatch();
+        userRepository.deleteAll(userRepository.findByRole("CITIZEN"));
+    }
+
+    private CursorPage<ComplaintSummary> page(Integer cursor, String sort, int size) {
+        return complaintController.getComplaintPage("PENDING", null, 1, null, null, null, cursor, sort, size);
+    }
+
+    @ParameterizedTest
+    @CsvSource({"newest, 4", "newest, 5", "oldest, 4", "oldest, 5"})
+    void cursorWalksEveryMatchOnceInOrder(String sort, int size) {
+        boolean ascending = "oldest".equals(sort);
+        List<Integer> expected = new ArrayList<>(matching);
+        if (!ascending) expected.sort(Comparator.reverseOrder());
+
+        List<Integer> seen = new ArrayList<>();
+        Integer cursor = null;
+        int pages = 0;
+        CursorPage<ComplaintSummary> page;
+        do {
+            page = page(cursor, sort, size);
+            pages++;
+            assertFalse(page.items().isEmpty(), "hasMore promised another page");
+            for (ComplaintSummary item : page.items()) {
+                assertEquals("PENDING", item.status());
+                assertEquals(1, item.categoryId());
+                // Exclusive: nothing at or before the cursor comes back
+                if (cursor != null) assertTrue(ascending ? item.id() > cursor : item.id() < cursor);
+                seen.add(item.id());
+            }
+            if (page.hasMore()) {
+                assertEquals(size, page.items().size());
+                assertNotNull(page.nextCursor());
+                assertEquals(page.items().get(size - 1).id(), Integer.valueOf(page.nextCursor()));
+                cursor = Integer.valueOf(page.nextCursor());
+            }
+        } while (page.hasMore());
+
+        assertNull(page.nextCursor());
+        assertEquals(expected, seen); // No gaps, no duplicates, in sort order
+        assertEquals((expected.size() + size - 1) / size, pages); // 12 rows in pages of 4: no empty fourth page
+    }
+}
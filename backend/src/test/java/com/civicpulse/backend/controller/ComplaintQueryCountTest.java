@@ -0,0 +1,114 @@
+package com.civicpulse.backend.controller;
+
+import com.civicpulse.backend.model.Complaint;
+import com.civicpulse.backend.model.ComplaintHistory;
+import com.civicpulse.backend.model.User;
+import com.civicpulse.backend.repository.ComplaintHistoryRepository;
+import com.civicpulse.backend.repository.ComplaintRepository;
+import com.civicpulse.backend.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Every listing must cost the same number of SELECTs no matter how many rows it returns.
+// No transaction is open while the controller runs, so any stray lazy load would also fail loudly.
+@SpringBootTest
+@WithMockUser(authorities = "ADMIN")
+class ComplaintQueryCountTest {
+
+    @Autowired private ComplaintController complaintController;
+    @Autowired private ComplaintRepository complaintRepository;
+    @Autowired private ComplaintHistoryRepository historyRepository;
+    @Autowired private UserRepository userRepository;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        historyRepository.deleteAllInBatch();
+        complaintRepository.deleteAllInBatch();
+        userRepository.deleteAll(userRepository.findByRole("CITIZEN"));
+    }
+
+    private User citizen() {
+        User user = new User();
+        user.setName("Citizen");
+        user.setEmail(UUID.randomUUID() + "@test.com");
+        user.setPassword("hash");
+        user.setRole("CITIZEN");
+        return userRepository.save(user);
+    }
+
+    private Complaint complaint(User owner) {
+        Complaint complaint = new Complaint();
+        complaint.setTitle("Pothole");
+        complaint.setDescription("Deep pothole");
+        complaint.setUser(owner);
+        return complaintRepository.save(complaint);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 30})
+    void allComplaintsIsOneQuery(int rows) {
+        for (int i = 0; i < rows; i++) {
+            complaint(citizen()); // A different user per row, which is what used to trigger N+1
+        }
+
+        statistics.clear();
+        assertEquals(rows, complaintController.getAllComplaints().size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 30})
+    void userComplaintsIsOneQuery(int rows) {
+        User owner = citizen();
+        for (int i = 0; i < rows; i++) {
+            complaint(owner);
+        }
+
+        statistics.clear();
+        assertEquals(rows, complaintController.getUserComplaints(owner.getId()).size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 30})
+    void historyIsOneQuery(int rows) {
+        Complaint complaint = complaint(citizen());
+        List<ComplaintHistory> entries = new ArrayList<>();
+        for (int i = 0; i < rows; i++) {
+            ComplaintHistory history = new ComplaintHistory();
+            history.setComplaint(complaint);
+            history.setActionBy(citizen());
+            history.setActionType("NOTE_ADDED");
+            history.setDetails("Entry " + i);
+            entries.add(history);
+        }
+        historyRepository.saveAll(entries);
+
+        statistics.clear();
+        assertEquals(rows, complaintController.getHistory(complaint.getId()).size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+}
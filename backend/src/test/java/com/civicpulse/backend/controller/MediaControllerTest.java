@@ -0,0 +1,124 @@
+package com.civicpulse.backend.controller;
+
+import com.civicpulse.backend.services.ImageVariantService;
+import com.civicpulse.backend.services.ImageVariantService.Size;
+import com.civicpulse.backend.services.UploadStorageService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class MediaControllerTest {
+
+    private static final byte[] CONTENT = "0123456789abcdefghij".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] THUMB = "thumb".getBytes(StandardCharsets.US_ASCII);
+
+    @TempDir
+    Path uploads;
+
+    private MockMvc mockMvc;
+    private ImageVariantService imageVariants;
+    private String fileName;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        UploadStorageService storage = new UploadStorageService();
+        ReflectionTestUtils.setField(storage, "uploadDir", uploads.toString());
+        ReflectionTestUtils.setField(storage, "maxBytes", 1024L);
+        ReflectionTestUtils.setField(storage, "bufferBytes", 8);
+        ReflectionTestUtils.invokeMethod(storage, "init");
+        fileName = storage.store(new MockMultipartFile("image", "photo.jpg", "image/jpeg", CONTENT), "");
+
+        MediaController controller = new MediaController();
+        ReflectionTestUtils.setField(controller, "uploadStorage", storage);
+        imageVariants = mock(ImageVariantService.class);
+        ReflectionTestUtils.setField(controller, "imageVariants", imageVariants);
+        mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+    }
+
+    @Test
+    void servesWithImmutableCachingAndContentEtag() throws Exception {
+        MvcResult result = mockMvc.perform(get("/uploads/" + fileName))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "public, max-age=31536000, immutable"))
+                .andExpect(header().string("Accept-Ranges", "bytes"))
+                .andExpect(content().bytes(CONTENT))
+                .andReturn();
+
+        // Content-addressed name: the ETag is the file's SHA-256
+        String etag = result.getResponse().getHeader("ETag");
+        assertEquals("\"" + fileName.substring(0, 64) + "\"", etag);
+    }
+
+    // Until the thumbnail exists the original stands in for it, and must not be cached as the thumbnail
+    @Test
+    void servesOriginalForMissingVariantWithoutLongCaching() throws Exception {
+        MvcResult pending = mockMvc.perform(get("/uploads/" + fileName).param("size", "thumb"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "no-cache"))
+                .andExpect(content().bytes(CONTENT))
+                .andReturn();
+        String originalEtag = pending.getResponse().getHeader("ETag");
+
+        Path thumb = uploads.resolve("thumb.jpg");
+        Files.write(thumb, THUMB);
+        when(imageVariants.find(fileName, Size.THUMB)).thenReturn(thumb);
+
+        // Revalidating with the stand-in's ETag now gets the variant, cached for good
+        mockMvc.perform(get("/uploads/" + fileName).param("size", "thumb").header("If-None-Match", originalEtag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "public, max-age=31536000, immutable"))
+                .andExpect(header().string("ETag", "\"" + fileName.substring(0, 64) + "-thumb\""))
+                .andExpect(content().bytes(THUMB));
+    }
+
+    @Test
+    void answersConditionalRequestWith304() throws Exception {
+        String etag = mockMvc.perform(get("/uploads/" + fileName)).andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/uploads/" + fileName).header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().bytes(new byte[0]));
+    }
+
+    @Test
+    void servesPartialContent() throws Exception {
+        mockMvc.perform(get("/uploads/" + fileName).header("Range", "bytes=5-9"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string("Content-Range", "bytes 5-9/20"))
+                .andExpect(header().longValue("Content-Length", 5))
+                .andExpect(content().bytes("56789".getBytes(StandardCharsets.US_ASCII)));
+
+        mockMvc.perform(get("/uploads/" + fileName).header("Range", "bytes=-3"))
+                .andExpect(status().isPartialContent())
+                .andExpect(content().bytes("hij".getBytes(StandardCharsets.US_ASCII)));
+    }
+
+    @Test
+    void rejectsUnsatisfiableRange() throws Exception {
+        mockMvc.perform(get("/uploads/" + fileName).header("Range", "bytes=100-200"))
+                .andExpect(status().isRequestedRangeNotSatisfiable())
+                .andExpect(header().string("Content-Range", "bytes */20"));
+    }
+
+    @Test
+    void refusesPathTraversal() throws Exception {
+        mockMvc.perform(get("/uploads/..%2Fsecret.txt")).andExpect(status().isNotFound());
+    }
+}
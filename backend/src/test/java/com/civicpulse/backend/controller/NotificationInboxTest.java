@@ -0,0 +1,123 @@
+package com.civicpulse.backend.controller;
+
+import com.civicpulse.backend.dto.CursorPage;
+import com.civicpulse.backend.model.Notification;
+import com.civicpulse.backend.model.User;
+import com.civicpulse.backend.repository.NotificationRepository;
+import com.civicpulse.backend.repository.UserRepository;
+import com.civicpulse.backend.services.NotificationArchiver;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@WithMockUser
+class NotificationInboxTest {
+
+    private static final int TOTAL = 120;
+
+    @Autowired private NotificationController notificationController;
+    @Autowired private NotificationRepository notificationRepository;
+    @Autowired private UserRepository userRepository;
+    @Autowired private NotificationArchiver archiver;
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+
+    private User owner;
+
+    @BeforeEach
+    void seed() {
+        owner = new User();
+        owner.setName("Citizen");
+        owner.setEmail(UUID.randomUUID() + "@test.com");
+        owner.setPassword("hash");
+        owner.setRole("CITIZEN");
+        userRepository.save(owner);
+
+        List<Notification> list = new ArrayList<>();
+        for (int i = 0; i < TOTAL; i++) {
+            Notification n = new Notification();
+            n.setUser(owner);
+            n.setMessage("New Complaint Filed: #" + i);
+            n.setType("INFO");
+            n.setRead(i % 3 == 0); // 40 read, 80 unread
+            list.add(n);
+        }
+        notificationRepository.saveAll(list);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM notifications_archive");
+        notificationRepository.deleteAllInBatch();
+        userRepository.delete(owner);
+    }
+
+    @Test
+    void pagesThroughTheInboxNewestFirst() {
+        Set<Integer> seen = new HashSet<>();
+        Integer cursor = null;
+        int pages = 0;
+        Integer previousId = Integer.MAX_VALUE;
+        do {
+            CursorPage<Notification> page = notificationController.getInboxPage(owner.getId(), cursor, false, 50);
+            for (Notification n : page.items()) {
+                assertTrue(n.getId() < previousId);
+                previousId = n.getId();
+                assertTrue(seen.add(n.getId()));
+            }
+            cursor = page.nextCursor() == null ? null : Integer.valueOf(page.nextCursor());
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(TOTAL, seen.size());
+        assertEquals(3, pages);
+
+        CursorPage<Notification> unread = notificationController.getInboxPage(owner.getId(), null, true, 200);
+        assertEquals(80, unread.items().size());
+        assertFalse(unread.hasMore());
+        assertNull(unread.nextCursor());
+    }
+
+    @Test
+    void markAllReadIsOneUpdate() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+
+        notificationController.markAllAsRead(owner.getId());
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, notificationRepository.countByUserIdAndIsReadFalse(owner.getId()));
+    }
+
+    @Test
+    void archivesOnlyReadNotifications() {
+        int moved = archiver.archiveReadBefore(Instant.now().plusSeconds(60));
+
+        assertEquals(40, moved);
+        assertEquals(80, notificationRepository.count());
+        assertEquals(80, notificationRepository.countByUserIdAndIsReadFalse(owner.getId()));
+        assertEquals(40, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM notifications_archive WHERE user_id = ?", Integer.class, owner.getId()));
+    }
+}
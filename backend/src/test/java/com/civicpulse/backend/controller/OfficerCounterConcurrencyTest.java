@@ -0,0 +1,153 @@
+package com.civicpulse.backend.controller;
+
+import com.civicpulse.backend.model.Complaint;
+import com.civicpulse.backend.model.User;
+import com.civicpulse.backend.repository.ComplaintHistoryRepository;
+import com.civicpulse.backend.repository.ComplaintRepository;
+import com.civicpulse.backend.repository.UserRepository;
+import com.civicpulse.backend.services.ComplaintOutbox;
+import com.civicpulse.backend.services.ComplaintStateMachine.TransitionConflictException;
+import com.civicpulse.backend.services.UploadStorageService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Many tickets of one officer resolved at the same time: every resolution must be counted, and a resolve that
+// loses the race for one ticket leaves no proof upload behind.
+// Resolve latency with many officers at work is the resolveComplaint operation of the load test (benchmarks/load).
+@SpringBootTest
+class OfficerCounterConcurrencyTest {
+
+    private static final int TICKETS = 200;
+    private static final int THREADS = 16;
+
+    @Autowired private ComplaintController complaintController;
+    @Autowired private ComplaintRepository complaintRepository;
+    @Autowired private ComplaintHistoryRepository historyRepository;
+    @Autowired private UserRepository userRepository;
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private ComplaintOutbox outbox;
+    @Autowired private UploadStorageService uploadStorage;
+
+    private User officer;
+    private final List<Path> proofs = new ArrayList<>();
+
+    @BeforeEach
+    void seed() {
+        officer = new User();
+        officer.setName("Officer");
+        officer.setEmail(UUID.randomUUID() + "@test.com");
+        officer.setPassword("hash");
+        officer.setRole("OFFICER");
+        userRepository.save(officer);
+    }
+
+    @AfterEach
+    void cleanUp() throws IOException {
+        while (outbox.drainBatch() > 0) {
+            // Relay what is left before the officer is removed
+        }
+        historyRepository.deleteAllInBatch();
+        complaintRepository.deleteAllInBatch();
+        userRepository.delete(officer);
+        for (Path proof : proofs) Files.deleteIfExists(proof);
+    }
+
+    private void runInParallel(List<Callable<Object>> tasks) throws Exception {
+        try (ExecutorService pool = Executors.newFixedThreadPool(THREADS)) {
+            for (Future<Object> f : pool.invokeAll(tasks)) f.get();
+        }
+    }
+
+    private long counter() {
+        return jdbcTemplate.queryForObject("SELECT tickets_resolved FROM users WHERE id = ?", Long.class, officer.getId());
+    }
+
+    @Test
+    void parallelResolvesAreAllCounted() throws Exception {
+        List<Callable<Object>> tasks = new ArrayList<>();
+        for (int i = 0; i < TICKETS; i++) {
+            Complaint c = new Complaint();
+            c.setTitle("Streetlight " + i);
+            c.setStatus("IN_PROGRESS");
+            c.setAssignedTo(officer.getId());
+            Integer id = complaintRepository.save(c).getId();
+            tasks.add(() -> complaintController.resolveComplaint(id, null, "1 bulb", 0.0, 0.0));
+        }
+
+        runInParallel(tasks);
+
+        assertEquals(TICKETS, counter());
+        while (outbox.drainBatch() > 0) {
+            // History is written by the outbox relay
+        }
+        assertEquals(TICKETS, historyRepository.count());
+    }
+
+    @Test
+    void concurrentResolvesKeepOnlyTheWinningProof() throws Exception {
+        Complaint c = new Complaint();
+        c.setTitle("Streetlight");
+        c.setStatus("IN_PROGRESS");
+        c.setAssignedTo(officer.getId());
+        Integer id = complaintRepository.save(c).getId();
+
+        List<Callable<Object>> tasks = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            MockMultipartFile proof = new MockMultipartFile("proof", "proof.jpg", "image/jpeg",
+                    (UUID.randomUUID() + " proof " + i).getBytes(StandardCharsets.US_ASCII));
+            tasks.add(() -> {
+                try {
+                    return complaintController.resolveComplaint(id, proof, "1 bulb", 0.0, 0.0).getStatusCode();
+                } catch (TransitionConflictException e) {
+                    return HttpStatus.CONFLICT; // As the controller's handler maps it
+                }
+            });
+            proofs.add(uploadStorage.resolve("RESOLVED_" + sha256(proof.getBytes()) + ".jpg"));
+        }
+
+        runInParallel(tasks);
+
+        // Losers either stopped at the status check or lost the transition and removed their upload
+        String stored = complaintRepository.findById(id).orElseThrow().getResolution_proof_url();
+        for (Path proof : proofs) {
+            assertEquals(proof.getFileName().toString().equals(stored), Files.exists(proof), proof.toString());
+        }
+        assertEquals(1, counter());
+    }
+
+    private static String sha256(byte[] content) throws Exception {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+    }
+
+    @Test
+    void atomicIncrementCountsEveryCall() throws Exception {
+        List<Callable<Object>> tasks = new ArrayList<>();
+        for (int i = 0; i < TICKETS; i++) {
+            tasks.add(() -> userRepository.incrementTicketsResolved(officer.getId()));
+        }
+        runInParallel(tasks);
+        assertEquals(TICKETS, counter());
+    }
+}
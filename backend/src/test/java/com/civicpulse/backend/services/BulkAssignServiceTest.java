@@ -0,0 +1,139 @@
+package com.civicpulse.backend.services;
+
+import com.civicpulse.backend.model.Complaint;
+import com.civicpulse.backend.model.ComplaintHistory;
+import com.civicpulse.backend.model.Notification;
+import com.civicpulse.backend.model.User;
+import com.civicpulse.backend.repository.ComplaintHistoryRepository;
+import com.civicpulse.backend.repository.ComplaintRepository;
+import com.civicpulse.backend.repository.NotificationRepository;
+import com.civicpulse.backend.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// BulkAssignService against the old per-ticket assignment loop on the same 2,000 tickets: both must produce
+// the same rows (BulkAssignBenchmark in the benchmarks module times the two). Only the tickets a call actually
+// moved get history and notifications.
+@SpringBootTest(properties = "app.bulk-assign.chunk-size=500")
+class BulkAssignServiceTest {
+
+    private static final int TICKETS = 2000;
+
+    @Autowired private BulkAssignService bulkAssignService;
+    @Autowired private ComplaintRepository complaintRepository;
+    @Autowired private ComplaintHistoryRepository historyRepository;
+    @Autowired private NotificationRepository notificationRepository;
+    @Autowired private UserRepository userRepository;
+
+    private User officer;
+    private List<Integer> ids;
+
+    @BeforeEach
+    void seed() {
+        User citizen = new User();
+        citizen.setName("Citizen");
+        citizen.setEmail(UUID.randomUUID() + "@test.com");
+        citizen.setPassword("hash");
+        citizen.setRole("CITIZEN");
+        userRepository.save(citizen);
+
+        officer = new User();
+        officer.setName("Officer");
+        officer.setEmail(UUID.randomUUID() + "@test.com");
+        officer.setPassword("hash");
+        officer.setRole("OFFICER");
+        userRepository.save(officer);
+
+        List<Complaint> complaints = new ArrayList<>();
+        for (int i = 0; i < TICKETS; i++) {
+            Complaint c = new Complaint();
+            c.setTitle("Storm damage " + i);
+            c.setUser(citizen);
+            complaints.add(c);
+        }
+        ids = complaintRepository.saveAll(complaints).stream().map(Complaint::getId).toList();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        notificationRepository.deleteAllInBatch();
+        historyRepository.deleteAllInBatch();
+        complaintRepository.deleteAllInBatch();
+        userRepository.deleteAll(userRepository.findByRole("CITIZEN"));
+        userRepository.deleteAll(userRepository.findByRole("OFFICER"));
+    }
+
+    // The pre-BulkAssignService implementation: autocommit save per history row and per notification
+    private void legacyLoop() {
+        List<Complaint> complaints = complaintRepository.findAllById(ids);
+        for (Complaint c : complaints) {
+            c.setAssignedTo(officer.getId());
+            c.setStatus("IN_PROGRESS");
+            c.setAssignedAt(new Date());
+
+            ComplaintHistory history = new ComplaintHistory();
+            history.setComplaint(c);
+            history.setActionType("ASSIGNED");
+            history.setDetails("Assigned to Officer: " + officer.getName());
+            historyRepository.save(history);
+
+            Notification n = new Notification();
+            n.setUser(officer);
+            n.setMessage("New Task Assigned: " + c.getTitle());
+            n.setType("INFO");
+            n.setRelatedComplaintId(c.getId());
+            notificationRepository.save(n);
+        }
+        complaintRepository.saveAll(complaints);
+    }
+
+    @Test
+    void bulkEngineMatchesLegacyLoop() {
+        legacyLoop();
+        assertEquals(TICKETS, historyRepository.count());
+        assertEquals(TICKETS, notificationRepository.count());
+
+        notificationRepository.deleteAllInBatch();
+        historyRepository.deleteAllInBatch();
+
+        List<BulkAssignService.ChunkProgress> progress = new ArrayList<>();
+        BulkAssignService.BulkAssignResult result = bulkAssignService.assign(ids, officer.getId(), progress::add);
+
+        assertEquals(TICKETS, result.updated());
+        assertEquals(4, progress.size());
+        assertEquals(TICKETS, historyRepository.count());
+        assertEquals(TICKETS, notificationRepository.count());
+        assertTrue(complaintRepository.findAllById(ids).stream()
+                .allMatch(c -> "IN_PROGRESS".equals(c.getStatus()) && officer.getId().equals(c.getAssignedTo())));
+    }
+
+    // A ticket resolved by this officer a moment ago is skipped, even though its assignee and assignedAt
+    // look exactly like the ones the bulk UPDATE writes
+    @Test
+    void skippedTicketsGetNoHistoryOrNotification() {
+        Complaint resolved = complaintRepository.findById(ids.get(0)).orElseThrow();
+        resolved.setStatus("RESOLVED");
+        resolved.setAssignedTo(officer.getId());
+        resolved.setAssignedAt(new Date());
+        complaintRepository.save(resolved);
+
+        BulkAssignService.BulkAssignResult result = bulkAssignService.assign(ids.subList(0, 2), officer.getId());
+
+        assertEquals(1, result.updated());
+        assertEquals(1, historyRepository.count());
+        assertEquals(1, notificationRepository.count());
+        assertEquals("RESOLVED", complaintRepository.findById(ids.get(0)).orElseThrow().getStatus());
+        assertEquals("IN_PROGRESS", complaintRepository.findById(ids.get(1)).orElseThrow().getStatus());
+    }
+}
@@ -0,0 +1,173 @@
+package com.civicpulse.backend.services;
+
+import com.civicpulse.backend.dto.ComplaintMetricRow;
+import com.civicpulse.backend.dto.MetricsView;
+import com.civicpulse.backend.event.ComplaintChangedEvent;
+import com.civicpulse.backend.event.ComplaintsAssignedEvent;
+import com.civicpulse.backend.event.SlaBreachedEvent;
+import com.civicpulse.backend.model.Complaint;
+import com.civicpulse.backend.model.User;
+import com.civicpulse.backend.repository.ComplaintRepository;
+import com.civicpulse.backend.services.ComplaintMetricsEngine.Dimension;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// Counters follow the complaint transitions; the window is driven by an injected clock.
+class ComplaintMetricsEngineTest {
+
+    private static final long OFFICER = 42L;
+
+    private ComplaintRepository repository;
+    private MutableClock clock;
+    private ComplaintMetricsEngine engine;
+    private User citizen;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2025-03-03T08:00:00Z"));
+        engine = new ComplaintMetricsEngine();
+        repository = mock(ComplaintRepository.class);
+        ReflectionTestUtils.setField(engine, "complaintRepository", repository);
+        ReflectionTestUtils.setField(engine, "clock", clock);
+        engine.rebuild();
+
+        citizen = new User();
+        citizen.setWardNumber("5");
+    }
+
+    private Complaint complaint(int id) {
+        Complaint c = new Complaint();
+        c.setId(id);
+        c.setCategoryId(3);
+        c.setUser(citizen);
+        c.setCreatedAt(Date.from(clock.instant()));
+        engine.onComplaintChanged(new ComplaintChangedEvent(c, "CREATED"));
+        return c;
+    }
+
+    private void assign(Complaint c) {
+        c.setAssignedTo(OFFICER);
+        c.setStatus("ASSIGNED");
+        engine.onComplaintsAssigned(new ComplaintsAssignedEvent(List.of(c.getId()), OFFICER, Date.from(clock.instant())));
+    }
+
+    private void resolve(Complaint c) {
+        c.setStatus("RESOLVED");
+        engine.onComplaintChanged(new ComplaintChangedEvent(c, "RESOLVED"));
+    }
+
+    @Test
+    void tracksTransitionsPerOfficerCategoryAndWard() {
+        Complaint slow = complaint(1);
+        assign(slow);
+        clock.advance(Duration.ofHours(24));
+        engine.onSlaBreached(new SlaBreachedEvent(List.of(1), Date.from(clock.instant()))); // As SlaWatcher does
+        clock.advance(Duration.ofHours(6));
+        resolve(slow);
+
+        Complaint fast = complaint(2);
+        assign(fast);
+        clock.advance(Duration.ofHours(2));
+        resolve(fast);
+
+        MetricsView officer = engine.view(Dimension.OFFICER, "42", 168);
+        assertEquals(0, officer.open());
+        assertEquals(2, officer.assigned());
+        assertEquals(2, officer.resolved());
+        assertEquals(1, officer.slaBreaches());
+        assertEquals((30 * 60 + 2 * 60) / 2.0, officer.meanResolutionMinutes(), 0.001);
+        // Histogram bins are 2^(1/4) wide: percentiles are upper bounds within ~19%
+        assertTrue(officer.p50ResolutionMinutes() >= 120 && officer.p50ResolutionMinutes() < 120 * 1.19);
+        assertTrue(officer.p90ResolutionMinutes() >= 1800 && officer.p90ResolutionMinutes() < 1800 * 1.19);
+
+        MetricsView category = engine.view(Dimension.CATEGORY, "3", 168);
+        assertEquals(2, category.created());
+        assertEquals(2, category.resolved());
+        assertEquals(2, engine.view(Dimension.WARD, "5", 168).resolved());
+
+        // Only the fast one was resolved in the current hour
+        assertEquals(1, engine.view(Dimension.OFFICER, "42", 1).resolved());
+
+        // A resolved complaint is no longer tracked: reopening reads it back once
+        when(repository.findMetricRowsByIdIn(List.of(1))).thenReturn(List.of(new ComplaintMetricRow(1, 3, "5", OFFICER,
+                "REOPENED", slow.getCreatedAt(), slow.getCreatedAt(), Date.from(clock.instant()), null)));
+        slow.setStatus("REOPENED");
+        engine.onComplaintChanged(new ComplaintChangedEvent(slow, "REOPENED"));
+        officer = engine.view(Dimension.OFFICER, "42", 168);
+        assertEquals(1, officer.open());
+        assertEquals(1, officer.reopened());
+    }
+
+    @Test
+    void oldActivityFallsOutOfTheWindow() {
+        Complaint c = complaint(1);
+        assign(c);
+        clock.advance(Duration.ofHours(1));
+        resolve(c);
+        complaint(2); // Stays open
+
+        clock.advance(Duration.ofDays(8));
+
+        MetricsView view = engine.view(Dimension.CATEGORY, "3", 168);
+        assertEquals(1, view.open());
+        assertEquals(0, view.created());
+        assertEquals(0, view.resolved());
+        assertNull(view.meanResolutionMinutes());
+        assertEquals(List.of("3"), engine.list(Dimension.CATEGORY, 168).stream().map(MetricsView::key).toList());
+    }
+
+    @Test
+    void transitionsDuringARebuildAreNotLost() {
+        Date createdAt = Date.from(clock.instant().minus(Duration.ofHours(3)));
+        Date assignedAt = Date.from(clock.instant().minus(Duration.ofHours(2)));
+        Complaint resolving = new Complaint();
+        resolving.setId(1);
+        resolving.setCategoryId(3);
+        resolving.setUser(citizen);
+        resolving.setAssignedTo(OFFICER);
+        resolving.setCreatedAt(createdAt);
+        // Complaint 1 is read as open, then resolved before the swap; complaint 2 is created after the open rows were read
+        when(repository.findMetricRowsByStatusIn(any())).thenAnswer(inv -> {
+            complaint(2);
+            return List.of(new ComplaintMetricRow(1, 3, "5", OFFICER, "IN_PROGRESS", createdAt, assignedAt, assignedAt, null));
+        });
+        when(repository.findMetricRowsResolvedSince(any())).thenAnswer(inv -> {
+            resolve(resolving);
+            return List.of();
+        });
+        when(repository.findMetricRowsByIdIn(any())).thenReturn(List.of(
+                new ComplaintMetricRow(1, 3, "5", OFFICER, "RESOLVED", createdAt, assignedAt, Date.from(clock.instant()), null),
+                new ComplaintMetricRow(2, 3, "5", null, "PENDING", Date.from(clock.instant()), null, null, null)));
+
+        engine.rebuild();
+
+        MetricsView category = engine.view(Dimension.CATEGORY, "3", 168);
+        assertEquals(1, category.open());
+        assertEquals(2, category.created());
+        assertEquals(1, category.resolved());
+        assertEquals(180, category.meanResolutionMinutes(), 0.001);
+        MetricsView officer = engine.view(Dimension.OFFICER, "42", 168);
+        assertEquals(0, officer.open());
+        assertEquals(1, officer.resolved());
+    }
+
+    @Test
+    void rejectsUnknownDimension() {
+        assertEquals(Dimension.WARD, Dimension.parse("wards"));
+        assertThrows(IllegalArgumentException.class, () -> Dimension.parse("district"));
+    }
+}
@@ -0,0 +1,194 @@
+package com.civicpulse.backend.services;
+
+import com.civicpulse.backend.controller.ComplaintController;
+import com.civicpulse.backend.model.Complaint;
+import com.civicpulse.backend.model.User;
+import com.civicpulse.backend.repository.ComplaintHistoryRepository;
+import com.civicpulse.backend.repository.ComplaintRepository;
+import com.civicpulse.backend.repository.NotificationRepository;
+import com.civicpulse.backend.repository.UserRepository;
+import com.civicpulse.backend.services.ComplaintStateMachine.Changes;
+import com.civicpulse.backend.services.ComplaintStateMachine.Transition;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+// A complaint change writes the change + one outbox row together (or neither); the relay turns the row into
+// history, notifications and emails, and parks rows it keeps failing on without holding up the others.
+// The relay is not scheduled in tests (app.outbox.poll-ms), drainBatch() is called.
+// Relay lag under load is reported by the load test (benchmarks/load).
+@SpringBootTest
+class ComplaintOutboxTest {
+
+    private static final int MESSAGES = 5_000;
+
+    @Autowired private ComplaintOutbox outbox;
+    @Autowired private ComplaintController complaintController;
+    @Autowired private ComplaintStateMachine stateMachine;
+    @Autowired private ComplaintRepository complaintRepository;
+    @Autowired private ComplaintHistoryRepository historyRepository;
+    @Autowired private NotificationRepository notificationRepository;
+    @Autowired private NotificationDispatcher notificationDispatcher;
+    @Autowired private UserRepository userRepository;
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private PlatformTransactionManager transactionManager;
+    @MockitoBean private MailService mailService;
+
+    private User citizen;
+    private User admin;
+
+    @BeforeEach
+    void seed() {
+        citizen = user("CITIZEN");
+        admin = user("ADMIN");
+        notificationDispatcher.invalidateAdminCache();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM complaint_outbox");
+        notificationRepository.deleteAllInBatch();
+        historyRepository.deleteAllInBatch();
+        complaintRepository.deleteAllInBatch();
+        userRepository.deleteAll(List.of(citizen, admin));
+        notificationDispatcher.invalidateAdminCache();
+    }
+
+    private User user(String role) {
+        User user = new User();
+        user.setName(role);
+        user.setEmail(UUID.randomUUID() + "@test.com");
+        user.setPassword("hash");
+        user.setRole(role);
+        return userRepository.save(user);
+    }
+
+    private Complaint complaint(String status) {
+        Complaint c = new Complaint();
+        c.setTitle("Overflowing bin");
+        c.setStatus(status);
+        c.setUser(citizen);
+        return complaintRepository.save(c);
+    }
+
+    private long count(String sql, Object... args) {
+        return jdbcTemplate.queryForObject(sql, Long.class, args);
+    }
+
+    private void drain() {
+        while (outbox.drainBatch() > 0) {
+            // until empty
+        }
+    }
+
+    @Test
+    void changeWritesOneOutboxRowThatTheRelayExpands() {
+        Complaint c = complaint("PENDING");
+        complaintController.rejectComplaint(c.getId(), "Private land");
+
+        assertEquals(1, count("SELECT COUNT(*) FROM complaint_outbox WHERE complaint_id = ?", c.getId()));
+        assertEquals(0, historyRepository.count());
+        verifyNoInteractions(mailService);
+
+        drain();
+        assertEquals(0, count("SELECT COUNT(*) FROM complaint_outbox"));
+        assertEquals(1, count("SELECT COUNT(*) FROM complaint_history WHERE complaint_id = ? AND action_type = 'REJECTED'", c.getId()));
+        assertEquals(1, count("SELECT COUNT(*) FROM notifications WHERE user_id = ? AND related_complaint_id = ?",
+                citizen.getId(), c.getId()));
+        verify(mailService).sendTemplate(eq(citizen.getEmail()), eq("complaint-rejected"), anyMap());
+    }
+
+    @Test
+    void adminNotificationsAreExpandedByTheRelay() {
+        Complaint c = complaint("RESOLVED");
+        complaintController.reopenComplaint(c.getId());
+        drain();
+
+        assertEquals(1, count("SELECT COUNT(*) FROM notifications WHERE user_id = ? AND related_complaint_id = ?",
+                admin.getId(), c.getId()));
+        assertEquals(1, count("SELECT COUNT(*) FROM complaint_history WHERE complaint_id = ? AND action_type = 'REOPENED'", c.getId()));
+    }
+
+    @Test
+    void failureAfterTheOutboxWriteRollsBackBoth() {
+        Complaint c = complaint("PENDING");
+        assertThrows(IllegalStateException.class, () -> stateMachine.transition(c.getId(), Transition.REJECT, Changes.none(), r -> {
+            outbox.write(new ComplaintOutbox.Message(r.getId(), "REJECTED").history(null, "REJECTED", "Reason: test"));
+            throw new IllegalStateException("crash between the writes");
+        }));
+
+        assertEquals("PENDING", complaintRepository.findById(c.getId()).orElseThrow().getStatus());
+        assertEquals(0, count("SELECT COUNT(*) FROM complaint_outbox"));
+    }
+
+    @Test
+    void writeOutsideATransactionIsRefused() {
+        assertThrows(IllegalStateException.class, () -> outbox.write(new ComplaintOutbox.Message(1, "NOTE_ADDED")));
+    }
+
+    @Test
+    void drainsManyMessagesInBatches() {
+        Complaint c = complaint("IN_PROGRESS");
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        for (int i = 0; i < MESSAGES; i += 100) {
+            int first = i;
+            tx.executeWithoutResult(status -> {
+                for (int j = first; j < first + 100; j++) {
+                    outbox.write(new ComplaintOutbox.Message(c.getId(), "NOTE_ADDED")
+                            .history(null, "NOTE_ADDED", "Admin Note: " + j)
+                            .notify(citizen.getId(), "Note " + j, "INFO"));
+                }
+            });
+        }
+
+        drain();
+        assertEquals(MESSAGES, historyRepository.count());
+        assertEquals(MESSAGES, count("SELECT COUNT(*) FROM notifications WHERE user_id = ?", citizen.getId()));
+        assertEquals(0, outbox.getLagMillis());
+    }
+
+    @Test
+    void poisonedRowsDoNotBlockTheRowsBehindThem() {
+        Complaint c = complaint("IN_PROGRESS");
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        tx.executeWithoutResult(status -> {
+            outbox.write(new ComplaintOutbox.Message(c.getId(), "NOTE_ADDED").history(null, "NOTE_ADDED", "before"));
+            jdbcTemplate.update("INSERT INTO complaint_outbox (complaint_id, action, payload, created_at, attempts) "
+                    + "VALUES (?, 'NOTE_ADDED', '{not json', CURRENT_TIMESTAMP, 0)", c.getId());
+            // History row without a complaint id: its insert fails every time
+            outbox.write(new ComplaintOutbox.Message(c.getId(), "NOTE_ADDED").history(null, null, "NOTE_ADDED", "broken"));
+            outbox.write(new ComplaintOutbox.Message(c.getId(), "NOTE_ADDED").history(null, "NOTE_ADDED", "after"));
+        });
+
+        assertEquals(4, outbox.drainBatch());
+        assertEquals(2, historyRepository.count());
+        assertEquals(2, count("SELECT COUNT(*) FROM complaint_outbox WHERE attempts = 1 AND failed_at IS NULL"));
+
+        drain();
+        assertEquals(2, historyRepository.count());
+        assertEquals(2, count("SELECT COUNT(*) FROM complaint_outbox WHERE attempts = 5 AND failed_at IS NOT NULL"));
+        assertEquals(1, count("SELECT COUNT(*) FROM complaint_outbox WHERE last_error LIKE '%Unreadable outbox payload%'"));
+
+        // Parked rows are skipped: new messages go straight through
+        tx.executeWithoutResult(status -> outbox.write(
+                new ComplaintOutbox.Message(c.getId(), "NOTE_ADDED").history(null, "NOTE_ADDED", "later")));
+        assertEquals(1, outbox.drainBatch());
+        assertEquals(3, historyRepository.count());
+    }
+}
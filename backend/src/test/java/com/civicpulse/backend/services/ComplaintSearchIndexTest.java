@@ -0,0 +1,117 @@
+package com.civicpulse.backend.services;
+
+import com.civicpulse.backend.dto.ComplaintSearchDoc;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Tokenizing, BM25 ranking, prefix matching and updates; then, over a synthetic corpus, that top-k pruning
+// returns what scoring every match would. Search latency at 1M complaints is measured by
+// ComplaintSearchBenchmark (benchmarks module).
+class ComplaintSearchIndexTest {
+
+    private static final int DOCS = 20_000;
+    private static final int QUERIES = 200;
+
+    private static List<Integer> ids(List<ComplaintSearchIndex.Hit> hits) {
+        return hits.stream().map(ComplaintSearchIndex.Hit::complaintId).toList();
+    }
+
+    @Test
+    void tokenizesLowerCaseWordsWithoutStopWords() {
+        assertEquals(List.of("streetlight", "out", "mg", "road", "2nd", "cross"),
+                ComplaintSearchIndex.tokenize("Streetlight OUT near MG Road, 2nd cross!"));
+    }
+
+    @Test
+    void ranksByRelevanceAndMatchesPrefixes() {
+        ComplaintSearchIndex index = new ComplaintSearchIndex();
+        index.put(new ComplaintSearchDoc(1, "Pothole on main road", "Deep pothole near the bus stop", "Ward 4", null));
+        index.put(new ComplaintSearchDoc(2, "Garbage not collected", "Bins overflowing for a week, also a pothole", "Station street", null));
+        index.put(new ComplaintSearchDoc(3, "Streetlight not working", "Dark street at night", "Lighthouse colony", null));
+
+        assertEquals(List.of(1, 2), ids(index.search("pothole", 10))); // Title match + two mentions rank first
+        assertEquals(List.of(3), ids(index.search("light", 10))); // Prefix: lighthouse
+        assertEquals(List.of(), ids(index.search("light ", 10))); // Trailing space: whole word only
+        assertEquals(List.of(1, 3), ids(index.search("dark road", 10))); // "road" is in a title: counts double
+        assertEquals(List.of(), ids(index.search("near the", 10)));
+        assertEquals(List.of("street", "streetlight"), index.suggest("STRE", 10)); // Most frequent first
+    }
+
+    @Test
+    void updatesReplaceTheOldText() {
+        ComplaintSearchIndex index = new ComplaintSearchIndex();
+        index.put(new ComplaintSearchDoc(1, "Water leak", "Pipe burst", "Ward 1", null));
+        index.put(new ComplaintSearchDoc(1, "Water leak", "Pipe burst", "Ward 1", "Duplicate of a sewage complaint"));
+
+        assertEquals(List.of(1), ids(index.search("sewage", 10)));
+        assertEquals(1, index.search("pipe", 10).size());
+        assertEquals(1, index.size());
+
+        index.remove(1);
+        assertEquals(List.of(), ids(index.search("water", 10)));
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    void prunedTopKMatchesScoringEveryMatch() {
+        String[] issues = {"pothole", "streetlight", "garbage", "sewage", "water", "leak", "drainage", "tree",
+                "noise", "traffic", "signal", "footpath", "encroachment", "mosquito", "stray", "dogs", "power", "cut"};
+        String[] places = {"main", "road", "street", "colony", "market", "school", "hospital", "park", "bus", "stop",
+                "junction", "lane", "cross", "nagar", "layout", "circle"};
+        Random random = new Random(42);
+        String[] vocabulary = new String[20_000];
+        for (int i = 0; i < vocabulary.length; i++) vocabulary[i] = word(random, 4 + random.nextInt(6));
+
+        ComplaintSearchIndex index = new ComplaintSearchIndex();
+        for (int i = 1; i <= DOCS; i++) {
+            String title = pick(random, issues) + " " + pick(random, issues) + " " + pick(random, places);
+            StringBuilder description = new StringBuilder();
+            for (int w = 0; w < 15; w++) {
+                // Mostly common words with a long tail of rare ones, like real text
+                description.append(random.nextInt(4) == 0 ? pick(random, issues) : zipf(random, vocabulary)).append(' ');
+            }
+            String location = pick(random, places) + " " + pick(random, places) + " ward " + (i % 150);
+            index.put(new ComplaintSearchDoc(i, title, description.toString(), location, null));
+        }
+
+        String[] queries = new String[QUERIES];
+        for (int q = 0; q < QUERIES; q++) {
+            queries[q] = switch (q % 4) {
+                case 0 -> pick(random, issues) + " " + pick(random, places);
+                case 1 -> pick(random, issues) + " " + zipf(random, vocabulary);
+                case 2 -> pick(random, issues) + " " + pick(random, places).substring(0, 3); // Typeahead
+                default -> zipf(random, vocabulary) + " " + zipf(random, vocabulary) + " " + pick(random, places);
+            };
+        }
+        // Pruning must not change the result: the top 20 equal the first 20 of a search that keeps every match
+        for (int q = 0; q < QUERIES; q++) {
+            List<ComplaintSearchIndex.Hit> all = index.search(queries[q], DOCS);
+            List<ComplaintSearchIndex.Hit> top = index.search(queries[q], 20);
+            assertEquals(Math.min(20, all.size()), top.size(), queries[q]);
+            for (int i = 0; i < top.size(); i++) {
+                assertEquals(all.get(i).score(), top.get(i).score(), 1e-4, queries[q]); // Summed in another order
+            }
+            for (int i = 1; i < top.size(); i++) assertTrue(top.get(i - 1).score() >= top.get(i).score(), queries[q]);
+        }
+    }
+
+    private static String pick(Random random, String[] words) {
+        return words[random.nextInt(words.length)];
+    }
+
+    // Low indexes far more often than high ones
+    private static String zipf(Random random, String[] words) {
+        return words[(int) Math.min(words.length - 1, Math.pow(words.length, random.nextDouble()) - 1)];
+    }
+
+    private static String word(Random random, int length) {
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) chars[i] = (char) ('a' + random.nextInt(26));
+        return new String(chars);
+    }
+}
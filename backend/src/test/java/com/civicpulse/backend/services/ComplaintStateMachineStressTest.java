@@ -0,0 +1,131 @@
+package com.civicpulse.backend.services;
+
+import com.civicpulse.backend.model.Complaint;
+import com.civicpulse.backend.repository.ComplaintHistoryRepository;
+import com.civicpulse.backend.repository.ComplaintRepository;
+import com.civicpulse.backend.services.ComplaintStateMachine.Changes;
+import com.civicpulse.backend.services.ComplaintStateMachine.Transition;
+import com.civicpulse.backend.services.ComplaintStateMachine.TransitionConflictException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Many threads fire random transitions at a few complaints. Whatever the interleaving:
+//   - every successful transition bumped the version exactly once (nothing overwritten, nothing lost),
+//   - a complaint was never resolved twice without a reopen in between (resolves - reopens is 0 or 1,
+//     and 1 exactly when it ends RESOLVED).
+// Transition throughput is measured by the load test (resolveComplaint / assignBulk / feedback in benchmarks/load).
+@SpringBootTest
+class ComplaintStateMachineStressTest {
+
+    private static final int COMPLAINTS = 8;
+    private static final int THREADS = 16;
+    private static final int OPERATIONS = 4_000;
+
+    @Autowired private ComplaintStateMachine stateMachine;
+    @Autowired private ComplaintRepository complaintRepository;
+    @Autowired private ComplaintHistoryRepository historyRepository;
+
+    @AfterEach
+    void cleanUp() {
+        historyRepository.deleteAllInBatch();
+        complaintRepository.deleteAllInBatch();
+    }
+
+    private Complaint complaint(String status) {
+        Complaint c = new Complaint();
+        c.setTitle("Broken bench");
+        c.setStatus(status);
+        return complaintRepository.save(c);
+    }
+
+    private static Changes changesFor(Transition t) {
+        return switch (t) {
+            case ASSIGN -> Changes.none().set("assignedTo", 7L);
+            case REJECT -> Changes.none().set("admin_comment", "Not municipal property").set("assignedTo", null);
+            case RESOLVE -> Changes.none().set("materialsUsed", "4 bolts");
+            case REOPEN -> Changes.none().set("priority", "HIGH");
+        };
+    }
+
+    @Test
+    void illegalTransitionsAreRejected() {
+        Complaint reopened = complaint("REOPENED");
+        assertThrows(TransitionConflictException.class,
+                () -> stateMachine.transition(reopened.getId(), Transition.RESOLVE, Changes.none()));
+
+        Complaint pending = complaint("PENDING");
+        Complaint rejected = stateMachine.transition(pending.getId(), Transition.REJECT, changesFor(Transition.REJECT)).orElseThrow();
+        assertEquals("REJECTED", rejected.getStatus());
+        assertEquals("Not municipal property", rejected.getAdmin_comment());
+        assertEquals(1L, rejected.getVersion());
+        assertThrows(TransitionConflictException.class,
+                () -> stateMachine.transition(pending.getId(), Transition.REOPEN, Changes.none()));
+
+        assertTrue(stateMachine.transition(-1, Transition.REJECT, Changes.none()).isEmpty());
+    }
+
+    @Test
+    void concurrentTransitionsKeepInvariants() throws Exception {
+        List<Integer> ids = new ArrayList<>();
+        for (int i = 0; i < COMPLAINTS; i++) ids.add(complaint("IN_PROGRESS").getId());
+
+        Map<Integer, Map<Transition, AtomicInteger>> successes = new ConcurrentHashMap<>();
+        for (Integer id : ids) {
+            Map<Transition, AtomicInteger> perTransition = new EnumMap<>(Transition.class);
+            for (Transition t : Transition.values()) perTransition.put(t, new AtomicInteger());
+            successes.put(id, perTransition);
+        }
+        LongAdder conflicts = new LongAdder();
+
+        List<Callable<Object>> tasks = new ArrayList<>();
+        for (int i = 0; i < OPERATIONS; i++) {
+            tasks.add(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                Integer id = ids.get(random.nextInt(ids.size()));
+                Transition t = Transition.values()[random.nextInt(Transition.values().length)];
+                try {
+                    stateMachine.transition(id, t, changesFor(t)).orElseThrow();
+                    successes.get(id).get(t).incrementAndGet();
+                } catch (TransitionConflictException e) {
+                    conflicts.increment();
+                }
+                return null;
+            });
+        }
+
+        try (ExecutorService pool = Executors.newFixedThreadPool(THREADS)) {
+            for (var f : pool.invokeAll(tasks)) f.get();
+        }
+
+        int applied = 0;
+        for (Integer id : ids) {
+            Complaint c = complaintRepository.findById(id).orElseThrow();
+            Map<Transition, AtomicInteger> s = successes.get(id);
+            int total = s.values().stream().mapToInt(AtomicInteger::get).sum();
+            applied += total;
+
+            assertEquals(total, c.getVersion(), "complaint #" + id + " version");
+            int openResolutions = s.get(Transition.RESOLVE).get() - s.get(Transition.REOPEN).get();
+            assertEquals("RESOLVED".equals(c.getStatus()) ? 1 : 0, openResolutions, "complaint #" + id + " resolves - reopens");
+        }
+        assertEquals(OPERATIONS, applied + conflicts.sum());
+    }
+}
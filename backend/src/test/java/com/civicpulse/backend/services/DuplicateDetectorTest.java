@@ -0,0 +1,153 @@
+package com.civicpulse.backend.services;
+
+import com.civicpulse.backend.dto.ComplaintLocation;
+import com.civicpulse.backend.dto.ComplaintText;
+import com.civicpulse.backend.event.ComplaintChangedEvent;
+import com.civicpulse.backend.model.Complaint;
+import com.civicpulse.backend.repository.ComplaintRepository;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// Duplicate detection against 20k open complaints spread over a city:
+// matches a reworded report of the same issue, ignores other categories / distant / unrelated / blank reports.
+// Cost per submission is measured by DuplicateDetectorBenchmark (benchmarks module).
+class DuplicateDetectorTest {
+
+    private static final int OPEN_TICKETS = 20_000;
+    private static final double CENTER_LAT = 17.385;
+    private static final double CENTER_LON = 78.4867;
+    private static final String[] ISSUES = {
+            "Large pothole on the main road", "Streetlight not working at night", "Garbage not collected for a week",
+            "Water pipeline leaking on the street", "Open drain overflowing near the school", "Fallen tree blocking lane" };
+
+    private static GeoIndex geoIndex;
+    private static DuplicateDetector detector;
+
+    @BeforeAll
+    static void seed() {
+        geoIndex = new GeoIndex();
+        detector = new DuplicateDetector();
+        ReflectionTestUtils.setField(detector, "geoIndex", geoIndex);
+        ReflectionTestUtils.setField(detector, "enabled", true);
+        ReflectionTestUtils.setField(detector, "radiusMeters", 75.0);
+        ReflectionTestUtils.setField(detector, "threshold", 0.5);
+
+        Random random = new Random(42);
+        for (int i = 1; i <= OPEN_TICKETS; i++) {
+            double lat = CENTER_LAT + (random.nextDouble() - 0.5) * 0.36;
+            double lon = CENTER_LON + (random.nextDouble() - 0.5) * 0.36;
+            int category = 1 + random.nextInt(ISSUES.length);
+            open(i, lat, lon, category, ISSUES[category - 1] + " " + i, "Reported by a resident, ticket " + i);
+        }
+        // The one the tests try to duplicate
+        open(OPEN_TICKETS + 1, CENTER_LAT, CENTER_LON, 1,
+                "Huge pothole near bus stop", "There is a deep pothole in front of the bus stop on MG Road, bikes are falling");
+    }
+
+    private static void open(int id, double lat, double lon, int category, String title, String description) {
+        Complaint c = new Complaint();
+        c.setId(id);
+        c.setCategoryId(category);
+        c.setLatitude(lat);
+        c.setLongitude(lon);
+        c.setTitle(title);
+        c.setDescription(description);
+        geoIndex.put(new ComplaintLocation(id, lat, lon, category));
+        detector.onComplaintChanged(new ComplaintChangedEvent(c, "CREATED"));
+    }
+
+    @Test
+    void linksRewordedReportNearby() {
+        Optional<DuplicateDetector.Match> match = detector.findDuplicate(1, CENTER_LAT + 0.0002, CENTER_LON,
+                "Pothole near the bus stop", "Deep pothole in front of bus stop on MG road. Bikes falling!");
+        assertTrue(match.isPresent());
+        assertEquals(OPEN_TICKETS + 1, match.get().complaintId());
+    }
+
+    @Test
+    void ignoresOtherCategoryDistanceOrText() {
+        String title = "Pothole near the bus stop";
+        String description = "Deep pothole in front of bus stop on MG road. Bikes falling!";
+        assertTrue(detector.findDuplicate(2, CENTER_LAT, CENTER_LON, title, description).isEmpty());
+        assertTrue(detector.findDuplicate(1, CENTER_LAT + 0.01, CENTER_LON, title, description).isEmpty()); // ~1 km
+        assertTrue(detector.findDuplicate(1, CENTER_LAT, CENTER_LON,
+                "Dog bite incident", "A stray dog attacked a child in the park").isEmpty());
+        assertTrue(detector.findDuplicate(1, null, null, title, description).isEmpty());
+    }
+
+    @Test
+    void resolvedComplaintIsNoLongerAnOriginal() {
+        Complaint c = new Complaint();
+        c.setId(OPEN_TICKETS + 2);
+        c.setCategoryId(3);
+        c.setStatus("RESOLVED");
+        open(OPEN_TICKETS + 2, CENTER_LAT - 0.05, CENTER_LON, 3, "Garbage heap behind market", "Garbage piling up behind the market");
+        assertTrue(detector.findDuplicate(3, CENTER_LAT - 0.05, CENTER_LON, "Garbage heap behind market", "").isPresent());
+
+        detector.onComplaintChanged(new ComplaintChangedEvent(c, "RESOLVED"));
+        geoIndex.remove(c.getId());
+        assertTrue(detector.findDuplicate(3, CENTER_LAT - 0.05, CENTER_LON, "Garbage heap behind market", "").isEmpty());
+    }
+
+    // Without a single trigram every MinHash slot would stay at MAX_VALUE and any two such reports would be "identical"
+    @Test
+    void blankReportsNeverMatch() {
+        double lat = CENTER_LAT + 0.05;
+        open(OPEN_TICKETS + 3, lat, CENTER_LON, 4, "!!", "");
+        assertNull(DuplicateDetector.signature("!!", ""));
+
+        assertTrue(detector.findDuplicate(4, lat, CENTER_LON, "?", null).isEmpty());
+        assertTrue(detector.findDuplicate(4, lat, CENTER_LON, "!!", "").isEmpty());
+    }
+
+    @Test
+    void changesDuringARebuildAreNotLost() {
+        double lat = CENTER_LAT - 0.1;
+        String title = "Broken bench in the park";
+        String description = "The wooden bench near the park gate is broken";
+        ComplaintRepository repository = mock(ComplaintRepository.class);
+        GeoIndex positions = new GeoIndex();
+        positions.put(new ComplaintLocation(1, lat, CENTER_LON, 5));
+        positions.put(new ComplaintLocation(2, lat, CENTER_LON, 5));
+        DuplicateDetector rebuilt = new DuplicateDetector();
+        ReflectionTestUtils.setField(rebuilt, "geoIndex", positions);
+        ReflectionTestUtils.setField(rebuilt, "complaintRepository", repository);
+        ReflectionTestUtils.setField(rebuilt, "enabled", true);
+        ReflectionTestUtils.setField(rebuilt, "radiusMeters", 75.0);
+        ReflectionTestUtils.setField(rebuilt, "threshold", 0.5);
+        Complaint resolved = new Complaint();
+        resolved.setId(1);
+        resolved.setStatus("RESOLVED");
+        Complaint created = new Complaint();
+        created.setId(2);
+        created.setTitle(title);
+        created.setDescription(description);
+        // #2 is created before the loaded signatures replace the old ones; #1 is read, then resolved
+        when(repository.findTextsByStatusIn(any())).thenAnswer(inv -> {
+            rebuilt.onComplaintChanged(new ComplaintChangedEvent(created, "CREATED"));
+            rebuilt.onComplaintChanged(new ComplaintChangedEvent(resolved, "RESOLVED"));
+            return List.of(new ComplaintText(1, title, description));
+        });
+        when(repository.findTextsByIdInAndStatusIn(anyCollection(), any()))
+                .thenReturn(List.of(new ComplaintText(2, title, description)));
+
+        rebuilt.rebuild();
+
+        Optional<DuplicateDetector.Match> match = rebuilt.findDuplicate(5, lat, CENTER_LON, title, description);
+        assertTrue(match.isPresent());
+        assertEquals(2, match.get().complaintId());
+    }
+}
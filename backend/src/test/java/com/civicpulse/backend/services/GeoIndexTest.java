@@ -0,0 +1,126 @@
+package com.civicpulse.backend.services;
+
+import com.civicpulse.backend.dto.ComplaintLocation;
+import com.civicpulse.backend.event.ComplaintChangedEvent;
+import com.civicpulse.backend.model.Complaint;
+import com.civicpulse.backend.repository.ComplaintRepository;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// GeoIndex radius queries return what a full Haversine scan would, over complaints spread across a
+// ~40 x 40 km city. Query cost at 1M complaints is measured by GeoIndexBenchmark (benchmarks module).
+class GeoIndexTest {
+
+    private static final int POINTS = 50_000;
+    private static final int QUERIES = 200;
+    private static final double CENTER_LAT = 17.385;
+    private static final double CENTER_LON = 78.4867;
+    private static final double SPREAD_DEGREES = 0.36;
+
+    private static GeoIndex index;
+    private static double[] lats;
+    private static double[] lons;
+
+    @BeforeAll
+    static void seed() {
+        Random random = new Random(42);
+        lats = new double[POINTS];
+        lons = new double[POINTS];
+        index = new GeoIndex();
+        for (int i = 0; i < POINTS; i++) {
+            lats[i] = CENTER_LAT + (random.nextDouble() - 0.5) * SPREAD_DEGREES;
+            lons[i] = CENTER_LON + (random.nextDouble() - 0.5) * SPREAD_DEGREES;
+            index.put(new ComplaintLocation(i, lats[i], lons[i], 1 + i % 8));
+        }
+    }
+
+    private static int fullScan(double lat, double lon, double radiusMeters) {
+        int count = 0;
+        for (int i = 0; i < POINTS; i++) {
+            if (GeoUtils.distanceMeters(lat, lon, lats[i], lons[i]) <= radiusMeters) count++;
+        }
+        return count;
+    }
+
+    @Test
+    void indexMatchesFullScan() {
+        Random random = new Random(7);
+        double[][] queries = new double[QUERIES][];
+        for (int q = 0; q < QUERIES; q++) {
+            queries[q] = new double[] {
+                    CENTER_LAT + (random.nextDouble() - 0.5) * SPREAD_DEGREES,
+                    CENTER_LON + (random.nextDouble() - 0.5) * SPREAD_DEGREES };
+        }
+        double radius = 2000;
+
+        for (int q = 0; q < QUERIES; q++) {
+            int actual = index.withinRadius(queries[q][0], queries[q][1], radius, Integer.MAX_VALUE).size();
+            assertEquals(fullScan(queries[q][0], queries[q][1], radius), actual, "query " + q);
+        }
+    }
+
+    @Test
+    void resultsAreNearestFirstAndFollowRemovals() {
+        List<GeoIndex.Hit> hits = index.withinRadius(CENTER_LAT, CENTER_LON, 300, 20);
+        assertTrue(hits.size() <= 20);
+        for (int i = 1; i < hits.size(); i++) {
+            assertTrue(hits.get(i - 1).distanceMeters() <= hits.get(i).distanceMeters());
+        }
+
+        GeoIndex small = new GeoIndex();
+        small.put(new ComplaintLocation(1, CENTER_LAT, CENTER_LON, 1));
+        small.put(new ComplaintLocation(2, CENTER_LAT + 0.001, CENTER_LON, 1)); // ~111 m north
+        assertEquals(2, small.withinRadius(CENTER_LAT, CENTER_LON, 200, 10).size());
+        assertEquals(1, small.withinBox(CENTER_LAT - 0.0001, CENTER_LON - 0.0001,
+                CENTER_LAT + 0.0001, CENTER_LON + 0.0001, 10).size());
+
+        small.remove(1);
+        List<GeoIndex.Hit> remaining = small.withinRadius(CENTER_LAT, CENTER_LON, 200, 10);
+        assertEquals(1, remaining.size());
+        assertEquals(2, remaining.get(0).location().id());
+
+        // Moving a complaint re-files it under its new cell
+        small.put(new ComplaintLocation(2, CENTER_LAT + 0.5, CENTER_LON, 1));
+        assertTrue(small.withinRadius(CENTER_LAT, CENTER_LON, 200, 10).isEmpty());
+        assertEquals(1, small.size());
+    }
+
+    @Test
+    void changesDuringARebuildAreNotLost() {
+        ComplaintRepository repository = mock(ComplaintRepository.class);
+        GeoIndex rebuilt = new GeoIndex();
+        ReflectionTestUtils.setField(rebuilt, "complaintRepository", repository);
+        Complaint created = new Complaint();
+        created.setId(2);
+        created.setStatus("PENDING");
+        created.setLatitude(CENTER_LAT);
+        created.setLongitude(CENTER_LON);
+        Complaint resolved = new Complaint();
+        resolved.setId(1);
+        resolved.setStatus("RESOLVED");
+        // #2 is created before the loaded positions replace the old ones; #1 is read, then resolved
+        when(repository.findLocationsByStatusIn(any())).thenAnswer(inv -> {
+            rebuilt.onComplaintChanged(new ComplaintChangedEvent(created, "CREATED"));
+            rebuilt.onComplaintChanged(new ComplaintChangedEvent(resolved, "RESOLVED"));
+            return List.of(new ComplaintLocation(1, CENTER_LAT, CENTER_LON, 1));
+        });
+        when(repository.findLocationsByIdInAndStatusIn(anyCollection(), any()))
+                .thenReturn(List.of(new ComplaintLocation(2, CENTER_LAT, CENTER_LON, null)));
+
+        rebuilt.rebuild();
+
+        List<GeoIndex.Hit> hits = rebuilt.withinRadius(CENTER_LAT, CENTER_LON, 100, 10);
+        assertEquals(List.of(2), hits.stream().map(h -> h.location().id()).toList());
+    }
+}
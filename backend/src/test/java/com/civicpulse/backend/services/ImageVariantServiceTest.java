@@ -0,0 +1,145 @@
+package com.civicpulse.backend.services;
+
+import com.civicpulse.backend.services.ImageVariantService.Size;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Variants of a real JPEG have the expected dimensions and a fraction of its bytes; a full queue drops the job
+// without losing it for good, and a file that cannot be decoded is tried once.
+class ImageVariantServiceTest {
+
+    @TempDir
+    Path dir;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private UploadStorageService storage;
+    private ImageVariantService variants;
+
+    private void start(UploadStorageService uploadStorage, int workers, int queueCapacity) {
+        storage = uploadStorage;
+        ReflectionTestUtils.setField(storage, "uploadDir", dir.resolve("uploads").toString());
+        ReflectionTestUtils.setField(storage, "maxBytes", 10_485_760L);
+        ReflectionTestUtils.setField(storage, "bufferBytes", 65536);
+        ReflectionTestUtils.invokeMethod(storage, "init");
+
+        variants = new ImageVariantService();
+        ReflectionTestUtils.setField(variants, "uploadStorage", storage);
+        ReflectionTestUtils.setField(variants, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(variants, "workers", workers);
+        ReflectionTestUtils.setField(variants, "queueCapacity", queueCapacity);
+        ReflectionTestUtils.invokeMethod(variants, "init");
+    }
+
+    @AfterEach
+    void stop() {
+        ReflectionTestUtils.invokeMethod(variants, "shutdown");
+    }
+
+    // A noisy image, which compresses about as badly as a phone photo
+    private Path photo(String fileName, int width, int height) throws Exception {
+        Random random = new Random(fileName.hashCode());
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                int shade = (x * 255 / width + random.nextInt(64)) & 0xFF;
+                image.setRGB(x, y, shade << 16 | (y * 255 / height) << 8 | random.nextInt(256));
+            }
+        }
+        Path file = storage.getRoot().resolve(fileName);
+        ImageIO.write(image, "jpeg", file.toFile());
+        return file;
+    }
+
+    private Path await(String fileName, Size size) throws InterruptedException {
+        for (int i = 0; i < 200; i++) {
+            Path variant = variants.find(fileName, size);
+            if (variant != null) return variant;
+            Thread.sleep(50);
+        }
+        throw new AssertionError("No " + size + " variant of " + fileName);
+    }
+
+    private double dropped() {
+        return meterRegistry.counter("uploads.variants.dropped").count();
+    }
+
+    @Test
+    void variantsAreDownscaledAndAFractionOfTheOriginal() throws Exception {
+        start(new UploadStorageService(), 2, 200);
+        Path original = photo("photo.jpg", 2400, 1800);
+
+        variants.submit("photo.jpg");
+        BufferedImage medium = ImageIO.read(await("photo.jpg", Size.MEDIUM).toFile());
+        BufferedImage thumb = ImageIO.read(await("photo.jpg", Size.THUMB).toFile());
+
+        assertEquals(960, medium.getWidth());
+        assertEquals(720, medium.getHeight());
+        assertEquals(240, thumb.getWidth());
+        assertEquals(180, thumb.getHeight());
+        long originalBytes = Files.size(original);
+        assertTrue(Files.size(variants.find("photo.jpg", Size.MEDIUM)) * 4 < originalBytes);
+        assertTrue(Files.size(variants.find("photo.jpg", Size.THUMB)) * 10 < originalBytes);
+    }
+
+    @Test
+    void fullQueueDropsTheJobUntilTheVariantIsAskedForAgain() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        start(new UploadStorageService() {
+            @Override
+            public Path resolve(String fileName) {
+                try {
+                    release.await(10, TimeUnit.SECONDS); // Holds the single worker
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.resolve(fileName);
+            }
+        }, 1, 1);
+        for (String name : new String[] {"a.jpg", "b.jpg", "c.jpg"}) photo(name, 400, 300);
+
+        variants.submit("a.jpg"); // Running
+        ThreadPoolExecutor executor = (ThreadPoolExecutor) ReflectionTestUtils.getField(variants, "executor");
+        while (executor.getActiveCount() == 0) Thread.sleep(5);
+        variants.submit("b.jpg"); // Queued
+        variants.submit("c.jpg"); // Queue full
+        assertEquals(1, dropped());
+
+        release.countDown();
+        await("a.jpg", Size.THUMB);
+        await("b.jpg", Size.THUMB);
+        assertNotNull(await("c.jpg", Size.THUMB)); // Not stuck as in flight: find() queued it again
+        assertEquals(1, dropped());
+    }
+
+    @Test
+    void undecodableFileIsOnlyTriedOnce() throws Exception {
+        start(new UploadStorageService(), 1, 10);
+        Files.write(storage.getRoot().resolve("clip.webp"), new byte[] {'R', 'I', 'F', 'F', 0, 0, 0, 0, 'W', 'E', 'B', 'P'});
+        ThreadPoolExecutor executor = (ThreadPoolExecutor) ReflectionTestUtils.getField(variants, "executor");
+
+        assertNull(variants.find("clip.webp", Size.THUMB));
+        for (int i = 0; i < 200 && executor.getCompletedTaskCount() < 1; i++) Thread.sleep(50);
+        assertEquals(1, executor.getCompletedTaskCount());
+
+        for (int i = 0; i < 10; i++) assertNull(variants.find("clip.webp", Size.MEDIUM));
+        assertEquals(1, executor.getTaskCount()); // Nothing queued again
+    }
+}
@@ -0,0 +1,109 @@
+package com.civicpulse.backend.services;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Just enough SMTP for tests: EHLO / MAIL / RCPT / DATA / RSET / NOOP / QUIT on a random loopback port.
+// Counts connections and accepted messages; can answer DATA with a temporary (451) or permanent (554) error.
+class LocalSmtpServer implements AutoCloseable {
+
+    private final ServerSocket serverSocket;
+    private final ExecutorService sessions = Executors.newVirtualThreadPerTaskExecutor();
+    private final AtomicInteger connections = new AtomicInteger();
+    private final AtomicInteger messages = new AtomicInteger();
+    private final AtomicInteger rejectNext = new AtomicInteger();
+    private volatile boolean rejectAll;
+
+    LocalSmtpServer() throws IOException {
+        serverSocket = new ServerSocket(0, 200, InetAddress.getLoopbackAddress());
+        Thread.ofPlatform().name("local-smtp").daemon().start(this::acceptLoop);
+    }
+
+    int port() { return serverSocket.getLocalPort(); }
+
+    int connections() { return connections.get(); }
+
+    int messages() { return messages.get(); }
+
+    // The next n messages get "451 try again later"
+    void rejectNext(int n) { rejectNext.set(n); }
+
+    // Every message gets "554 rejected" until switched off
+    void rejectAll(boolean reject) { rejectAll = reject; }
+
+    void reset() {
+        connections.set(0);
+        messages.set(0);
+        rejectNext.set(0);
+        rejectAll = false;
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        sessions.shutdownNow();
+    }
+
+    private void acceptLoop() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                connections.incrementAndGet();
+                sessions.execute(() -> session(socket));
+            } catch (IOException e) {
+                return; // closed
+            }
+        }
+    }
+
+    private void session(Socket socket) {
+        try (socket;
+             BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.ISO_8859_1));
+             Writer out = new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.ISO_8859_1)) {
+            reply(out, "220 localhost ESMTP test");
+            String line;
+            while ((line = in.readLine()) != null) {
+                String command = line.length() < 4 ? line.toUpperCase() : line.substring(0, 4).toUpperCase();
+                switch (command) {
+                    case "EHLO" -> reply(out, "250-localhost\r\n250 8BITMIME");
+                    case "HELO" -> reply(out, "250 localhost");
+                    case "MAIL", "RCPT", "RSET", "NOOP" -> reply(out, "250 OK");
+                    case "DATA" -> {
+                        reply(out, "354 End data with <CR><LF>.<CR><LF>");
+                        while ((line = in.readLine()) != null && !line.equals(".")) {
+                            // Body is not kept
+                        }
+                        if (rejectAll) reply(out, "554 Message rejected");
+                        else if (rejectNext.getAndUpdate(n -> Math.max(0, n - 1)) > 0) reply(out, "451 Try again later");
+                        else {
+                            messages.incrementAndGet();
+                            reply(out, "250 Queued");
+                        }
+                    }
+                    case "QUIT" -> {
+                        reply(out, "221 Bye");
+                        return;
+                    }
+                    default -> reply(out, "502 Command not implemented");
+                }
+            }
+        } catch (IOException e) {
+            // Client went away
+        }
+    }
+
+    private static void reply(Writer out, String text) throws IOException {
+        out.write(text + "\r\n");
+        out.flush();
+    }
+}
@@ -0,0 +1,112 @@
+package com.civicpulse.backend.services;
+
+import com.civicpulse.backend.model.DeadLetterMail;
+import com.civicpulse.backend.repository.DeadLetterMailRepository;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// MailDispatcher against a local stand-in SMTP server: connection reuse, retry with backoff, dead letters and
+// re-queueing them. Dispatch throughput is measured by MailDispatcherBenchmark (benchmarks module).
+@SpringBootTest(properties = {
+        "app.mail.redirect-to=",
+        "app.mail.queue-capacity=10000",
+        "app.mail.enqueue-timeout-ms=1000",
+        "app.mail.max-attempts=3",
+        "app.mail.retry-base-ms=20"
+})
+class MailDispatcherTest {
+
+    private static final int MESSAGES = 2_000;
+    private static final LocalSmtpServer SMTP = startSmtp();
+
+    @Autowired private MailDispatcher dispatcher;
+    @Autowired private DeadLetterMailRepository deadLetterRepository;
+
+    private static LocalSmtpServer startSmtp() {
+        try {
+            return new LocalSmtpServer();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @DynamicPropertySource
+    static void smtp(DynamicPropertyRegistry registry) {
+        registry.add("spring.mail.host", () -> "127.0.0.1");
+        registry.add("spring.mail.port", SMTP::port);
+    }
+
+    @AfterAll
+    static void stopSmtp() throws IOException {
+        SMTP.close();
+    }
+
+    @BeforeEach
+    void reset() {
+        SMTP.reset();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        deadLetterRepository.deleteAllInBatch();
+    }
+
+    private static void await(BooleanSupplier condition, String what) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 60_000;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "timed out waiting for " + what);
+            Thread.sleep(10);
+        }
+    }
+
+    @Test
+    void burstIsSentOverAFewConnections() throws Exception {
+        for (int i = 0; i < MESSAGES; i++) {
+            assertTrue(dispatcher.submit("citizen" + i + "@test.com", "Complaint update #" + i, "<p>Update " + i + "</p>"));
+        }
+        await(() -> SMTP.messages() >= MESSAGES, MESSAGES + " messages");
+
+        assertEquals(MESSAGES, SMTP.messages());
+        assertTrue(SMTP.connections() <= MESSAGES / 10, "connections: " + SMTP.connections());
+        assertEquals(0, deadLetterRepository.count());
+    }
+
+    @Test
+    void temporaryFailureIsRetried() throws Exception {
+        SMTP.rejectNext(2);
+        dispatcher.submit("officer@test.com", "ACCOUNT APPROVED", "<p>Welcome</p>");
+
+        await(() -> SMTP.messages() == 1, "delivery on the third attempt");
+        assertEquals(0, deadLetterRepository.count());
+    }
+
+    @Test
+    void undeliverableMailEndsInDeadLettersAndCanBeRequeued() throws Exception {
+        SMTP.rejectAll(true);
+        dispatcher.submit("officer@test.com", "ACCOUNT APPROVED", "<p>Welcome</p>");
+
+        await(() -> deadLetterRepository.count() == 1, "dead letter");
+        List<DeadLetterMail> letters = deadLetterRepository.findAll();
+        assertEquals(3, letters.get(0).getAttempts());
+        assertEquals(0, SMTP.messages());
+        assertEquals(0, dispatcher.getWaitingRetryCount());
+
+        SMTP.rejectAll(false);
+        assertEquals(1, dispatcher.retryDeadLetters(10));
+        await(() -> SMTP.messages() == 1, "delivery after re-queue");
+        assertEquals(0, deadLetterRepository.count());
+    }
+}
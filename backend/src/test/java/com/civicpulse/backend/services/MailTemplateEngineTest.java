@@ -0,0 +1,66 @@
+package com.civicpulse.backend.services;
+
+import com.civicpulse.backend.services.MailTemplateEngine.RenderedMail;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Rendering rules and the shipped templates. Render cost against the number of registered templates is
+// measured by MailTemplateBenchmark (benchmarks module).
+class MailTemplateEngineTest {
+
+    private MailTemplateEngine engine;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        engine = new MailTemplateEngine();
+        engine.load();
+    }
+
+    @Test
+    void rendersSubjectAndEscapedBody() {
+        engine.register("t", "Subject: Complaint #{{id}}: {{title}}\n<p>{{title}} / {{{link}}}</p>");
+        RenderedMail mail = engine.render("t", Map.of("id", 7, "title", "Pipe <burst> & \"flood\"", "link", "<a href='x'>x</a>"));
+
+        assertEquals("Complaint #7: Pipe <burst> & \"flood\"", mail.subject());
+        assertEquals("<p>Pipe &lt;burst&gt; &amp; &quot;flood&quot; / <a href='x'>x</a></p>", mail.html());
+    }
+
+    @Test
+    void missingValuesAndBadTemplatesFail() {
+        engine.register("t", "<p>{{name}}</p>");
+        assertThrows(IllegalArgumentException.class, () -> engine.render("t", Map.of()));
+        assertThrows(IllegalArgumentException.class, () -> engine.render("no-such-template", Map.of()));
+        assertThrows(IllegalStateException.class, () -> engine.register("bad", "<p>{{name</p>"));
+    }
+
+    @Test
+    void shippedTemplatesRender() {
+        assertTrue(engine.getTemplateNames().containsAll(Set.of("officer-approved", "complaint-resolved", "complaint-rejected")));
+
+        RenderedMail approved = engine.render("officer-approved", Map.of("loginUrl", "http://localhost:5173/login?email=a@b.com"));
+        assertEquals("ACCOUNT APPROVED", approved.subject());
+        assertTrue(approved.html().contains("href='http://localhost:5173/login?email=a@b.com'"));
+
+        RenderedMail rejected = engine.render("complaint-rejected", Map.of("id", "12", "title", "Pothole", "reason", "Duplicate"));
+        assertEquals("Your complaint #12 was rejected", rejected.subject());
+        assertTrue(rejected.html().contains("Reason: Duplicate"));
+    }
+
+    @Test
+    void manyTemplatesEachRenderTheirOwnSource() {
+        for (int i = 0; i < 1_000; i++) {
+            engine.register("bulk-" + i, "Subject: Update " + i + " for #{{id}}\n<p>Template " + i + ": {{title}}</p>");
+        }
+        RenderedMail mail = engine.render("bulk-417", Map.of("id", "12", "title", "Pothole"));
+        assertEquals("Update 417 for #12", mail.subject());
+        assertEquals("<p>Template 417: Pothole</p>", mail.html());
+        assertTrue(engine.getTemplateNames().contains("complaint-resolved"));
+    }
+}
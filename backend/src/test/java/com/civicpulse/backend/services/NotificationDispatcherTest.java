@@ -0,0 +1,84 @@
+package com.civicpulse.backend.services;
+
+import com.civicpulse.backend.event.NotificationsWrittenEvent;
+import com.civicpulse.backend.services.NotificationDispatcher.PendingNotification;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.sql.Timestamp;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// A queued batch the database rejects is retried row by row: only the bad row is lost.
+class NotificationDispatcherTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private JdbcTemplate jdbcTemplate;
+    private ApplicationEventPublisher eventPublisher;
+    private NotificationDispatcher dispatcher;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        // The notifications table has no user 404
+        when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(), any())).thenAnswer(inv -> {
+            Collection<PendingNotification> batch = inv.getArgument(1);
+            if (batch.stream().anyMatch(n -> n.userId() == 404L)) {
+                throw new DataIntegrityViolationException("fk_notifications_user");
+            }
+            return new int[][] {new int[batch.size()]};
+        });
+
+        dispatcher = new NotificationDispatcher();
+        ReflectionTestUtils.setField(dispatcher, "jdbcTemplate", jdbcTemplate);
+        ReflectionTestUtils.setField(dispatcher, "transactionManager", mock(PlatformTransactionManager.class));
+        ReflectionTestUtils.setField(dispatcher, "eventPublisher", eventPublisher);
+        ReflectionTestUtils.setField(dispatcher, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(dispatcher, "queueCapacity", 100);
+        ReflectionTestUtils.setField(dispatcher, "maxBatch", 100);
+        dispatcher.start();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        dispatcher.stop();
+    }
+
+    private static PendingNotification notification(long userId) {
+        return new PendingNotification(userId, "Complaint updated", "INFO", 7, new Timestamp(0));
+    }
+
+    @Test
+    void badRowOnlyLosesItself() {
+        List<PendingNotification> batch = List.of(notification(1), notification(404), notification(2));
+        ReflectionTestUtils.invokeMethod(dispatcher, "writeQueued", batch);
+
+        verify(jdbcTemplate, times(4)).batchUpdate(anyString(), anyCollection(), anyInt(), any()); // Batch, then each row
+        ArgumentCaptor<NotificationsWrittenEvent> event = ArgumentCaptor.forClass(NotificationsWrittenEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(List.of(1L, 2L), event.getValue().notifications().stream().map(PendingNotification::userId).toList());
+        assertEquals(1, meterRegistry.counter("notifications.dispatch.failed").count());
+        assertEquals(2, meterRegistry.counter("notifications.dispatch.written").count());
+    }
+}
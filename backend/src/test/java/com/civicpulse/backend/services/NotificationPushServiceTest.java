@@ -0,0 +1,90 @@
+package com.civicpulse.backend.services;
+
+import com.civicpulse.backend.event.NotificationsWrittenEvent;
+import com.civicpulse.backend.repository.NotificationRepository;
+import com.civicpulse.backend.services.NotificationDispatcher.PendingNotification;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// The unread badge is counted in MySQL once per user, then kept in memory while the user has a stream open.
+class NotificationPushServiceTest {
+
+    private NotificationRepository repository;
+    private NotificationPushService pushService;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(NotificationRepository.class);
+        when(repository.countByUserIdAndIsReadFalse(7L)).thenReturn(3L);
+        pushService = new NotificationPushService();
+        ReflectionTestUtils.setField(pushService, "notificationRepository", repository);
+        ReflectionTestUtils.setField(pushService, "timeoutMillis", 60_000L);
+        ReflectionTestUtils.setField(pushService, "heartbeatSeconds", 25L);
+        ReflectionTestUtils.invokeMethod(pushService, "init");
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReflectionTestUtils.invokeMethod(pushService, "shutdown");
+    }
+
+    private static PendingNotification note(long userId) {
+        return new PendingNotification(userId, "New Task Assigned", "INFO", 1, new Timestamp(System.currentTimeMillis()));
+    }
+
+    @Test
+    void unreadCountIsLoadedOnceThenKeptInMemory() {
+        pushService.subscribe(7L);
+        assertEquals(3, pushService.getUnreadCount(7L));
+        assertEquals(1, pushService.getConnectionCount());
+
+        pushService.onNotificationsWritten(new NotificationsWrittenEvent(List.of(note(7L), note(7L), note(8L))));
+        assertEquals(5, pushService.getUnreadCount(7L));
+
+        pushService.markedRead(7L);
+        assertEquals(4, pushService.getUnreadCount(7L));
+
+        pushService.markedAllRead(7L);
+        pushService.markedRead(7L);
+        assertEquals(0, pushService.getUnreadCount(7L));
+
+        verify(repository, times(1)).countByUserIdAndIsReadFalse(7L);
+    }
+
+    @Test
+    void usersWithoutAStreamAreCountedInMySql() {
+        // User 8 has no stream: nothing is tracked for them, every badge read counts in the DB
+        pushService.onNotificationsWritten(new NotificationsWrittenEvent(List.of(note(8L))));
+        when(repository.countByUserIdAndIsReadFalse(8L)).thenReturn(1L);
+        assertEquals(1, pushService.getUnreadCount(8L));
+        assertEquals(1, pushService.getUnreadCount(8L));
+        verify(repository, times(2)).countByUserIdAndIsReadFalse(8L);
+    }
+
+    @Test
+    void lastClosedStreamDropsTheCount() {
+        SseEmitter first = pushService.subscribe(7L);
+        SseEmitter second = pushService.subscribe(7L);
+
+        ReflectionTestUtils.invokeMethod(pushService, "unsubscribe", 7L, first);
+        assertEquals(3, pushService.getUnreadCount(7L));
+        verify(repository, times(1)).countByUserIdAndIsReadFalse(7L);
+
+        ReflectionTestUtils.invokeMethod(pushService, "unsubscribe", 7L, second);
+        assertEquals(0, pushService.getConnectionCount());
+        assertEquals(3, pushService.getUnreadCount(7L)); // Counted again
+        verify(repository, times(2)).countByUserIdAndIsReadFalse(7L);
+    }
+}
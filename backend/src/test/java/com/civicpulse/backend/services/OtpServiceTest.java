@@ -0,0 +1,120 @@
+package com.civicpulse.backend.services;
+
+import com.civicpulse.backend.services.OtpService.SendDecision;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Codes expire exactly at their TTL on the injected clock, the store never exceeds its cap,
+// guesses are limited, and sending is rate limited per email and per IP.
+class OtpServiceTest {
+
+    private static final String CODE = "123456";
+    private static final int MAX_ENTRIES = 100;
+
+    private MutableClock clock;
+    private OtpService otp;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2025-03-03T08:00:00Z"));
+        otp = new OtpService();
+        ReflectionTestUtils.setField(otp, "clock", clock);
+        ReflectionTestUtils.setField(otp, "ttlSeconds", 300L);
+        ReflectionTestUtils.setField(otp, "verifiedTtlSeconds", 900L);
+        ReflectionTestUtils.setField(otp, "maxEntries", MAX_ENTRIES);
+        ReflectionTestUtils.setField(otp, "maxAttempts", 5);
+        ReflectionTestUtils.setField(otp, "resendCooldownSeconds", 30L);
+        ReflectionTestUtils.setField(otp, "emailLimitPerHour", 5);
+        ReflectionTestUtils.setField(otp, "ipLimitPerHour", 30);
+        // Every code is 123456
+        ReflectionTestUtils.setField(otp, "random", new SecureRandom() {
+            @Override
+            public int nextInt(int bound) { return Integer.parseInt(CODE); }
+        });
+        otp.init();
+    }
+
+    @Test
+    void codeExpiresExactlyAtItsTtl() {
+        otp.generateAndSendOtp("a@test.com");
+        clock.advance(Duration.ofSeconds(299));
+        otp.sweep();
+        assertEquals(1, otp.getStoreSize());
+
+        clock.advance(Duration.ofSeconds(1));
+        otp.sweep();
+        assertEquals(0, otp.getStoreSize());
+        assertFalse(otp.verifyOtp("a@test.com", CODE));
+    }
+
+    @Test
+    void verifiedEmailIsRememberedForItsOwnTtl() {
+        otp.generateAndSendOtp("A@Test.com ");
+        assertTrue(otp.verifyOtp("a@test.com", CODE));
+        assertFalse(otp.verifyOtp("a@test.com", CODE)); // Single use
+
+        clock.advance(Duration.ofSeconds(899));
+        assertTrue(otp.isEmailVerified("a@test.com"));
+        clock.advance(Duration.ofSeconds(1));
+        assertFalse(otp.isEmailVerified("a@test.com"));
+    }
+
+    @Test
+    void tooManyWrongGuessesBurnTheCode() {
+        otp.generateAndSendOtp("a@test.com");
+        for (int i = 0; i < 4; i++) assertFalse(otp.verifyOtp("a@test.com", "000000"));
+        assertTrue(otp.verifyOtp("a@test.com", CODE));
+
+        otp.generateAndSendOtp("b@test.com");
+        for (int i = 0; i < 5; i++) assertFalse(otp.verifyOtp("b@test.com", "000000"));
+        assertFalse(otp.verifyOtp("b@test.com", CODE));
+        assertEquals(0, otp.getStoreSize());
+    }
+
+    @Test
+    void storeIsCappedAndEvictsTheOldestCode() {
+        for (int i = 0; i < MAX_ENTRIES * 5; i++) {
+            otp.generateAndSendOtp("user" + i + "@test.com");
+            assertTrue(otp.getStoreSize() <= MAX_ENTRIES);
+        }
+        assertEquals(MAX_ENTRIES, otp.getStoreSize());
+        assertFalse(otp.verifyOtp("user0@test.com", CODE));
+        assertTrue(otp.verifyOtp("user" + (MAX_ENTRIES * 5 - 1) + "@test.com", CODE));
+    }
+
+    @Test
+    void sendingIsRateLimitedPerEmail() {
+        assertEquals(SendDecision.ALLOWED, otp.checkSend("a@test.com", "10.0.0.1"));
+        otp.generateAndSendOtp("a@test.com");
+        assertEquals(SendDecision.COOLDOWN, otp.checkSend("a@test.com", "10.0.0.1"));
+
+        for (int i = 1; i < 5; i++) {
+            clock.advance(Duration.ofSeconds(31));
+            assertEquals(SendDecision.ALLOWED, otp.checkSend("a@test.com", "10.0.0.1"));
+            otp.generateAndSendOtp("a@test.com");
+        }
+        clock.advance(Duration.ofSeconds(31));
+        assertEquals(SendDecision.EMAIL_LIMITED, otp.checkSend("a@test.com", "10.0.0.1"));
+
+        clock.advance(Duration.ofMinutes(12)); // One of five tokens per hour is back
+        assertEquals(SendDecision.ALLOWED, otp.checkSend("a@test.com", "10.0.0.1"));
+    }
+
+    @Test
+    void sendingIsRateLimitedPerIp() {
+        for (int i = 0; i < 30; i++) {
+            assertEquals(SendDecision.ALLOWED, otp.checkSend("user" + i + "@test.com", "10.0.0.1"));
+        }
+        assertEquals(SendDecision.IP_LIMITED, otp.checkSend("another@test.com", "10.0.0.1"));
+        assertEquals(SendDecision.ALLOWED, otp.checkSend("another@test.com", "10.0.0.2"));
+    }
+}
@@ -0,0 +1,164 @@
+package com.civicpulse.backend.services;
+
+import com.civicpulse.backend.dto.SlaBreach;
+import com.civicpulse.backend.dto.SlaDeadline;
+import com.civicpulse.backend.event.ComplaintChangedEvent;
+import com.civicpulse.backend.event.ComplaintsAssignedEvent;
+import com.civicpulse.backend.event.SlaBreachedEvent;
+import com.civicpulse.backend.model.Complaint;
+import com.civicpulse.backend.repository.ComplaintRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// Deadlines fire on the injected clock: not a second early, once, and not at all for tickets that left IN_PROGRESS.
+class SlaWatcherTest {
+
+    private MutableClock clock;
+    private ComplaintRepository repository;
+    private ApplicationEventPublisher eventPublisher;
+    private SlaWatcher watcher;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2025-03-03T08:00:00Z"));
+        repository = mock(ComplaintRepository.class);
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        // Every due ticket is still IN_PROGRESS in the database
+        when(repository.markSlaBreached(anyCollection(), any(), any()))
+                .thenAnswer(inv -> ((Collection<Integer>) inv.getArgument(0)).size());
+        when(repository.findSlaBreaches(anyCollection(), any())).thenAnswer(inv ->
+                ((Collection<Integer>) inv.getArgument(0)).stream()
+                        .map(id -> new SlaBreach(id, "Pothole #" + id, 42L, "HIGH")).toList());
+
+        watcher = new SlaWatcher();
+        ReflectionTestUtils.setField(watcher, "complaintRepository", repository);
+        ReflectionTestUtils.setField(watcher, "notificationDispatcher", mock(NotificationDispatcher.class));
+        ReflectionTestUtils.setField(watcher, "jdbcTemplate", mock(JdbcTemplate.class));
+        ReflectionTestUtils.setField(watcher, "transactionManager", mock(PlatformTransactionManager.class));
+        ReflectionTestUtils.setField(watcher, "eventPublisher", eventPublisher);
+        ReflectionTestUtils.setField(watcher, "clock", clock);
+        ReflectionTestUtils.setField(watcher, "maxPerTick", 500);
+    }
+
+    private Date ago(Duration d) {
+        return Date.from(clock.instant().minus(d));
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Integer> escalatedIds() {
+        ArgumentCaptor<Collection<Integer>> ids = ArgumentCaptor.forClass(Collection.class);
+        verify(repository, times(1)).markSlaBreached(ids.capture(), any(), any());
+        return List.copyOf(ids.getValue());
+    }
+
+    @Test
+    void firesWhenTheDeadlinePasses() {
+        when(repository.findSlaDeadlines()).thenReturn(List.of(new SlaDeadline(1, ago(Duration.ofHours(23)))));
+        watcher.rebuild();
+        assertEquals(1, watcher.getPendingCount());
+
+        clock.advance(Duration.ofMinutes(59).plusSeconds(59));
+        watcher.tick();
+        verify(repository, never()).markSlaBreached(anyCollection(), any(), any());
+
+        clock.advance(Duration.ofSeconds(1));
+        watcher.tick();
+        assertEquals(List.of(1), escalatedIds());
+        verify(eventPublisher).publishEvent(argThat((Object e) -> e instanceof SlaBreachedEvent b && b.complaintIds().equals(List.of(1))));
+        assertEquals(0, watcher.getPendingCount());
+
+        // Once only
+        clock.advance(Duration.ofHours(1));
+        watcher.tick();
+        verify(repository, times(1)).markSlaBreached(anyCollection(), any(), any());
+    }
+
+    @Test
+    void resolvedAndReassignedTicketsFollowTheirNewState() {
+        watcher.onComplaintsAssigned(new ComplaintsAssignedEvent(List.of(2, 3), 42L, Date.from(clock.instant())));
+
+        Complaint resolved = new Complaint();
+        resolved.setId(2);
+        watcher.onComplaintChanged(new ComplaintChangedEvent(resolved, "RESOLVED"));
+
+        clock.advance(Duration.ofHours(12));
+        watcher.onComplaintsAssigned(new ComplaintsAssignedEvent(List.of(3), 43L, Date.from(clock.instant())));
+
+        clock.advance(Duration.ofHours(12).plusSeconds(1));
+        watcher.tick(); // First deadline of #3 is stale, #2 was cancelled
+        verify(repository, never()).markSlaBreached(anyCollection(), any(), any());
+
+        clock.advance(Duration.ofHours(12));
+        watcher.tick();
+        assertEquals(List.of(3), escalatedIds());
+    }
+
+    @Test
+    void changesDuringARebuildAreNotLost() {
+        Date assignedAt = Date.from(clock.instant());
+        Complaint resolved = new Complaint();
+        resolved.setId(2);
+        // #1 is assigned before the loaded deadlines replace the old ones; #2 is read, then resolved
+        when(repository.findSlaDeadlines()).thenAnswer(inv -> {
+            watcher.onComplaintsAssigned(new ComplaintsAssignedEvent(List.of(1), 42L, assignedAt));
+            watcher.onComplaintChanged(new ComplaintChangedEvent(resolved, "RESOLVED"));
+            return List.of(new SlaDeadline(2, ago(Duration.ofHours(1))));
+        });
+        when(repository.findSlaDeadlinesByIdIn(anyCollection())).thenReturn(List.of(new SlaDeadline(1, assignedAt)));
+        watcher.rebuild();
+        assertEquals(1, watcher.getPendingCount());
+
+        clock.advance(Duration.ofHours(24));
+        watcher.tick();
+        assertEquals(List.of(1), escalatedIds());
+    }
+
+    @Test
+    void hundredThousandOpenTickets() {
+        int tickets = 100_000;
+        List<SlaDeadline> rows = new ArrayList<>(tickets);
+        for (int i = 0; i < tickets; i++) {
+            // Assigned over the last 24h: deadlines spread evenly over the next 24h, ~1.16 per second
+            rows.add(new SlaDeadline(i + 1, ago(Duration.ofMillis(i * (SlaWatcher.SLA_MILLIS / tickets)))));
+        }
+        when(repository.findSlaDeadlines()).thenReturn(rows);
+        watcher.rebuild();
+        assertEquals(tickets, watcher.getPendingCount());
+
+        // Nothing due yet (tick cost is measured by SlaWatcherBenchmark in the benchmarks module)
+        watcher.tick();
+        verify(repository, never()).markSlaBreached(anyCollection(), any(), any());
+
+        // One minute later: only the deadlines of that minute fire
+        clock.advance(Duration.ofMinutes(1));
+        watcher.tick();
+        List<Integer> fired = escalatedIds();
+        assertEquals(70, fired.size(), 1);
+        assertTrue(fired.stream().allMatch(id -> id > tickets - 72));
+        assertEquals(tickets - fired.size(), watcher.getPendingCount());
+    }
+}
@@ -0,0 +1,52 @@
+package com.civicpulse.backend.services;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+// Stream tickets are single-use, expire at their TTL on the injected clock, and unused ones are swept.
+class StreamTicketServiceTest {
+
+    private MutableClock clock;
+    private StreamTicketService tickets;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2025-03-03T08:00:00Z"));
+        tickets = new StreamTicketService();
+        ReflectionTestUtils.setField(tickets, "clock", clock);
+        ReflectionTestUtils.setField(tickets, "ttlSeconds", 30L);
+    }
+
+    @Test
+    void ticketIsSpentByItsFirstUse() {
+        String ticket = tickets.issue("a@test.com");
+        assertNotEquals(ticket, tickets.issue("a@test.com"));
+
+        assertEquals("a@test.com", tickets.redeem(ticket));
+        assertNull(tickets.redeem(ticket));
+    }
+
+    @Test
+    void ticketExpiresAtItsTtl() {
+        String late = tickets.issue("a@test.com");
+        String unused = tickets.issue("b@test.com");
+        clock.advance(Duration.ofSeconds(29));
+        String fresh = tickets.issue("c@test.com");
+
+        clock.advance(Duration.ofSeconds(1));
+        assertNull(tickets.redeem(late));
+
+        tickets.sweep();
+        assertEquals(1, tickets.size()); // unused is gone, fresh is left
+        assertNull(tickets.redeem(unused));
+        assertEquals("c@test.com", tickets.redeem(fresh));
+    }
+}
@@ -0,0 +1,141 @@
+package com.civicpulse.backend.services;
+
+import com.civicpulse.backend.services.UploadStorageService.UploadTooLargeException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+// Uploads are streamed through a buffer much smaller than the file, named after their SHA-256, stored once
+// per content, and refused past the size limit whether or not the declared size is honest.
+class UploadStorageServiceTest {
+
+    private static final long MAX_BYTES = 1024;
+
+    @TempDir
+    Path uploads;
+
+    private UploadStorageService storage;
+
+    @BeforeEach
+    void setUp() {
+        storage = new UploadStorageService();
+        ReflectionTestUtils.setField(storage, "uploadDir", uploads.toString());
+        ReflectionTestUtils.setField(storage, "maxBytes", MAX_BYTES);
+        ReflectionTestUtils.setField(storage, "bufferBytes", 8);
+        ReflectionTestUtils.invokeMethod(storage, "init");
+    }
+
+    private static byte[] bytes(int length, int seed) {
+        byte[] content = new byte[length];
+        for (int i = 0; i < length; i++) content[i] = (byte) (i * 31 + seed);
+        return content;
+    }
+
+    private static String sha256(byte[] content) throws Exception {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+    }
+
+    // Stored files, without the temp directory
+    private List<String> storedFiles() throws IOException {
+        try (Stream<Path> files = Files.list(uploads)) {
+            return files.filter(Files::isRegularFile).map(p -> p.getFileName().toString()).sorted().toList();
+        }
+    }
+
+    private List<Path> tempFiles() throws IOException {
+        try (Stream<Path> files = Files.list(uploads.resolve(".tmp"))) {
+            return files.toList();
+        }
+    }
+
+    @Test
+    void streamsToAFileNamedAfterItsHash() throws Exception {
+        byte[] content = bytes(1000, 7);
+
+        String fileName = storage.store(new MockMultipartFile("image", "Photo.JPEG", "image/jpeg", content), "RESOLVED_");
+
+        assertEquals("RESOLVED_" + sha256(content) + ".jpeg", fileName);
+        assertArrayEquals(content, Files.readAllBytes(uploads.resolve(fileName)));
+        assertEquals(sha256(content), storage.contentHash(fileName));
+        assertEquals(List.of(), tempFiles());
+    }
+
+    @Test
+    void storesTheSameContentOnce() throws Exception {
+        byte[] content = bytes(300, 1);
+
+        String first = storage.store(new MockMultipartFile("image", "a.jpg", "image/jpeg", content), "");
+        String second = storage.store(new MockMultipartFile("image", "b.jpg", "image/jpeg", content), "");
+        String other = storage.store(new MockMultipartFile("image", "c.jpg", "image/jpeg", bytes(300, 2)), "");
+
+        assertEquals(first, second);
+        assertEquals(Stream.of(first, other).sorted().toList(), storedFiles());
+        assertEquals(List.of(), tempFiles());
+    }
+
+    @Test
+    void keepsOnlyShortAlphanumericExtensions() throws Exception {
+        assertEquals("", extensionOfStored("no-extension", 1));
+        assertEquals("", extensionOfStored("page.<script>", 2));
+        assertEquals("", extensionOfStored("archive.tar.verylongext", 3));
+        assertEquals(".png", extensionOfStored("../../etc/x.PNG", 4));
+    }
+
+    private String extensionOfStored(String originalName, int seed) throws Exception {
+        byte[] content = bytes(10, seed);
+        return storage.store(new MockMultipartFile("image", originalName, "image/png", content), "")
+                .substring(sha256(content).length());
+    }
+
+    @Test
+    void refusesDeclaredOversizeBeforeReading() throws Exception {
+        MockMultipartFile file = new MockMultipartFile("image", "big.jpg", "image/jpeg", bytes((int) MAX_BYTES + 1, 0));
+
+        assertThrows(UploadTooLargeException.class, () -> storage.store(file, ""));
+        assertEquals(List.of(), storedFiles());
+    }
+
+    // A chunked upload can declare any size; the limit still holds while streaming and the partial file is removed
+    @Test
+    void enforcesTheLimitWhileStreaming() throws Exception {
+        MockMultipartFile file = new MockMultipartFile("image", "big.jpg", "image/jpeg", bytes((int) MAX_BYTES + 100, 0)) {
+            @Override
+            public long getSize() {
+                return 10;
+            }
+        };
+
+        assertThrows(UploadTooLargeException.class, () -> storage.store(file, ""));
+        assertEquals(List.of(), storedFiles());
+        assertEquals(List.of(), tempFiles());
+    }
+
+    @Test
+    void hashesLegacyFilesByContent() throws Exception {
+        byte[] content = bytes(200, 9);
+        Files.write(uploads.resolve("4f1c2a9e-legacy.jpg"), content);
+
+        assertEquals(sha256(content), storage.contentHash("4f1c2a9e-legacy.jpg"));
+        assertEquals(sha256(content), storage.contentHash("4f1c2a9e-legacy.jpg")); // Remembered
+    }
+
+    @Test
+    void refusesNamesOutsideTheUploadsDirectory() {
+        assertThrows(IllegalArgumentException.class, () -> storage.resolve("../secret.txt"));
+        assertThrows(IllegalArgumentException.class, () -> storage.resolve(".tmp/upload-1.part"));
+    }
+}
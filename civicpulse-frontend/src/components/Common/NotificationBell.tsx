@@ -7,6 +7,7 @@ const NotificationBell: React.FC = () => {
     const [notifications, setNotifications] = useState<any[]>([]);
     const [unreadCount, setUnreadCount] = useState(0);
     const [isOpen, setIsOpen] = useState(false);
+    const [stale, setStale] = useState(true); // List needs (re)loading
     const dropdownRef = useRef<HTMLDivElement>(null);
 
     // Close on click outside
@@ -20,24 +21,55 @@ const NotificationBell: React.FC = () => {
         return () => document.removeEventListener("mousedown", handleClickOutside);
     }, []);
 
-    // Poll for notifications every 30 seconds
+    // Live updates over Server-Sent Events (no polling). The server pushes the unread count on connect and
+    // after every change, plus a "notification" event per new notification. EventSource cannot send the
+    // Authorization header, so each connection is opened with a single-use ticket from an authenticated POST;
+    // a ticket cannot be reused, so on error we reconnect ourselves with a fresh one.
     useEffect(() => {
         if (!user?.id) return; // Check strictly for ID
-        
-        fetchNotifications(); // Initial fetch
-        
-        const interval = setInterval(fetchNotifications, 30000); 
-        return () => clearInterval(interval);
-        
+        let source: EventSource | null = null;
+        let retry: ReturnType<typeof setTimeout> | undefined;
+        let closed = false;
+
+        const connect = async () => {
+            try {
+                const res = await api.post('/notifications/stream-ticket');
+                if (closed) return;
+                source = new EventSource(`${api.defaults.baseURL}/notifications/stream?ticket=${encodeURIComponent(res.data.ticket)}`);
+                source.addEventListener('unread', (e) => setUnreadCount(Number((e as MessageEvent).data)));
+                source.addEventListener('notification', () => setStale(true));
+                source.onerror = () => {
+                    source?.close();
+                    reconnect();
+                };
+            } catch (e) {
+                reconnect();
+            }
+        };
+        const reconnect = () => {
+            if (!closed) retry = setTimeout(connect, 5000);
+        };
+
+        connect();
+        return () => {
+            closed = true;
+            clearTimeout(retry);
+            source?.close();
+        };
+
     }, [user?.id]); // <--- CHANGED: Only re-run if the ID changes
 
+    // The list itself is only loaded when the dropdown is opened (and again after new pushes)
+    useEffect(() => {
+        if (isOpen && stale) fetchNotifications();
+    }, [isOpen, stale]);
+
     const fetchNotifications = async () => {
         try {
             if(!user?.id) return;
             const res = await api.get(`/notifications/${user.id}`);
             setNotifications(res.data);
-            const unread = res.data.filter((n: any) => !n.isRead).length;
-            setUnreadCount(unread);
+            setStale(false);
         } catch (e) { console.error("Notify Error", e); }
     };
 
@@ -108,6 +108,7 @@ const ComplaintList: React.FC = () => {
                     <option value="RESOLVED">✅ Resolved</option>
                     <option value="REOPENED">🔄 Reopened</option>
                     <option value="REJECTED">❌ Rejected</option>
+                    <option value="DUPLICATE">🔗 Duplicate</option>
                 </select>
             </div>
 
@@ -120,12 +121,12 @@ const ComplaintList: React.FC = () => {
                             {/* --- UPDATED IMAGE SECTION: Show Before (Left) & After (Right) --- */}
                             <div style={styles.imgContainer}>
                                 {c.imageUrl ? (
-                                    <img src={`http://localhost:8080/uploads/${c.imageUrl}`} alt="Problem" style={styles.imageHalf} title="Your Upload" />
+                                    <img src={`http://localhost:8080/uploads/${c.imageUrl}?size=medium`} alt="Problem" style={styles.imageHalf} title="Your Upload" />
                                 ) : <div style={styles.noImage}>No Image</div>}
                                 
                                 {c.resolution_proof_url ? (
                                     <a href={`http://localhost:8080/uploads/${c.resolution_proof_url}`} target="_blank" rel="noreferrer" style={{flex:1, display:'flex'}}>
-                                        <img src={`http://localhost:8080/uploads/${c.resolution_proof_url}`} alt="Proof" style={{...styles.imageHalf, borderLeft:'2px solid white'}} title="Officer's Proof" />
+                                        <img src={`http://localhost:8080/uploads/${c.resolution_proof_url}?size=medium`} alt="Proof" style={{...styles.imageHalf, borderLeft:'2px solid white'}} title="Officer's Proof" />
                                     </a>
                                 ) : (c.status === 'RESOLVED' && <div style={styles.noImage}>No Proof</div>)}
                             </div>
@@ -253,7 +253,7 @@ const AdminDashboard: React.FC = () => {
         }
     };
 
-    const isActionable = currentStatus !== 'RESOLVED' && currentStatus !== 'REJECTED';
+    const isActionable = currentStatus !== 'RESOLVED' && currentStatus !== 'REJECTED' && currentStatus !== 'DUPLICATE';
 
     return (
         <div style={styles.container}>
@@ -346,12 +346,12 @@ const AdminDashboard: React.FC = () => {
                                                         <div style={{display: 'flex', gap: '8px'}}>
                                                             <div title="Citizen's Complaint Image">
                                                                 {c.imageUrl ? (
-                                                                    <a href={`http://localhost:8080/uploads/${c.imageUrl}`} target="_blank" rel="noreferrer"><img src={`http://localhost:8080/uploads/${c.imageUrl}`} alt="issue" style={styles.thumb} /></a>
+                                                                    <a href={`http://localhost:8080/uploads/${c.imageUrl}`} target="_blank" rel="noreferrer"><img src={`http://localhost:8080/uploads/${c.imageUrl}?size=thumb`} alt="issue" style={styles.thumb} /></a>
                                                                 ) : <div style={{...styles.thumb, display:'flex', alignItems:'center', justifyContent:'center', background:'#f1f5f9', fontSize:'9px', color:'#ccc'}}>N/A</div>}
                                                             </div>
                                                             {c.resolution_proof_url && (
                                                                 <div title="Officer's Resolution Proof">
-                                                                    <a href={`http://localhost:8080/uploads/${c.resolution_proof_url}`} target="_blank" rel="noreferrer"><img src={`http://localhost:8080/uploads/${c.resolution_proof_url}`} alt="proof" style={{...styles.thumb, borderColor: '#22c55e', borderWidth: '2px'}} /></a>
+                                                                    <a href={`http://localhost:8080/uploads/${c.resolution_proof_url}`} target="_blank" rel="noreferrer"><img src={`http://localhost:8080/uploads/${c.resolution_proof_url}?size=thumb`} alt="proof" style={{...styles.thumb, borderColor: '#22c55e', borderWidth: '2px'}} /></a>
                                                                 </div>
                                                             )}
                                                         </div>
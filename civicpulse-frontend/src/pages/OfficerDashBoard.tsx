@@ -299,7 +299,7 @@ const OfficerDashboard: React.FC = () => {
                                     return (
                                         <div key={task.id} style={styles.card}>
                                             <div style={styles.cardImg}>
-                                                {task.imageUrl ? <img src={`http://localhost:8080/uploads/${task.imageUrl}`} style={{width:'100%', height:'100%', objectFit:'cover'}} alt="issue"/> : <div style={{height:'100%', display:'flex', alignItems:'center', justifyContent:'center', color:'#ccc'}}>No Image</div>}
+                                                {task.imageUrl ? <img src={`http://localhost:8080/uploads/${task.imageUrl}?size=medium`} style={{width:'100%', height:'100%', objectFit:'cover'}} alt="issue"/> : <div style={{height:'100%', display:'flex', alignItems:'center', justifyContent:'center', color:'#ccc'}}>No Image</div>}
                                             </div>
                                             <div style={styles.cardBody}>
                                                 {/* HEADER with STATUS and PRIORITY */}